@@ -0,0 +1,75 @@
+package org.cris6h16.apirestspringboot.Benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Main class of {@code benchmarks.jar}, the same options as the JMH one ( e.g. {@code ServicesBenchmark -f 2} )
+ * but by default:
+ * <ul>
+ *     <li>the allocations are profiled ( {@code -prof gc}: {@code gc.alloc.rate.norm} is the bytes by operation )</li>
+ *     <li>the results are written in JSON in {@code benchmarks/results/<commit>.json}, to be compared
+ *     with the ones of another commit by {@link CompareResults}</li>
+ * </ul>
+ * The commit is taken from {@code -Dbenchmarks.commit}, else from {@code git}.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class BenchmarksRunner {
+    private static final String RESULTS_DIR = System.getProperty("benchmarks.results-dir", "benchmarks/results");
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+
+        if (cli.getProfilers().isEmpty()) options.addProfiler(GCProfiler.class);
+        if (!cli.getResultFormat().hasValue() && !cli.getResult().hasValue()) {
+            Path result = Path.of(RESULTS_DIR, commit() + ".json");
+            Files.createDirectories(result.getParent());
+            options.resultFormat(ResultFormatType.JSON).result(result.toString());
+        }
+
+        new Runner(options.build()).run();
+    }
+
+    /**
+     * @return the id of the measured commit, with {@code -dirty} if there are uncommitted changes
+     */
+    private static String commit() {
+        String commit = System.getProperty("benchmarks.commit");
+        if (commit != null && !commit.isBlank()) return commit;
+
+        String head = git("rev-parse", "--short", "HEAD");
+        if (head.isEmpty()) return "local";
+        return git("status", "--porcelain", "--untracked-files=no").isEmpty() ? head : head + "-dirty";
+    }
+
+    private static String git(String... args) {
+        String[] command = new String[args.length + 1];
+        command[0] = "git";
+        System.arraycopy(args, 0, command, 1, args.length);
+        try {
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            String out = new String(process.getInputStream().readAllBytes()).trim();
+            boolean ok = process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0;
+            return ok ? out : "";
+        } catch (IOException e) {
+            return ""; // git isn't installed
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "";
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.cris6h16.apirestspringboot.Benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares the JSON results of two runs of {@link BenchmarksRunner}, e.g. of two commits:
+ * <pre>
+ *     java -cp benchmarks/target/benchmarks.jar org.cris6h16.apirestspringboot.Benchmarks.CompareResults \
+ *          benchmarks/results/3cf1924.json benchmarks/results/8cd71c4.json [max regression %, default 10]
+ * </pre>
+ * The score and the allocations by operation of each benchmark are printed, the exit code is
+ * {@code 1} if any of them is worse than the maximum regression.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class CompareResults {
+    private static final String ALLOCATIONS = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <base.json> <head.json> [max regression %]");
+            System.exit(2);
+        }
+        double maxRegression = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        Map<String, JsonNode> base = read(Path.of(args[0]));
+        Map<String, JsonNode> head = read(Path.of(args[1]));
+
+        boolean regressed = false;
+        System.out.printf("%-90s %14s %14s %9s %12s %12s %9s%n", "benchmark", "base", "head", "score", "base B/op", "head B/op", "alloc");
+        for (Map.Entry<String, JsonNode> e : head.entrySet()) {
+            JsonNode b = base.get(e.getKey());
+            if (b == null) {
+                System.out.printf("%-90s %14s%n", e.getKey(), "new");
+                continue;
+            }
+            JsonNode h = e.getValue();
+            boolean higherIsBetter = h.path("mode").asText().equals("thrpt");
+            double baseScore = b.path("primaryMetric").path("score").asDouble();
+            double headScore = h.path("primaryMetric").path("score").asDouble();
+            double scoreChange = worsening(baseScore, headScore, higherIsBetter);
+            double baseAlloc = allocations(b);
+            double headAlloc = allocations(h);
+            double allocChange = worsening(baseAlloc, headAlloc, false);
+
+            boolean worse = scoreChange > maxRegression || allocChange > maxRegression;
+            regressed |= worse;
+            System.out.printf("%-90s %14.3f %14.3f %8.1f%% %12.1f %12.1f %8.1f%%%s%n",
+                    e.getKey(), baseScore, headScore, scoreChange, baseAlloc, headAlloc, allocChange, worse ? "  REGRESSION" : "");
+        }
+        System.exit(regressed ? 1 : 0);
+    }
+
+    /**
+     * @return the benchmarks by their name and params, e.g. {@code ...serializePage size=10}
+     */
+    private static Map<String, JsonNode> read(Path file) throws IOException {
+        Map<String, JsonNode> benchmarks = new LinkedHashMap<>();
+        for (JsonNode b : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(b.path("benchmark").asText());
+            b.path("params").fields().forEachRemaining(p -> key.append(' ').append(p.getKey()).append('=').append(p.getValue().asText()));
+            benchmarks.put(key.toString(), b);
+        }
+        return benchmarks;
+    }
+
+    private static double allocations(JsonNode benchmark) {
+        return benchmark.path("secondaryMetrics").path(ALLOCATIONS).path("score").asDouble(0);
+    }
+
+    /**
+     * @return how much worse is {@code head} than {@code base} in percentage, negative if it's better
+     */
+    private static double worsening(double base, double head, boolean higherIsBetter) {
+        if (base == 0) return head == 0 ? 0 : (higherIsBetter ? -100 : 100);
+        double change = (head - base) / base * 100;
+        return higherIsBetter ? -change : change;
+    }
+}
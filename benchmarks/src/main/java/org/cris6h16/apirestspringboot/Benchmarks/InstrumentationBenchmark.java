@@ -0,0 +1,128 @@
+package org.cris6h16.apirestspringboot.Benchmarks;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.cris6h16.apirestspringboot.Config.Security.TimedPasswordEncoder;
+import org.cris6h16.apirestspringboot.Config.Sql.SqlStatements;
+import org.cris6h16.apirestspringboot.Config.Sql.SqlStatementsDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Metrics.*;
+
+/**
+ * The cost of the instrumentation by call ( Prometheus registry ), compared with the same work without it:
+ * a timed call, a counter already registered vs. one looked up by its tags ( as the exception handler ), and
+ * the {@link TimedPasswordEncoder} around a password encoder without hash ( {@code {noop}} ) to isolate the timer,
+ * and a statement executed through the {@link SqlStatementsDataSource} in a request which isn't sampled ( the
+ * connection of the pool itself ) and in a sampled one ( wrapped ), against a connection which does nothing
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+@SuppressWarnings("deprecation") // NoOpPasswordEncoder, just to measure the timer
+public class InstrumentationBenchmark {
+    private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    private final PasswordEncoder raw = NoOpPasswordEncoder.getInstance();
+    private final TimedPasswordEncoder timed = new TimedPasswordEncoder(raw);
+    private final DataSource pool = stub(DataSource.class, stub(Connection.class, stub(PreparedStatement.class, 1)));
+    private final DataSource recorded = new SqlStatementsDataSource(pool);
+    private Timer timer;
+    private Counter counter;
+
+    @Setup
+    public void setUp() {
+        timed.bindTo(registry);
+        timer = Timer.builder(SERVICE_TIMER).tag("method", "benchmark").register(registry);
+        counter = registry.counter(EXCEPTIONS_COUNTER, "exception", UNEXPECTED_EXCEPTION, "status", "500");
+    }
+
+    @Benchmark
+    public boolean matches_raw() {
+        return raw.matches("12345678", "12345678");
+    }
+
+    @Benchmark
+    public boolean matches_timed() {
+        return timed.matches("12345678", "12345678");
+    }
+
+    @Benchmark
+    public long timer_record() {
+        long start = System.nanoTime();
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return start;
+    }
+
+    @Benchmark
+    public void counter_registered() {
+        counter.increment();
+    }
+
+    @Benchmark
+    public void counter_lookedUpByTags() {
+        registry.counter(EXCEPTIONS_COUNTER, "exception", UNEXPECTED_EXCEPTION, "status", "500").increment();
+    }
+
+    @Benchmark
+    public int statement_pool() throws SQLException {
+        return execute(pool);
+    }
+
+    @Benchmark
+    public int statement_notSampled() throws SQLException {
+        return execute(recorded);
+    }
+
+    @Benchmark
+    public int statement_sampled(SampledRequest request) throws SQLException {
+        return execute(recorded);
+    }
+
+    private static int execute(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.prepareStatement("update notes set title=? where id=?").executeUpdate();
+        }
+    }
+
+    /**
+     * @return an instance whose methods return {@code result} ( or nothing )
+     */
+    private static <T> T stub(Class<T> type, Object result) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> method.getReturnType() == void.class ? null : result));
+    }
+
+    /**
+     * The statements of the benchmark thread recorded as those of a sampled request
+     */
+    @State(Scope.Thread)
+    public static class SampledRequest {
+
+        @Setup
+        public void begin() {
+            SqlStatements.begin();
+        }
+
+        @TearDown
+        public void end() {
+            SqlStatements.end();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.cris6h16.apirestspringboot.Benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteExcerptDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * The views of the pages of notes ( GET {@link Cons.Note.Controller.Path#NOTE_PATH} ): the full notes against
+ * {@code ?view=excerpt} ( the first {@link Cons.Note.Page#EXCERPT_LENGTH} characters, cut by the database ),
+ * serialized with an {@link ObjectMapper} configured as the one of Spring Boot.<br>
+ * Just the serialization: reading the pages from the database is measured by {@code NoteViewsLoadTest}
+ * ( {@code mvn test -P load-tests}, PostgreSQL projects the rows skipped by {@code OFFSET} too ).
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NoteViewsBenchmark {
+
+    @Param({"" + Cons.Note.Page.DEFAULT_SIZE, "100"})
+    private int size;
+
+    @Param({"" + Cons.Note.Page.EXCERPT_LENGTH, "2000", "" + Cons.Admin.Dataset.MAX_CONTENT_LENGTH})
+    private int contentLength;
+
+    private ObjectMapper objectMapper;
+    private Page<PublicNoteDTO> full;
+    private Page<PublicNoteExcerptDTO> excerpts;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Date updatedAt = new Date();
+        String content = "Contenido de mi nota, ".repeat(contentLength / 22 + 1).substring(0, contentLength);
+        PageRequest pageRequest = PageRequest.of(0, size, Sort.by(Cons.Note.Page.DEFAULT_SORT));
+
+        List<PublicNoteDTO> notes = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> PublicNoteDTO.builder()
+                        .id(id)
+                        .title("Mi nota " + id)
+                        .content(content)
+                        .updatedAt(updatedAt)
+                        .version(0L)
+                        .build())
+                .toList();
+        full = new PageImpl<>(notes, pageRequest, 1000);
+        excerpts = new PageImpl<>(notes.stream()
+                .map(n -> new PublicNoteExcerptDTO(n.getId(), n.getTitle(),
+                        n.getContent().substring(0, Math.min(n.getContent().length(), Cons.Note.Page.EXCERPT_LENGTH)), n.getUpdatedAt()))
+                .toList(), pageRequest, 1000);
+    }
+
+    @Benchmark
+    public byte[] full() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(full);
+    }
+
+    @Benchmark
+    public byte[] excerpt() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(excerpts);
+    }
+}
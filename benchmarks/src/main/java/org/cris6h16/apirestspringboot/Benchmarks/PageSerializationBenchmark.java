@@ -0,0 +1,60 @@
+package org.cris6h16.apirestspringboot.Benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * The serialization of the pages of notes ( GET {@link Cons.Note.Controller.Path#NOTE_PATH} ),
+ * with an {@link ObjectMapper} configured as the one of Spring Boot
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+
+    @Param({"" + Cons.Note.Page.DEFAULT_SIZE, "100"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private Page<PublicNoteDTO> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Date updatedAt = new Date();
+        List<PublicNoteDTO> notes = LongStream.rangeClosed(1, size)
+                .mapToObj(id -> PublicNoteDTO.builder()
+                        .id(id)
+                        .title("Mi nota " + id)
+                        .content("Contenido de mi nota " + id + " ".repeat(200))
+                        .updatedAt(updatedAt)
+                        .version(0L)
+                        .build())
+                .toList();
+        page = new PageImpl<>(notes, PageRequest.of(0, size, Sort.by(Cons.Note.Page.DEFAULT_SORT)), 1000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,52 @@
+package org.cris6h16.apirestspringboot.Config.Security;
+
+import org.cris6h16.apirestspringboot.Config.Security.CustomUser.UserWithId;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The authorization of the endpoints of a user by its owner, evaluated by each request to them
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WebSecurityBenchmark {
+    private final WebSecurity webSecurity = new WebSecurity();
+    private Supplier<Authentication> authentication;
+
+    @Setup
+    public void setUp() {
+        UserWithId principal = new UserWithId(1L, "cris6h16", "{noop}12345678", true, true, true, true,
+                List.of(new SimpleGrantedAuthority(ERole.ROLE_USER.name())));
+        Authentication auth = UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+        authentication = () -> auth;
+    }
+
+    @Benchmark
+    public boolean checkIfIsAdminOrUserAndHasThisIdAsPrincipalId_owner() {
+        return webSecurity.checkIfIsAdminOrUserAndHasThisIdAsPrincipalId(authentication, "1");
+    }
+
+    @Benchmark
+    public boolean checkIfIsAdminOrUserAndHasThisIdAsPrincipalId_notOwner() {
+        return webSecurity.checkIfIsAdminOrUserAndHasThisIdAsPrincipalId(authentication, "2");
+    }
+
+    @Benchmark
+    public boolean checkIfIsAdminOrUserAndHasThisIdAsPrincipalId_invalidId() {
+        return webSecurity.checkIfIsAdminOrUserAndHasThisIdAsPrincipalId(authentication, "abc"); // NumberFormatException caught
+    }
+}
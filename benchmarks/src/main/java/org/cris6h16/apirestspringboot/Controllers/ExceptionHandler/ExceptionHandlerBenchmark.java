@@ -0,0 +1,26 @@
+package org.cris6h16.apirestspringboot.Controllers.ExceptionHandler;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The body of each failed request, built by {@link ErrorResponse#buildFailJsonBody(String, HttpStatus)}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExceptionHandlerBenchmark {
+    @Benchmark
+    public String buildFailJsonBody() {
+        return ErrorResponse.buildFailJsonBody(Cons.Note.Fails.NOT_FOUND, HttpStatus.NOT_FOUND);
+    }
+}
@@ -0,0 +1,82 @@
+package org.cris6h16.apirestspringboot.Services;
+
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicUserDTO;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Entities.NoteEntity;
+import org.cris6h16.apirestspringboot.Entities.RoleEntity;
+import org.cris6h16.apirestspringboot.Entities.UserEntity;
+import org.cris6h16.apirestspringboot.Services.Mapping.NoteMapper;
+import org.cris6h16.apirestspringboot.Services.Mapping.UserMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The mappings of the entities to the DTOs returned by each request ( {@link UserMapper}, {@link NoteMapper} ), and
+ * the validations of the users. Package {@code Services} to reach the package-private validations of
+ * {@link UserServiceImpl}, no service is created.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServicesBenchmark {
+    private UserEntity user;
+    private NoteEntity note;
+
+    @Setup
+    public void setUp() {
+        user = UserEntity.builder()
+                .id(1L)
+                .username("cris6h16")
+                .password("{bcrypt}$2a$10$GRLdNijSQMUvl/au9ofL.eDwmoohzzS7.rmNSJZ.0FxO/BTk76klW")
+                .email("cristianmherrera21@gmail.com")
+                .createdAt(LocalDate.now())
+                .roles(new HashSet<>(Set.of(
+                        RoleEntity.builder().id(1L).name(ERole.ROLE_USER).build(),
+                        RoleEntity.builder().id(2L).name(ERole.ROLE_ADMIN).build())))
+                .notes(new HashSet<>())
+                .build();
+        note = NoteEntity.builder()
+                .id(1L)
+                .title("Mi primera nota")
+                .content("Contenido de mi primera nota ".repeat(20))
+                .updatedAt(new Date())
+                .version(3L)
+                .user(user)
+                .build();
+    }
+
+    @Benchmark
+    public PublicUserDTO createPublicUserDTO() {
+        return UserMapper.toPublicUserDTO(user);
+    }
+
+    @Benchmark
+    public PublicNoteDTO createPublicNoteDTO() {
+        return NoteMapper.toPublicNoteDTO(note);
+    }
+
+    @Benchmark
+    public void validateUsername(Blackhole bh) {
+        UserServiceImpl.validateUsername(user.getUsername());
+        bh.consume(user);
+    }
+
+    @Benchmark
+    public void validateEmail(Blackhole bh) {
+        UserServiceImpl.validateEmail(user.getEmail());
+        bh.consume(user);
+    }
+}
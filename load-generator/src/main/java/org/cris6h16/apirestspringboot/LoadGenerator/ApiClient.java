@@ -0,0 +1,72 @@
+package org.cris6h16.apirestspringboot.LoadGenerator;
+
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.reactor.IOReactorConfig;
+import org.apache.hc.core5.util.Timeout;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pooled async client of httpclient5: the requests in flight aren't bounded by threads, just by
+ * the connections of the pool ( the rest wait for a connection, and that wait is measured )
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class ApiClient implements AutoCloseable {
+    private final CloseableHttpAsyncClient client;
+
+    public ApiClient(int connections) {
+        PoolingAsyncClientConnectionManager pool = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(connections)
+                .setMaxConnPerRoute(connections) // a single route: the API
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofSeconds(10))
+                        .setSocketTimeout(Timeout.ofMinutes(1))
+                        .build())
+                .build();
+        this.client = HttpAsyncClients.custom()
+                .setConnectionManager(pool)
+                .setIOReactorConfig(IOReactorConfig.custom().setSoTimeout(Timeout.ofMinutes(1)).build())
+                .disableCookieManagement() // stateless, each request is authenticated
+                .build();
+        this.client.start();
+    }
+
+    /**
+     * @return completed with the response, or with the failure of the connection
+     */
+    public CompletableFuture<SimpleHttpResponse> send(SimpleHttpRequest request) {
+        CompletableFuture<SimpleHttpResponse> response = new CompletableFuture<>();
+        client.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse result) {
+                response.complete(result);
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                response.completeExceptionally(ex);
+            }
+
+            @Override
+            public void cancelled() {
+                response.cancel(false);
+            }
+        });
+        return response;
+    }
+
+    @Override
+    public void close() {
+        client.close(CloseMode.GRACEFUL);
+    }
+}
@@ -0,0 +1,94 @@
+package org.cris6h16.apirestspringboot.LoadGenerator;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies ( microseconds ) & errors by {@link Operation}, recorded by several threads at the same time
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class LatencyStats {
+    private static final long MAX_LATENCY_MICROS = Duration.ofMinutes(5).toNanos() / 1000;
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>(); // "<operation> <status>"
+    private final LongAdder dropped = new LongAdder();
+
+    public LatencyStats() {
+        for (Operation o : Operation.values()) {
+            recorders.put(o, new Recorder(MAX_LATENCY_MICROS, 3));
+            errors.put(o, new LongAdder());
+        }
+    }
+
+    /**
+     * @param status of the response, {@code 0} if the connection failed
+     */
+    public void record(Operation operation, int status, long latencyNanos) {
+        recorders.get(operation).recordValue(Math.min(MAX_LATENCY_MICROS, Math.max(0, latencyNanos / 1000)));
+        if (status < 200 || status >= 300) {
+            errors.get(operation).increment();
+            failures.computeIfAbsent(operation + " " + status, k -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * A request of the open model which wasn't sent, all the allowed requests were still in flight
+     */
+    public void drop() {
+        dropped.increment();
+    }
+
+    /**
+     * @param measured time of the measured requests, for the throughput
+     */
+    public LoadReport report(LoadOptions options, Duration measured) {
+        List<LoadReport.Endpoint> endpoints = new ArrayList<>();
+        for (Operation o : Operation.values()) {
+            Histogram h = recorders.get(o).getIntervalHistogram();
+            if (h.getTotalCount() == 0 && !options.mix().containsKey(o)) continue;
+            endpoints.add(new LoadReport.Endpoint(o, o.endpoint(), h.getTotalCount(), errors.get(o).sum(),
+                    h.getTotalCount() * 1000.0 / Math.max(1, measured.toMillis()),
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(95)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)),
+                    millis(h.getMaxValue()), h));
+        }
+        Map<String, Long> failuresByStatus = new TreeMap<>();
+        failures.forEach((k, v) -> failuresByStatus.put(k, v.sum()));
+        return new LoadReport(options.model(), options.model() == LoadOptions.Model.OPEN ? options.rate() : options.users(),
+                measured.toSeconds(), endpoints, failuresByStatus, dropped.sum());
+    }
+
+    /**
+     * Percentile distribution of each endpoint, in milliseconds ( {@code <operation>.hgrm},
+     * e.g. for <a href="https://hdrhistogram.github.io/HdrHistogram/plotFiles.html">the plotter of HdrHistogram</a> )
+     */
+    public static void writeHistograms(LoadReport report, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (LoadReport.Endpoint e : report.endpoints()) {
+            try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(e.operation().key() + ".hgrm")))) {
+                e.histogram().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
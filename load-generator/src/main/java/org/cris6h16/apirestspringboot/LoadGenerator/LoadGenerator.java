@@ -0,0 +1,133 @@
+package org.cris6h16.apirestspringboot.LoadGenerator;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs the mix against the API with one of the models:
+ * <ul>
+ *     <li>{@code CLOSED}: each user ( a virtual thread ) sends a request after the response of the previous one,
+ *     the rate depends on the latency</li>
+ *     <li>{@code OPEN}: the requests arrive at a fixed rate, the latency is measured since the time the request
+ *     should have been sent ( not since it was sent ): a slow response doesn't hide the requests that would have
+ *     arrived in the meantime ( coordinated omission )</li>
+ * </ul>
+ * The requests sent during the warmup aren't measured.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Slf4j
+public class LoadGenerator {
+    /**
+     * In flight of the open model, above it the arrivals are dropped instead of exhausting the memory
+     */
+    static final int MAX_IN_FLIGHT = 10_000;
+
+    private final LoadOptions options;
+
+    public LoadGenerator(LoadOptions options) {
+        this.options = options;
+    }
+
+    public LoadReport run() throws Exception {
+        try (ApiClient client = new ApiClient(options.connections())) {
+            Workload workload = Workload.seed(client, options);
+            log.info("Seeded {} users, {} notes each; {} model for {} s ( warmup {} s )", options.seedUsers(),
+                    options.notesPerUser(), options.model(), options.duration().toSeconds(), options.warmup().toSeconds());
+
+            LatencyStats stats = new LatencyStats();
+            long start = System.nanoTime();
+            long measuredFrom = start + options.warmup().toNanos();
+            long end = measuredFrom + options.duration().toNanos();
+
+            if (options.model() == LoadOptions.Model.OPEN) open(client, workload, stats, start, measuredFrom, end);
+            else closed(client, workload, stats, measuredFrom, end);
+
+            return stats.report(options, options.duration());
+        }
+    }
+
+    private void open(ApiClient client, Workload workload, LatencyStats stats,
+                      long start, long measuredFrom, long end) throws InterruptedException {
+        double interval = 1e9 / options.rate();
+        AtomicInteger inFlight = new AtomicInteger();
+        Phaser pending = new Phaser(1);
+
+        for (long i = 0; ; i++) {
+            long intended = start + Math.round(i * interval);
+            if (intended >= end) break;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+
+            if (inFlight.get() >= MAX_IN_FLIGHT) {
+                if (intended >= measuredFrom) stats.drop();
+                continue;
+            }
+            Workload.Call call = workload.next();
+            inFlight.incrementAndGet();
+            pending.register();
+            client.send(call.request()).whenComplete((response, failure) -> {
+                try {
+                    complete(call, response, stats, intended, measuredFrom);
+                } finally {
+                    inFlight.decrementAndGet();
+                    pending.arriveAndDeregister();
+                }
+            });
+        }
+
+        try {
+            pending.awaitAdvanceInterruptibly(pending.arrive(), 1, TimeUnit.MINUTES);
+        } catch (TimeoutException e) {
+            log.warn("{} requests still in flight after the run", inFlight.get());
+        }
+    }
+
+    private void closed(ApiClient client, Workload workload, LatencyStats stats,
+                        long measuredFrom, long end) throws InterruptedException {
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < options.users(); u++) {
+                users.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        Workload.Call call = workload.next();
+                        long sent = System.nanoTime();
+                        SimpleHttpResponse response = null;
+                        try {
+                            response = client.send(call.request()).get();
+                        } catch (Exception e) {
+                            if (e instanceof InterruptedException) return null;
+                        }
+                        complete(call, response, stats, sent, measuredFrom);
+                    }
+                    return null;
+                });
+            }
+            users.shutdown();
+            if (!users.awaitTermination(options.duration().plus(options.warmup()).plus(Duration.ofMinutes(1)).toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Users still waiting for a response after the run");
+                users.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * @param response {@code null} if the connection failed
+     */
+    private static void complete(Workload.Call call, SimpleHttpResponse response, LatencyStats stats,
+                                 long intended, long measuredFrom) {
+        if (response != null) call.onResponse().accept(response);
+        if (intended >= measuredFrom) {
+            stats.record(call.operation(), response == null ? 0 : response.getCode(), System.nanoTime() - intended);
+        }
+    }
+}
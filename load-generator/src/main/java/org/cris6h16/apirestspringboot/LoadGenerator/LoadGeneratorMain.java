@@ -0,0 +1,57 @@
+package org.cris6h16.apirestspringboot.LoadGenerator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.cris6h16.apirestspringboot.ApiRestSpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+
+/**
+ * Runs the load generator, the options are described in {@link LoadOptions}, e.g.:<br>
+ * {@code java -jar load-generator.jar --model=open --rate=200 --duration=60 --report=report.json}<br>
+ * Without {@code --target} the application is booted in this process with the profile {@code h2}
+ * ( an embedded database ), then nothing has to be installed.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class LoadGeneratorMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        ConfigurableApplicationContext application = null;
+        if (options.target() == null) {
+            application = bootEmbedded();
+            options = options.withTarget(URI.create("http://localhost:" + application.getEnvironment().getProperty("local.server.port")));
+        }
+
+        try {
+            LoadReport report = new LoadGenerator(options).run();
+            System.out.print(report.toTable());
+            if (options.report() != null) {
+                new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.report().toFile(), report);
+            }
+            if (options.histograms() != null) LatencyStats.writeHistograms(report, options.histograms());
+        } finally {
+            if (application != null) application.close();
+        }
+    }
+
+    /**
+     * The application with an embedded database in a random port, as arguments of the command line
+     * they override the profile of {@code application.properties}
+     */
+    public static ConfigurableApplicationContext bootEmbedded() {
+        // caffeine.conf is in a jar: Hibernate passes a `jar:` URI to Caffeine, which only reads `file:` & `classpath:`
+        // URIs and falls back to the default configuration of Typesafe Config ( `config.resource` )
+        System.setProperty("config.resource", "caffeine.conf");
+        return new SpringApplicationBuilder(ApiRestSpringBootApplication.class).run(
+                "--spring.profiles.active=h2",
+                "--server.port=0",
+                "--spring.devtools.restart.enabled=false",
+                "--logging.level.root=warn",
+                "--logging.level.org.cris6h16.apirestspringboot.LoadGenerator=info");
+    }
+}
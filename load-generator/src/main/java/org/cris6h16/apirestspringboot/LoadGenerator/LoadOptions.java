@@ -0,0 +1,101 @@
+package org.cris6h16.apirestspringboot.LoadGenerator;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Options of a run, from the arguments {@code --name=value}:
+ * <ul>
+ *     <li>{@code target}: URL of the API, by default the application is booted in the process with the profile {@code h2}</li>
+ *     <li>{@code model}: {@code closed} ( {@code users} which send a request after the response of the previous one ) or
+ *     {@code open} ( {@code rate} requests by second, whatever the responses take )</li>
+ *     <li>{@code duration} & {@code warmup}: seconds, the requests of the warmup aren't reported</li>
+ *     <li>{@code mix}: weight of each {@link Operation}, e.g. {@code signup:1,create:2,get:5,put:2,delete:1,page:5,admin:1}</li>
+ *     <li>{@code seed-users} & {@code notes-per-user}: written by the admin bulk load before the run, their passwords are
+ *     hashed with the min cost of BCrypt ( 4 ): the note requests measure the API and not BCrypt. The sign-ups hash the
+ *     passwords with the cost of the API</li>
+ *     <li>{@code connections}: size of the pool of connections</li>
+ *     <li>{@code admin-username} & {@code admin-password}: to bulk load the users</li>
+ *     <li>{@code report}: file for the report in JSON, {@code histograms}: directory for the latency histograms ( {@code .hgrm} )</li>
+ * </ul>
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public record LoadOptions(URI target,
+                          Model model,
+                          int rate,
+                          int users,
+                          Duration duration,
+                          Duration warmup,
+                          Map<Operation, Integer> mix,
+                          int seedUsers,
+                          int notesPerUser,
+                          int connections,
+                          String adminUsername,
+                          String adminPassword,
+                          Path report,
+                          Path histograms) {
+
+    public static final String DEFAULT_MIX = "signup:1,create:2,get:5,put:2,delete:1,page:5,admin:1";
+
+    public enum Model {OPEN, CLOSED}
+
+    public static LoadOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) throw new IllegalArgumentException("Expected --name=value: " + arg);
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        LoadOptions options = new LoadOptions(
+                values.containsKey("target") ? URI.create(values.remove("target")) : null,
+                Model.valueOf(values.getOrDefault("model", "closed").toUpperCase()),
+                Integer.parseInt(values.getOrDefault("rate", "100")),
+                Integer.parseInt(values.getOrDefault("users", "50")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "30"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "5"))),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(values.getOrDefault("seed-users", "100")),
+                Integer.parseInt(values.getOrDefault("notes-per-user", "10")),
+                Integer.parseInt(values.getOrDefault("connections", "100")),
+                values.getOrDefault("admin-username", "cris6h16"),
+                values.getOrDefault("admin-password", "12345678"),
+                values.containsKey("report") ? Path.of(values.get("report")) : null,
+                values.containsKey("histograms") ? Path.of(values.get("histograms")) : null
+        );
+        for (String known : new String[]{"model", "rate", "users", "duration", "warmup", "mix", "seed-users", "notes-per-user",
+                "connections", "admin-username", "admin-password", "report", "histograms"}) {
+            values.remove(known);
+        }
+        if (!values.isEmpty()) throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        if (options.seedUsers() < 1) throw new IllegalArgumentException("At least a seed user is required by the note requests");
+        return options;
+    }
+
+    /**
+     * @param target where the application was booted
+     * @return the same options against the given target
+     */
+    public LoadOptions withTarget(URI target) {
+        return new LoadOptions(target, model, rate, users, duration, warmup, mix, seedUsers, notesPerUser,
+                connections, adminUsername, adminPassword, report, histograms);
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] kv = entry.trim().split(":");
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight < 0) throw new IllegalArgumentException("Negative weight in the mix: " + entry);
+            if (weight > 0) weights.put(Operation.fromKey(kv[0].trim()), weight);
+        }
+        if (weights.isEmpty()) throw new IllegalArgumentException("Empty mix: " + mix);
+        return weights;
+    }
+}
@@ -0,0 +1,60 @@
+package org.cris6h16.apirestspringboot.LoadGenerator;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.HdrHistogram.Histogram;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a run, latencies in milliseconds & throughput in requests by second
+ *
+ * @param load     rate ( open model ) or users ( closed model )
+ * @param failures responses out of {@code 2xx} by {@code "<operation> <status>"}, the status {@code 0} is a failed connection
+ * @param dropped  requests of the open model not sent, see {@link LatencyStats#drop()}
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public record LoadReport(LoadOptions.Model model,
+                         int load,
+                         long seconds,
+                         List<Endpoint> endpoints,
+                         Map<String, Long> failures,
+                         long dropped) {
+
+    public record Endpoint(Operation operation,
+                           String endpoint,
+                           long requests,
+                           long errors,
+                           double throughput,
+                           double p50,
+                           double p95,
+                           double p99,
+                           double p999,
+                           double max,
+                           @JsonIgnore Histogram histogram) {
+    }
+
+    public long requests() {
+        return endpoints.stream().mapToLong(Endpoint::requests).sum();
+    }
+
+    public long errors() {
+        return endpoints.stream().mapToLong(Endpoint::errors).sum();
+    }
+
+    public String toTable() {
+        StringBuilder table = new StringBuilder()
+                .append(String.format("%s model, %s %d, %d s measured%n", model,
+                        model == LoadOptions.Model.OPEN ? "rate" : "users", load, seconds))
+                .append(String.format("%-28s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                        "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (Endpoint e : endpoints) {
+            table.append(String.format("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    e.endpoint(), e.requests(), e.errors(), e.throughput(), e.p50(), e.p95(), e.p99(), e.p999(), e.max()));
+        }
+        failures.forEach((k, v) -> table.append(String.format("  failed: %s x%d%n", k, v)));
+        if (dropped > 0) table.append(String.format("  dropped ( too many in flight ): %d%n", dropped));
+        return table.toString();
+    }
+}
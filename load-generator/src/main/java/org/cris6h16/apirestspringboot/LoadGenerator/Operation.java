@@ -0,0 +1,43 @@
+package org.cris6h16.apirestspringboot.LoadGenerator;
+
+/**
+ * The requests of the mix, each one is reported as an endpoint
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public enum Operation {
+    SIGNUP("signup", "POST /api/v1/users"),
+    NOTE_CREATE("create", "POST /api/v1/notes"),
+    NOTE_GET("get", "GET /api/v1/notes/{id}"),
+    NOTE_PUT("put", "PUT /api/v1/notes/{id}"),
+    NOTE_DELETE("delete", "DELETE /api/v1/notes/{id}"),
+    NOTE_PAGE("page", "GET /api/v1/notes"),
+    ADMIN_USERS_PAGE("admin", "GET /api/v1/users");
+
+    /**
+     * name in the option {@code --mix}, e.g. {@code --mix=create:1,get:5}
+     */
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation o : values()) {
+            if (o.key.equals(key)) return o;
+        }
+        throw new IllegalArgumentException("Unknown operation in the mix: " + key);
+    }
+}
@@ -0,0 +1,195 @@
+package org.cris6h16.apirestspringboot.LoadGenerator;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpHeaders;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Admin.BulkLoad;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Controller.Path.NOTE_PATH;
+import static org.cris6h16.apirestspringboot.Constants.Cons.User.Controller.Path.USER_PATH;
+
+/**
+ * The users of the run & the requests of the mix.<br>
+ * The users ( and an admin ) are written by the bulk load before the run, the suffix of the run
+ * in their usernames allows several runs against the same database.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class Workload {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String PASSWORD = "12345678";
+    private static final String PASSWORD_BCRYPT_MIN_COST = "{bcrypt}$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK"; // PASSWORD, for the bulk load
+
+    private final URI target;
+    private final String runId;
+    private final List<User> users;
+    private final String adminAuthorization;
+    private final Operation[] weighted; // each operation repeated by its weight
+    private final AtomicLong signups = new AtomicLong();
+
+    /**
+     * A request of the mix, {@link #onResponse} keeps the ids of the notes of the user
+     */
+    public record Call(Operation operation, SimpleHttpRequest request, Consumer<SimpleHttpResponse> onResponse) {
+    }
+
+    private record User(String authorization, ConcurrentLinkedDeque<Long> noteIds) {
+    }
+
+    private Workload(URI target, String runId, List<User> users, String adminAuthorization, Map<Operation, Integer> mix) {
+        this.target = target;
+        this.runId = runId;
+        this.users = users;
+        this.adminAuthorization = adminAuthorization;
+        this.weighted = mix.entrySet().stream()
+                .flatMap(e -> Stream.generate(e::getKey).limit(e.getValue()))
+                .toArray(Operation[]::new);
+    }
+
+    /**
+     * Bulk load the users of the run with their notes, then read the ids of the notes
+     *
+     * @throws IllegalStateException if the API rejects the load
+     */
+    public static Workload seed(ApiClient client, LoadOptions options) throws Exception {
+        URI target = options.target();
+        String runId = Long.toString(System.currentTimeMillis() % 60_466_176L, 36); // 5 characters ( 36^5 )
+        String adminUsername = "a" + runId;
+
+        StringBuilder ndjson = new StringBuilder();
+        ndjson.append(userLine(adminUsername, "[\"ROLE_ADMIN\"]", 0));
+        for (int i = 0; i < options.seedUsers(); i++) {
+            ndjson.append(userLine(username(runId, i), "[\"ROLE_USER\"]", options.notesPerUser()));
+        }
+        SimpleHttpRequest load = SimpleRequestBuilder.post(target.resolve(BulkLoad.PATH))
+                .addHeader(HttpHeaders.AUTHORIZATION, basic(options.adminUsername(), options.adminPassword()))
+                .setBody(ndjson.toString(), ContentType.create("application/x-ndjson", StandardCharsets.UTF_8))
+                .build();
+        SimpleHttpResponse loaded = client.send(load).get();
+        JsonNode result = loaded.getCode() == 200 ? MAPPER.readTree(loaded.getBodyText()) : null;
+        if (result == null || result.path("failed").asLong() > 0) {
+            throw new IllegalStateException("Bulk load of the users rejected: " + loaded.getCode() + " " + loaded.getBodyText());
+        }
+
+        List<User> users = new ArrayList<>(options.seedUsers());
+        for (int i = 0; i < options.seedUsers(); i++) {
+            User user = new User(basic(username(runId, i), PASSWORD), new ConcurrentLinkedDeque<>());
+            if (options.notesPerUser() > 0) {
+                SimpleHttpRequest page = SimpleRequestBuilder.get(target.resolve(NOTE_PATH + "?size=" + options.notesPerUser()))
+                        .addHeader(HttpHeaders.AUTHORIZATION, user.authorization())
+                        .build();
+                for (JsonNode note : MAPPER.readTree(client.send(page).get().getBodyText()).path("content")) {
+                    user.noteIds().add(note.path("id").asLong());
+                }
+            }
+            users.add(user);
+        }
+
+        return new Workload(target, runId, users, basic(adminUsername, PASSWORD), options.mix());
+    }
+
+    /**
+     * @return a request of the mix, chosen by the weights ( a random user for the note requests )
+     */
+    public Call next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Operation operation = weighted[random.nextInt(weighted.length)];
+        User user = users.get(random.nextInt(users.size()));
+
+        return switch (operation) {
+            case SIGNUP -> {
+                String username = "s" + runId + signups.incrementAndGet();
+                String body = "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\",\"email\":\"" + username + "@load.com\"}";
+                yield new Call(operation, SimpleRequestBuilder.post(target.resolve(USER_PATH))
+                        .setBody(body, ContentType.APPLICATION_JSON)
+                        .build(), r -> {
+                });
+            }
+            case ADMIN_USERS_PAGE -> new Call(operation, SimpleRequestBuilder.get(target.resolve(USER_PATH + "?size=10"))
+                    .addHeader(HttpHeaders.AUTHORIZATION, adminAuthorization)
+                    .build(), r -> {
+            });
+            case NOTE_PAGE -> new Call(operation, SimpleRequestBuilder.get(target.resolve(NOTE_PATH + "?size=10"))
+                    .addHeader(HttpHeaders.AUTHORIZATION, user.authorization())
+                    .build(), r -> {
+            });
+            case NOTE_GET, NOTE_PUT, NOTE_DELETE -> noteCall(operation, user);
+            case NOTE_CREATE -> create(user);
+        };
+    }
+
+    /**
+     * GET & PUT the oldest note of the user, DELETE the newest one; the last note of a user isn't deleted,
+     * then a GET never finds a note deleted in the meantime. A user without notes creates one instead.
+     */
+    private Call noteCall(Operation operation, User user) {
+        Long id = operation == Operation.NOTE_DELETE
+                ? (user.noteIds().size() > 1 ? user.noteIds().pollLast() : null)
+                : user.noteIds().peekFirst();
+        if (id == null) return create(user);
+
+        URI uri = target.resolve(NOTE_PATH + "/" + id);
+        SimpleRequestBuilder builder = switch (operation) {
+            case NOTE_GET -> SimpleRequestBuilder.get(uri);
+            case NOTE_PUT -> SimpleRequestBuilder.put(uri).setBody(noteBody(), ContentType.APPLICATION_JSON);
+            default -> SimpleRequestBuilder.delete(uri);
+        };
+        return new Call(operation, builder.addHeader(HttpHeaders.AUTHORIZATION, user.authorization()).build(), r -> {
+        });
+    }
+
+    private Call create(User user) {
+        return new Call(Operation.NOTE_CREATE, SimpleRequestBuilder.post(target.resolve(NOTE_PATH))
+                .addHeader(HttpHeaders.AUTHORIZATION, user.authorization())
+                .setBody(noteBody(), ContentType.APPLICATION_JSON)
+                .build(), r -> {
+            String location = r.getFirstHeader(HttpHeaders.LOCATION) == null ? null : r.getFirstHeader(HttpHeaders.LOCATION).getValue();
+            if (r.getCode() == 201 && location != null) {
+                user.noteIds().add(Long.parseLong(location.substring(location.lastIndexOf('/') + 1)));
+            }
+        });
+    }
+
+    private static String userLine(String username, String roles, int notes) {
+        StringBuilder line = new StringBuilder()
+                .append("{\"username\":\"").append(username)
+                .append("\",\"password\":\"").append(PASSWORD_BCRYPT_MIN_COST)
+                .append("\",\"email\":\"").append(username).append("@load.com")
+                .append("\",\"roles\":").append(roles)
+                .append(",\"notes\":[");
+        for (int i = 0; i < notes; i++) {
+            if (i > 0) line.append(',');
+            line.append(noteBody());
+        }
+        return line.append("]}\n").toString();
+    }
+
+    private static String noteBody() {
+        return "{\"title\":\"load " + ThreadLocalRandom.current().nextInt(1_000_000) + "\",\"content\":\"generated by the load generator\"}";
+    }
+
+    private static String username(String runId, int index) {
+        return "u" + runId + index;
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,76 @@
+package org.cris6h16.apirestspringboot.LoadGenerator;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Short runs against the application booted with an embedded database
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+class LoadGeneratorTest {
+    private static ConfigurableApplicationContext application;
+    private static String target;
+
+    @BeforeAll
+    static void boot() {
+        application = LoadGeneratorMain.bootEmbedded();
+        target = "--target=http://localhost:" + application.getEnvironment().getProperty("local.server.port");
+    }
+
+    @AfterAll
+    static void close() {
+        application.close();
+    }
+
+    @Test
+    void closedModel_AllTheMixMeasuredWithoutErrors() throws Exception {
+        LoadOptions options = LoadOptions.parse(target, "--model=closed", "--users=4", "--duration=3", "--warmup=1",
+                "--seed-users=5", "--notes-per-user=3", "--connections=4");
+
+        LoadReport report = new LoadGenerator(options).run();
+
+        assertThat(report.failures()).isEmpty();
+        assertThat(report.endpoints())
+                .extracting(LoadReport.Endpoint::operation)
+                .containsExactlyInAnyOrder(Operation.values());
+        assertThat(report.endpoints()).allSatisfy(e -> {
+            assertThat(e.requests()).isPositive();
+            assertThat(e.p50()).isPositive().isLessThanOrEqualTo(e.p99());
+        });
+    }
+
+    @Test
+    void openModel_FixedRate_ReportAndHistogramsWritten(@TempDir Path dir) throws Exception {
+        LoadOptions options = LoadOptions.parse(target, "--model=open", "--rate=40", "--duration=3", "--warmup=1",
+                "--seed-users=5", "--mix=get:3,page:1");
+
+        LoadReport report = new LoadGenerator(options).run();
+        LatencyStats.writeHistograms(report, dir);
+
+        assertThat(report.errors()).isZero();
+        assertThat(report.dropped()).isZero();
+        assertThat(report.endpoints())
+                .extracting(LoadReport.Endpoint::operation)
+                .containsExactlyInAnyOrder(Operation.NOTE_GET, Operation.NOTE_PAGE);
+        assertThat(report.requests()).isBetween(100L, 130L); // 40/s during 3 s
+        assertThat(dir.resolve("get.hgrm")).exists();
+        assertThat(Files.readString(dir.resolve("page.hgrm"))).contains("Percentile");
+    }
+
+    @Test
+    void parse_UnknownOption_Rejected() {
+        assertThatThrownBy(() -> LoadOptions.parse("--rte=10"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
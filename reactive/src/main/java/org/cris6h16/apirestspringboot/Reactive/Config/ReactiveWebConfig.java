@@ -0,0 +1,26 @@
+package org.cris6h16.apirestspringboot.Reactive.Config;
+
+import org.cris6h16.apirestspringboot.Services.Validation.PageRequestGovernor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+/**
+ * The {@code Pageable} parameters ( {@code page, size & sort} ), the servlet application has them
+ * by Spring Data web support, which isn't available for WebFlux. Their limits are the same as in the
+ * servlet application ( {@link PageRequestGovernor}, out of the scanned package )
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Configuration
+@Import(PageRequestGovernor.class)
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver());
+    }
+}
@@ -0,0 +1,51 @@
+package org.cris6h16.apirestspringboot.Reactive.Config.Security;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Controller.Path.NOTE_PATH;
+import static org.springframework.security.config.Customizer.withDefaults;
+
+/**
+ * Reactive equivalent of the rules of {@code SecurityConfig} of the servlet application for the notes:
+ * HTTP basic, stateless, the notes for the users & the admins, anything else just for the admins.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    @Bean
+    SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .httpBasic(withDefaults())
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance()) // stateless
+                .authorizeExchange(authz -> authz
+                        .pathMatchers(NOTE_PATH, NOTE_PATH + "/**").hasAnyRole("ADMIN", "USER") // all note endpoints
+                        .anyExchange().hasRole("ADMIN")
+                );
+        return http.build();
+    }
+
+    @Bean
+    public static PasswordEncoder passwordEncoder() {
+        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    }
+
+    @Bean
+    ReactiveUserDetailsService reactiveUserDetailsService(DatabaseClient databaseClient) {
+        return new ReactiveUserDetailsServiceImpl(databaseClient);
+    }
+}
@@ -0,0 +1,86 @@
+package org.cris6h16.apirestspringboot.Reactive.Config.Security;
+
+import org.cris6h16.apirestspringboot.Config.Security.CustomUser.UserWithId;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Reactive equivalent of {@code UserDetailsServiceImpl} of the servlet application, the user
+ * and its roles are read in one query. The principal is a {@link UserWithId} as in the servlet
+ * application, then {@code @MyId} works in the same way.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class ReactiveUserDetailsServiceImpl implements ReactiveUserDetailsService {
+    private static final String USER_WITH_ROLES_SQL = "SELECT u.id, u.username, u.password, r.name AS role FROM users u " +
+            "LEFT JOIN users_roles ur ON ur.user_id = u.id " +
+            "LEFT JOIN roles r ON r.id = ur.role_id " +
+            "WHERE u.username = :username";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveUserDetailsServiceImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Load the user from the database by the {@code username}.<br>
+     * if the user hasn't roles then it has the default role {@link ERole#ROLE_USER}
+     *
+     * @param username of the user to load from the database.
+     * @return the user, empty if it isn't found ( then the authentication fails )
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return databaseClient.sql(USER_WITH_ROLES_SQL)
+                .bind("username", username)
+                .map(row -> new Row(
+                        row.get("id", Long.class),
+                        row.get("username", String.class),
+                        row.get("password", String.class),
+                        row.get("role", String.class)))
+                .all()
+                .collectList()
+                .filter(rows -> !rows.isEmpty())
+                .map(ReactiveUserDetailsServiceImpl::toUserDetails);
+    }
+
+    private static UserDetails toUserDetails(List<Row> rows) {
+        Row user = rows.get(0);
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        rows.stream()
+                .map(Row::role)
+                .filter(Objects::nonNull)
+                .forEach(role -> authorities.add(new SimpleGrantedAuthority(role)));
+        if (authorities.isEmpty()) authorities.add(new SimpleGrantedAuthority(ERole.ROLE_USER.name())); // considered as "invited"
+
+        return new UserWithId(
+                user.id(),
+                user.username(),
+                user.password(), // Password is encoded
+                true,
+                true,
+                true,
+                true,
+                authorities
+        );
+    }
+
+    /**
+     * A row of the user with one of its roles
+     */
+    private record Row(Long id, String username, String password, String role) {
+    }
+}
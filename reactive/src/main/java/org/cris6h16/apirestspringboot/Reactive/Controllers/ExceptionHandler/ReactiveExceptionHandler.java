@@ -0,0 +1,56 @@
+package org.cris6h16.apirestspringboot.Reactive.Controllers.ExceptionHandler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cris6h16.apirestspringboot.Controllers.ExceptionHandler.ErrorResponse;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Reactive equivalent of {@code ExceptionHandlerControllers} of the servlet application: the
+ * {@link ProperExceptionForTheUser} with its status & reason, anything else hidden from the users
+ * ( 403 with an empty body ) and shown to the admins ( 500 )
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@RestControllerAdvice
+@Slf4j
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(ProperExceptionForTheUser.class)
+    public ResponseEntity<ErrorResponse> handleProperExceptionForTheUser(ProperExceptionForTheUser e) {
+        log.debug("Exception Handled in the Advice: {}", e.toString());
+        return buildAFailResponse(e.getStatus(), e.getReason());
+    }
+
+    @ExceptionHandler(Exception.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleException(Exception e, ServerWebExchange exchange) {
+        log.debug("Exception Handled in the Advice: {}", e.toString());
+        return exchange.getPrincipal()
+                .filter(principal -> principal instanceof Authentication a && a.getAuthorities().stream()
+                        .anyMatch(authority -> ERole.ROLE_ADMIN.name().equals(authority.getAuthority())))
+                .map(admin -> buildAFailResponse(HttpStatus.INTERNAL_SERVER_ERROR, e.toString()))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.FORBIDDEN).build()); // the users can't map the existent endpoints
+    }
+
+    private ResponseEntity<ErrorResponse> buildAFailResponse(HttpStatus status, String message) {
+        ErrorResponse body = new ErrorResponse(
+                message == null ? "" : message,
+                status.toString(),
+                DateTimeFormatter.ISO_INSTANT.withZone(ZoneOffset.UTC).format(Instant.now())
+        );
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+}
@@ -0,0 +1,166 @@
+package org.cris6h16.apirestspringboot.Reactive.Controllers;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Controllers.MetaAnnotations.MyId;
+import org.cris6h16.apirestspringboot.DTOs.Creation.CreateNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.cris6h16.apirestspringboot.Reactive.Services.Interfaces.ReactiveNoteService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+/**
+ * Reactive variant of {@code NoteController} of the servlet application: the same paths, bodies,
+ * statuses & ETags, but no thread is held while the database answers or while a slow client
+ * sends its request or reads its response.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@RestController
+@RequestMapping(path = ReactiveNoteController.path)
+public class ReactiveNoteController {
+    public static final String path = Cons.Note.Controller.Path.NOTE_PATH;
+    private final ReactiveNoteService noteService;
+
+    public ReactiveNoteController(ReactiveNoteService noteService) {
+        this.noteService = noteService;
+    }
+
+    /**
+     * Create a note
+     *
+     * @return 201 with the location of the note
+     */
+    @PostMapping(
+            consumes = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<Void>> create(@RequestBody(required = true) CreateNoteDTO note,
+                                             @MyId Long principalId) {
+        return noteService.create(note, principalId)
+                .map(id -> ResponseEntity.created(URI.create(path + "/" + id)).build());
+    }
+
+    /**
+     * Get a page of notes, the ETag changes when any note of the user changes
+     *
+     * @return 200 with the page, or 304 if the ETag sent in the {@code If-None-Match} header still matches
+     */
+    @GetMapping(
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<Page<PublicNoteDTO>>> getPage(
+            @PageableDefault(
+                    size = Cons.Note.Page.DEFAULT_SIZE,
+                    page = Cons.Note.Page.DEFAULT_PAGE,
+                    sort = Cons.Note.Page.DEFAULT_SORT,
+                    direction = Sort.Direction.ASC
+            ) Pageable pageable,
+            @MyId Long principalId,
+            ServerWebExchange exchange) {
+        return noteService.getNotesVersionByUserId(principalId)
+                .map(version -> toPageETag(principalId, version, "full", pageable))
+                .flatMap(eTag -> {
+                    if (exchange.checkNotModified(eTag)) return Mono.just(notModified(eTag)); // 304, the page isn't loaded
+                    return noteService.getPage(pageable, principalId)
+                            .map(page -> ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache().cachePrivate()).body(page));
+                });
+    }
+
+    /**
+     * Get a note by its id, its version is sent in the ETag header
+     *
+     * @return 200 with the note, or 304 if the ETag sent in the {@code If-None-Match} header still matches
+     */
+    @GetMapping(
+            value = "/{noteId}",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<PublicNoteDTO>> getByIdAndUserId(@PathVariable(required = true) Long noteId,
+                                                                @MyId Long principalId,
+                                                                ServerWebExchange exchange) {
+        return noteService.getByIdAndUserId(noteId, principalId)
+                .map(note -> {
+                    if (note.getVersion() == null) return ResponseEntity.ok(note);
+                    String eTag = toETag(note.getVersion());
+                    if (exchange.checkNotModified(eTag)) return notModified(eTag);
+                    return ResponseEntity.ok().eTag(eTag).body(note);
+                });
+    }
+
+    /**
+     * Update a note, send its ETag in the {@code If-Match} header to avoid overwriting the changes of another request
+     *
+     * @return 204, or 412 if the note was modified since the ETag sent
+     */
+    @PutMapping(
+            value = "/{noteId}",
+            consumes = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<Void>> putByIdAndUserId(@PathVariable(required = true) Long noteId,
+                                                       @MyId Long principalId,
+                                                       @RequestBody(required = true) CreateNoteDTO note,
+                                                       @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long expectedVersion = (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) ? null : fromETag(ifMatch);
+        return noteService.putByIdAndUserId(noteId, principalId, note, expectedVersion)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    /**
+     * Delete a note by its id
+     *
+     * @return 204, or 404 if the note doesn't exist
+     */
+    @DeleteMapping(value = "/{noteId}")
+    public Mono<ResponseEntity<Void>> deleteByIdAndUserId(@PathVariable(required = true) Long noteId,
+                                                          @MyId Long principalId) {
+        return noteService.deleteByIdAndUserId(noteId, principalId)
+                .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+
+    /**
+     * @param version of a note
+     * @return the strong ETag of the note, e.g. {@code "3"}, the same as the servlet application
+     */
+    private static String toETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * The same ETags as the servlet application, a client can switch between both
+     *
+     * @return the strong ETag of the page, e.g. {@code "1-3-full-5d2e1f0a"}
+     */
+    private static String toPageETag(Long userId, Long version, String view, Pageable pageable) {
+        return "\"" + userId + "-" + version + "-" + view + "-" + Integer.toHexString(pageable.toString().hashCode()) + "\"";
+    }
+
+    /**
+     * @param ifMatch header sent by the client, e.g. {@code "3"}
+     * @return the version of the note, or {@code -1} if it isn't a strong ETag of a note ( never matches )
+     */
+    private static Long fromETag(String ifMatch) {
+        String eTag = ifMatch.split(",")[0].trim(); // just one note, just one ETag is expected
+        if (eTag.length() < 3 || !eTag.startsWith("\"") || !eTag.endsWith("\"")) return -1L; // weak ETags don't match in If-Match
+        try {
+            return Long.parseLong(eTag.substring(1, eTag.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
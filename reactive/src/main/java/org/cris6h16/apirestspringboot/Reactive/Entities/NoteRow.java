@@ -0,0 +1,35 @@
+package org.cris6h16.apirestspringboot.Reactive.Entities;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+
+/**
+ * Row of the {@code notes} table for R2DBC, the same table as {@code NoteEntity} of the servlet application.<br>
+ * The {@code search_vector} isn't mapped, it's generated by PostgreSQL
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Table("notes")
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class NoteRow {
+    @Id
+    private Long id;
+    private String title;
+    private String content;
+    @Column("updated_at")
+    private LocalDate updatedAt;
+    @Column("user_id")
+    private Long userId;
+    @Version // optimistic locking, the same column as NoteEntity.version
+    private Long version;
+}
@@ -0,0 +1,20 @@
+package org.cris6h16.apirestspringboot.Reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/**
+ * Reactive variant of the notes endpoints ( WebFlux + R2DBC ), it works with the same database
+ * and users as the servlet application: the notes written by any of them are seen by the other.<br>
+ * Just the package {@code Reactive} is scanned, the rest of the classes of the servlet application
+ * ( DTOs, constants, exceptions & validations ) are used as a library.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@SpringBootApplication
+public class ReactiveApplication {
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveApplication.class, args);
+    }
+}
@@ -0,0 +1,49 @@
+package org.cris6h16.apirestspringboot.Reactive.Repositories;
+
+import org.cris6h16.apirestspringboot.Reactive.Entities.NoteRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking equivalent of {@code NoteRepository} of the servlet application
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public interface ReactiveNoteRepository extends ReactiveCrudRepository<NoteRow, Long> {
+
+    /**
+     * @param noteId id of the note
+     * @param userId id of the owner
+     * @return the note if it's owned by the user
+     */
+    Mono<NoteRow> findByIdAndUserId(Long noteId, Long userId);
+
+    /**
+     * @param userId   id of the owner
+     * @param pageable page, size & sort
+     * @return the notes of the page ( {@code LIMIT & OFFSET} )
+     */
+    Flux<NoteRow> findByUserId(Long userId, Pageable pageable);
+
+    Mono<Long> countByUserId(Long userId);
+
+    Mono<Boolean> existsByIdAndUserId(Long noteId, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM notes WHERE id = :noteId AND user_id = :userId")
+    Mono<Long> deleteByIdAndUserId(Long noteId, Long userId);
+
+    /**
+     * The ids are shared with Hibernate ( pooled optimizer, {@code INCREMENT BY 50} ): the
+     * value taken is the last id of a block which Hibernate never uses, the rest of the block is skipped
+     *
+     * @return an id for a new note
+     */
+    @Query("SELECT nextval('id_note_seq')")
+    Mono<Long> nextId();
+}
@@ -0,0 +1,45 @@
+package org.cris6h16.apirestspringboot.Reactive.Repositories;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking equivalent of {@code NotesVersionRepository} of the servlet application, then its
+ * ETags of the pages of notes change with the writes of this application
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Repository
+public class ReactiveNotesVersionRepository {
+    private final DatabaseClient databaseClient;
+
+    public ReactiveNotesVersionRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * @param userId of the owner of the notes
+     * @return the version of the notes of the user, empty if the user doesn't exist
+     */
+    public Mono<Long> findByUserId(Long userId) {
+        return databaseClient.sql("SELECT notes_version FROM users WHERE id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get("notes_version", Long.class))
+                .one();
+    }
+
+    /**
+     * Increment the version of the notes of a user, the row is locked until the end of the transaction
+     *
+     * @param userId of the owner of the notes
+     * @return the number of users updated
+     */
+    public Mono<Long> increment(Long userId) {
+        return databaseClient.sql("UPDATE users SET notes_version = notes_version + 1 WHERE id = :userId")
+                .bind("userId", userId)
+                .fetch()
+                .rowsUpdated();
+    }
+}
@@ -0,0 +1,86 @@
+package org.cris6h16.apirestspringboot.Reactive.Services.Interfaces;
+
+import org.cris6h16.apirestspringboot.DTOs.Creation.CreateNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.cris6h16.apirestspringboot.Reactive.Repositories.ReactiveNoteRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service layer for {@link ReactiveNoteRepository}, the same contract as {@code NoteService}
+ * of the servlet application but the results are published when the database answers.<br>
+ * The exceptions ( {@code ProperExceptionForTheUser} ) are published as errors.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public interface ReactiveNoteService {
+
+    /**
+     * Create a note
+     *
+     * @param dto    the note to create
+     * @param userId the id of the user that owns the note
+     * @return the id of the created note
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    Mono<Long> create(CreateNoteDTO dto, Long userId);
+
+    /**
+     * Get a note owned by a user
+     *
+     * @param noteId the id of the note
+     * @param userId the id of the user that owns the note
+     * @return the note, with its version
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    Mono<PublicNoteDTO> getByIdAndUserId(Long noteId, Long userId);
+
+    /**
+     * Get a page of notes owned by a user
+     *
+     * @param pageable the page request
+     * @param userId   the id of the user that owns the notes
+     * @return the page of notes
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    Mono<Page<PublicNoteDTO>> getPage(Pageable pageable, Long userId);
+
+    /**
+     * Get the version of the notes of a user, incremented on every write of its notes
+     *
+     * @param userId the id of the user that owns the notes
+     * @return the version, used as the ETag of the pages of notes
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    Mono<Long> getNotesVersionByUserId(Long userId);
+
+    /**
+     * Update a note, or create it with the given id if it doesn't exist
+     *
+     * @param noteId          the id of the note
+     * @param userId          the id of the user that owns the note
+     * @param dto             the new content
+     * @param expectedVersion the version known by the client, {@code null} to overwrite any version
+     * @return completed when the note is written
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    Mono<Void> putByIdAndUserId(Long noteId, Long userId, CreateNoteDTO dto, Long expectedVersion);
+
+    /**
+     * Delete a note owned by a user
+     *
+     * @param noteId the id of the note
+     * @param userId the id of the user that owns the note
+     * @return completed when the note is deleted
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    Mono<Void> deleteByIdAndUserId(Long noteId, Long userId);
+}
@@ -0,0 +1,153 @@
+package org.cris6h16.apirestspringboot.Reactive.Services;
+
+import org.cris6h16.apirestspringboot.DTOs.Creation.CreateNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteNotFoundException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteVersionMismatchException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.UserService.UserNotFoundException;
+import org.cris6h16.apirestspringboot.Reactive.Entities.NoteRow;
+import org.cris6h16.apirestspringboot.Reactive.Repositories.ReactiveNoteRepository;
+import org.cris6h16.apirestspringboot.Reactive.Repositories.ReactiveNotesVersionRepository;
+import org.cris6h16.apirestspringboot.Reactive.Services.Interfaces.ReactiveNoteService;
+import org.cris6h16.apirestspringboot.Services.Validation.NoteValidator;
+import org.cris6h16.apirestspringboot.Services.Validation.PageRequestGovernor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Mono;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.Optional;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Page.SORTABLE;
+
+/**
+ * An implementation of {@link ReactiveNoteService} interface, each write keeps the version of the notes of the
+ * user as {@code NoteServiceImpl} of the servlet application ( the search vector is generated by PostgreSQL )
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Service
+public class ReactiveNoteServiceImpl implements ReactiveNoteService {
+
+    private final ReactiveNoteRepository noteRepository;
+    private final ReactiveNotesVersionRepository notesVersionRepository;
+    private final PageRequestGovernor pageRequestGovernor;
+
+    public ReactiveNoteServiceImpl(ReactiveNoteRepository noteRepository,
+                                   ReactiveNotesVersionRepository notesVersionRepository,
+                                   PageRequestGovernor pageRequestGovernor) {
+        this.noteRepository = noteRepository;
+        this.notesVersionRepository = notesVersionRepository;
+        this.pageRequestGovernor = pageRequestGovernor;
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED, rollbackFor = Exception.class)
+    public Mono<Long> create(CreateNoteDTO dto, Long userId) {
+        return Mono.fromRunnable(() -> NoteValidator.prepareAndVerify(dto, userId))
+                .then(userExists(userId))
+                .then(noteRepository.nextId())
+                .flatMap(id -> noteRepository.save(NoteRow.builder()
+                        .id(id)
+                        .title(dto.getTitle())
+                        .content(dto.getContent())
+                        .updatedAt(LocalDate.now())
+                        .userId(userId)
+                        .build()))
+                .flatMap(note -> afterWrite(userId).thenReturn(note.getId()));
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED, rollbackFor = Exception.class, readOnly = true)
+    public Mono<PublicNoteDTO> getByIdAndUserId(Long noteId, Long userId) {
+        return Mono.fromRunnable(() -> NoteValidator.verifyIds(userId, noteId))
+                .then(noteRepository.findByIdAndUserId(noteId, userId))
+                .switchIfEmpty(Mono.error(NoteNotFoundException::new))
+                .map(this::createPublicNoteDTO);
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED, rollbackFor = Exception.class, readOnly = true)
+    public Mono<Page<PublicNoteDTO>> getPage(Pageable pageable, Long userId) {
+        if (pageable == null) return Mono.error(new IllegalArgumentException("Pageable can't be null"));
+
+        return Mono.fromRunnable(() -> NoteValidator.verifyIds(userId))
+                .then(Mono.fromCallable(() -> pageRequestGovernor.govern(pageable, "notes", SORTABLE))) // before any query
+                .flatMap(pageRequest -> userExists(userId)
+                        .then(Mono.zip(
+                                noteRepository.findByUserId(userId, pageRequest).map(this::createPublicNoteDTO).collectList(),
+                                noteRepository.countByUserId(userId)))
+                        .map(t -> new PageImpl<>(t.getT1(), pageRequest, t.getT2())));
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED, rollbackFor = Exception.class, readOnly = true)
+    public Mono<Long> getNotesVersionByUserId(Long userId) {
+        return Mono.fromRunnable(() -> NoteValidator.verifyIds(userId))
+                .then(notesVersionRepository.findByUserId(userId))
+                .switchIfEmpty(Mono.error(UserNotFoundException::new));
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED, rollbackFor = Exception.class)
+    public Mono<Void> putByIdAndUserId(Long noteId, Long userId, CreateNoteDTO dto, Long expectedVersion) {
+        return Mono.fromRunnable(() -> NoteValidator.prepareAndVerify(dto, userId, noteId))
+                .then(userExists(userId))
+                .then(noteRepository.findByIdAndUserId(noteId, userId).map(Optional::of).defaultIfEmpty(Optional.empty()))
+                .flatMap(found -> {
+                    if (expectedVersion != null && !found.map(n -> Objects.equals(n.getVersion(), expectedVersion)).orElse(false)) {
+                        return Mono.error(new NoteVersionMismatchException());
+                    }
+                    NoteRow note = found.orElse(NoteRow.builder().id(noteId).userId(userId).build()); // version null: inserted
+                    note.setTitle(dto.getTitle());
+                    note.setContent(dto.getContent());
+                    note.setUpdatedAt(LocalDate.now());
+                    return noteRepository.save(note); // UPDATE ... WHERE version = ?
+                })
+                .onErrorMap(OptimisticLockingFailureException.class, e -> new NoteVersionMismatchException()) // modified after it was read
+                .flatMap(note -> afterWrite(userId));
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED, rollbackFor = Exception.class)
+    public Mono<Void> deleteByIdAndUserId(Long noteId, Long userId) {
+        return Mono.fromRunnable(() -> NoteValidator.verifyIds(userId, noteId))
+                .then(userExists(userId))
+                .then(noteRepository.deleteByIdAndUserId(noteId, userId))
+                .flatMap(deleted -> deleted == 0 ? Mono.error(new NoteNotFoundException()) : afterWrite(userId));
+    }
+
+    /**
+     * @return completed if the user exists, else {@link UserNotFoundException}
+     */
+    private Mono<Void> userExists(Long userId) {
+        return notesVersionRepository.findByUserId(userId)
+                .switchIfEmpty(Mono.error(UserNotFoundException::new))
+                .then();
+    }
+
+    /**
+     * Increment the version of the notes of the user
+     */
+    private Mono<Void> afterWrite(Long userId) {
+        return notesVersionRepository.increment(userId).then();
+    }
+
+    private PublicNoteDTO createPublicNoteDTO(NoteRow note) {
+        return PublicNoteDTO.builder()
+                .title(Optional.ofNullable(note.getTitle()).orElse(""))
+                .content(Optional.ofNullable(note.getContent()).orElse(""))
+                .id(Optional.ofNullable(note.getId()).orElse(-1L))
+                .updatedAt(note.getUpdatedAt() == null ? null : Date.valueOf(note.getUpdatedAt())) // as the JDBC driver in the servlet application
+                .version(note.getVersion())
+                .build();
+    }
+}
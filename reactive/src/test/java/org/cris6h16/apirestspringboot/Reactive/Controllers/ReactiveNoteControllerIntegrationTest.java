@@ -0,0 +1,227 @@
+package org.cris6h16.apirestspringboot.Reactive.Controllers;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.DTOs.Creation.CreateNoteDTO;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Reactive.UsersFixture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Controller.Path.NOTE_PATH;
+
+/**
+ * Integration test for {@link ReactiveNoteController}, the same database as the servlet application
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient
+@Tag("IntegrationTest")
+@ActiveProfiles(profiles = "test")
+class ReactiveNoteControllerIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private UsersFixture users;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        users = new UsersFixture(databaseClient);
+        users.deleteAll();
+        userId = users.create("cris6h16", ERole.ROLE_USER);
+    }
+
+    @Test
+    void create_successful_ThenLocationAndIndexed() {
+        // Act
+        URI location = client("cris6h16").post().uri(NOTE_PATH)
+                .bodyValue(new CreateNoteDTO("reactive title", "reactive content"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().isEmpty()
+                .getResponseHeaders().getLocation();
+
+        // Assert
+        assertThat(location).isNotNull();
+        client("cris6h16").get().uri(location)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"0\"")
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("reactive title")
+                .jsonPath("$.content").isEqualTo("reactive content")
+                .jsonPath("$.updatedAt").isNotEmpty();
+
+        Long indexed = databaseClient.sql("SELECT count(*) FROM notes WHERE search_vector @@ plainto_tsquery('simple', 'reactive')")
+                .map(row -> row.get(0, Long.class)).one().block();
+        assertThat(indexed).isEqualTo(1); // found by the search of the servlet application
+    }
+
+    @Test
+    void create_titleTooLong_Then400() {
+        client("cris6h16").post().uri(NOTE_PATH)
+                .bodyValue(new CreateNoteDTO("a".repeat(Cons.Note.Validations.MAX_TITLE_LENGTH + 1), "content"))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(Cons.Note.Validations.TITLE_MAX_LENGTH_MSG)
+                .jsonPath("$.status").isEqualTo(HttpStatus.BAD_REQUEST.toString());
+    }
+
+    @Test
+    void getPage_ownNotes_ThenPageAndItsETagChangesWithAWrite() {
+        // Arrange
+        users.createNotes(userId, 15);
+        users.createNotes(users.create("other", ERole.ROLE_USER), 3);
+
+        // Act
+        String eTag = client("cris6h16").get().uri(NOTE_PATH + "?page=1&size=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(5)
+                .jsonPath("$.totalElements").isEqualTo(15)
+                .jsonPath("$.content[0].title").isEqualTo("note 11")
+                .returnResult().getResponseHeaders().getETag();
+
+        // Assert
+        assertThat(eTag).isNotNull();
+        client("cris6h16").get().uri(NOTE_PATH + "?page=1&size=10")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+
+        client("cris6h16").post().uri(NOTE_PATH).bodyValue(new CreateNoteDTO("new", "")).exchange().expectStatus().isCreated();
+        client("cris6h16").get().uri(NOTE_PATH + "?page=1&size=10")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void getPage_governed_ThenSortWithoutIndexRejectedAndSizeCapped() {
+        // Arrange
+        users.createNotes(userId, Cons.Pages.DEFAULT_MAX_SIZE + 1);
+
+        // Act & Assert
+        client("cris6h16").get().uri(NOTE_PATH + "?sort=content")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(Cons.Pages.SORT_INVALID_MSG + "id, updatedAt");
+
+        client("cris6h16").get().uri(NOTE_PATH + "?size=" + (Cons.Pages.DEFAULT_MAX_SIZE + 1))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(Cons.Pages.DEFAULT_MAX_SIZE)
+                .jsonPath("$.size").isEqualTo(Cons.Pages.DEFAULT_MAX_SIZE);
+    }
+
+    @Test
+    void getByIdAndUserId_ofAnotherUser_Then404() {
+        // Arrange
+        Long otherId = users.create("other", ERole.ROLE_USER);
+        URI location = createNote("other", "not yours");
+
+        // Act & Assert
+        client("cris6h16").get().uri(location)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo(Cons.Note.Fails.NOT_FOUND);
+        assertThat(otherId).isNotEqualTo(userId);
+    }
+
+    @Test
+    void putByIdAndUserId_ifMatch_ThenUpdatedOrPreconditionFailed() {
+        // Arrange
+        URI location = createNote("cris6h16", "first");
+
+        // Act & Assert
+        client("cris6h16").put().uri(location)
+                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                .bodyValue(new CreateNoteDTO("second", "content"))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        client("cris6h16").put().uri(location)
+                .header(HttpHeaders.IF_MATCH, "\"0\"") // stale
+                .bodyValue(new CreateNoteDTO("third", "content"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED)
+                .expectBody().jsonPath("$.message").isEqualTo(Cons.Note.Fails.VERSION_MISMATCH);
+
+        client("cris6h16").get().uri(location)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1\"")
+                .expectBody().jsonPath("$.title").isEqualTo("second");
+    }
+
+    @Test
+    void deleteByIdAndUserId_successful_ThenDeletedAndNotFoundAfter() {
+        // Arrange
+        URI location = createNote("cris6h16", "to delete");
+        Long versionBefore = notesVersion();
+
+        // Act & Assert
+        client("cris6h16").delete().uri(location).exchange().expectStatus().isNoContent();
+        client("cris6h16").delete().uri(location).exchange().expectStatus().isNotFound();
+        assertThat(notesVersion()).isEqualTo(versionBefore + 1);
+    }
+
+    @Test
+    void anyEndpoint_notAuthenticated_Then401() {
+        webTestClient.get().uri(NOTE_PATH).exchange().expectStatus().isUnauthorized();
+        webTestClient.get().uri(NOTE_PATH)
+                .headers(h -> h.setBasicAuth("cris6h16", "wrong password"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void nonNoteEndpoint_isNotAdmin_Then403() {
+        client("cris6h16").get().uri(Cons.User.Controller.Path.USER_PATH)
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    private URI createNote(String username, String title) {
+        return client(username).post().uri(NOTE_PATH)
+                .bodyValue(new CreateNoteDTO(title, ""))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().isEmpty()
+                .getResponseHeaders().getLocation();
+    }
+
+    private Long notesVersion() {
+        return databaseClient.sql("SELECT notes_version FROM users WHERE id = :id")
+                .bind("id", userId)
+                .map(row -> row.get(0, Long.class)).one().block();
+    }
+
+    private WebTestClient client(String username) {
+        return webTestClient.mutate()
+                .defaultHeaders(h -> h.setBasicAuth(username, UsersFixture.PASSWORD))
+                .build();
+    }
+}
@@ -0,0 +1,154 @@
+package org.cris6h16.apirestspringboot.Reactive.Controllers;
+
+import org.cris6h16.apirestspringboot.Config.Security.CustomUser.UserWithId;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.DTOs.Creation.CreateNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteNotFoundException;
+import org.cris6h16.apirestspringboot.Reactive.Config.ReactiveWebConfig;
+import org.cris6h16.apirestspringboot.Reactive.Config.Security.ReactiveSecurityConfig;
+import org.cris6h16.apirestspringboot.Reactive.Controllers.ExceptionHandler.ReactiveExceptionHandler;
+import org.cris6h16.apirestspringboot.Reactive.Services.Interfaces.ReactiveNoteService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Controller.Path.NOTE_PATH;
+
+/**
+ * Unit test for {@link ReactiveNoteController}, the service & the users are mocked
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@WebFluxTest(ReactiveNoteController.class)
+@Import({ReactiveSecurityConfig.class, ReactiveWebConfig.class, ReactiveExceptionHandler.class})
+@Tag("UnitTest")
+class ReactiveNoteControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveNoteService noteService;
+
+    @MockBean
+    private ReactiveUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        when(userDetailsService.findByUsername("cris6h16")).thenAnswer(i -> Mono.just(user(1L, "cris6h16", ERole.ROLE_USER)));
+        when(userDetailsService.findByUsername("admin")).thenAnswer(i -> Mono.just(user(2L, "admin", ERole.ROLE_ADMIN)));
+    }
+
+    @Test
+    void create_successful_Then201AndLocation() {
+        when(noteService.create(any(CreateNoteDTO.class), eq(1L))).thenReturn(Mono.just(10L));
+
+        client("cris6h16").post().uri(NOTE_PATH)
+                .bodyValue(new CreateNoteDTO("title", "content"))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().location(NOTE_PATH + "/10");
+    }
+
+    @Test
+    void getPage_defaultParams_ThenDefaultPageable() {
+        when(noteService.getNotesVersionByUserId(1L)).thenReturn(Mono.just(3L));
+        when(noteService.getPage(any(Pageable.class), eq(1L))).thenAnswer(i -> Mono.just(new PageImpl<>(List.of(), i.getArgument(0), 0)));
+
+        client("cris6h16").get().uri(NOTE_PATH)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG);
+
+        verify(noteService).getPage(
+                PageRequest.of(Cons.Note.Page.DEFAULT_PAGE, Cons.Note.Page.DEFAULT_SIZE, Sort.by(Sort.Direction.ASC, Cons.Note.Page.DEFAULT_SORT)),
+                1L);
+    }
+
+    @Test
+    void getByIdAndUserId_ifNoneMatchSameVersion_Then304() {
+        when(noteService.getByIdAndUserId(10L, 1L)).thenReturn(Mono.just(PublicNoteDTO.builder().id(10L).title("t").content("c").version(4L).build()));
+
+        client("cris6h16").get().uri(NOTE_PATH + "/10")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"4\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void putByIdAndUserId_ifMatch_ThenExpectedVersionPassed() {
+        when(noteService.putByIdAndUserId(eq(10L), eq(1L), any(CreateNoteDTO.class), any())).thenReturn(Mono.empty());
+
+        client("cris6h16").put().uri(NOTE_PATH + "/10")
+                .header(HttpHeaders.IF_MATCH, "\"4\"")
+                .bodyValue(new CreateNoteDTO("title", "content"))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(noteService).putByIdAndUserId(eq(10L), eq(1L), any(CreateNoteDTO.class), eq(4L));
+    }
+
+    @Test
+    void deleteByIdAndUserId_notFound_Then404WithReason() {
+        when(noteService.deleteByIdAndUserId(10L, 1L)).thenReturn(Mono.error(new NoteNotFoundException()));
+
+        client("cris6h16").delete().uri(NOTE_PATH + "/10")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.message").isEqualTo(Cons.Note.Fails.NOT_FOUND);
+    }
+
+    @Test
+    void anyEndpoint_unhandledException_Then403ForUsersAnd500ForAdmins() {
+        when(noteService.deleteByIdAndUserId(eq(10L), anyLong())).thenReturn(Mono.error(new RuntimeException(Cons.TESTING.UNHANDLED_EXCEPTION_MSG_FOR_TESTING_PURPOSES)));
+
+        client("cris6h16").delete().uri(NOTE_PATH + "/10")
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody().isEmpty();
+        client("admin").delete().uri(NOTE_PATH + "/10")
+                .exchange()
+                .expectStatus().is5xxServerError()
+                .expectBody().jsonPath("$.message").value(m -> assertThat(m.toString()).contains(Cons.TESTING.UNHANDLED_EXCEPTION_MSG_FOR_TESTING_PURPOSES));
+    }
+
+    @Test
+    void anyEndpoint_notAuthenticated_Then401() {
+        webTestClient.get().uri(NOTE_PATH).exchange().expectStatus().isUnauthorized();
+        verifyNoInteractions(noteService);
+    }
+
+    private WebTestClient client(String username) {
+        return webTestClient.mutate()
+                .defaultHeaders(h -> h.setBasicAuth(username, "12345678"))
+                .build();
+    }
+
+    private static UserWithId user(Long id, String username, ERole role) {
+        return new UserWithId(id, username, "{noop}12345678", true, true, true, true,
+                List.of(new SimpleGrantedAuthority(role.name())));
+    }
+}
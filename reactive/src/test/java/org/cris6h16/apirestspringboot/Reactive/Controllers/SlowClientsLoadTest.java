@@ -0,0 +1,185 @@
+package org.cris6h16.apirestspringboot.Reactive.Controllers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Reactive.UsersFixture;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Controller.Path.NOTE_PATH;
+
+/**
+ * Compares the reactive notes endpoints against the servlet application under thousands of
+ * concurrent slow clients: each one sends the body of a new note in small pieces, while a few
+ * fast clients get pages of notes, the latencies of the fast clients are logged at the end.<br>
+ * The reactive application is started by the test, the servlet application is measured if it's
+ * already running with the profile {@code test} ( the same database ), e.g.:
+ * <pre>
+ *     java -jar target/api-rest-spring-boot-1.0.0-exec.jar --spring.profiles.active=test --logging.level.root=info
+ *     mvn -f reactive/pom.xml test -P load-tests -Dbenchmark.servlet-url=http://localhost:8080
+ * </pre>
+ * Executed just by the profile {@code load-tests}.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"logging.level.root=info"} // the test profile logs in debug each request
+)
+@ActiveProfiles(profiles = "test")
+@Tag("LoadTest")
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SlowClientsLoadTest {
+    private static final int SLOW_CLIENTS = 2000;
+    private static final int SLOW_CHUNKS = 5;
+    private static final long SLOW_CHUNK_DELAY_MILLIS = 300; // each slow client takes ~1.5 s to send its body
+    private static final int FAST_CLIENTS = 20;
+    private static final int REQUESTS_PER_FAST_CLIENT = 20;
+    private static final int NOTES = 50;
+    private static final String SERVLET_URL = System.getProperty("benchmark.servlet-url");
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    private final Map<String, String> results = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    @BeforeAll
+    void setUp() {
+        UsersFixture users = new UsersFixture(databaseClient);
+        users.deleteAll();
+        users.createNotes(users.create("cris6h16", ERole.ROLE_USER), NOTES);
+    }
+
+    @AfterAll
+    void logComparison() {
+        log.info("Load of {} slow clients ( POST {} ) with {} fast clients ( GET {} ), {} requests each:\n{}",
+                SLOW_CLIENTS, NOTE_PATH, FAST_CLIENTS, NOTE_PATH, REQUESTS_PER_FAST_CLIENT,
+                results.entrySet().stream()
+                        .map(e -> e.getKey() + ": " + e.getValue())
+                        .collect(Collectors.joining("\n")));
+    }
+
+    @Test
+    void reactive_slowClients() throws InterruptedException {
+        results.put("reactive ( WebFlux + R2DBC )", run(URI.create("http://localhost:" + port)));
+    }
+
+    @Test
+    void servlet_slowClients() throws InterruptedException {
+        Assumptions.assumeTrue(SERVLET_URL != null, "the servlet application isn't running ( -Dbenchmark.servlet-url )");
+        results.put("servlet ( " + SERVLET_URL + " )", run(URI.create(SERVLET_URL)));
+    }
+
+    /**
+     * @return the latencies of the fast clients, and the slow clients which completed their request
+     */
+    private String run(URI base) throws InterruptedException {
+        String authorization = "Basic " + Base64.getEncoder().encodeToString(("cris6h16:" + UsersFixture.PASSWORD).getBytes(StandardCharsets.UTF_8));
+        HttpRequest page = HttpRequest.newBuilder(base.resolve(NOTE_PATH))
+                .header("Authorization", authorization)
+                .GET()
+                .build();
+        Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        Queue<Integer> failures = new ConcurrentLinkedQueue<>();
+        AtomicInteger created = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newHttpClient()) {
+            for (int c = 0; c < SLOW_CLIENTS; c++) {
+                int client = c;
+                clients.submit(() -> {
+                    if (slowCreate(base, authorization, client) == 201) created.incrementAndGet();
+                });
+            }
+            Thread.sleep(SLOW_CHUNK_DELAY_MILLIS); // the slow clients are connected and sending
+            for (int c = 0; c < FAST_CLIENTS; c++) {
+                clients.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_FAST_CLIENT; r++) {
+                        long sent = System.nanoTime();
+                        try {
+                            int status = http.send(page, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status != 200) failures.add(status);
+                        } catch (Exception e) {
+                            failures.add(-1);
+                        }
+                        latencies.add(System.nanoTime() - sent);
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(10, TimeUnit.MINUTES);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(failures).isEmpty();
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        return "fast clients p50 %d ms, p99 %d ms, max %d ms; slow clients created %d/%d notes in %d ms".formatted(
+                percentile(sorted, 0.50), percentile(sorted, 0.99), sorted[sorted.length - 1] / 1_000_000,
+                created.get(), SLOW_CLIENTS, elapsed / 1_000_000);
+    }
+
+    /**
+     * A client with a slow connection, the body is sent in {@link #SLOW_CHUNKS} pieces
+     *
+     * @return the status of the response, {@code -1} if the connection failed
+     */
+    private static int slowCreate(URI base, String authorization, int client) {
+        byte[] body = ("{\"title\":\"slow " + client + "\",\"content\":\"" + "x".repeat(200) + "\"}").getBytes(StandardCharsets.UTF_8);
+        String head = "POST " + NOTE_PATH + " HTTP/1.1\r\n" +
+                "Host: " + base.getHost() + ":" + base.getPort() + "\r\n" +
+                "Authorization: " + authorization + "\r\n" +
+                "Content-Type: application/json\r\n" +
+                "Content-Length: " + body.length + "\r\n" +
+                "Connection: close\r\n\r\n";
+        try (Socket socket = new Socket(base.getHost(), base.getPort())) {
+            OutputStream out = socket.getOutputStream();
+            out.write(head.getBytes(StandardCharsets.US_ASCII));
+            int chunk = (body.length + SLOW_CHUNKS - 1) / SLOW_CHUNKS;
+            for (int from = 0; from < body.length; from += chunk) {
+                out.write(body, from, Math.min(chunk, body.length - from));
+                out.flush();
+                Thread.sleep(SLOW_CHUNK_DELAY_MILLIS);
+            }
+            String status = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII)).readLine();
+            return Integer.parseInt(status.split(" ")[1]); // HTTP/1.1 201 Created
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1_000_000;
+    }
+}
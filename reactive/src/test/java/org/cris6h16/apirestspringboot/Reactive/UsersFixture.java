@@ -0,0 +1,73 @@
+package org.cris6h16.apirestspringboot.Reactive;
+
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Writes the users of the tests directly in the database, the users are created by the
+ * servlet application. The passwords aren't hashed ( {@code {noop}} ): the authentication
+ * doesn't hide the cost of the requests in the load tests.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class UsersFixture {
+    public static final String PASSWORD = "12345678";
+
+    private final DatabaseClient databaseClient;
+
+    public UsersFixture(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Remove the notes, the users and the roles
+     */
+    public void deleteAll() {
+        for (String table : new String[]{"notes", "users_roles", "users", "roles"}) {
+            databaseClient.sql("DELETE FROM " + table).then().block();
+        }
+    }
+
+    /**
+     * @return the id of the created user
+     */
+    public Long create(String username, ERole role) {
+        Long id = nextId("id_user_seq");
+        databaseClient.sql("INSERT INTO users (id, username, password, email, created_at) VALUES (:id, :username, :password, :email, CURRENT_DATE)")
+                .bind("id", id)
+                .bind("username", username)
+                .bind("password", "{noop}" + PASSWORD)
+                .bind("email", username + "@example.com")
+                .then().block();
+
+        Long roleId = nextId("id_role_seq");
+        databaseClient.sql("INSERT INTO roles (id, name) VALUES (:id, :name)")
+                .bind("id", roleId)
+                .bind("name", role.name())
+                .then().block();
+        databaseClient.sql("INSERT INTO users_roles (user_id, role_id) VALUES (:userId, :roleId)")
+                .bind("userId", id)
+                .bind("roleId", roleId)
+                .then().block();
+        return id;
+    }
+
+    /**
+     * Create notes of a user in one statement
+     */
+    public void createNotes(Long userId, int count) {
+        databaseClient.sql("INSERT INTO notes (id, title, content, updated_at, user_id) " +
+                        "SELECT nextval('id_note_seq'), 'note ' || i, 'content of the note ' || i, CURRENT_DATE, :userId " +
+                        "FROM generate_series(1, :count) i")
+                .bind("userId", userId)
+                .bind("count", count)
+                .then().block();
+    }
+
+    private Long nextId(String sequence) {
+        return databaseClient.sql("SELECT nextval('" + sequence + "')")
+                .map(row -> row.get(0, Long.class))
+                .one().block();
+    }
+}
@@ -2,6 +2,8 @@ package org.cris6h16.apirestspringboot;
 
 import org.cris6h16.apirestspringboot.DTOs.Creation.CreateUserDTO;
 import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.UserService.EmailAlreadyExistsException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.UserService.UsernameAlreadyExistsException;
 import org.cris6h16.apirestspringboot.Services.UserServiceImpl;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
@@ -22,14 +24,18 @@ public class ApiRestSpringBootApplication {
         return args -> {
             if (userService == null) return;
 
-            userService.create(
-                    CreateUserDTO.builder()
-                            .username("cris6h16")
-                            .password("12345678")
-                            .email("cristianmherrera21@gmail.com")
-                            .build(),
-                    ERole.ROLE_ADMIN
-            );
+            try {
+                userService.create(
+                        CreateUserDTO.builder()
+                                .username("cris6h16")
+                                .password("12345678")
+                                .email("cristianmherrera21@gmail.com")
+                                .build(),
+                        ERole.ROLE_ADMIN
+                );
+            } catch (UsernameAlreadyExistsException | EmailAlreadyExistsException e) {
+                // created in a previous start, the schema is kept between starts ( migrations )
+            }
         };
     }
 }
@@ -0,0 +1,43 @@
+package org.cris6h16.apirestspringboot.Config.AsyncCalls;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.AsyncCalls.*;
+
+/**
+ * The note endpoints which answer JSON call the services through {@link ServiceCalls}, they return a plain
+ * {@code ResponseEntity}:
+ * <ul>
+ *     <li>{@code notes.async.enabled}: the services run in a pool of {@code spring.datasource.hikari.maximum-pool-size}
+ *     threads, with {@code notes.async.queue-capacity} and {@code notes.async.timeout}. Worth it with the requests in
+ *     platform threads ( {@code spring.threads.virtual.enabled=false} ): Tomcat's threads are released while the
+ *     database is waited, then they authenticate & validate other requests meanwhile. The response is written by
+ *     the asynchronous dispatch ( a {@code DeferredResult} )</li>
+ *     <li>else ( the default, the virtual threads don't hold a platform thread while they wait ): in the thread of
+ *     the request, a synchronous response</li>
+ * </ul>
+ * The statements counted by request ( {@code SqlStatements} ) and the phases of {@code Server-Timing}
+ * ( {@code RequestTimings} ) are recorded by thread: a pooled call attaches the ones of its request to the thread of
+ * the pool while it runs and detaches them at its end ( {@link ServiceCalls#supply} ), then they're counted as inline.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Configuration
+public class AsyncCallsConfig {
+
+    @Bean
+    public ServiceCalls serviceCalls(
+            @Value("${" + PROPERTY_PREFIX + ".enabled:false}") boolean enabled,
+            @Value("${spring.datasource.hikari.maximum-pool-size:" + DEFAULT_POOL_SIZE + "}") int poolSize,
+            @Value("${" + PROPERTY_PREFIX + ".queue-capacity:" + DEFAULT_QUEUE_CAPACITY + "}") int queueCapacity,
+            @Value("${" + PROPERTY_PREFIX + ".timeout:" + DEFAULT_TIMEOUT + "}") Duration timeout) {
+        return enabled
+                ? ServiceCalls.pooled(poolSize, queueCapacity, timeout, THREAD_NAME_PREFIX)
+                : ServiceCalls.inline();
+    }
+}
@@ -0,0 +1,156 @@
+package org.cris6h16.apirestspringboot.Config.AsyncCalls;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.cris6h16.apirestspringboot.Config.Sql.SqlStatements;
+import org.cris6h16.apirestspringboot.Config.Timing.RequestTimings;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.ServiceBusyException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.ServiceTimeoutException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs the calls of the controllers to the services:
+ * <ul>
+ *     <li>Inline ( {@link #inline()} ): in the thread of the request, its result is returned as is</li>
+ *     <li>In a pool ( {@link #pooled(int, int, Duration, String)} ): the thread of the request is released while the database is
+ *     waited, the pool has a thread by connection then the calls beyond the connections wait in its queue instead of
+ *     in Hikari. The result is written by the asynchronous dispatch of Spring MVC ( a {@link DeferredResult} ). A full
+ *     queue is {@link ServiceBusyException} and a call slower than the timeout {@link ServiceTimeoutException}
+ *     ( both 503 ), then the call is cancelled: removed from the queue, or its thread interrupted ( e.g. waiting for a
+ *     connection ). The call records in the {@link SqlStatements} and the {@link RequestTimings} of its request</li>
+ * </ul>
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class ServiceCalls implements MeterBinder, DisposableBean {
+    private final ThreadPoolExecutor executor; // null: inline
+    private final long timeoutMillis;
+
+    private ServiceCalls(ThreadPoolExecutor executor, Duration timeout) {
+        this.executor = executor;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * @return calls in the thread of the request
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static ServiceCalls inline() {
+        return new ServiceCalls(null, Duration.ZERO);
+    }
+
+    /**
+     * @param poolSize         threads of the pool, the connections to the database
+     * @param queueCapacity    calls waiting for a thread, more are rejected ( {@code 0}: no queue )
+     * @param timeout          max time of a call, since it's queued
+     * @param threadNamePrefix e.g. {@code notes-db-}
+     * @return calls in a pool of platform threads named {@code threadNamePrefix + n}
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static ServiceCalls pooled(int poolSize, int queueCapacity, Duration timeout, String threadNamePrefix) {
+        if (poolSize < 1 || queueCapacity < 0) throw new IllegalArgumentException("Invalid size of the pool");
+        if (timeout.isNegative() || timeout.isZero()) throw new IllegalArgumentException("Invalid timeout");
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                queueCapacity == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name(threadNamePrefix, 1).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.prestartAllCoreThreads();
+        return new ServiceCalls(executor, timeout);
+    }
+
+    /**
+     * To be called by a handler of Spring MVC, which returns the result as is: in the pool it's {@code null} and the
+     * asynchronous processing of the request is started, the result is written with the return type of the handler
+     *
+     * @param call to a service, e.g. {@code () -> ResponseEntity.ok(noteService.getPage(pageable, userId))}
+     * @return its result; in the pool {@code null}
+     * @throws ServiceBusyException if the pool and its queue are busy
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public <T> T supply(Supplier<T> call) {
+        if (executor == null) return call.get();
+
+        DeferredResult<T> result = submit(call);
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        WebAsyncUtils.getAsyncManager(attributes.getRequest()).startDeferredResultProcessing(result);
+        return null;
+    }
+
+    /**
+     * @param call to a service
+     * @return its result or its exception when the call ends in the pool, {@link ServiceTimeoutException} if it's
+     * slower than the timeout
+     * @throws ServiceBusyException if the pool and its queue are busy
+     */
+    <T> DeferredResult<T> submit(Supplier<T> call) {
+        SqlStatements statements = SqlStatements.current(); // the thread-locals of the request, installed in the pool
+        RequestTimings timings = RequestTimings.current();
+        DeferredResult<T> result = new DeferredResult<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                SqlStatements.attach(statements);
+                RequestTimings.attach(timings);
+                try {
+                    result.setResult(call.get());
+                } catch (Throwable e) { // to the exception handlers as it was thrown
+                    result.setErrorResult(e);
+                } finally {
+                    SqlStatements.end();
+                    RequestTimings.detach();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new ServiceBusyException();
+        }
+
+        Runnable timeout = () -> {
+            if (result.setErrorResult(new ServiceTimeoutException())) task.cancel(true); // its connection back to the pool
+        };
+        CompletableFuture.delayedExecutor(timeoutMillis, TimeUnit.MILLISECONDS).execute(timeout);
+        result.onTimeout(timeout); // the async timeout of the container, if it's shorter
+        return result;
+    }
+
+    /**
+     * @return {@code true} if the calls run in the pool
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public boolean isPooled() {
+        return executor != null;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (executor != null) new ExecutorServiceMetrics(executor, "notes.async", List.of()).bindTo(registry); // threads & queue
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (executor == null) return;
+        executor.shutdown();
+        executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS); // the calls in progress end
+    }
+}
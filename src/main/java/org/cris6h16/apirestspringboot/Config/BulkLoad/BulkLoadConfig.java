@@ -0,0 +1,39 @@
+package org.cris6h16.apirestspringboot.Config.BulkLoad;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cris6h16.apirestspringboot.Services.BulkLoad.BulkLoader;
+import org.cris6h16.apirestspringboot.Services.BulkLoad.JdbcBatchBulkLoader;
+import org.cris6h16.apirestspringboot.Services.BulkLoad.PostgresCopyBulkLoader;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Chooses the {@link BulkLoader} by the database product:
+ * <ul>
+ *     <li>{@code PostgreSQL}: {@link PostgresCopyBulkLoader}</li>
+ *     <li>any other ( {@code H2} in the tests ): {@link JdbcBatchBulkLoader}</li>
+ * </ul>
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Configuration
+@Slf4j
+public class BulkLoadConfig {
+
+    @Bean
+    public BulkLoader bulkLoader(DataSource dataSource,
+                                 JdbcTemplate jdbcTemplate) throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        log.info("Bulk load of the users for the database: {}", product);
+
+        if ("PostgreSQL".equals(product)) return new PostgresCopyBulkLoader(jdbcTemplate);
+        return new JdbcBatchBulkLoader(jdbcTemplate);
+    }
+}
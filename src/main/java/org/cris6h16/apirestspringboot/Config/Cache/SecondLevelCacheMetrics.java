@@ -0,0 +1,72 @@
+package org.cris6h16.apirestspringboot.Config.Cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Exposes the hit ratio of each region of the Hibernate second-level cache as
+ * {@code hibernate.second.level.cache.hit.ratio}.<br>
+ * The hits, misses and puts per region are already exposed by {@code hibernate-micrometer}
+ * ({@code hibernate.second.level.cache.requests}), this is only the ratio ready to be plotted.<br>
+ * Both need the statistics of Hibernate ( {@code hibernate.generate_statistics} ), without them no gauge is registered
+ * ( it would be always 0 ).
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+    public static final String HIT_RATIO_METRIC = "hibernate.second.level.cache.hit.ratio";
+    private static final List<String> REGIONS = List.of(
+            Cons.CacheRegions.ROLES,
+            Cons.CacheRegions.USERS,
+            Cons.CacheRegions.USERS_ROLES,
+            Cons.CacheRegions.QUERY_RESULTS
+    );
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) return;
+
+        for (String region : REGIONS) {
+            Gauge.builder(HIT_RATIO_METRIC, statistics, s -> hitRatio(s, region))
+                    .tag("region", region)
+                    .description("hits / (hits + misses) of the second-level cache region")
+                    .register(registry);
+        }
+    }
+
+    /**
+     * Calculate the hit ratio of a region
+     *
+     * @param statistics of the {@link SessionFactory}
+     * @param region     name of the region
+     * @return the ratio between 0 and 1, or 0 if the region hasn't been requested yet
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    static double hitRatio(Statistics statistics, String region) {
+        CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+        if (regionStatistics == null) return 0;
+
+        long hits = regionStatistics.getHitCount();
+        long requests = hits + regionStatistics.getMissCount();
+        return (requests == 0) ? 0 : (double) hits / requests;
+    }
+}
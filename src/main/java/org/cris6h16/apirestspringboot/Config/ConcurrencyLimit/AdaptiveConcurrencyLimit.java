@@ -0,0 +1,194 @@
+package org.cris6h16.apirestspringboot.Config.ConcurrencyLimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.ConcurrencyLimit.METRICS_PREFIX;
+
+/**
+ * Limit of the calls in progress which follows the latency ( gradient ):
+ * <ul>
+ *     <li>The latency of the last calls ( short average, ~10 calls ) is compared with the latency without load
+ *     ( long average, ~600 calls ), while the first isn't bigger than {@code rttTolerance} times the second the
+ *     limit grows by its square root ( the calls which can wait without hurting )</li>
+ *     <li>When the database slows down the latency of the last calls grows, then the limit is multiplied by
+ *     {@code rttTolerance * noLoad / latency} ( at least {@code 0.5} ), the calls beyond the connections are
+ *     rejected instead of waiting in Hikari</li>
+ *     <li>The limit only changes while the calls in progress are at least its half, an idle service doesn't say
+ *     whether it could take more calls</li>
+ * </ul>
+ * A sustained slowdown becomes the new latency without load ( the long average follows it ), then the limit
+ * grows again; when the database recovers the long average falls faster.<br>
+ * It's lock-free: the limit and the averages are an immutable {@link State} replaced by compare-and-set, a sample
+ * which loses the race is computed again over the new state
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class AdaptiveConcurrencyLimit implements MeterBinder {
+    private static final double SHORT_WEIGHT = 2.0 / (10 + 1); // exponential moving averages
+    private static final double LONG_WEIGHT = 2.0 / (600 + 1);
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejections = new LongAdder();
+    private final AtomicReference<State> state;
+
+    /**
+     * @param initialLimit calls in progress allowed until the first latencies are known
+     * @param minLimit     the limit never shrinks below it
+     * @param maxLimit     the limit never grows beyond it
+     * @param rttTolerance latency of the last calls accepted over the latency without load, e.g. {@code 1.5}
+     * @param smoothing    weight of each new limit, {@code (0, 1]}
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double rttTolerance, double smoothing) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Invalid limits");
+        }
+        if (rttTolerance < 1) throw new IllegalArgumentException("Invalid RTT tolerance");
+        if (smoothing <= 0 || smoothing > 1) throw new IllegalArgumentException("Invalid smoothing");
+
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.state = new AtomicReference<>(new State(initialLimit, 0, 0));
+    }
+
+    /**
+     * @return {@code true} if the call can start ( then {@link #release()} when it ends ), {@code false} if the
+     * calls in progress already reached the limit
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                rejections.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) return true;
+        }
+    }
+
+    /**
+     * @param rttNanos latency of a call which ends, called before its {@link #release()}
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public void onSample(long rttNanos) {
+        if (rttNanos < 0) return;
+
+        State current, next;
+        do {
+            current = state.get();
+            next = next(current, rttNanos);
+        } while (!state.compareAndSet(current, next));
+    }
+
+    private State next(State current, long rttNanos) {
+        if (current.longRttNanos() == 0) {
+            double first = Math.max(rttNanos, 1);
+            return new State(current.limit(), first, first);
+        }
+        double shortRttNanos = current.shortRttNanos() + (rttNanos - current.shortRttNanos()) * SHORT_WEIGHT;
+        double longRttNanos = current.longRttNanos() + (rttNanos - current.longRttNanos()) * LONG_WEIGHT;
+        if (longRttNanos > shortRttNanos * 2) longRttNanos *= 0.95; // the database recovered
+
+        double limit = current.limit();
+        if (inFlight.get() < limit / 2) { // the limit isn't reached, the latency doesn't tell anything about it
+            return new State(limit, shortRttNanos, longRttNanos);
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRttNanos / shortRttNanos));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+        return new State(Math.max(minLimit, Math.min(maxLimit, newLimit)), shortRttNanos, longRttNanos);
+    }
+
+    /**
+     * A call acquired by {@link #tryAcquire()} ended
+     *
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * @return calls in progress allowed
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public int getLimit() {
+        return (int) state.get().limit();
+    }
+
+    /**
+     * @return calls in progress
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return calls rejected since the start
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    /**
+     * @return estimated latency of a call without load ( nanoseconds ), {@code 0} before the first call
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public double getNoLoadRttNanos() {
+        return state.get().longRttNanos();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(METRICS_PREFIX + ".limit", this, AdaptiveConcurrencyLimit::getLimit)
+                .description("Calls in progress allowed to the services")
+                .register(registry);
+        Gauge.builder(METRICS_PREFIX + ".in.flight", this, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Calls in progress to the services")
+                .register(registry);
+        FunctionCounter.builder(METRICS_PREFIX + ".rejections", this, AdaptiveConcurrencyLimit::getRejections)
+                .description("Calls rejected because the limit was reached ( 503 )")
+                .register(registry);
+        TimeGauge.builder(METRICS_PREFIX + ".no.load.latency", this, TimeUnit.NANOSECONDS, AdaptiveConcurrencyLimit::getNoLoadRttNanos)
+                .description("Estimated latency of a call to the services without load")
+                .register(registry);
+        TimeGauge.builder(METRICS_PREFIX + ".latency", this, TimeUnit.NANOSECONDS, limiter -> limiter.state.get().shortRttNanos())
+                .description("Latency of the last calls to the services")
+                .register(registry);
+    }
+
+    /**
+     * The limit and the latencies ( exponential moving averages ) after a sample, {@code longRttNanos == 0}: no calls yet
+     */
+    private record State(double limit, double shortRttNanos, double longRttNanos) {
+    }
+}
@@ -0,0 +1,54 @@
+package org.cris6h16.apirestspringboot.Config.ConcurrencyLimit;
+
+import org.cris6h16.apirestspringboot.Services.NoteServiceImpl;
+import org.cris6h16.apirestspringboot.Services.UserServiceImpl;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.RootClassFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.ConcurrencyLimit.*;
+
+/**
+ * Limits the calls in progress to {@link UserServiceImpl} and {@link NoteServiceImpl} if
+ * {@code concurrency-limit.enabled}: when PostgreSQL slows down the requests would wait for a connection of Hikari
+ * ( all of them slower ), instead the limit shrinks with the latency and the excess is rejected at once with a
+ * 503 and {@code Retry-After} ( see {@link AdaptiveConcurrencyLimit} ). The calls which transfer a stream of the
+ * client ( export, import, content ) have a fixed limit instead: {@code concurrency-limit.streaming-limit}.<br>
+ * Metrics: {@code service.concurrency.limit}, {@code .in.flight}, {@code .rejections}, {@code .no.load.latency}
+ * and {@code .latency}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = PROPERTY_PREFIX, name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimit adaptiveConcurrencyLimit(
+            @Value("${" + PROPERTY_PREFIX + ".initial-limit:" + DEFAULT_INITIAL_LIMIT + "}") int initialLimit,
+            @Value("${" + PROPERTY_PREFIX + ".min-limit:" + DEFAULT_MIN_LIMIT + "}") int minLimit,
+            @Value("${" + PROPERTY_PREFIX + ".max-limit:" + DEFAULT_MAX_LIMIT + "}") int maxLimit,
+            @Value("${" + PROPERTY_PREFIX + ".rtt-tolerance:" + DEFAULT_RTT_TOLERANCE + "}") double rttTolerance,
+            @Value("${" + PROPERTY_PREFIX + ".smoothing:" + DEFAULT_SMOOTHING + "}") double smoothing) {
+        return new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, rttTolerance, smoothing); // also the meters
+    }
+
+    @Bean
+    public Advisor concurrencyLimitAdvisor(
+            AdaptiveConcurrencyLimit adaptiveConcurrencyLimit,
+            @Value("${" + PROPERTY_PREFIX + ".streaming-limit:" + DEFAULT_STREAMING_LIMIT + "}") int streamingLimit,
+            @Value("${" + PROPERTY_PREFIX + ".retry-after-seconds:" + DEFAULT_RETRY_AFTER_SECONDS + "}") long retryAfterSeconds) {
+        ComposablePointcut services = new ComposablePointcut(new RootClassFilter(UserServiceImpl.class))
+                .union(new RootClassFilter(NoteServiceImpl.class));
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(services, new ConcurrencyLimitInterceptor(adaptiveConcurrencyLimit, streamingLimit, retryAfterSeconds));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1); // inside the timings, outside the transactions: a rejected call never takes a connection
+        return advisor;
+    }
+}
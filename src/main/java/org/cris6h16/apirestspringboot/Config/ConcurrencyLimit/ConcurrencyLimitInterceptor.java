@@ -0,0 +1,86 @@
+package org.cris6h16.apirestspringboot.Config.ConcurrencyLimit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.ServiceOverloadedException;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Admits the calls to the services while the {@link AdaptiveConcurrencyLimit} allows them, otherwise
+ * {@link ServiceOverloadedException} before any transaction ( connection ) is started.<br>
+ * A service called by another one in the same thread is part of the outer call. The methods which read or write
+ * a stream of the client ( e.g. an export ) last as long as the transfer: they'd hold slots of the adaptive limit
+ * while the client is slow, then they have their own fixed limit ( {@code streamingLimit} ) and their latency isn't
+ * a sample
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class ConcurrencyLimitInterceptor implements MethodInterceptor {
+    private static final List<Class<?>> STREAMS = List.of(InputStream.class, OutputStream.class, Reader.class, Writer.class, Consumer.class);
+    private static final ThreadLocal<Boolean> inCall = new ThreadLocal<>();
+    private final Map<Method, Boolean> streaming = new ConcurrentHashMap<>();
+    private final AdaptiveConcurrencyLimit limit;
+    private final Semaphore streams;
+    private final long retryAfterSeconds;
+
+    /**
+     * @param limit             of the calls in progress
+     * @param streamingLimit    calls in progress which read or write a stream of the client
+     * @param retryAfterSeconds sent to the rejected clients
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimit limit, int streamingLimit, long retryAfterSeconds) {
+        if (streamingLimit < 1) throw new IllegalArgumentException("Invalid streaming limit");
+        if (retryAfterSeconds < 0) throw new IllegalArgumentException("Invalid retry after");
+        this.limit = limit;
+        this.streams = new Semaphore(streamingLimit);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (inCall.get() != null) return invocation.proceed();
+        if (isStreaming(invocation.getMethod())) return invokeStreaming(invocation);
+        if (!limit.tryAcquire()) throw new ServiceOverloadedException(retryAfterSeconds);
+
+        inCall.set(Boolean.TRUE);
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            inCall.remove();
+            limit.onSample(System.nanoTime() - start);
+            limit.release();
+        }
+    }
+
+    private Object invokeStreaming(MethodInvocation invocation) throws Throwable {
+        if (!streams.tryAcquire()) throw new ServiceOverloadedException(retryAfterSeconds);
+
+        inCall.set(Boolean.TRUE);
+        try {
+            return invocation.proceed();
+        } finally {
+            inCall.remove();
+            streams.release();
+        }
+    }
+
+    private boolean isStreaming(Method method) {
+        return streaming.computeIfAbsent(method, m -> Arrays.stream(m.getParameterTypes())
+                .anyMatch(type -> STREAMS.stream().anyMatch(stream -> stream.isAssignableFrom(type))));
+    }
+}
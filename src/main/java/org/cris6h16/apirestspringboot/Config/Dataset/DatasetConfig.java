@@ -0,0 +1,55 @@
+package org.cris6h16.apirestspringboot.Config.Dataset;
+
+import org.cris6h16.apirestspringboot.Services.Dataset.DatasetSpec;
+import org.cris6h16.apirestspringboot.Services.Interfaces.DatasetService;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Admin.Dataset.PROPERTY_PREFIX;
+
+/**
+ * Generates a synthetic dataset when the application starts, if {@code dataset.users} is set, e.g.:<br>
+ * {@code mvn spring-boot:run -Dspring-boot.run.arguments="--dataset.users=1000000 --dataset.notes=10000000 --dataset.seed=42 --dataset.exit=true"}
+ * <ul>
+ *     <li>{@code dataset.notes}, {@code dataset.zipf-exponent}, {@code dataset.seed}, {@code dataset.username-prefix},
+ *     {@code dataset.password}, {@code dataset.search-index} & {@code dataset.parallelism}: see {@link DatasetSpec}</li>
+ *     <li>{@code dataset.exit}: stop the application after the generation</li>
+ * </ul>
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Configuration
+public class DatasetConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = PROPERTY_PREFIX, name = "users")
+    public CommandLineRunner datasetGenerator(DatasetService datasetService,
+                                              Environment env,
+                                              ConfigurableApplicationContext context) {
+        return args -> {
+            DatasetSpec defaults = DatasetSpec.builder().build();
+            DatasetSpec spec = DatasetSpec.builder()
+                    .users(env.getRequiredProperty(PROPERTY_PREFIX + ".users", Integer.class))
+                    .notes(env.getProperty(PROPERTY_PREFIX + ".notes", Long.class, 0L))
+                    .zipfExponent(env.getProperty(PROPERTY_PREFIX + ".zipf-exponent", Double.class, defaults.getZipfExponent()))
+                    .seed(env.getProperty(PROPERTY_PREFIX + ".seed", Long.class, defaults.getSeed()))
+                    .usernamePrefix(env.getProperty(PROPERTY_PREFIX + ".username-prefix", defaults.getUsernamePrefix()))
+                    .password(env.getProperty(PROPERTY_PREFIX + ".password", defaults.getPassword()))
+                    .searchIndex(env.getProperty(PROPERTY_PREFIX + ".search-index", Boolean.class, defaults.isSearchIndex()))
+                    .parallelism(env.getProperty(PROPERTY_PREFIX + ".parallelism", Integer.class, defaults.getParallelism()))
+                    .build();
+
+            datasetService.generate(spec);
+
+            if (env.getProperty(PROPERTY_PREFIX + ".exit", Boolean.class, false)) {
+                System.exit(SpringApplication.exit(context));
+            }
+        };
+    }
+}
@@ -0,0 +1,47 @@
+package org.cris6h16.apirestspringboot.Config.Jfr;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Service;
+
+/**
+ * Emits the Java Flight Recorder events of the services ( {@link ServiceCallEvent}, by {@link ServiceCallInterceptor}
+ * which also times them for {@code Server-Timing} ) and the repositories ( {@link RepositoryCallEvent} ).<br>
+ * The events of the application are {@code @Enabled(false)}: they're always compiled in the hot paths, but out of the
+ * recordings started by the admins ( {@code JfrRecordingServiceImpl} ) each one costs just an {@code isEnabled()},
+ * the event objects don't escape then they aren't even allocated
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Configuration
+public class JfrConfig {
+
+    @Bean
+    public Advisor serviceCallAdvisor() { // also the phase "service" of Server-Timing
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forClassAnnotation(Service.class), new ServiceCallInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE); // outside the transactions, their commits are included
+        return advisor;
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryCallEventPostProcessor() { // static: it's created before the rest of the beans
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) { // before it creates the repository
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(
+                                    new RepositoryCallInterceptor(information.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package org.cris6h16.apirestspringboot.Config.Jfr;
+
+import jdk.jfr.*;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Admin.Jfr.EVENTS_CATEGORY;
+
+/**
+ * A write of buffered log lines in a file ( e.g. the authentications ).<br>
+ * Emitted by {@code FilesUtils#appendToFile}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Name("org.cris6h16.apirestspringboot.LogFlush")
+@Label("Log Flush")
+@Category({EVENTS_CATEGORY, "Logs"})
+@Enabled(false)
+@StackTrace(false)
+public class LogFlushEvent extends Event {
+    @Label("Path")
+    public String path;
+
+    @Label("Characters")
+    public long characters;
+}
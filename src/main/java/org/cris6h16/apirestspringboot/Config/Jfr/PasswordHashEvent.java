@@ -0,0 +1,22 @@
+package org.cris6h16.apirestspringboot.Config.Jfr;
+
+import jdk.jfr.*;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Admin.Jfr.EVENTS_CATEGORY;
+
+/**
+ * A hash of a password, or its verification ( BCrypt ).<br>
+ * Emitted by {@code TimedPasswordEncoder}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Name("org.cris6h16.apirestspringboot.PasswordHash")
+@Label("Password Hash")
+@Category({EVENTS_CATEGORY, "Security"})
+@Enabled(false)
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+    @Label("Operation")
+    public String operation; // encode, matches
+}
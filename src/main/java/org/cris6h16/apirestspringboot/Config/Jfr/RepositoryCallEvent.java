@@ -0,0 +1,29 @@
+package org.cris6h16.apirestspringboot.Config.Jfr;
+
+import jdk.jfr.*;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Admin.Jfr.EVENTS_CATEGORY;
+
+/**
+ * A call to a method of a repository, with the shapes of the statements executed in it ( one by line ).<br>
+ * The statements are recorded by {@code SqlStatementsDataSource} ( {@code sql-statements.enabled} or
+ * {@code server-timing.enabled} )
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Name("org.cris6h16.apirestspringboot.RepositoryCall")
+@Label("Repository Call")
+@Category({EVENTS_CATEGORY, "Repositories"})
+@Enabled(false)
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Statements")
+    public String statements;
+}
@@ -0,0 +1,68 @@
+package org.cris6h16.apirestspringboot.Config.Jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import jdk.jfr.EventType;
+import org.cris6h16.apirestspringboot.Config.Sql.SqlStatements;
+
+/**
+ * Emits a {@link RepositoryCallEvent} by each call to a repository while a recording enables it, the statements
+ * executed in the call are collected in the current thread ( {@link #onStatement(String)} )
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class RepositoryCallInterceptor implements MethodInterceptor {
+    private static final ThreadLocal<StringBuilder> STATEMENTS = new ThreadLocal<>();
+    private static final EventType EVENT_TYPE = EventType.getEventType(RepositoryCallEvent.class);
+
+    private final String repository;
+
+    public RepositoryCallInterceptor(String repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * @param sql executed, kept if the current thread is in a recorded repository call
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static void onStatement(String sql) {
+        StringBuilder statements = STATEMENTS.get();
+        if (statements == null) return;
+
+        if (!statements.isEmpty()) statements.append('\n');
+        statements.append(SqlStatements.shape(sql));
+    }
+
+    /**
+     * @return {@code true} if a recording enables the {@link RepositoryCallEvent}s, then their statements are wanted
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static boolean isRecording() {
+        return EVENT_TYPE.isEnabled();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled() || STATEMENTS.get() != null) return invocation.proceed(); // disabled or nested
+
+        StringBuilder statements = new StringBuilder();
+        STATEMENTS.set(statements);
+        event.begin();
+        try {
+            return invocation.proceed();
+        } finally {
+            event.end();
+            STATEMENTS.remove();
+            if (event.shouldCommit()) {
+                event.repository = repository;
+                event.method = invocation.getMethod().getName();
+                event.statements = statements.toString();
+                event.commit();
+            }
+        }
+    }
+}
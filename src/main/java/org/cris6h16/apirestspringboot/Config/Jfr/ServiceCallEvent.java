@@ -0,0 +1,25 @@
+package org.cris6h16.apirestspringboot.Config.Jfr;
+
+import jdk.jfr.*;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Admin.Jfr.EVENTS_CATEGORY;
+
+/**
+ * A call to a method of a service.<br>
+ * Emitted around each method of the {@code @Service}s ( see {@link JfrConfig} )
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Name("org.cris6h16.apirestspringboot.ServiceCall")
+@Label("Service Call")
+@Category({EVENTS_CATEGORY, "Services"})
+@Enabled(false)
+@StackTrace(false)
+public class ServiceCallEvent extends Event {
+    @Label("Service")
+    public String service;
+
+    @Label("Method")
+    public String method;
+}
@@ -0,0 +1,38 @@
+package org.cris6h16.apirestspringboot.Config.Jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.cris6h16.apirestspringboot.Config.Timing.RequestTimings;
+import org.cris6h16.apirestspringboot.Config.Timing.RequestTimings.Phase;
+
+/**
+ * The single interceptor of the calls to the services: records the phase {@link Phase#SERVICE} of the current request
+ * ( ignored if {@code server-timing} isn't enabled, there's no request being timed ) and emits a
+ * {@link ServiceCallEvent} while a recording enables it
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class ServiceCallInterceptor implements MethodInterceptor {
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        ServiceCallEvent event = new ServiceCallEvent();
+        boolean recorded = event.isEnabled();
+        RequestTimings.start(Phase.SERVICE);
+        if (recorded) event.begin();
+        try {
+            return invocation.proceed();
+        } finally {
+            RequestTimings.stop(Phase.SERVICE);
+            if (recorded) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.service = invocation.getThis().getClass().getSimpleName();
+                    event.method = invocation.getMethod().getName();
+                    event.commit();
+                }
+            }
+        }
+    }
+}
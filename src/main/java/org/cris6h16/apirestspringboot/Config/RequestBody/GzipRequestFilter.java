@@ -0,0 +1,231 @@
+package org.cris6h16.apirestspringboot.Config.RequestBody;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.RequestBodyNotGzipException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.RequestBodyTooLargeException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Decompresses the request bodies sent with {@code Content-Encoding: gzip} while they're read, the controllers
+ * ( and the limits of the content of the notes ) see the plain body without {@code Content-Encoding} nor
+ * {@code Content-Length}.<br>
+ * A body which inflates to more than {@code maxInflatedBytes} is rejected as soon as that is crossed
+ * ( {@link RequestBodyTooLargeException} ), a few KB can inflate to GB ( zip bomb ).<br>
+ * The non-blocking reads ( {@link ServletInputStream#setReadListener(ReadListener)} ) are delegated to the compressed
+ * body: it's buffered while it arrives, then inflated from memory ( a read of the inflater never waits the network ).
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class GzipRequestFilter extends OncePerRequestFilter {
+    private final long maxInflatedBytes;
+
+    /**
+     * @param maxInflatedBytes max bytes of a body once decompressed
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public GzipRequestFilter(long maxInflatedBytes) {
+        if (maxInflatedBytes < 1) throw new IllegalArgumentException("Invalid max inflated bytes");
+        this.maxInflatedBytes = maxInflatedBytes;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+        return encoding == null || !(encoding.trim().equalsIgnoreCase("gzip") || encoding.trim().equalsIgnoreCase("x-gzip"));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        filterChain.doFilter(new InflatedRequest(request, maxInflatedBytes), response);
+    }
+
+    /**
+     * The request with its body decompressed, the headers of the compressed body are hidden
+     */
+    static class InflatedRequest extends HttpServletRequestWrapper {
+        private final long maxInflatedBytes;
+        private InflatingInputStream body;
+        private BufferedReader reader;
+
+        InflatedRequest(HttpServletRequest request, long maxInflatedBytes) {
+            super(request);
+            this.maxInflatedBytes = maxInflatedBytes;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (body == null) body = new InflatingInputStream(super.getInputStream(), maxInflatedBytes);
+            return body;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                String encoding = getCharacterEncoding();
+                Charset charset = encoding == null ? StandardCharsets.ISO_8859_1 : Charset.forName(encoding); // default of the servlets
+                reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+            }
+            return reader;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1; // unknown once decompressed
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return hidden(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return hidden(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                    .filter(name -> !hidden(name))
+                    .toList());
+        }
+
+        private static boolean hidden(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name) || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+
+    /**
+     * The body decompressed, the header of gzip is read by the first read ( not when the request is wrapped )
+     */
+    static class InflatingInputStream extends ServletInputStream {
+        private final ServletInputStream compressed;
+        private final long maxInflatedBytes;
+        private InputStream source; // of the compressed bytes: the request, or its buffer in the non-blocking reads
+        private InputStream inflated;
+        private long inflatedBytes;
+        private boolean finished;
+        private volatile boolean ready = true; // false while a non-blocking body is arriving
+
+        InflatingInputStream(ServletInputStream compressed, long maxInflatedBytes) {
+            this.compressed = compressed;
+            this.maxInflatedBytes = maxInflatedBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (!ready) throw new IllegalStateException("Read before the body is ready ( isReady )");
+            int n;
+            try {
+                if (inflated == null) inflated = new GZIPInputStream(source == null ? compressed : source);
+                n = inflated.read(buffer, offset, length);
+            } catch (ZipException | EOFException e) { // not gzip, or truncated
+                throw new RequestBodyNotGzipException();
+            }
+
+            if (n == -1) {
+                finished = true;
+                return -1;
+            }
+            inflatedBytes += n;
+            if (inflatedBytes > maxInflatedBytes) throw new RequestBodyTooLargeException(maxInflatedBytes);
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            if (readListener == null) throw new NullPointerException("ReadListener can't be null");
+            ready = false;
+            compressed.setReadListener(new BufferingReadListener(readListener));
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (inflated != null) inflated.close();
+            else compressed.close();
+        }
+
+        /**
+         * Buffers the compressed body while the container has it ( up to {@code maxInflatedBytes}, beyond that the
+         * inflated body would be too large too ), once all of it arrived the listener reads it inflated
+         */
+        private class BufferingReadListener implements ReadListener {
+            private final ReadListener listener;
+            private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+            BufferingReadListener(ReadListener listener) {
+                this.listener = listener;
+            }
+
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] chunk = new byte[8192];
+                while (compressed.isReady()) {
+                    int n = compressed.read(chunk);
+                    if (n == -1) return;
+                    buffer.write(chunk, 0, n);
+                    if (buffer.size() > maxInflatedBytes) throw new RequestBodyTooLargeException(maxInflatedBytes);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() throws IOException {
+                source = new ByteArrayInputStream(buffer.toByteArray());
+                ready = true;
+                listener.onDataAvailable();
+                listener.onAllDataRead();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                listener.onError(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.cris6h16.apirestspringboot.Config.RequestBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cris6h16.apirestspringboot.DTOs.Creation.CreateNoteDTO;
+import org.cris6h16.apirestspringboot.Services.Validation.NoteContentLimit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.RequestGzip.DEFAULT_MAX_INFLATED_BYTES;
+import static org.cris6h16.apirestspringboot.Constants.Cons.RequestGzip.PROPERTY_PREFIX;
+
+/**
+ * Bounds the memory used to read the request bodies:
+ * <ul>
+ *     <li>The JSON parser of the notes ( {@link CreateNoteDTO} ) rejects any string longer than
+ *     {@code notes.content.max-length} while it reads it, before the whole string is in memory; the rest of the bodies
+ *     keep the limits of Jackson</li>
+ *     <li>If {@code request-gzip.enabled}: the bodies sent with {@code Content-Encoding: gzip} are decompressed, up to
+ *     {@code request-gzip.max-inflated-bytes} ( see {@link GzipRequestFilter} )</li>
+ * </ul>
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Configuration
+public class RequestBodyConfig {
+
+    @Bean // instead of the one of Spring Boot, the same plus the parser of the notes
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   NoteContentLimit noteContentLimit) {
+        MappingJackson2HttpMessageConverter converter = new MappingJackson2HttpMessageConverter(objectMapper);
+        ObjectMapper notes = noteContentLimit.limit(objectMapper);
+        converter.registerObjectMappersForType(CreateNoteDTO.class, mappers -> mappers.put(MediaType.APPLICATION_JSON, notes));
+        return converter;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = PROPERTY_PREFIX, name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<GzipRequestFilter> gzipRequestFilter(
+            @Value("${" + PROPERTY_PREFIX + ".max-inflated-bytes:" + DEFAULT_MAX_INFLATED_BYTES + "}") long maxInflatedBytes) {
+        FilterRegistrationBean<GzipRequestFilter> registration = new FilterRegistrationBean<>(new GzipRequestFilter(maxInflatedBytes));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2); // after the timings, before the security
+        return registration;
+    }
+}
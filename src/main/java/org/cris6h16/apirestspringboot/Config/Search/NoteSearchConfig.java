@@ -0,0 +1,39 @@
+package org.cris6h16.apirestspringboot.Config.Search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cris6h16.apirestspringboot.Services.Search.InMemoryNoteSearchIndex;
+import org.cris6h16.apirestspringboot.Services.Search.NoteSearchIndex;
+import org.cris6h16.apirestspringboot.Services.Search.PostgresNoteSearchIndex;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * Chooses the {@link NoteSearchIndex} by the database product:
+ * <ul>
+ *     <li>{@code PostgreSQL}: {@link PostgresNoteSearchIndex}</li>
+ *     <li>any other ( {@code H2} in the tests ): {@link InMemoryNoteSearchIndex}</li>
+ * </ul>
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Configuration
+@Slf4j
+public class NoteSearchConfig {
+
+    @Bean
+    public NoteSearchIndex noteSearchIndex(DataSource dataSource,
+                                           JdbcTemplate jdbcTemplate) throws MetaDataAccessException {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        log.info("Full-text search of the notes for the database: {}", product);
+
+        if ("PostgreSQL".equals(product)) return new PostgresNoteSearchIndex(jdbcTemplate);
+        return new InMemoryNoteSearchIndex();
+    }
+}
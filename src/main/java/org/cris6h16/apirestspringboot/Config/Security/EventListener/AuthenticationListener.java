@@ -11,6 +11,7 @@ import org.springframework.stereotype.Component;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Vector;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Listener for authentication events.
@@ -25,8 +26,9 @@ public class AuthenticationListener {
     protected volatile long lastFailureFlushed;
     protected final List<SuccessData> successData;
     protected final List<FailureData> failureData;
-    private final Object successLock = new Object();
-    private final Object failureLock = new Object();
+    // not `synchronized`: the file is written while the lock is held, it would pin the carrier of a virtual thread
+    private final ReentrantLock successLock = new ReentrantLock();
+    private final ReentrantLock failureLock = new ReentrantLock();
     private final long flushInterval = 10 * 60 * 1000; // 10 minutes
 
     public AuthenticationListener(FilesUtils filesUtils) {
@@ -46,11 +48,14 @@ public class AuthenticationListener {
      */
     @EventListener
     public void onSuccess(AuthenticationSuccessEvent success) {
-        synchronized (successLock) {
+        successLock.lock();
+        try {
             successData.add(new SuccessData(
                     success.getAuthentication(),
                     System.currentTimeMillis()
             ));
+        } finally {
+            successLock.unlock();
         }
         flushSuccessInFile();
     }
@@ -64,12 +69,15 @@ public class AuthenticationListener {
      */
     @EventListener
     public void onFailure(AbstractAuthenticationFailureEvent failure) {
-        synchronized (failureLock) {
+        failureLock.lock();
+        try {
             failureData.add(new FailureData(
                     failure.getAuthentication(),
                     failure.getException(),
                     System.currentTimeMillis()
             ));
+        } finally {
+            failureLock.unlock();
         }
         flushFailureInFile();
     }
@@ -83,7 +91,8 @@ public class AuthenticationListener {
     protected void flushSuccessInFile() {
         if (System.currentTimeMillis() - lastSuccessFlushed < flushInterval) return;
 
-        synchronized (successLock) {
+        successLock.lock();
+        try {
             if (System.currentTimeMillis() - lastSuccessFlushed < flushInterval) return;
 
             StringBuilder content = new StringBuilder();
@@ -98,6 +107,8 @@ public class AuthenticationListener {
 
             this.successData.clear();
             lastSuccessFlushed = System.currentTimeMillis();
+        } finally {
+            successLock.unlock();
         }
     }
 
@@ -110,7 +121,8 @@ public class AuthenticationListener {
     void flushFailureInFile() {
         if (System.currentTimeMillis() - lastFailureFlushed < flushInterval) return;
 
-        synchronized (failureLock) {
+        failureLock.lock();
+        try {
             if (System.currentTimeMillis() - lastFailureFlushed < flushInterval) return;
 
             StringBuilder content = new StringBuilder();
@@ -125,6 +137,8 @@ public class AuthenticationListener {
 
             this.failureData.clear();
             lastFailureFlushed = System.currentTimeMillis();
+        } finally {
+            failureLock.unlock();
         }
     }
 
@@ -85,10 +85,10 @@ public class SecurityConfig {
 
 
     @Bean
-    public static PasswordEncoder passwordEncoder() {
+    public static TimedPasswordEncoder passwordEncoder() { // its concrete type: it is also a MeterBinder
         PasswordEncoder dpe = PasswordEncoderFactories.createDelegatingPasswordEncoder();
 //        dpe.upgradeEncoding("noop");
-        return dpe;
+        return new TimedPasswordEncoder(dpe);
     }
 
     @Bean
@@ -0,0 +1,80 @@
+package org.cris6h16.apirestspringboot.Config.Security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.cris6h16.apirestspringboot.Config.Jfr.PasswordHashEvent;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.function.BooleanSupplier;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Metrics.PASSWORD_TIMER;
+
+/**
+ * {@link PasswordEncoder} which times the hashes ( {@code app.password}, tag {@code operation}: {@code encode},
+ * {@code matches} ), BCrypt is the most expensive part of the sign-ups and of each authenticated request.<br>
+ * The timers are bound when the {@link MeterRegistry} is ready ( {@link MeterBinder} ), until then ( or without
+ * metrics, e.g. the slices of the tests ) nothing is recorded.<br>
+ * Each hash is also a {@link PasswordHashEvent} in the recordings of Java Flight Recorder.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class TimedPasswordEncoder implements PasswordEncoder, MeterBinder {
+    private final PasswordEncoder delegate;
+    private volatile Timer encodeTimer;
+    private volatile Timer matchesTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate) {
+        this.delegate = delegate;
+        bindTo(new CompositeMeterRegistry()); // no registries: records nothing
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        encodeTimer = timer(registry, "encode");
+        matchesTimer = timer(registry, "matches");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        try {
+            return encodeTimer.record(() -> delegate.encode(rawPassword));
+        } finally {
+            commit(event, "encode");
+        }
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        PasswordHashEvent event = new PasswordHashEvent();
+        event.begin();
+        try {
+            return matchesTimer.record((BooleanSupplier) () -> delegate.matches(rawPassword, encodedPassword)); // without boxing
+        } finally {
+            commit(event, "matches");
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private static void commit(PasswordHashEvent event, String operation) {
+        event.end();
+        if (!event.shouldCommit()) return; // not recorded ( disabled out of the recordings )
+        event.operation = operation;
+        event.commit();
+    }
+
+    private static Timer timer(MeterRegistry registry, String operation) {
+        return Timer.builder(PASSWORD_TIMER)
+                .tag("operation", operation)
+                .description("Time to hash a password, or to verify it")
+                .register(registry);
+    }
+}
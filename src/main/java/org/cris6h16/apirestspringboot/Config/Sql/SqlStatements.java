@@ -0,0 +1,128 @@
+package org.cris6h16.apirestspringboot.Config.Sql;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * SQL statements executed in the current request, only while it's sampled ( {@link SqlStatementsFilter} ), otherwise
+ * its connections aren't even wrapped, at the cost of one read of a {@link ThreadLocal} by connection taken. They're
+ * recorded by the connections of {@link SqlStatementsDataSource}: Hibernate and {@code JdbcTemplate}, in the thread of
+ * the request and in the threads which {@link #attach(SqlStatements)} to it ( e.g. a streamed response ), before
+ * they take their connections.<br>
+ * The statements are counted by their text, their shapes ( without the literals and the lengths of the
+ * {@code IN} lists ) are calculated just at the end, to find the repeated ones ( N+1 ).
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public final class SqlStatements {
+    private static final ThreadLocal<SqlStatements> CURRENT = new ThreadLocal<>();
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+    private static final Pattern LITERALS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+\\b");
+    private static final Pattern PARAMETERS_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+
+    private final Map<String, Integer> bySql = new HashMap<>();
+    private int count;
+    private long nanos;
+
+    private SqlStatements() {
+    }
+
+    /**
+     * Start to record the statements of the current thread
+     *
+     * @return the statements of the current thread, until {@link #end()}
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static SqlStatements begin() {
+        SqlStatements statements = new SqlStatements();
+        CURRENT.set(statements);
+        return statements;
+    }
+
+    /**
+     * Stop to record the statements of the current thread
+     *
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Record the statements of the current thread in those of a request which started in another thread, until
+     * {@link #end()}
+     *
+     * @param statements of the request, {@code null} if it isn't sampled
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static void attach(SqlStatements statements) {
+        if (statements == null) CURRENT.remove();
+        else CURRENT.set(statements);
+    }
+
+    /**
+     * @return the statements of the current thread, {@code null} if they aren't being recorded
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static SqlStatements current() {
+        return CURRENT.get();
+    }
+
+    synchronized void onStatement(String sql, long nanos) { // a request can use more than one thread
+        count++;
+        this.nanos += nanos;
+        bySql.merge(sql, 1, Integer::sum);
+    }
+
+    /**
+     * @return number of statements executed ( a JDBC batch is one )
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public synchronized int getCount() {
+        return count;
+    }
+
+    /**
+     * @return time executing the statements in the database ( without the reading of the results )
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public synchronized long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * The shapes of statements executed more times than the threshold, e.g. a query by each element of a list ( N+1 )
+     *
+     * @param threshold max times of the same shape
+     * @return the repeated shapes with their times
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public synchronized Map<String, Integer> repeated(int threshold) {
+        Map<String, Integer> byShape = new HashMap<>();
+        bySql.forEach((sql, times) -> byShape.merge(shape(sql), times, Integer::sum));
+        byShape.values().removeIf(times -> times <= threshold);
+        return byShape;
+    }
+
+    /**
+     * @param sql statement
+     * @return the statement without literals, with a single parameter in the lists ( {@code IN (?, ?)} is
+     * {@code IN (?)} ) and a single space between its words
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static String shape(String sql) {
+        String shape = LITERALS.matcher(sql).replaceAll("?");
+        shape = PARAMETERS_LIST.matcher(shape).replaceAll("?");
+        return WHITESPACES.matcher(shape).replaceAll(" ").trim();
+    }
+}
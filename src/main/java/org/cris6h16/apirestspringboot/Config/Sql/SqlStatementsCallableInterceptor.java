@@ -0,0 +1,28 @@
+package org.cris6h16.apirestspringboot.Config.Sql;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Records the statements of an asynchronous handler ( e.g. a streamed response, in a thread of the async executor )
+ * in the {@link SqlStatements} of its request, those kept by {@link SqlStatementsFilter} as an attribute
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class SqlStatementsCallableInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        Object statements = request.getAttribute(SqlStatementsFilter.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (statements instanceof SqlStatements sampled) SqlStatements.attach(sampled);
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        SqlStatements.end();
+    }
+}
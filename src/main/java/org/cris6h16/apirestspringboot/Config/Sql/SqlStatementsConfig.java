@@ -0,0 +1,58 @@
+package org.cris6h16.apirestspringboot.Config.Sql;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.SqlStatements.DEFAULT_REPEATED_THRESHOLD;
+import static org.cris6h16.apirestspringboot.Constants.Cons.SqlStatements.PROPERTY_PREFIX;
+
+/**
+ * Records the SQL statements of the requests if {@code sql-statements.enabled} ( see {@link SqlStatementsFilter} ):
+ * <ul>
+ *     <li>{@code sql-statements.sample-rate}: fraction of the requests recorded, by default all of them</li>
+ *     <li>{@code sql-statements.header}: write the count & the time in the responses ( the development profiles )</li>
+ *     <li>{@code sql-statements.repeated-threshold}: max times of the same statement in a request</li>
+ * </ul>
+ * The statements are counted by the connections of the {@link DataSource} ( {@link SqlStatementsDataSource}, see
+ * {@link SqlStatementsDataSourceConfig} ), then those of Hibernate and those of {@code JdbcTemplate} are counted alike
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = PROPERTY_PREFIX, name = "enabled", havingValue = "true")
+public class SqlStatementsConfig {
+
+    @Bean // also its meters ( MeterBinder )
+    public SqlStatementsFilter sqlStatementsFilter(
+            @Value("${" + PROPERTY_PREFIX + ".sample-rate:1.0}") double sampleRate,
+            @Value("${" + PROPERTY_PREFIX + ".header:false}") boolean header,
+            @Value("${" + PROPERTY_PREFIX + ".repeated-threshold:" + DEFAULT_REPEATED_THRESHOLD + "}") int repeatedThreshold) {
+        return new SqlStatementsFilter(sampleRate, header, repeatedThreshold);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlStatementsFilter> sqlStatementsFilterRegistration(SqlStatementsFilter filter) {
+        FilterRegistrationBean<SqlStatementsFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE); // before the security ( its queries of the users are counted )
+        return registration;
+    }
+
+    @Bean
+    public WebMvcConfigurer sqlStatementsAsyncConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.registerCallableInterceptors(new SqlStatementsCallableInterceptor());
+            }
+        };
+    }
+}
@@ -0,0 +1,187 @@
+package org.cris6h16.apirestspringboot.Config.Sql;
+
+import org.cris6h16.apirestspringboot.Config.Jfr.RepositoryCallInterceptor;
+import org.cris6h16.apirestspringboot.Config.Timing.RequestTimings;
+import org.cris6h16.apirestspringboot.Config.Timing.RequestTimings.Phase;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * {@link DataSource} whose connections report each statement executed to a {@link Listener}, whoever executes it:
+ * Hibernate, {@code JdbcTemplate} ( e.g. the content of the notes, the search ) or a plain connection.<br>
+ * By default the statement is counted in the {@link SqlStatements} of the current request ( if it's sampled ), its time
+ * added to the phase {@link Phase#DB} of the request ( {@link RequestTimings}, if {@code server-timing.enabled} ) and
+ * it's kept in the repository call being recorded by Java Flight Recorder ( if any ). An execution is one statement, a JDBC batch
+ * too. The COPY of the bulk load ( {@code PGConnection}, unwrapped ) isn't reported.<br>
+ * A connection is wrapped only if the listener {@link Listener#isRecording() is recording} when it's taken, otherwise
+ * it's the connection of the pool itself: e.g. the requests which aren't sampled nor timed don't pay the proxies
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class SqlStatementsDataSource extends DelegatingDataSource {
+    private final Listener listener;
+
+    /**
+     * @param target the pool of connections
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public SqlStatementsDataSource(DataSource target) {
+        this(target, new CurrentRequest());
+    }
+
+    /**
+     * @param target   the pool of connections
+     * @param listener of each statement executed
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public SqlStatementsDataSource(DataSource target, Listener listener) {
+        super(target);
+        this.listener = listener;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return listener.isRecording() ? proxy(Connection.class, new ConnectionHandler(connection)) : connection;
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SqlStatementsDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    /**
+     * Receives the statements executed by the connections of a {@link SqlStatementsDataSource}
+     *
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * @param sql   executed, with its parameters as {@code ?}
+         * @param nanos of its execution ( without the reading of the results )
+         */
+        void onStatement(String sql, long nanos);
+
+        /**
+         * @return {@code true} if the statements of a connection taken now in the current thread are wanted
+         */
+        default boolean isRecording() {
+            return true;
+        }
+    }
+
+    /**
+     * The default {@link Listener}: the request of the current thread ( sampled or timed ) and the recordings of JFR
+     */
+    private static class CurrentRequest implements Listener {
+
+        @Override
+        public void onStatement(String sql, long nanos) {
+            SqlStatements statements = SqlStatements.current();
+            if (statements != null) statements.onStatement(sql, nanos);
+            RequestTimings.add(Phase.DB, nanos);
+            RepositoryCallInterceptor.onStatement(sql);
+        }
+
+        @Override
+        public boolean isRecording() {
+            return SqlStatements.current() != null || RequestTimings.current() != null || RepositoryCallInterceptor.isRecording();
+        }
+    }
+
+    /**
+     * Calls the target, a proxy is just equal to itself ( e.g. the connection bound to a transaction )
+     */
+    private abstract static class Handler implements InvocationHandler {
+        final Object target;
+
+        Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> handle(method, args);
+            };
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+
+        Object call(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+
+    private class ConnectionHandler extends Handler {
+
+        ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = call(method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> proxy(Statement.class, new StatementHandler(result, null));
+                case "prepareStatement" -> proxy(PreparedStatement.class, new StatementHandler(result, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class, new StatementHandler(result, (String) args[0]));
+                default -> result;
+            };
+        }
+    }
+
+    private class StatementHandler extends Handler {
+        private final String sql; // null: a plain statement, its sql is passed to each execution
+        private String batchSql;
+
+        StatementHandler(Object target, String sql) {
+            super(target);
+            this.sql = sql;
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("addBatch") && args != null && args[0] instanceof String added) batchSql = added;
+            if (!name.startsWith("execute")) return call(method, args);
+
+            String executed = (args != null && args.length > 0 && args[0] instanceof String passed) ? passed :
+                    (sql != null) ? sql : batchSql;
+            long start = System.nanoTime();
+            try {
+                return call(method, args);
+            } finally {
+                if (executed != null) listener.onStatement(executed, System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.cris6h16.apirestspringboot.Config.Sql;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the {@link DataSource} in a {@link SqlStatementsDataSource}, the single point where the statements are
+ * measured: by {@code sql-statements.enabled} ( their count, {@link SqlStatementsConfig} ) and by
+ * {@code server-timing.enabled} ( the phase {@code db} )
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Configuration
+@ConditionalOnExpression("${" + Cons.SqlStatements.PROPERTY_PREFIX + ".enabled:false} or ${" + Cons.ServerTiming.PROPERTY_PREFIX + ".enabled:false}")
+public class SqlStatementsDataSourceConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlStatementsDataSourcePostProcessor() { // static: before the rest of the beans
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return (bean instanceof DataSource dataSource) ? new SqlStatementsDataSource(dataSource) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,177 @@
+package org.cris6h16.apirestspringboot.Config.Sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Metrics.SQL_REPEATED_COUNTER;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Metrics.SQL_STATEMENTS_SUMMARY;
+import static org.cris6h16.apirestspringboot.Constants.Cons.SqlStatements.COUNT_HEADER;
+import static org.cris6h16.apirestspringboot.Constants.Cons.SqlStatements.TIME_HEADER;
+
+/**
+ * Records the SQL statements of a sample of the requests ( {@link SqlStatements} ), by each one of them:
+ * <ul>
+ *     <li>{@code app.sql.statements}: the number of statements</li>
+ *     <li>a warning in the log and {@code app.sql.repeated} if the same statement is executed more times than
+ *     the threshold ( N+1 )</li>
+ *     <li>if {@code header}: the number of statements and their execution time in the headers {@code X-SQL-Count}
+ *     and {@code X-SQL-Time-Ms}, written when the response is committed ( statements executed until then )</li>
+ * </ul>
+ * An asynchronous request ( e.g. a streamed response ) is reported when it completes, its statements are kept in
+ * the attribute {@link #ATTRIBUTE} for the threads which handle it ( {@link SqlStatementsCallableInterceptor} )
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Slf4j
+public class SqlStatementsFilter extends OncePerRequestFilter implements MeterBinder {
+    public static final String ATTRIBUTE = SqlStatements.class.getName();
+
+    private final double sampleRate;
+    private final boolean header;
+    private final int repeatedThreshold;
+    private volatile DistributionSummary statementsSummary;
+    private volatile Counter repeatedCounter;
+
+    /**
+     * @param sampleRate        fraction of the requests recorded, between 0 and 1
+     * @param header            write the headers in the responses
+     * @param repeatedThreshold max times of the same statement in a request
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public SqlStatementsFilter(double sampleRate, boolean header, int repeatedThreshold) {
+        this.sampleRate = sampleRate;
+        this.header = header;
+        this.repeatedThreshold = repeatedThreshold;
+        bindTo(new CompositeMeterRegistry()); // no registries: records nothing
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        statementsSummary = DistributionSummary.builder(SQL_STATEMENTS_SUMMARY)
+                .description("SQL statements executed in a request ( sampled )")
+                .register(registry);
+        repeatedCounter = Counter.builder(SQL_REPEATED_COUNTER)
+                .description("Sampled requests which executed the same SQL statement too many times ( N+1 )")
+                .register(registry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!isSampled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        SqlStatements statements = SqlStatements.begin();
+        request.setAttribute(ATTRIBUTE, statements);
+        HeadersOnCommit wrapper = header ? new HeadersOnCommit(response, statements) : null;
+        try {
+            filterChain.doFilter(request, (wrapper == null) ? response : wrapper);
+        } finally {
+            SqlStatements.end();
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReportOnComplete(request, wrapper, statements));
+            } else {
+                complete(request, wrapper, statements);
+            }
+        }
+    }
+
+    private void complete(HttpServletRequest request, HeadersOnCommit wrapper, SqlStatements statements) {
+        if (wrapper != null) wrapper.writeHeadersIfNotCommitted();
+        report(request, statements);
+    }
+
+    private boolean isSampled() {
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private void report(HttpServletRequest request, SqlStatements statements) {
+        statementsSummary.record(statements.getCount());
+
+        Map<String, Integer> repeated = statements.repeated(repeatedThreshold);
+        if (repeated.isEmpty()) return;
+
+        repeatedCounter.increment();
+        repeated.forEach((shape, times) -> log.warn("{} {}: the same SQL statement was executed {} times ( N+1 ): {}",
+                request.getMethod(), request.getRequestURI(), times, shape));
+    }
+
+    /**
+     * Reports an asynchronous request once, when it's completed ( also after a timeout or an error )
+     */
+    private class ReportOnComplete implements AsyncListener {
+        private final HttpServletRequest request;
+        private final HeadersOnCommit wrapper;
+        private final SqlStatements statements;
+
+        ReportOnComplete(HttpServletRequest request, HeadersOnCommit wrapper, SqlStatements statements) {
+            this.request = request;
+            this.wrapper = wrapper;
+            this.statements = statements;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            complete(request, wrapper, statements);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this); // the listeners are removed when the request is dispatched again
+        }
+    }
+
+    /**
+     * Writes the headers just before the response is committed ( after it, they're ignored )
+     */
+    private static class HeadersOnCommit extends OnCommittedResponseWrapper {
+        private final SqlStatements statements;
+
+        HeadersOnCommit(HttpServletResponse response, SqlStatements statements) {
+            super(response);
+            this.statements = statements;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeader(COUNT_HEADER, String.valueOf(statements.getCount()));
+            setHeader(TIME_HEADER, String.format(Locale.ROOT, "%.3f", statements.getNanos() / 1e6));
+        }
+
+        void writeHeadersIfNotCommitted() {
+            if (isDisableOnResponseCommitted() || isCommitted()) return;
+            onResponseCommitted();
+            disableOnResponseCommitted();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.cris6h16.apirestspringboot.Config.Streaming;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers {@link StreamingResponseTimeout}, the streamed responses set their own timeout
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Configuration
+public class StreamingConfig {
+
+    @Bean
+    public WebMvcConfigurer streamingResponseTimeoutConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.registerCallableInterceptors(new StreamingResponseTimeout());
+            }
+        };
+    }
+}
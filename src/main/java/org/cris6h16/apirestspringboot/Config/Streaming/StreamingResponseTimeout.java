@@ -0,0 +1,40 @@
+package org.cris6h16.apirestspringboot.Config.Streaming;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Timeout of a streamed response ( {@link org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody} )
+ * chosen by its endpoint, the rest of the asynchronous requests keep the default of the container.<br>
+ * {@link #disable(WebRequest)}: the response lasts as long as its stream ( e.g. an export of any number of notes ),
+ * a client which stops reading is still cut by the write timeout of the connector
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class StreamingResponseTimeout implements CallableProcessingInterceptor {
+    private static final String ATTRIBUTE = StreamingResponseTimeout.class.getName() + ".timeout";
+    private static final long NO_TIMEOUT = 0; // AsyncContext: zero or less
+
+    /**
+     * @param request whose streamed response won't have a timeout, called by the endpoint before it returns
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static void disable(WebRequest request) {
+        request.setAttribute(ATTRIBUTE, NO_TIMEOUT, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        Object timeout = request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (timeout instanceof Long millis && request instanceof AsyncWebRequest asyncRequest) {
+            asyncRequest.setTimeout(millis); // before the asynchronous processing starts
+        }
+    }
+}
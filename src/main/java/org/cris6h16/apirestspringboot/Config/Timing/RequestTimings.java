@@ -0,0 +1,173 @@
+package org.cris6h16.apirestspringboot.Config.Timing;
+
+/**
+ * Time spent by the current request ( its thread ) in each {@link Phase}, in slots allocated once by thread and reused
+ * by its next requests, then recording a phase doesn't allocate ( with virtual threads each request has a new thread,
+ * then it's one small object by request ).<br>
+ * The phases can be nested in themselves ( e.g. a service which calls another one ), just the outer one is measured;
+ * outside a request ( {@link #begin()} ... {@link #end()} ) nothing is recorded.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public final class RequestTimings {
+    private static final ThreadLocal<RequestTimings> SLOTS = new ThreadLocal<>();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final long[] nanos = new long[PHASES.length];
+    private final long[] starts = new long[PHASES.length];
+    private final int[] depths = new int[PHASES.length];
+    private boolean active;
+    private long requestStart;
+
+    /**
+     * Phases of a request, the database is also inside the services
+     */
+    public enum Phase {
+        SECURITY("security"), // the filter chain of Spring Security ( authentication & password hashes )
+        SERVICE("service"), // methods of the services ( with their transactions )
+        DB("db"), // execution of the statements, Hibernate & JdbcTemplate ( SqlStatementsDataSource )
+        WRITE("write"); // serialization of the response bodies ( JSON )
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private RequestTimings() {
+    }
+
+    /**
+     * Start to record the phases of the current thread, resetting the slots of its previous request
+     *
+     * @return the slots of the current thread
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static RequestTimings begin() {
+        RequestTimings timings = SLOTS.get();
+        if (timings == null) {
+            timings = new RequestTimings();
+            SLOTS.set(timings);
+        }
+        for (int i = 0; i < PHASES.length; i++) {
+            timings.nanos[i] = 0;
+            timings.depths[i] = 0;
+        }
+        timings.active = true;
+        timings.requestStart = System.nanoTime();
+        return timings;
+    }
+
+    /**
+     * Stop to record the phases of the current thread, its slots are kept for its next request
+     *
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static void end() {
+        RequestTimings timings = SLOTS.get();
+        if (timings != null) timings.active = false;
+    }
+
+    /**
+     * @return the slots of the request of the current thread, {@code null} outside a request
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static RequestTimings current() {
+        RequestTimings timings = SLOTS.get();
+        return (timings == null || !timings.active) ? null : timings;
+    }
+
+    /**
+     * Record the phases of the current thread in the slots of a request which started in another thread
+     * ( e.g. a call to a service in a pool ), until {@link #detach()}
+     *
+     * @param timings of the request, {@code null} if it isn't being recorded
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static void attach(RequestTimings timings) {
+        if (timings == null) SLOTS.remove();
+        else SLOTS.set(timings);
+    }
+
+    /**
+     * Stop to record the phases of the current thread without ending its request, which goes on in another thread
+     * ( e.g. an asynchronous request ); the current thread gets new slots at its next {@link #begin()}
+     *
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static void detach() {
+        SLOTS.remove();
+    }
+
+    /**
+     * @param phase started by the current thread, ignored outside a request
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static void start(Phase phase) {
+        RequestTimings timings = SLOTS.get();
+        if (timings == null || !timings.active) return;
+
+        int i = phase.ordinal();
+        if (timings.depths[i]++ == 0) timings.starts[i] = System.nanoTime();
+    }
+
+    /**
+     * @param phase finished by the current thread, ignored outside a request
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static void stop(Phase phase) {
+        RequestTimings timings = SLOTS.get();
+        if (timings == null || !timings.active) return;
+
+        int i = phase.ordinal();
+        if (timings.depths[i] == 0) return; // started before the request
+        if (--timings.depths[i] == 0) timings.nanos[i] += System.nanoTime() - timings.starts[i];
+    }
+
+    /**
+     * @param phase of the request
+     * @param nanos measured by the current thread ( e.g. the execution of a statement ), ignored outside a request
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static void add(Phase phase, long nanos) {
+        RequestTimings timings = SLOTS.get();
+        if (timings == null || !timings.active) return;
+
+        timings.nanos[phase.ordinal()] += nanos;
+    }
+
+    /**
+     * @param phase of the request
+     * @return its time, including the part in progress ( e.g. the serialization while the response is committed )
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public long getNanos(Phase phase) {
+        int i = phase.ordinal();
+        long inProgress = (depths[i] > 0) ? System.nanoTime() - starts[i] : 0;
+        return nanos[i] + inProgress;
+    }
+
+    /**
+     * @return time since the start of the request
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public long getTotalNanos() {
+        return System.nanoTime() - requestStart;
+    }
+}
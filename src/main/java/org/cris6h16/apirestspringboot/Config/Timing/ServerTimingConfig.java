@@ -0,0 +1,100 @@
+package org.cris6h16.apirestspringboot.Config.Timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.Filter;
+import org.cris6h16.apirestspringboot.Config.Jfr.ServiceCallInterceptor;
+import org.cris6h16.apirestspringboot.Config.Sql.SqlStatementsDataSource;
+import org.cris6h16.apirestspringboot.Config.Timing.RequestTimings.Phase;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.ServerTiming.DEFAULT_SLOW_THRESHOLD_MS;
+import static org.cris6h16.apirestspringboot.Constants.Cons.ServerTiming.PROPERTY_PREFIX;
+
+/**
+ * Records the phases of each request if {@code server-timing.enabled} ( see {@link ServerTimingFilter} ):
+ * <ul>
+ *     <li>{@code security}: from the first filter until the end of the filter chain of Spring Security</li>
+ *     <li>{@code service}: the methods of the {@link Service}s, outside their transactions ( {@link ServiceCallInterceptor} )</li>
+ *     <li>{@code db}: the execution of the statements, Hibernate & {@code JdbcTemplate}, timed by the connections of
+ *     the pool ( {@link SqlStatementsDataSource} ), the same measure of {@code X-SQL-Time-Ms}</li>
+ *     <li>{@code write}: the serialization of the JSON responses</li>
+ * </ul>
+ * {@code server-timing.header}: write the header {@code Server-Timing} ( the development profiles ),
+ * {@code server-timing.slow-threshold-ms}: requests written in the log {@code slow-requests}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Configuration
+@ConditionalOnProperty(prefix = PROPERTY_PREFIX, name = "enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            @Value("${" + PROPERTY_PREFIX + ".header:false}") boolean header,
+            @Value("${" + PROPERTY_PREFIX + ".slow-threshold-ms:" + DEFAULT_SLOW_THRESHOLD_MS + "}") long slowThresholdMs) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(header, TimeUnit.MILLISECONDS.toNanos(slowThresholdMs)));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1); // just after the counter of the SQL statements
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<Filter> securityTimingEndFilter() {
+        Filter filter = (request, response, chain) -> {
+            RequestTimings.stop(Phase.SECURITY);
+            chain.doFilter(request, response);
+        };
+        FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1); // just after Spring Security
+        return registration;
+    }
+
+    @Bean
+    public WebMvcConfigurer writeTimingConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                converters.replaceAll(converter -> (converter instanceof MappingJackson2HttpMessageConverter jackson)
+                        ? new TimedJacksonConverter(jackson.getObjectMapper())
+                        : converter);
+            }
+        };
+    }
+
+    /**
+     * The JSON converter of Spring Boot ( same {@link ObjectMapper} ), its writes are the phase {@link Phase#WRITE}
+     */
+    static class TimedJacksonConverter extends MappingJackson2HttpMessageConverter {
+
+        TimedJacksonConverter(ObjectMapper objectMapper) {
+            super(objectMapper);
+        }
+
+        @Override
+        protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+            RequestTimings.start(Phase.WRITE);
+            try {
+                super.writeInternal(object, type, outputMessage);
+            } finally {
+                RequestTimings.stop(Phase.WRITE);
+            }
+        }
+    }
+}
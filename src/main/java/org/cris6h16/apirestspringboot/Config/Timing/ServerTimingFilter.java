@@ -0,0 +1,157 @@
+package org.cris6h16.apirestspringboot.Config.Timing;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.cris6h16.apirestspringboot.Config.Timing.RequestTimings.Phase;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.ServerTiming.HEADER;
+import static org.cris6h16.apirestspringboot.Constants.Cons.ServerTiming.SLOW_REQUESTS_LOG;
+
+/**
+ * Records the {@link RequestTimings} of each request ( the first phase is {@link Phase#SECURITY}, until the
+ * request passes the filter chain of Spring Security ), then:
+ * <ul>
+ *     <li>if {@code header}: writes them in the header {@code Server-Timing} when the response is committed
+ *     ( e.g. {@code security;dur=81.2, service;dur=3.4, db;dur=1.9, write;dur=0.3, total;dur=86.1} )</li>
+ *     <li>if the request took at least {@code slowThresholdNanos}: writes them in the log {@code slow-requests}
+ *     as {@code key=value} pairs</li>
+ * </ul>
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Slf4j(topic = SLOW_REQUESTS_LOG)
+public class ServerTimingFilter extends OncePerRequestFilter {
+    private final boolean header;
+    private final long slowThresholdNanos;
+
+    /**
+     * @param header             write the header {@code Server-Timing} in the responses
+     * @param slowThresholdNanos requests logged as slow
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public ServerTimingFilter(boolean header, long slowThresholdNanos) {
+        this.header = header;
+        this.slowThresholdNanos = slowThresholdNanos;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.begin();
+        RequestTimings.start(Phase.SECURITY); // stopped after the filter chain of Spring Security
+        HeaderOnCommit wrapper = header ? new HeaderOnCommit(response, timings) : null;
+        try {
+            filterChain.doFilter(request, (wrapper == null) ? response : wrapper);
+        } finally {
+            if (request.isAsyncStarted()) { // its slots go on with the request ( e.g. ServiceCalls ), this thread gets new ones
+                RequestTimings.detach();
+                request.getAsyncContext().addListener(new ReportOnComplete(request, response, wrapper, timings));
+            } else {
+                complete(request, response, wrapper, timings);
+                RequestTimings.end();
+            }
+        }
+    }
+
+    private void complete(HttpServletRequest request, HttpServletResponse response, HeaderOnCommit wrapper, RequestTimings timings) {
+        if (wrapper != null) wrapper.writeHeaderIfNotCommitted();
+        long total = timings.getTotalNanos();
+        if (total >= slowThresholdNanos) logSlow(request, response, timings, total);
+    }
+
+    private static void logSlow(HttpServletRequest request, HttpServletResponse response, RequestTimings timings, long total) {
+        log.warn("method={} uri={} status={} total_ms={} security_ms={} service_ms={} db_ms={} write_ms={}",
+                request.getMethod(), request.getRequestURI(), response.getStatus(), millis(total),
+                millis(timings.getNanos(Phase.SECURITY)), millis(timings.getNanos(Phase.SERVICE)),
+                millis(timings.getNanos(Phase.DB)), millis(timings.getNanos(Phase.WRITE)));
+    }
+
+    /**
+     * @param timings of the request
+     * @return the value of the header {@code Server-Timing}
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    static String headerValue(RequestTimings timings) {
+        StringBuilder value = new StringBuilder(96);
+        for (Phase phase : Phase.values()) {
+            value.append(phase.getMetricName()).append(";dur=").append(millis(timings.getNanos(phase))).append(", ");
+        }
+        return value.append("total;dur=").append(millis(timings.getTotalNanos())).toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1e6);
+    }
+
+    /**
+     * Completes an asynchronous request once, when it's completed ( also after a timeout or an error )
+     */
+    private class ReportOnComplete implements AsyncListener {
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final HeaderOnCommit wrapper;
+        private final RequestTimings timings;
+
+        ReportOnComplete(HttpServletRequest request, HttpServletResponse response, HeaderOnCommit wrapper, RequestTimings timings) {
+            this.request = request;
+            this.response = response;
+            this.wrapper = wrapper;
+            this.timings = timings;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            complete(request, response, wrapper, timings);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this); // the listeners are removed when the request is dispatched again
+        }
+    }
+
+    /**
+     * Writes the header just before the response is committed ( after it, it's ignored )
+     */
+    private static class HeaderOnCommit extends OnCommittedResponseWrapper {
+        private final RequestTimings timings;
+
+        HeaderOnCommit(HttpServletResponse response, RequestTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            setHeader(HEADER, headerValue(timings));
+        }
+
+        void writeHeaderIfNotCommitted() {
+            if (isDisableOnResponseCommitted() || isCommitted()) return;
+            onResponseCommitted();
+            disableOnResponseCommitted();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package org.cris6h16.apirestspringboot.Constants;
 
 import org.cris6h16.apirestspringboot.DTOs.Creation.CreateNoteDTO;
 
+import java.util.Set;
+
 /**
  * This class contains all the constants used in the project
  * used to avoid hardcoding strings and centralize it.
@@ -65,6 +67,7 @@ public class Cons {
             public static final byte DEFAULT_PAGE = 0;
             public static final byte DEFAULT_SIZE = 10;
             public static final String DEFAULT_SORT = "id";
+            public static final Set<String> SORTABLE = Set.of("id", "username", "email"); // primary key & unique constraints
         }
     }
 
@@ -73,6 +76,13 @@ public class Cons {
             public class Path {
                 public static final String NOTE_PATH = "/api/v1/notes";
             }
+
+            public class Params {
+                /**
+                 * GET {@link Path#NOTE_PATH} with this param returns the notes with an excerpt of the content
+                 */
+                public static final String EXCERPT_VIEW = "view=excerpt";
+            }
         }
 
         public class Validations {
@@ -82,6 +92,81 @@ public class Cons {
 
         public class Fails {
             public static final String NOT_FOUND = "Note not found";
+            public static final String VERSION_MISMATCH = "Note was modified, get it again before updating it";
+            public static final String ID_ALREADY_EXISTS = "Note id already exists";
+        }
+
+        public static class Search {
+            public static final String PATH = "/search";
+            public static final String QUERY_PARAM = "q";
+            public static final short MAX_QUERY_LENGTH = 255;
+            public static final String QUERY_INVALID_MSG = "Search query must be non-blank and less than " + MAX_QUERY_LENGTH + " characters";
+            /**
+             * PostgreSQL text search configuration, {@code simple} doesn't apply stemming
+             * then it works for any language ( our users write in english & spanish )
+             */
+            public static final String TS_CONFIG = "simple";
+            public static final float TITLE_WEIGHT = 1.0f; // same as ts_rank for the weight A
+            public static final float CONTENT_WEIGHT = 0.4f; // same as ts_rank for the weight B
+            /**
+             * Characters of the content indexed, the first ones ( {@code left(content, 100000)} in the migration
+             * {@code V2} ): a {@code tsvector} is at most 1 MB, ~6 bytes by character in the worst case
+             */
+            public static final int INDEXED_CONTENT_LENGTH = 100_000;
+        }
+
+        /**
+         * Several notes by their ids in one query ( {@code GET ?ids=1,2,3}, or {@code POST} for long lists )
+         */
+        public static class MultiGet {
+            public static final String PATH = "/multi-get";
+            public static final String IDS_PARAM = "ids";
+            public static final short MAX_IDS = 100;
+            public static final String IDS_INVALID_MSG = "Ids must be a list of 1 to " + MAX_IDS + " note ids";
+        }
+
+        public static class Export {
+            public static final String PATH = "/export";
+            public static final String FILENAME = "notes.ndjson";
+            /**
+             * Rows fetched by each round trip of the cursor, also the notes written between each flush of the response
+             */
+            public static final int FETCH_SIZE = 500;
+        }
+
+        public static class Import {
+            public static final String PATH = "/import";
+            /**
+             * Notes written by each transaction, the body isn't read while a chunk is written
+             */
+            public static final int CHUNK_SIZE = 500;
+            public static final int JDBC_BATCH_SIZE = 50; // inserts by round trip ( NoteBatchRepository )
+            public static final int MAX_REPORTED_ERRORS = 100;
+            public static final String INVALID_JSON_MSG = "Line is not a valid JSON note";
+            public static final String LINE_TOO_LONG_MSG = "Line is longer than a note can be";
+            public static final int MAX_LINE_OVERHEAD = 4096; // characters of a line besides the escaped content: title, keys...
+        }
+
+        /**
+         * Size of the content of the notes, checked while the bodies are read ( {@code NoteContentLimit} )
+         */
+        public static class Content {
+            public static final String PROPERTY_PREFIX = "notes.content";
+            public static final int DEFAULT_MAX_LENGTH = 1_000_000; // characters
+            /**
+             * {@code PUT} of just the content as {@code text/plain}, written through a character stream.<br>
+             * {@code GET} of just the content, streamed from the database by chunks ( supports {@code Range} )
+             */
+            public static final String PATH = "/{noteId}/content";
+            public static final String TOO_LONG_MSG = "Content must be less than %d characters";
+            /**
+             * Characters read from the database by query while the content is streamed ( up to ~768 KB once encoded )
+             */
+            public static final int STREAM_CHUNK_LENGTH = 262_144;
+            /**
+             * A smaller content isn't compressed, the same default of Tomcat ( {@code server.compression.min-response-size} )
+             */
+            public static final int GZIP_MIN_BYTES = 2048;
         }
 
         /**
@@ -95,8 +180,190 @@ public class Cons {
             public static final byte DEFAULT_PAGE = 0;
             public static final byte DEFAULT_SIZE = 10;
             public static final String DEFAULT_SORT = "id";
+            public static final short EXCERPT_LENGTH = 200; // characters of the content in the lists
+            public static final Set<String> SORTABLE = Set.of("id", "updatedAt"); // idx_notes_user_id_id, idx_notes_user_id_updated_at
+        }
+
+    }
+
+
+    public static class Admin {
+        public static class BulkLoad {
+            public static final String PATH = "/api/v1/admin/bulk-load";
+            /**
+             * Users ( with their roles and notes ) written by each transaction
+             */
+            public static final int BLOCK_SIZE = 1000;
+            /**
+             * {@code INCREMENT BY} of the sequences, each value reserves a block of ids
+             * in the same way as the {@code pooled} optimizer of Hibernate
+             */
+            public static final int SEQUENCE_INCREMENT = 50;
+            public static final String USER_SEQUENCE = "id_user_seq";
+            public static final String NOTE_SEQUENCE = "id_note_seq";
+            public static final int JDBC_BATCH_SIZE = 500; // just for the fallback of the databases without COPY
+            public static final int MAX_REPORTED_ERRORS = 100;
+            public static final String INVALID_JSON_MSG = "Line is not a valid JSON user";
+            public static final String LINE_TOO_LONG_MSG = "Line is longer than a user with a note can be"; // same max as the import of notes
+            public static final String PASSWORD_NOT_ENCODED_MSG = "Password must be already encoded with BCrypt, with its prefix ( e.g. {bcrypt}$2a$10$... )";
+            public static final String BLOCK_REJECTED_MSG = "Rejected by the database together with the rest of its block";
         }
 
+        /**
+         * Synthetic dataset for the volume tests, written with the {@code BulkLoader} of the bulk load
+         */
+        public static class Dataset {
+            public static final String PROPERTY_PREFIX = "dataset";
+            public static final int USERS_BLOCK_SIZE = 1000; // users written by each transaction
+            public static final int NOTES_BLOCK_SIZE = 20_000; // notes written by each transaction
+            public static final int MAX_CONTENT_LENGTH = 20_000; // characters, the tail of the distribution is cut here
+            public static final int MAX_AGE_DAYS = 365; // the dates are spread in the last year
+        }
+
+        /**
+         * Recordings of Java Flight Recorder, with the events of the application ( disabled out of them )
+         */
+        public static class Jfr {
+            public static final String PATH = "/api/v1/admin/jfr";
+            public static final String START_PATH = "/start";
+            public static final String STOP_PATH = "/stop";
+            public static final String FILENAME = "recording.jfr";
+            public static final String SETTINGS = "profile"; // of the JDK, plus the events of the application
+            public static final String EVENTS_CATEGORY = "API REST Spring Boot";
+            public static final long DEFAULT_DURATION_SECONDS = 60;
+            public static final long MAX_DURATION_SECONDS = 600;
+            public static final long MAX_SIZE_BYTES = 100L * 1024 * 1024;
+            public static final String DURATION_INVALID_MSG = "The duration must be between 1 and " + MAX_DURATION_SECONDS + " seconds";
+            public static final String ALREADY_RUNNING_MSG = "A recording is already running, stop it before starting another one";
+            public static final String NOT_FOUND_MSG = "There isn't any recording, start one";
+        }
+    }
+
+
+    /**
+     * Meters of the application ( Micrometer ), their tags have a bounded number of values: never ids or usernames
+     *
+     * @since 1.0
+     */
+    public static class Metrics {
+        public static final String SERVICE_TIMER = "app.service"; // tags: class, method, exception ( TimedAspect )
+        public static final String PASSWORD_TIMER = "app.password"; // tags: operation
+        public static final String EXCEPTIONS_COUNTER = "app.exceptions.handled"; // tags: exception, status
+        public static final String UNEXPECTED_EXCEPTION = "Unexpected"; // any exception not designed for the user
+        public static final String SQL_STATEMENTS_SUMMARY = "app.sql.statements"; // by sampled request
+        public static final String SQL_REPEATED_COUNTER = "app.sql.repeated"; // sampled requests with an N+1
+        public static final String PAGES_REJECTED_COUNTER = "app.pages.rejected"; // tags: resource, reason ( sort, offset )
+        public static final String PAGES_CAPPED_COUNTER = "app.pages.capped"; // tags: resource
+    }
+
+
+    /**
+     * Limits of the pages requested by the clients ( {@code PageRequestGovernor} )
+     *
+     * @since 1.0
+     */
+    public static class Pages {
+        public static final String PROPERTY_PREFIX = "pages";
+        public static final int DEFAULT_MAX_SIZE = 100; // a bigger size is reduced to it
+        public static final long DEFAULT_MAX_OFFSET = 10_000; // rows skipped by the OFFSET ( page * size )
+        public static final String SORT_INVALID_MSG = "Sort is only allowed by: ";
+        public static final String TOO_DEEP_MSG = "Page too deep, the rows skipped ( page * size ) can't be more than %d: sort in the opposite direction or narrow the request";
+        public static final String SORT_NOT_ALLOWED_MSG = "Sort is not allowed, the results are sorted by rank";
+        public static final String NOTES = "notes"; // resources paged, tag of the metrics
+        public static final String NOTES_SEARCH = "notes-search";
+        public static final String USERS = "users";
+        public static final Set<String> RESOURCES = Set.of(NOTES, NOTES_SEARCH, USERS);
+    }
+
+
+    /**
+     * Request bodies compressed by the clients ( {@code Content-Encoding: gzip} ), see {@code GzipRequestFilter}
+     *
+     * @since 1.0
+     */
+    public static class RequestGzip {
+        public static final String PROPERTY_PREFIX = "request-gzip";
+        public static final long DEFAULT_MAX_INFLATED_BYTES = 64L * 1024 * 1024; // a zip bomb is cut there
+        public static final String TOO_LARGE_MSG = "Request body must be less than %d bytes once decompressed";
+        public static final String INVALID_MSG = "Request body is not valid gzip";
+    }
+
+
+    /**
+     * Calls of the note endpoints to the services, optionally in a pool sized to the connections
+     * of the database, see {@code AsyncCallsConfig}
+     *
+     * @since 1.0
+     */
+    public static class AsyncCalls {
+        public static final String PROPERTY_PREFIX = "notes.async";
+        public static final String THREAD_NAME_PREFIX = "notes-db-";
+        public static final int DEFAULT_POOL_SIZE = 10; // the default of Hikari ( maximum-pool-size )
+        public static final int DEFAULT_QUEUE_CAPACITY = 200;
+        public static final String DEFAULT_TIMEOUT = "30s";
+        public static final String TIMEOUT_MSG = "The request took too long, please try again later";
+        public static final String BUSY_MSG = "Too many requests in progress, please try again later";
+    }
+
+
+    /**
+     * Adaptive limit of the calls in progress to the services of the users and notes, it shrinks when the
+     * database slows down ( see {@code ConcurrencyLimitConfig} )
+     *
+     * @since 1.0
+     */
+    public static class ConcurrencyLimit {
+        public static final String PROPERTY_PREFIX = "concurrency-limit";
+        public static final String METRICS_PREFIX = "service.concurrency";
+        public static final int DEFAULT_INITIAL_LIMIT = 20;
+        public static final int DEFAULT_MIN_LIMIT = 4;
+        public static final int DEFAULT_MAX_LIMIT = 200;
+        public static final double DEFAULT_RTT_TOLERANCE = 1.5; // latency accepted over the no-load latency before shrinking
+        public static final double DEFAULT_SMOOTHING = 0.2;
+        public static final int DEFAULT_STREAMING_LIMIT = 8; // calls in progress which transfer a stream of the client
+        public static final long DEFAULT_RETRY_AFTER_SECONDS = 1;
+        public static final String OVERLOADED_MSG = "The service is overloaded, please try again later";
+    }
+
+
+    /**
+     * SQL statements executed by Hibernate in each request ( sampled ), to catch the N+1 queries
+     *
+     * @since 1.0
+     */
+    public static class SqlStatements {
+        public static final String PROPERTY_PREFIX = "sql-statements";
+        public static final String COUNT_HEADER = "X-SQL-Count";
+        public static final String TIME_HEADER = "X-SQL-Time-Ms"; // execution time of the statements, milliseconds
+        public static final int DEFAULT_REPEATED_THRESHOLD = 5; // the same statement more times than this is an N+1
+    }
+
+
+    /**
+     * Time of each phase of the requests ( security, services, database & serialization of the responses )
+     *
+     * @since 1.0
+     */
+    public static class ServerTiming {
+        public static final String PROPERTY_PREFIX = "server-timing";
+        public static final String HEADER = "Server-Timing";
+        public static final String SLOW_REQUESTS_LOG = "slow-requests"; // name of the logger
+        public static final long DEFAULT_SLOW_THRESHOLD_MS = 1000;
+    }
+
+
+    /**
+     * Regions of the Hibernate second-level cache, the size and TTL of
+     * each region is configured in {@code caffeine.conf}
+     *
+     * @since 1.0
+     */
+    public static class CacheRegions {
+        public static final String ROLES = "roles";
+        public static final String USERS = "users";
+        public static final String USERS_ROLES = "users_roles";
+        public static final String QUERY_RESULTS = "default-query-results-region";
+        public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
     }
 
 
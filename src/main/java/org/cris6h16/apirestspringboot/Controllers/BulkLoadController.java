@@ -0,0 +1,107 @@
+package org.cris6h16.apirestspringboot.Controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicBulkLoadResultDTO;
+import org.cris6h16.apirestspringboot.Services.BulkLoadServiceImpl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+/**
+ * Controller of the admin data loads, for {@link BulkLoadServiceImpl}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@RestController
+public class BulkLoadController {
+
+    private final BulkLoadServiceImpl bulkLoadService;
+
+    public BulkLoadController(BulkLoadServiceImpl bulkLoadService) {
+        this.bulkLoadService = bulkLoadService;
+    }
+
+    @Operation(
+            tags = {"Admin Bulk Load Endpoints"},
+            operationId = "bulkLoad",
+            summary = "bulk load users",
+            description = "Load users with their roles and notes from NDJSON ( a JSON user by line ), the passwords must be already encoded. " +
+                    "The body is read while the rows are written in blocks of " + Cons.Admin.BulkLoad.BLOCK_SIZE + " users " +
+                    "( COPY on PostgreSQL ), the invalid lines and the users which already exist are skipped and reported",
+            method = "POST",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            examples = @ExampleObject(
+                                    name = "Users",
+                                    value = """
+                                            {"username":"cris6h16","email":"cristianmherrera21@gmail.com","password":"{bcrypt}$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK","roles":["ROLE_USER"],"notes":[{"title":"Mi primera nota","content":"Contenido de mi primera nota"}]}
+                                            {"username":"githubcomcris6h16","email":"hello@example.com","password":"{bcrypt}$2a$10$GRLdNijSQMUvl/au9ofL.eDwmoohzzS7.rmNSJZ.0FxO/BTk76klW"}
+                                            """
+                            )
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Input processed, the counts, the rejected lines and the throughput are returned",
+                            content = @Content(
+                                    schema = @Schema(implementation = PublicBulkLoadResultDTO.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Bulk load result",
+                                            value = """
+                                                    {
+                                                        "users": 1,
+                                                        "roles": 1,
+                                                        "notes": 1,
+                                                        "failed": 1,
+                                                        "errors": [
+                                                            {
+                                                                "line": 2,
+                                                                "message": "Email already exists"
+                                                            }
+                                                        ],
+                                                        "elapsedMillis": 12,
+                                                        "rowsPerSecond": 250
+                                                    }
+                                                    """
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "User not authenticated",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Any unexpected error occurred while processing the request ( is not ADMIN, database error, etc. )",
+                            content = @Content
+                    )
+            },
+            security = {
+                    @SecurityRequirement(name = "basicAuth")
+            }
+    )
+    @PostMapping(
+            path = Cons.Admin.BulkLoad.PATH,
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<PublicBulkLoadResultDTO> load(@Parameter(hidden = true) InputStream body) {
+        PublicBulkLoadResultDTO result = bulkLoadService.load(body);
+        return ResponseEntity.ok(result);
+    }
+}
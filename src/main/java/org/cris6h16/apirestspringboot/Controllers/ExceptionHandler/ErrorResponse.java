@@ -1,4 +1,61 @@
 package org.cris6h16.apirestspringboot.Controllers.ExceptionHandler;
 
+import org.springframework.http.HttpStatus;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
 public record ErrorResponse(String message, String status, String instant) {
+
+    /**
+     * Build a json body for a response of a failed request
+     *
+     * @param message value for the {@code message} in the json body
+     * @param status  value for the {@code status} in the json body
+     * @return a json body with the given values
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static String buildFailJsonBody(String message,
+                                           HttpStatus status) {
+        String statusStr = (status == null) ? "" : status.toString();
+        message = (message == null) ? "" : message;
+
+        ErrorResponse errorResponse = new ErrorResponse(
+                message,
+                statusStr,
+                DateTimeFormatter.ISO_INSTANT
+                        .withZone(ZoneOffset.UTC)
+                        .format(Instant.now()) // yyyy-MM-dd'T'HH:mm:ss.SSS'Z' --> ISO-8601 (UTC)
+        );
+
+        return String.format(
+                removeChars(
+                        """
+                                {
+                                    "message": "%s",
+                                    "status": "%s",
+                                    "instant": "%s"
+                                }
+                                """,
+                        '\n', ' '),
+                errorResponse.message(),
+                errorResponse.status(),
+                errorResponse.instant()
+        );
+    }
+
+    private static String removeChars(String str, char... chars) {
+        if (str == null || chars == null || chars.length == 0) return str;
+        StringBuilder sb = new StringBuilder(str);
+        for (char c : chars) {
+            int idx = sb.indexOf(String.valueOf(c));
+            while (idx != -1) {
+                sb.deleteCharAt(idx);
+                idx = sb.indexOf(String.valueOf(c));
+            }
+        }
+        return sb.toString();
+    }
 }
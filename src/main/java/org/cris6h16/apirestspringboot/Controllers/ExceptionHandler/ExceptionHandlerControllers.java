@@ -1,47 +1,66 @@
 package org.cris6h16.apirestspringboot.Controllers.ExceptionHandler;
 
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import lombok.extern.slf4j.Slf4j;
 import org.cris6h16.apirestspringboot.Config.Security.CustomUser.UserWithId;
 import org.cris6h16.apirestspringboot.Constants.Cons;
 import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.ServiceOverloadedException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.ServiceTimeoutException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteContentTooLongException;
 import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.cris6h16.apirestspringboot.Services.Validation.NoteContentLimit;
 import org.cris6h16.apirestspringboot.Utils.FilesUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import java.nio.file.Path;
-import java.time.Instant;
-import java.time.ZoneOffset;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Metrics.EXCEPTIONS_COUNTER;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Metrics.UNEXPECTED_EXCEPTION;
 
 /**
- * Handling of exception in the controllers
+ * Handling of exception in the controllers, each handled exception is counted as {@code app.exceptions.handled}
+ * ( tags: {@code exception}, the simple name of a {@link ProperExceptionForTheUser} or {@code Unexpected}; {@code status} )
  *
  * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
  * @since 1.0
  */
 @RestControllerAdvice
 @Slf4j
-public class ExceptionHandlerControllers {
+public class ExceptionHandlerControllers implements MeterBinder {
 
-    private final Object lock = new Object();
+    private final ReentrantLock lock = new ReentrantLock(); // not `synchronized`: the file is written while it is held ( virtual threads )
     private final FilesUtils filesSyncUtils;
+    private final NoteContentLimit noteContentLimit;
     protected static volatile long lastSavedToFile; // concurrent changed
     protected static final long MILLIS_EACH_SAVE = 10 * 60 * 1000; // 10 minutes
     protected static List<String> hiddenExceptionsLines;
+    private volatile MeterRegistry meterRegistry; // null without metrics ( e.g. the slices of the tests )
 
-    public ExceptionHandlerControllers(FilesUtils filesSyncUtils) {
+    public ExceptionHandlerControllers(FilesUtils filesSyncUtils, NoteContentLimit noteContentLimit) {
         this.filesSyncUtils = filesSyncUtils;
+        this.noteContentLimit = noteContentLimit;
         lastSavedToFile = 0;
         hiddenExceptionsLines = new Vector<>(); // for thread safety ( for avoid internally crashes [adding && removing] )
     }
 
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.meterRegistry = registry;
+    }
+
     /**
      * Handles the exceptions that was designed to be passed directly to the user
      *
@@ -53,10 +72,71 @@ public class ExceptionHandlerControllers {
     @ExceptionHandler(ProperExceptionForTheUser.class)
     public ResponseEntity<String> handleProperExceptionForTheUser(ProperExceptionForTheUser e) {
         logHandledDebug(e);
+        count(e.getClass().getSimpleName(), e.getStatus());
         return buildAFailResponse(e.getStatus(), e.getReason());
     }
 
 
+    /**
+     * Handles the bodies which couldn't be read, the causes designed for the user are passed to them:
+     * <ul>
+     *     <li>{@link ProperExceptionForTheUser}: thrown while the body was read ( e.g. a compressed body too large )</li>
+     *     <li>{@link StreamConstraintsException}: a string longer than the content of a note ( the limit of the parser )</li>
+     * </ul>
+     * any other cause is handled as a generic exception
+     *
+     * @param e the exception
+     * @return a {@link ResponseEntity} with the status and message of the cause, or the same as {@link #handleException(Exception)}
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<String> handleHttpMessageNotReadable(HttpMessageNotReadableException e) {
+        for (Throwable cause = e.getCause(); cause != null && cause != cause.getCause(); cause = cause.getCause()) {
+            if (cause instanceof ProperExceptionForTheUser proper) return handleProperExceptionForTheUser(proper);
+            if (cause instanceof StreamConstraintsException) {
+                return handleProperExceptionForTheUser(new NoteContentTooLongException(noteContentLimit.getMaxLength()));
+            }
+        }
+        return handleException(e);
+    }
+
+
+    /**
+     * Handles the asynchronous requests which weren't completed in {@code spring.mvc.async.request-timeout}, as the
+     * calls to the services slower than {@code notes.async.timeout} ( {@link ServiceTimeoutException} ).
+     * A response already committed ( e.g. a streamed export ) is just closed
+     *
+     * @param e the exception
+     * @return a {@link ResponseEntity} with the status and message of {@link ServiceTimeoutException}
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    public ResponseEntity<String> handleAsyncRequestTimeout(AsyncRequestTimeoutException e) {
+        return handleProperExceptionForTheUser(new ServiceTimeoutException());
+    }
+
+
+    /**
+     * Handles the calls rejected by the adaptive limit of the services, as any {@link ProperExceptionForTheUser}
+     * plus the header {@code Retry-After}
+     *
+     * @param e the exception
+     * @return a {@link ResponseEntity} with status {@link HttpStatus#SERVICE_UNAVAILABLE} and {@code Retry-After} in seconds
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<String> handleServiceOverloaded(ServiceOverloadedException e) {
+        ResponseEntity<String> res = handleProperExceptionForTheUser(e);
+        return ResponseEntity.status(res.getStatusCode())
+                .headers(res.getHeaders())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(res.getBody());
+    }
+
+
     /**
      * Handling of generic exceptions
      *
@@ -69,7 +149,9 @@ public class ExceptionHandlerControllers {
     @ExceptionHandler(value = {Exception.class})
     public ResponseEntity<String> handleException(Exception e) {
         logHandledDebug(e);
-        if (isAdmin()) return buildFailResponseForAdmin(e);
+        boolean admin = isAdmin();
+        count(UNEXPECTED_EXCEPTION, admin ? HttpStatus.INTERNAL_SERVER_ERROR : HttpStatus.FORBIDDEN);
+        if (admin) return buildFailResponseForAdmin(e);
         else {
             saveHiddenExceptionForTheUserEveryDefinedMins(e);
             return new ResponseEntity<>(null, new HttpHeaders(), HttpStatus.FORBIDDEN); // simulate a Response<Void>, I cannot putByIdAndUserId that as return type because if is admin, the response will contain a String, also returning something in the body for !admins this can be mapped for know the existent endpoints( i.g. if the bad user make a request to an /admin endpoint the response will be a 403 Forbidden with empty body, but if the user make a request to an endpoint that doesn't exist (NoResourceFoundException) it will be a 403 Forbidden with a body that I decide pass here. So, the user can know the existent endpoints)
@@ -83,67 +165,16 @@ public class ExceptionHandlerControllers {
      * @param e the exception to log
      * @return a containing with the status {@link HttpStatus#INTERNAL_SERVER_ERROR}
      * and in the message {@code @exception.toString}, with {@link MediaType#APPLICATION_JSON} as content type
-     * @see #buildFailJsonBody(String, HttpStatus)
+     * @see ErrorResponse#buildFailJsonBody(String, HttpStatus)
      * @since 1.0
      */
     private ResponseEntity<String> buildFailResponseForAdmin(Exception e) {
-        String body = buildFailJsonBody(e.toString(), HttpStatus.INTERNAL_SERVER_ERROR);
+        String body = ErrorResponse.buildFailJsonBody(e.toString(), HttpStatus.INTERNAL_SERVER_ERROR);
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         return new ResponseEntity<>(body, headers, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
-    /**
-     * Build a json body for a response of a failed request
-     *
-     * @param message value for the {@code message} in the json body
-     * @param status  value for the {@code status} in the json body
-     * @return a json body with the given values
-     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
-     * @since 1.0
-     */
-    private String buildFailJsonBody(String message,
-                                     HttpStatus status) {
-        String statusStr = (status == null) ? "" : status.toString();
-        message = (message == null) ? "" : message;
-
-        ErrorResponse errorResponse = new ErrorResponse(
-                message,
-                statusStr,
-                DateTimeFormatter.ISO_INSTANT
-                        .withZone(ZoneOffset.UTC)
-                        .format(Instant.now()) // yyyy-MM-dd'T'HH:mm:ss.SSS'Z' --> ISO-8601 (UTC)
-        );
-
-        return String.format(
-                removeChars(
-                        """
-                                {
-                                    "message": "%s",
-                                    "status": "%s",
-                                    "instant": "%s"
-                                }
-                                """,
-                        '\n', ' '),
-                errorResponse.message(),
-                errorResponse.status(),
-                errorResponse.instant()
-        );
-    }
-
-    private String removeChars(String str, char... chars) {
-        if (str == null || chars == null || chars.length == 0) return str;
-        StringBuilder sb = new StringBuilder(str);
-        for (char c : chars) {
-            int idx = sb.indexOf(String.valueOf(c));
-            while (idx != -1) {
-                sb.deleteCharAt(idx);
-                idx = sb.indexOf(String.valueOf(c));
-            }
-        }
-        return sb.toString();
-    }
-
     /**
      * Build a {@link ResponseEntity<String>} for a failed request
      *
@@ -156,7 +187,7 @@ public class ExceptionHandlerControllers {
      */
     private ResponseEntity<String> buildAFailResponse(HttpStatus status, String message) {
 
-        String body = buildFailJsonBody(message, status);
+        String body = ErrorResponse.buildFailJsonBody(message, status);
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -165,6 +196,21 @@ public class ExceptionHandlerControllers {
     }
 
 
+    /**
+     * Count a handled exception, the names are bounded: the subclasses of {@link ProperExceptionForTheUser}
+     * and {@link org.cris6h16.apirestspringboot.Constants.Cons.Metrics#UNEXPECTED_EXCEPTION}
+     *
+     * @param exception the name of the exception
+     * @param status    the status of the response
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    private void count(String exception, HttpStatus status) {
+        MeterRegistry registry = meterRegistry;
+        if (registry == null) return;
+        registry.counter(EXCEPTIONS_COUNTER, "exception", exception, "status", status == null ? "" : String.valueOf(status.value())).increment();
+    }
+
     /**
      * Log the exceptions handled by the advice
      *
@@ -226,7 +272,8 @@ public class ExceptionHandlerControllers {
      * @since 1.0
      */
     private void saveHiddenExceptionForTheUserEveryDefinedMins(Exception e) {
-        synchronized (lock) {
+        lock.lock();
+        try {
             StringBuilder line = new StringBuilder()
                     .append(new Date().toString())
                     .append("::")
@@ -239,11 +286,14 @@ public class ExceptionHandlerControllers {
                                     )
                     );
             hiddenExceptionsLines.add(line.toString());
+        } finally {
+            lock.unlock();
         }
 
         if (System.currentTimeMillis() - lastSavedToFile < MILLIS_EACH_SAVE) return;
 
-        synchronized (lock) {
+        lock.lock();
+        try {
             if (System.currentTimeMillis() - lastSavedToFile < MILLIS_EACH_SAVE) return;
 
             StringBuilder content = new StringBuilder();
@@ -257,6 +307,8 @@ public class ExceptionHandlerControllers {
                     Path.of(Cons.Logs.HIDEN_EXCEPTION_OF_USERS),
                     content.toString()
             );
+        } finally {
+            lock.unlock();
         }
     }
 
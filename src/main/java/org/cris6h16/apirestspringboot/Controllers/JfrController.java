@@ -0,0 +1,185 @@
+package org.cris6h16.apirestspringboot.Controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicJfrRecordingDTO;
+import org.cris6h16.apirestspringboot.Services.JfrRecordingServiceImpl;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Controller of the recordings of Java Flight Recorder, for {@link JfrRecordingServiceImpl}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@RestController
+@RequestMapping(path = Cons.Admin.Jfr.PATH)
+public class JfrController {
+
+    private final JfrRecordingServiceImpl jfrRecordingService;
+
+    public JfrController(JfrRecordingServiceImpl jfrRecordingService) {
+        this.jfrRecordingService = jfrRecordingService;
+    }
+
+    @Operation(
+            tags = {"Admin JFR Endpoints"},
+            operationId = "startJfrRecording",
+            summary = "start a recording",
+            description = "Start a recording of Java Flight Recorder ( the settings 'profile' of the JDK plus the events of the application: " +
+                    "password hashes, service calls, repository calls with their statements and log flushes ). " +
+                    "It stops by itself after the duration, the oldest data is discarded after " + Cons.Admin.Jfr.MAX_SIZE_BYTES + " bytes",
+            method = "POST",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Recording started",
+                            content = @Content(
+                                    schema = @Schema(implementation = PublicJfrRecordingDTO.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Recording",
+                                            value = """
+                                                    {
+                                                        "id": 2,
+                                                        "state": "RUNNING",
+                                                        "startedAt": "2024-06-01T12:00:00.000+00:00",
+                                                        "durationSeconds": 60,
+                                                        "maxSizeBytes": 104857600,
+                                                        "sizeBytes": 0
+                                                    }
+                                                    """
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "The duration is out of its limits",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "User not authenticated",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Any unexpected error occurred while processing the request ( is not ADMIN, etc. )",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "A recording is already running",
+                            content = @Content
+                    )
+            },
+            security = {
+                    @SecurityRequirement(name = "basicAuth")
+            }
+    )
+    @PostMapping(path = Cons.Admin.Jfr.START_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PublicJfrRecordingDTO> start(
+            @RequestParam(defaultValue = "" + Cons.Admin.Jfr.DEFAULT_DURATION_SECONDS) long durationSeconds) {
+        return ResponseEntity.ok(jfrRecordingService.start(durationSeconds));
+    }
+
+    @Operation(
+            tags = {"Admin JFR Endpoints"},
+            operationId = "stopJfrRecording",
+            summary = "stop the recording",
+            description = "Stop the recording, it's kept to be downloaded until another one is started",
+            method = "POST",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Recording stopped",
+                            content = @Content(
+                                    schema = @Schema(implementation = PublicJfrRecordingDTO.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "User not authenticated",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Any unexpected error occurred while processing the request ( is not ADMIN, etc. )",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "There isn't any recording",
+                            content = @Content
+                    )
+            },
+            security = {
+                    @SecurityRequirement(name = "basicAuth")
+            }
+    )
+    @PostMapping(path = Cons.Admin.Jfr.STOP_PATH, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<PublicJfrRecordingDTO> stop() {
+        return ResponseEntity.ok(jfrRecordingService.stop());
+    }
+
+    @Operation(
+            tags = {"Admin JFR Endpoints"},
+            operationId = "downloadJfrRecording",
+            summary = "download the recording",
+            description = "Download the data of the recording ( running or stopped ), open it with JDK Mission Control or `jfr print`",
+            method = "GET",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "The recording ( .jfr )",
+                            content = @Content(mediaType = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "User not authenticated",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Any unexpected error occurred while processing the request ( is not ADMIN, etc. )",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "There isn't any recording",
+                            content = @Content
+                    )
+            },
+            security = {
+                    @SecurityRequirement(name = "basicAuth")
+            }
+    )
+    @GetMapping(produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Resource> download() throws IOException {
+        Path file = jfrRecordingService.dump();
+        long size = Files.size(file);
+        Resource body = new InputStreamResource(Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE)); // closed after being written
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(Cons.Admin.Jfr.FILENAME).build().toString())
+                .contentLength(size)
+                .body(body);
+    }
+}
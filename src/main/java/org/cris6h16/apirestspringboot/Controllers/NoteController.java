@@ -1,5 +1,7 @@
 package org.cris6h16.apirestspringboot.Controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -7,26 +9,48 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.cris6h16.apirestspringboot.Config.AsyncCalls.ServiceCalls;
+import org.cris6h16.apirestspringboot.Config.Streaming.StreamingResponseTimeout;
 import org.cris6h16.apirestspringboot.Constants.Cons;
 import org.cris6h16.apirestspringboot.Controllers.ExceptionHandler.ErrorResponse;
 import org.cris6h16.apirestspringboot.Controllers.MetaAnnotations.MyId;
 import org.cris6h16.apirestspringboot.DTOs.Creation.CreateNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteContentStatDTO;
 import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteExcerptDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteImportResultDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteMultiGetDTO;
 import org.cris6h16.apirestspringboot.Entities.NoteEntity;
 import org.cris6h16.apirestspringboot.Services.NoteServiceImpl;
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
- * Controller for {@link NoteServiceImpl}}
+ * Controller for {@link NoteServiceImpl}}<br>
+ * The endpoints which answer JSON call the service through {@link ServiceCalls} ( in the thread of the request, or in
+ * a pool if {@code notes.async.enabled} ), the streamed ones read/write the bodies in the thread of the request.
  *
  * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
  * @since 1.0
@@ -36,9 +60,13 @@ import java.net.URI;
 public class NoteController {
     public static final String path = Cons.Note.Controller.Path.NOTE_PATH;
     private final NoteServiceImpl noteService;
+    private final ObjectWriter noteWriter;
+    private final ServiceCalls serviceCalls;
 
-    public NoteController(NoteServiceImpl noteService) {
+    public NoteController(NoteServiceImpl noteService, ObjectMapper objectMapper, ServiceCalls serviceCalls) {
         this.noteService = noteService;
+        this.noteWriter = objectMapper.writerFor(PublicNoteDTO.class);
+        this.serviceCalls = serviceCalls;
     }
 
 
@@ -82,6 +110,24 @@ public class NoteController {
                                     )
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "413",
+                            description = "Content too long ( notes.content.max-length ), rejected while the body is read",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Content too long",
+                                            value = """
+                                                    {
+                                                        "message": "Content must be less than 1000000 characters",
+                                                        "status": "413 PAYLOAD_TOO_LARGE",
+                                                        "instant": "2024-07-21T22:32:54.466134778Z"
+                                                    }
+                                                    """
+                                    )
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "401",
                             description = "User not authenticated",
@@ -102,10 +148,10 @@ public class NoteController {
     )
     public ResponseEntity<Void> create(@RequestBody(required = true) CreateNoteDTO note,
                                        @MyId @Parameter(hidden = true) Long principalId) {
-        Long id = noteService.create(note, principalId);
-        URI uri = URI.create(path + "/" + id);
-
-        return ResponseEntity.created(uri).build();
+        return serviceCalls.supply(() -> {
+            Long id = noteService.create(note, principalId);
+            return ResponseEntity.created(URI.create(path + "/" + id)).build();
+        });
     }
 
 
@@ -113,7 +159,7 @@ public class NoteController {
             tags = {"Note Endpoints"},
             operationId = "getNotesPage",
             summary = "get notes page",
-            description = "Get a page of notes",
+            description = "Get a page of notes, the ETag header changes when any note of the user changes",
             method = "GET",
             responses = {
                     @ApiResponse(
@@ -174,14 +220,25 @@ public class NoteController {
                                     }
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "No note was modified since the ETag sent in the If-None-Match header, the body is empty",
+                            content = @Content
+                    ),
                     @ApiResponse(
                             responseCode = "401",
                             description = "User not authenticated",
                             content = @Content
                     ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Sorted by a field other than id & updatedAt, or the page skips more than " + Cons.Pages.DEFAULT_MAX_OFFSET +
+                                    " notes ( page * size ), a size bigger than " + Cons.Pages.DEFAULT_MAX_SIZE + " is reduced to it",
+                            content = @Content
+                    ),
                     @ApiResponse(
                             responseCode = "403",
-                            description = "Any unexpected error occurred while processing the request ( tried sort by a non-existent field, database error, etc. )",
+                            description = "Any unexpected error occurred while processing the request ( database error, etc. )",
                             content = @Content
                     )
             },
@@ -199,9 +256,459 @@ public class NoteController {
                     sort = Cons.Note.Page.DEFAULT_SORT,
                     direction = Sort.Direction.ASC
             ) @ParameterObject  Pageable pageable,
+            @MyId @Parameter(hidden = true) Long principalId,
+            @Parameter(hidden = true) WebRequest request) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        return serviceCalls.supply(() -> {
+            PageRequest served = noteService.governPage(pageable); // before any query
+            String eTag = toPageETag(principalId, noteService.getNotesVersionByUserId(principalId), "full", served);
+            ResponseEntity.BodyBuilder ok = ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache().cachePrivate());
+            if (isNoneMatch(ifNoneMatch, eTag)) return ok.build(); // 304 ( by Spring MVC ), the page isn't loaded
+
+            return ok.body(noteService.getPage(served, principalId));
+        });
+    }
+
+
+    @Operation(
+            tags = {"Note Endpoints"},
+            operationId = "getNotesExcerptPage",
+            summary = "get notes page with excerpts",
+            description = "Get a page of notes, each with just an excerpt of its content ( the first " +
+                    Cons.Note.Page.EXCERPT_LENGTH + " characters ). The full content is retrieved by note id. " +
+                    "The ETag header changes when any note of the user changes",
+            method = "GET",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Page of notes found, then returned",
+                            content = @Content(
+                                    schema = @Schema(implementation = Page.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Page of notes with excerpts",
+                                                    value = """
+                                                            {
+                                                                "content": [
+                                                                    {
+                                                                        "id": 1,
+                                                                        "title": "Mi primera nota",
+                                                                        "excerpt": "Contenido de mi primera nota",
+                                                                        "updatedAt": "2024-07-22"
+                                                                    }
+                                                                ],
+                                                                "totalPages": 1,
+                                                                "totalElements": 1,
+                                                                "last": true,
+                                                                "first": true,
+                                                                "size": 10,
+                                                                "number": 0,
+                                                                "numberOfElements": 1,
+                                                                "empty": false
+                                                            }
+                                                            """,
+                                                    summary = "Page of notes with excerpts",
+                                                    description = "Page of notes found, then returned"
+                                            )
+                                    }
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "No note was modified since the ETag sent in the If-None-Match header, the body is empty",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "User not authenticated",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Sorted by a field other than id & updatedAt, or the page skips more than " + Cons.Pages.DEFAULT_MAX_OFFSET +
+                                    " notes ( page * size ), a size bigger than " + Cons.Pages.DEFAULT_MAX_SIZE + " is reduced to it",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Any unexpected error occurred while processing the request ( database error, etc. )",
+                            content = @Content
+                    )
+            },
+            security = {
+                    @SecurityRequirement(name = "basicAuth")
+            }
+    )
+    @GetMapping(
+            params = Cons.Note.Controller.Params.EXCERPT_VIEW,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<Page<PublicNoteExcerptDTO>> getExcerptPage(
+            @PageableDefault(
+                    size = Cons.Note.Page.DEFAULT_SIZE,
+                    page = Cons.Note.Page.DEFAULT_PAGE,
+                    sort = Cons.Note.Page.DEFAULT_SORT,
+                    direction = Sort.Direction.ASC
+            ) @ParameterObject Pageable pageable,
+            @MyId @Parameter(hidden = true) Long principalId,
+            @Parameter(hidden = true) WebRequest request) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        return serviceCalls.supply(() -> {
+            PageRequest served = noteService.governPage(pageable); // before any query
+            String eTag = toPageETag(principalId, noteService.getNotesVersionByUserId(principalId), "excerpt", served);
+            ResponseEntity.BodyBuilder ok = ResponseEntity.ok().eTag(eTag).cacheControl(CacheControl.noCache().cachePrivate());
+            if (isNoneMatch(ifNoneMatch, eTag)) return ok.build(); // 304 ( by Spring MVC ), the page isn't loaded
+
+            return ok.body(noteService.getExcerptPage(served, principalId));
+        });
+    }
+
+
+    @Operation(
+            tags = {"Note Endpoints"},
+            operationId = "searchNotes",
+            summary = "search notes",
+            description = "Full-text search over the notes of the authenticated user, the notes must contain all " +
+                    "the words of the query. The results are sorted by rank ( matches in the title first ) and " +
+                    "returned with an excerpt of the content",
+            method = "GET",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Page of notes found, then returned ( can be empty )",
+                            content = @Content(
+                                    schema = @Schema(implementation = Page.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Page of notes found",
+                                                    value = """
+                                                            {
+                                                                "content": [
+                                                                    {
+                                                                        "id": 1,
+                                                                        "title": "Mi primera nota",
+                                                                        "excerpt": "Contenido de mi primera nota",
+                                                                        "updatedAt": "2024-07-22"
+                                                                    }
+                                                                ],
+                                                                "totalPages": 1,
+                                                                "totalElements": 1,
+                                                                "last": true,
+                                                                "first": true,
+                                                                "size": 10,
+                                                                "number": 0,
+                                                                "numberOfElements": 1,
+                                                                "empty": false
+                                                            }
+                                                            """,
+                                                    summary = "Page of notes found",
+                                                    description = "GET /api/v1/notes/search?q=primera"
+                                            )
+                                    }
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "The query is blank or too long, or the page is sorted ( the results are sorted by rank ) or too deep",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid query",
+                                                    value = """
+                                                            {
+                                                                "message": "Search query must be non-blank and less than 255 characters",
+                                                                "status": "400 BAD_REQUEST",
+                                                                "instant": "2024-07-22T14:54:43.020936200Z"
+                                                            }
+                                                            """,
+                                                    summary = "Invalid query",
+                                                    description = "The query is blank or too long"
+                                            )
+                                    }
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "User not authenticated",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Any unexpected error occurred while processing the request ( missing query param, database error, etc. )",
+                            content = @Content
+                    )
+            },
+            security = {
+                    @SecurityRequirement(name = "basicAuth")
+            }
+    )
+    @GetMapping(
+            path = Cons.Note.Search.PATH,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<Page<PublicNoteExcerptDTO>> search(
+            @RequestParam(name = Cons.Note.Search.QUERY_PARAM) String query,
+            @PageableDefault(
+                    size = Cons.Note.Page.DEFAULT_SIZE,
+                    page = Cons.Note.Page.DEFAULT_PAGE
+            ) @ParameterObject Pageable pageable,
             @MyId @Parameter(hidden = true) Long principalId) {
-        Page<PublicNoteDTO> list = noteService.getPage(pageable, principalId);
-        return ResponseEntity.ok(list);
+        return serviceCalls.supply(() -> ResponseEntity.ok(noteService.search(query, pageable, principalId)));
+    }
+
+
+    @Operation(
+            tags = {"Note Endpoints"},
+            operationId = "getNotesByIds",
+            summary = "get notes by ids",
+            description = "Get up to " + Cons.Note.MultiGet.MAX_IDS + " notes by their ids in a single query ( e.g. ?ids=1,2,3 ), " +
+                    "the ids which don't exist or aren't owned by the user are returned in 'missing'",
+            method = "GET",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Notes found and missing ids, in the order of the requested ids",
+                            content = @Content(
+                                    schema = @Schema(implementation = PublicNoteMultiGetDTO.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Notes by ids",
+                                            value = """
+                                                    {
+                                                        "notes": [
+                                                            {
+                                                                "id": 1,
+                                                                "title": "Mi primera nota",
+                                                                "content": "Contenido de mi primera nota",
+                                                                "updatedAt": "2024-07-22"
+                                                            }
+                                                        ],
+                                                        "missing": [7]
+                                                    }
+                                                    """
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "The list of ids is empty, too long or has an id which isn't positive",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "User not authenticated",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Any unexpected error occurred while processing the request ( an id is not a number, database error, etc. )",
+                            content = @Content
+                    )
+            },
+            security = {
+                    @SecurityRequirement(name = "basicAuth")
+            }
+    )
+    @GetMapping(
+            params = Cons.Note.MultiGet.IDS_PARAM,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<PublicNoteMultiGetDTO> getByIds(@RequestParam(name = Cons.Note.MultiGet.IDS_PARAM) List<Long> ids,
+                                                          @MyId @Parameter(hidden = true) Long principalId) {
+        return serviceCalls.supply(() -> ResponseEntity.ok(noteService.getByIdsAndUserId(ids, principalId)));
+    }
+
+
+    @Operation(
+            tags = {"Note Endpoints"},
+            operationId = "postNotesMultiGet",
+            summary = "get notes by ids ( body )",
+            description = "Same as GET ?ids=..., but the ids are sent as a JSON array in the body, for the lists too long for an URL",
+            method = "POST",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(name = "Ids", value = "[1, 2, 7]")
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Notes found and missing ids, in the order of the requested ids",
+                            content = @Content(
+                                    schema = @Schema(implementation = PublicNoteMultiGetDTO.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "The list of ids is empty, too long or has an id which isn't positive",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "User not authenticated",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Any unexpected error occurred while processing the request ( body isn't an array of numbers, database error, etc. )",
+                            content = @Content
+                    )
+            },
+            security = {
+                    @SecurityRequirement(name = "basicAuth")
+            }
+    )
+    @PostMapping(
+            path = Cons.Note.MultiGet.PATH,
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<PublicNoteMultiGetDTO> multiGet(@RequestBody(required = true) List<Long> ids,
+                                                          @MyId @Parameter(hidden = true) Long principalId) {
+        return serviceCalls.supply(() -> ResponseEntity.ok(noteService.getByIdsAndUserId(ids, principalId)));
+    }
+
+
+    @Operation(
+            tags = {"Note Endpoints"},
+            operationId = "exportNotes",
+            summary = "export notes",
+            description = "Download all the notes as NDJSON ( a JSON note by line, sorted by id ), " +
+                    "the response is streamed while the notes are read from the database",
+            method = "GET",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Notes exported",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Notes",
+                                            value = """
+                                                    {"id":1,"title":"Mi primera nota","content":"Contenido de mi primera nota","updatedAt":"2024-07-22"}
+                                                    {"id":2,"title":"Mi segunda nota","content":"Contenido de mi segunda nota","updatedAt":"2024-07-22"}
+                                                    """
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "User not authenticated",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Any unexpected error occurred while processing the request",
+                            content = @Content
+                    )
+            },
+            security = {
+                    @SecurityRequirement(name = "basicAuth")
+            }
+    )
+    @GetMapping(
+            path = Cons.Note.Export.PATH,
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> export(@MyId @Parameter(hidden = true) Long principalId,
+                                                        @Parameter(hidden = true) WebRequest request) {
+        StreamingResponseTimeout.disable(request); // as long as the notes
+        StreamingResponseBody body = out -> {
+            int[] written = {0};
+            noteService.exportByUserId(principalId, note -> {
+                try {
+                    out.write(noteWriter.writeValueAsBytes(note));
+                    out.write('\n');
+                    if (++written[0] % Cons.Note.Export.FETCH_SIZE == 0) out.flush(); // the client receives each batch
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e); // client disconnected, the transaction is rolled back
+                }
+            });
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(Cons.Note.Export.FILENAME)
+                        .build().toString())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+
+    @Operation(
+            tags = {"Note Endpoints"},
+            operationId = "importNotes",
+            summary = "import notes",
+            description = "Import notes from NDJSON ( a JSON note by line, with the same validations of the creation ). " +
+                    "The body is read while the notes are written in chunks of " + Cons.Note.Import.CHUNK_SIZE +
+                    ", the invalid lines are skipped and reported",
+            method = "POST",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            examples = @ExampleObject(
+                                    name = "Notes",
+                                    value = """
+                                            {"title":"Mi primera nota","content":"Contenido de mi primera nota"}
+                                            {"title":"Mi segunda nota","content":"Contenido de mi segunda nota"}
+                                            """
+                            )
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Input processed, the counts and the invalid lines are returned",
+                            content = @Content(
+                                    schema = @Schema(implementation = PublicNoteImportResultDTO.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Import result",
+                                            value = """
+                                                    {
+                                                        "imported": 1,
+                                                        "failed": 1,
+                                                        "errors": [
+                                                            {
+                                                                "line": 2,
+                                                                "message": "Title must be less than 255 characters"
+                                                            }
+                                                        ]
+                                                    }
+                                                    """
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "User not authenticated",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Any unexpected error occurred while processing the request ( the connection was closed, database error, etc. )",
+                            content = @Content
+                    )
+            },
+            security = {
+                    @SecurityRequirement(name = "basicAuth")
+            }
+    )
+    @PostMapping(
+            path = Cons.Note.Import.PATH,
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<PublicNoteImportResultDTO> importNotes(@Parameter(hidden = true) InputStream body,
+                                                                 @MyId @Parameter(hidden = true) Long principalId) {
+        PublicNoteImportResultDTO result = noteService.importByUserId(principalId, body);
+        return ResponseEntity.ok(result);
     }
 
 
@@ -209,7 +716,7 @@ public class NoteController {
             tags = {"Note Endpoints"},
             operationId = "getNoteById",
             summary = "get note",
-            description = "Get a note by its id",
+            description = "Get a note by its id, its version is sent in the ETag header",
             method = "GET",
             responses = {
                     @ApiResponse(
@@ -235,6 +742,11 @@ public class NoteController {
                                     }
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "The note wasn't modified since the ETag sent in the If-None-Match header, the body is empty",
+                            content = @Content
+                    ),
                     @ApiResponse(
                             responseCode = "404",
                             description = "Note not found",
@@ -275,9 +787,20 @@ public class NoteController {
             produces = MediaType.APPLICATION_JSON_VALUE
     )
     public ResponseEntity<PublicNoteDTO> getByIdAndUserId(@PathVariable(required = true) Long noteId,
-                                                          @MyId @Parameter(hidden = true) Long principalId) {
-        PublicNoteDTO en = noteService.getByIdAndUserId(noteId, principalId);
-        return ResponseEntity.ok(en);
+                                                          @MyId @Parameter(hidden = true) Long principalId,
+                                                          @Parameter(hidden = true) WebRequest request) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        return serviceCalls.supply(() -> {
+            if (ifNoneMatch != null) {
+                String eTag = toETag(noteService.getVersionByIdAndUserId(noteId, principalId));
+                if (isNoneMatch(ifNoneMatch, eTag)) return ResponseEntity.ok().eTag(eTag).build(); // 304 ( by Spring MVC ), the content isn't loaded
+            }
+
+            PublicNoteDTO en = noteService.getByIdAndUserId(noteId, principalId);
+            ResponseEntity.BodyBuilder ok = ResponseEntity.ok();
+            if (en.getVersion() != null) ok.eTag(toETag(en.getVersion()));
+            return ok.body(en);
+        });
     }
 
 
@@ -285,7 +808,7 @@ public class NoteController {
             tags = {"Note Endpoints"},
             operationId = "putNoteById",
             summary = "Put note",
-            description = "Update a note by its id",
+            description = "Update a note by its id, send the ETag of the note in the If-Match header to avoid overwriting the changes of another request",
             method = "PUT",
             responses = {
                     @ApiResponse(
@@ -293,6 +816,31 @@ public class NoteController {
                             description = "Note was Put",
                             content = @Content
                     ),
+                    @ApiResponse(
+                            responseCode = "409",
+                            description = "The note doesn't exist for the user, but its id is of a note of another user",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "The note was modified after the ETag sent in the If-Match header, or it doesn't exist",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Note modified",
+                                            summary = "Note modified",
+                                            description = "The note was modified by another request",
+                                            value = """
+                                                    {
+                                                        "message": "Note was modified, get it again before updating it",
+                                                        "status": "412 PRECONDITION_FAILED",
+                                                        "instant": "2024-07-22T22:58:51.351548210Z"
+                                                    }
+                                                    """
+                                    )
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "400",
                             description = "Any bad request ( only title too long at the moment. )",
@@ -313,6 +861,24 @@ public class NoteController {
                                     )
                             )
                     ),
+                    @ApiResponse(
+                            responseCode = "413",
+                            description = "Content too long ( notes.content.max-length ), rejected while the body is read",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Content too long",
+                                            value = """
+                                                    {
+                                                        "message": "Content must be less than 1000000 characters",
+                                                        "status": "413 PAYLOAD_TOO_LARGE",
+                                                        "instant": "2024-07-21T22:32:54.466134778Z"
+                                                    }
+                                                    """
+                                    )
+                            )
+                    ),
                     @ApiResponse(
                             responseCode = "401",
                             description = "User not authenticated",
@@ -334,11 +900,212 @@ public class NoteController {
     )
     public ResponseEntity<Void> putByIdAndUserId(@PathVariable(required = true) Long noteId,
                                                  @MyId @Parameter(hidden = true) Long principalId,
-                                                 @RequestBody(required = true) CreateNoteDTO note) {
-        noteService.putByIdAndUserId(noteId, principalId, note);
+                                                 @RequestBody(required = true) CreateNoteDTO note,
+                                                 @Parameter(description = "ETag of the note known by the client, the note is updated only if it wasn't modified since then")
+                                                 @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return serviceCalls.supply(() -> {
+            if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+                noteService.putByIdAndUserId(noteId, principalId, note);
+            } else {
+                noteService.putByIdAndUserId(noteId, principalId, note, fromETag(ifMatch));
+            }
+            return ResponseEntity.noContent().build();
+        });
+    }
+
+    @Operation(
+            tags = {"Note Endpoints"},
+            operationId = "putNoteContentById",
+            summary = "Put note content",
+            description = "Update just the content of an existing note, sent as plain text ( UTF-8, it can be compressed with " +
+                    "Content-Encoding: gzip ). The content is written to the database while it's read, for contents too long for a JSON body. " +
+                    "Send the ETag of the note in the If-Match header to avoid overwriting the changes of another request",
+            method = "PUT",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(
+                            mediaType = MediaType.TEXT_PLAIN_VALUE,
+                            examples = @ExampleObject(name = "Content", value = "Contenido de mi primera nota")
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "204",
+                            description = "Content was Put",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Note not found, the content of a note which doesn't exist can't be Put",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "412",
+                            description = "The note was modified after the ETag sent in the If-Match header, or it doesn't exist",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "413",
+                            description = "Content too long ( notes.content.max-length ), rejected while the body is read",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Content too long",
+                                            value = """
+                                                    {
+                                                        "message": "Content must be less than 1000000 characters",
+                                                        "status": "413 PAYLOAD_TOO_LARGE",
+                                                        "instant": "2024-07-21T22:32:54.466134778Z"
+                                                    }
+                                                    """
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "User not authenticated",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Any unexpected error occurred while processing the request ( /{noteId} passed is not a number, database error, etc. )",
+                            content = @Content
+                    )
+            },
+            security = {
+                    @SecurityRequirement(name = "basicAuth")
+            }
+    )
+    @PutMapping(
+            value = Cons.Note.Content.PATH,
+            consumes = MediaType.TEXT_PLAIN_VALUE
+    )
+    public ResponseEntity<Void> putContentByIdAndUserId(@PathVariable(required = true) Long noteId,
+                                                        @MyId @Parameter(hidden = true) Long principalId,
+                                                        @Parameter(hidden = true) InputStream content,
+                                                        @Parameter(description = "ETag of the note known by the client, the content is updated only if it wasn't modified since then")
+                                                        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        boolean unconditional = ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*");
+        noteService.putContentByIdAndUserId(noteId, principalId, content, unconditional ? null : fromETag(ifMatch));
         return ResponseEntity.noContent().build();
     }
 
+    @Operation(
+            tags = {"Note Endpoints"},
+            operationId = "getNoteContentById",
+            summary = "get note content",
+            description = "Get just the content of a note as plain text ( UTF-8 ), it's streamed from the database by chunks " +
+                    "while it's sent, for contents too long for a JSON body. Supports a single byte range ( Range & If-Range headers ), " +
+                    "the whole content is compressed if Accept-Encoding has gzip and no range was requested",
+            method = "GET",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "The whole content, its version is sent in the ETag header",
+                            content = @Content(
+                                    mediaType = MediaType.TEXT_PLAIN_VALUE,
+                                    examples = @ExampleObject(name = "Content", value = "Contenido de mi primera nota")
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "206",
+                            description = "The bytes of the Range header, sent in the Content-Range header",
+                            content = @Content(mediaType = MediaType.TEXT_PLAIN_VALUE)
+                    ),
+                    @ApiResponse(
+                            responseCode = "304",
+                            description = "The content wasn't modified since the ETag sent in the If-None-Match header, the body is empty",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Note not found",
+                            content = @Content(
+                                    schema = @Schema(implementation = ErrorResponse.class),
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "416",
+                            description = "The Range header starts after the end of the content, its length is sent in the Content-Range header",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "401",
+                            description = "User not authenticated",
+                            content = @Content
+                    ),
+                    @ApiResponse(
+                            responseCode = "403",
+                            description = "Any unexpected error occurred while processing the request ( /{noteId} passed is not a number, database error, etc. )",
+                            content = @Content
+                    )
+            },
+            security = {
+                    @SecurityRequirement(name = "basicAuth")
+            }
+    )
+    @GetMapping(
+            value = Cons.Note.Content.PATH,
+            produces = MediaType.TEXT_PLAIN_VALUE
+    )
+    public ResponseEntity<StreamingResponseBody> getContentByIdAndUserId(@PathVariable(required = true) Long noteId,
+                                                                         @MyId @Parameter(hidden = true) Long principalId,
+                                                                         @Parameter(hidden = true) WebRequest request) {
+        PublicNoteContentStatDTO stat = noteService.getContentStatByIdAndUserId(noteId, principalId); // the content isn't read
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        boolean gzip = rangeHeader == null
+                && stat.getBytes() >= Cons.Note.Content.GZIP_MIN_BYTES
+                && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String eTag = gzip ? toETag(stat.getVersion(), "gzip") : toETag(stat.getVersion()); // another representation, another ETag
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null && request.checkNotModified(eTag)) return null; // 304
+
+        ResponseEntity.BodyBuilder builder;
+        long start = 0, count = stat.getBytes();
+        HttpRange range = toRange(rangeHeader, request.getHeader(HttpHeaders.IF_RANGE), eTag);
+        if (range != null) {
+            start = range.getRangeStart(stat.getBytes());
+            long end = range.getRangeEnd(stat.getBytes());
+            if (start >= stat.getBytes() || end < start) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + stat.getBytes())
+                        .build();
+            }
+            count = end - start + 1;
+            builder = ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+                    .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + stat.getBytes());
+        } else {
+            builder = ResponseEntity.ok();
+        }
+        if (gzip) builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        else builder.contentLength(count);
+
+        long first = start, length = count;
+        StreamingResponseTimeout.disable(request); // as long as the content
+        StreamingResponseBody body = out -> {
+            if (!gzip) {
+                noteService.writeContentByIdAndUserId(noteId, principalId, stat.getVersion(), first, length, out);
+                return;
+            }
+            GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+            noteService.writeContentByIdAndUserId(noteId, principalId, stat.getVersion(), 0, stat.getBytes(), compressed);
+            compressed.finish(); // out is closed by the container
+        };
+
+        return builder
+                .eTag(eTag)
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8))
+                .body(body);
+    }
+
 
     @Operation(
             tags = {"Note Endpoints"},
@@ -390,7 +1157,114 @@ public class NoteController {
     @DeleteMapping(value = "/{noteId}")
     public ResponseEntity<Void> deleteByIdAndUserId(@PathVariable(required = true) Long noteId,
                                                     @MyId @Parameter(hidden = true) Long principalId) {
-        noteService.deleteByIdAndUserId(noteId, principalId);
-        return ResponseEntity.noContent().build();
+        return serviceCalls.supply(() -> {
+            noteService.deleteByIdAndUserId(noteId, principalId);
+            return ResponseEntity.noContent().build();
+        });
+    }
+
+    /**
+     * @param version of a note
+     * @return the strong ETag of the note, e.g. {@code "3"}
+     */
+    private static String toETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * @param version  of a note
+     * @param encoding of the representation, e.g. {@code gzip}
+     * @return the strong ETag of the encoded representation of the note, e.g. {@code "3-gzip"}
+     */
+    private static String toETag(Long version, String encoding) {
+        return "\"" + version + "-" + encoding + "\"";
+    }
+
+    /**
+     * @param range   header sent by the client, e.g. {@code bytes=0-1023}
+     * @param ifRange header sent by the client, the range is ignored if it isn't the current ETag ( a date never matches, no Last-Modified is sent )
+     * @param eTag    current ETag of the content
+     * @return the range to send, or {@code null} to send the whole content ( no range, an invalid one or several ones )
+     */
+    private static HttpRange toRange(String range, String ifRange, String eTag) {
+        if (range == null) return null;
+        if (ifRange != null && !ifRange.trim().equals(eTag)) return null;
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return null; // an invalid Range header is ignored
+        }
+        return ranges.size() == 1 ? ranges.get(0) : null; // multipart/byteranges isn't supported
+    }
+
+    /**
+     * @param acceptEncoding header sent by the client, e.g. {@code gzip, deflate, br}
+     * @return {@code true} if it has {@code gzip} without {@code q=0}
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (!parts[0].trim().equalsIgnoreCase("gzip")) continue;
+            return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0{0,3})?");
+        }
+        return false;
+    }
+
+    /**
+     * The version is read before the page, then a write between both reads leads to an older ETag
+     * ( the next request gets the page again ), never to a newer ETag with an older page.
+     *
+     * @param userId   owner of the notes, the ETags of different users never match
+     * @param version  of the notes of the user
+     * @param view     representation of the page, e.g. {@code excerpt}
+     * @param served   page served ( governed, e.g. its size capped ), its number, size & sort are written as they are
+     * @return the strong ETag of the page, e.g. {@code "1-3-excerpt-0-10-id.asc_updatedAt.desc"}
+     */
+    private static String toPageETag(Long userId, Long version, String view, PageRequest served) {
+        StringBuilder eTag = new StringBuilder("\"")
+                .append(userId).append('-').append(version).append('-').append(view).append('-')
+                .append(served.getPageNumber()).append('-').append(served.getPageSize()).append('-');
+        if (served.getSort().isUnsorted()) eTag.append("unsorted");
+        String separator = "";
+        for (Sort.Order order : served.getSort()) { // sortable fields only, no commas ( split of If-None-Match )
+            eTag.append(separator).append(order.getProperty()).append('.').append(order.getDirection().name().toLowerCase());
+            separator = "_";
+        }
+        return eTag.append('"').toString();
+    }
+
+    /**
+     * The same comparison of Spring MVC for {@code If-None-Match} ( weak ), which writes the 304 of a 200 with that ETag
+     *
+     * @param ifNoneMatch header sent by the client ( read in the thread of the request ), e.g. {@code "3", W/"4"}
+     * @param eTag        current ETag
+     * @return {@code true} if the client has the current version, then the body isn't needed
+     */
+    private static boolean isNoneMatch(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals("*") || tag.equals(eTag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param ifMatch header sent by the client, e.g. {@code "3"}
+     * @return the version of the note, or {@code -1} if it isn't a strong ETag of a note ( never matches )
+     */
+    private static Long fromETag(String ifMatch) {
+        String eTag = ifMatch.split(",")[0].trim(); // just one note, just one ETag is expected
+        if (eTag.length() < 3 || !eTag.startsWith("\"") || !eTag.endsWith("\"")) return -1L; // weak ETags don't match in If-Match
+        try {
+            String version = eTag.substring(1, eTag.length() - 1);
+            if (version.endsWith("-gzip")) version = version.substring(0, version.length() - "-gzip".length()); // the compressed content
+            return Long.parseLong(version);
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
     }
 }
@@ -143,6 +143,12 @@ public class AdminUserController {
                             description = "User not authenticated",
                             content = @Content
                     ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Sorted by a field other than id, username & email, or the page skips more than " + Cons.Pages.DEFAULT_MAX_OFFSET +
+                                    " users ( page * size ), a size bigger than " + Cons.Pages.DEFAULT_MAX_SIZE + " is reduced to it",
+                            content = @Content
+                    ),
                     @ApiResponse(
                             responseCode = "403",
                             description = "Any unexpected error occurred while processing the request ( is not ADMIN, database error, etc. )",
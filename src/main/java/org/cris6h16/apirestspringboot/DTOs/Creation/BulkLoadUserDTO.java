@@ -0,0 +1,44 @@
+package org.cris6h16.apirestspringboot.DTOs.Creation;
+
+import lombok.*;
+import org.cris6h16.apirestspringboot.DTOs.Interfaces.Users.NotNullAttributesToLowerConverter;
+import org.cris6h16.apirestspringboot.DTOs.Interfaces.Users.NotNullAttributesTrimmer;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A line of the bulk load of users ( NDJSON ), with its roles and its notes.<br>
+ * The password must be already encoded with BCrypt ( e.g. {@code {bcrypt}$2a$10$...} ), encoding
+ * each password in the load would be far slower than writing the rows. Any other encoder ( e.g. {@code {noop}} )
+ * is rejected.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@Builder
+public class BulkLoadUserDTO implements NotNullAttributesTrimmer, NotNullAttributesToLowerConverter {
+    private String username;
+    private String password;
+    private String email;
+    private Set<ERole> roles; // ROLE_USER if empty
+    private List<CreateNoteDTO> notes;
+
+    @Override
+    public void trimNotNullAttributes() {
+        if (username != null) username = username.trim();
+        if (password != null) password = password.trim();
+        if (email != null) email = email.trim();
+    }
+
+    @Override
+    public void toLowerCaseNotNullAttributes() {
+        if (username != null) username = username.toLowerCase();
+        if (email != null) email = email.toLowerCase();
+    }
+}
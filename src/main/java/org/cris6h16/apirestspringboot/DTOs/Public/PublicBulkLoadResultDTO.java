@@ -0,0 +1,31 @@
+package org.cris6h16.apirestspringboot.DTOs.Public;
+
+import lombok.*;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+
+import java.util.List;
+
+/**
+ * Result of a bulk load of users ( NDJSON ).<br>
+ * The rejected lines are counted in {@code failed}, but just the first
+ * {@link Cons.Admin.BulkLoad#MAX_REPORTED_ERRORS} are detailed in {@code errors}.<br>
+ * {@code rowsPerSecond} counts the rows of {@code users}, {@code users_roles} and {@code notes}.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@AllArgsConstructor
+@NoArgsConstructor // required for Jackson
+@Getter
+@Builder
+@EqualsAndHashCode
+@ToString
+public class PublicBulkLoadResultDTO {
+    private long users;
+    private long roles;
+    private long notes;
+    private long failed;
+    private List<PublicNoteImportResultDTO.LineError> errors;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+}
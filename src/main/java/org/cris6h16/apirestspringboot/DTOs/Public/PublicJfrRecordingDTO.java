@@ -0,0 +1,28 @@
+package org.cris6h16.apirestspringboot.DTOs.Public;
+
+import lombok.*;
+
+import java.util.Date;
+
+/**
+ * State of the recording of Java Flight Recorder started by an admin.<br>
+ * {@code state} is the one of {@link jdk.jfr.RecordingState} ( {@code RUNNING}, {@code STOPPED}, etc. ),
+ * {@code sizeBytes} is the size written to the disk until now.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@AllArgsConstructor
+@NoArgsConstructor // required for Jackson
+@Getter
+@Builder
+@EqualsAndHashCode
+@ToString
+public class PublicJfrRecordingDTO {
+    private long id;
+    private String state;
+    private Date startedAt;
+    private long durationSeconds;
+    private long maxSizeBytes;
+    private long sizeBytes;
+}
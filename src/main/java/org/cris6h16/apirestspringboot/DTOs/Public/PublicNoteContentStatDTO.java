@@ -0,0 +1,20 @@
+package org.cris6h16.apirestspringboot.DTOs.Public;
+
+import lombok.*;
+
+/**
+ * Version of a note and the length of its content, without its content ( e.g. the headers of a streamed content )
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@AllArgsConstructor
+@NoArgsConstructor // required for Jackson
+@Getter
+@Builder
+@EqualsAndHashCode
+@ToString
+public class PublicNoteContentStatDTO {
+    private long version;
+    private long bytes; // of the content encoded as UTF-8
+}
@@ -1,5 +1,6 @@
 package org.cris6h16.apirestspringboot.DTOs.Public;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
 import org.cris6h16.apirestspringboot.Entities.NoteEntity;
 
@@ -23,4 +24,6 @@ public class PublicNoteDTO {
     private String title;
     private String content;
     private Date updatedAt;
+    @JsonIgnore // sent as the ETag header
+    private Long version;
 }
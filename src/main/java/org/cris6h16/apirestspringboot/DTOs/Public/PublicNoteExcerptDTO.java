@@ -0,0 +1,29 @@
+package org.cris6h16.apirestspringboot.DTOs.Public;
+
+import lombok.*;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Entities.NoteEntity;
+
+import java.util.Date;
+
+/**
+ * DTO for {@link NoteEntity} used in the lists of notes.<br>
+ * comparing with {@link PublicNoteDTO}, this DTO has just the first
+ * {@link Cons.Note.Page#EXCERPT_LENGTH} characters of the {@code content}, the complete
+ * content should be retrieved note by note.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@AllArgsConstructor // used in the JPQL constructor expression, keep the order
+@NoArgsConstructor // required for Jackson
+@Getter
+@Builder
+@EqualsAndHashCode
+@ToString
+public class PublicNoteExcerptDTO {
+    private Long id;
+    private String title;
+    private String excerpt;
+    private Date updatedAt;
+}
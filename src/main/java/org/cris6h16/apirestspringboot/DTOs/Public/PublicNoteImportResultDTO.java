@@ -0,0 +1,39 @@
+package org.cris6h16.apirestspringboot.DTOs.Public;
+
+import lombok.*;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+
+import java.util.List;
+
+/**
+ * Result of an import of notes ( NDJSON ).<br>
+ * The invalid lines are counted in {@code failed}, but just the first
+ * {@link Cons.Note.Import#MAX_REPORTED_ERRORS} are detailed in {@code errors}.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@AllArgsConstructor
+@NoArgsConstructor // required for Jackson
+@Getter
+@Builder
+@EqualsAndHashCode
+@ToString
+public class PublicNoteImportResultDTO {
+    private long imported;
+    private long failed;
+    private List<LineError> errors;
+
+    /**
+     * An invalid line of the import
+     */
+    @AllArgsConstructor
+    @NoArgsConstructor // required for Jackson
+    @Getter
+    @EqualsAndHashCode
+    @ToString
+    public static class LineError {
+        private long line; // starting from 1
+        private String message;
+    }
+}
@@ -0,0 +1,23 @@
+package org.cris6h16.apirestspringboot.DTOs.Public;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Result of a multi-get of notes, both lists keep the order of the requested ids ( without repeated ones ).<br>
+ * {@code missing} has the ids which don't exist or aren't owned by the user, they aren't distinguished.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@AllArgsConstructor
+@NoArgsConstructor // required for Jackson
+@Getter
+@Builder
+@EqualsAndHashCode
+@ToString
+public class PublicNoteMultiGetDTO {
+    private List<PublicNoteDTO> notes;
+    private List<Long> missing;
+}
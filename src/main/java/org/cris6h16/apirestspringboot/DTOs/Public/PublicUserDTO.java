@@ -3,7 +3,7 @@ package org.cris6h16.apirestspringboot.DTOs.Public;
 import lombok.*;
 import org.cris6h16.apirestspringboot.Entities.UserEntity;
 
-import java.util.Date;
+import java.time.LocalDate;
 import java.util.Set;
 
 /**
@@ -23,8 +23,8 @@ public class PublicUserDTO {
     private Long id;
     private String username;
     private String email;
-    private Date createdAt;
-    private Date updatedAt;
+    private LocalDate createdAt;
+    private LocalDate updatedAt;
     private Set<PublicRoleDTO> roles;
     private Set<PublicNoteDTO> notes;
 }
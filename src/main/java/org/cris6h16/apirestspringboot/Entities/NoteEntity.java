@@ -18,7 +18,12 @@ import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Validations.*;
  * @since 1.0
  */
 @Entity
-@Table(name = "notes")
+@Table(name = "notes",
+        indexes = { // created by the migrations, here just as documentation
+                @Index(name = "idx_notes_user_id_id", columnList = "user_id, id"),
+                @Index(name = "idx_notes_user_id_updated_at", columnList = "user_id, updated_at")
+        }
+)
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
@@ -52,6 +57,13 @@ public class NoteEntity {
     @Temporal(TemporalType.DATE)
     private Date updatedAt;
 
+    @Version
+    @Column(
+            name = "version",
+            nullable = false
+    )
+    private Long version; // null until it's written
+
     @ManyToOne(
             fetch = FetchType.LAZY,
             cascade = {},
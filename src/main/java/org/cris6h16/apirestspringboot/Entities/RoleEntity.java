@@ -4,6 +4,9 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 /**
  * Entity to represent the {@code roles}
  *
@@ -17,6 +20,8 @@ import org.cris6h16.apirestspringboot.Constants.Cons;
 @Getter
 @EqualsAndHashCode
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Cons.CacheRegions.ROLES) // READ_ONLY fails when a role is reloaded after a bulk update ( HHH 6.4 )
 public class RoleEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "default")
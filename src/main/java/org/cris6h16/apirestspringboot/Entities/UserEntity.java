@@ -4,11 +4,14 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-import java.util.Date;
+import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
 
+import static org.cris6h16.apirestspringboot.Constants.Cons.CacheRegions;
 import static org.cris6h16.apirestspringboot.Constants.Cons.User.Constrains.EMAIL_UNIQUE_NAME;
 import static org.cris6h16.apirestspringboot.Constants.Cons.User.Constrains.USERNAME_UNIQUE_NAME;
 import static org.cris6h16.apirestspringboot.Constants.Cons.User.Validations.*;
@@ -24,17 +27,15 @@ import static org.cris6h16.apirestspringboot.Constants.Cons.User.Validations.*;
         uniqueConstraints = {
                 @UniqueConstraint(name = USERNAME_UNIQUE_NAME, columnNames = "username"),
                 @UniqueConstraint(name = EMAIL_UNIQUE_NAME, columnNames = "email")
-        },
-        indexes = {
-                @Index(name = "idx_" + USERNAME_UNIQUE_NAME, columnList = "username", unique = true),
-                @Index(name = "idx_" + EMAIL_UNIQUE_NAME, columnList = "email", unique = true)
-        }
+        } // each unique constraint has its own index, then an additional index would be redundant
 )
 @NoArgsConstructor
 @AllArgsConstructor
 @Getter
 @Setter
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USERS)
 public class UserEntity {
 
     @Id
@@ -71,12 +72,10 @@ public class UserEntity {
             nullable = false,
             updatable = false // UnsupportedOperationException
     )
-    @Temporal(TemporalType.DATE)
-    private Date createdAt;
+    private LocalDate createdAt; // DATE: without time, the state in the second-level cache is the same as in the database
 
     @Column(name = "updated_at")
-    @Temporal(TemporalType.DATE)
-    private Date updatedAt;
+    private LocalDate updatedAt;
 
     @ManyToMany(fetch = FetchType.EAGER,
             cascade = {CascadeType.PERSIST},
@@ -87,6 +86,7 @@ public class UserEntity {
             foreignKey = @ForeignKey(name = "fk_user_id"),
             inverseForeignKey = @ForeignKey(name = "fk_role_id")
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.USERS_ROLES)
     private Set<RoleEntity> roles = new HashSet<>();
 
     @OneToMany(fetch = FetchType.LAZY,
@@ -97,7 +97,6 @@ public class UserEntity {
             foreignKey = @ForeignKey(name = "fk_notes_user_id"),
             referencedColumnName = "id")
     private Set<NoteEntity> notes = new HashSet<>();
-
 }
 
 
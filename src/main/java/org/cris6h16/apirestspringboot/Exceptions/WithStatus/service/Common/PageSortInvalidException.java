@@ -0,0 +1,21 @@
+package org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.springframework.http.HttpStatus;
+
+import java.util.Collection;
+
+/**
+ * Custom exception thrown when a page is sorted by a field without index, or sorted when it can't be ( e.g. by rank )
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class PageSortInvalidException extends ProperExceptionForTheUser {
+    public PageSortInvalidException(Collection<String> sortable) {
+        super(HttpStatus.BAD_REQUEST, sortable.isEmpty()
+                ? Cons.Pages.SORT_NOT_ALLOWED_MSG
+                : Cons.Pages.SORT_INVALID_MSG + String.join(", ", sortable.stream().sorted().toList()));
+    }
+}
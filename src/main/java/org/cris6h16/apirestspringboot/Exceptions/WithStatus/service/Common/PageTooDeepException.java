@@ -0,0 +1,17 @@
+package org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Custom exception thrown when a page skips more rows than the allowed
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class PageTooDeepException extends ProperExceptionForTheUser {
+    public PageTooDeepException(long maxOffset) {
+        super(HttpStatus.BAD_REQUEST, Cons.Pages.TOO_DEEP_MSG.formatted(maxOffset));
+    }
+}
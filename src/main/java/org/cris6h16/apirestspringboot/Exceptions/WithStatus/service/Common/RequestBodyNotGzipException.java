@@ -0,0 +1,17 @@
+package org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Custom exception thrown when a request body sent as {@code Content-Encoding: gzip} can't be decompressed
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class RequestBodyNotGzipException extends ProperExceptionForTheUser {
+    public RequestBodyNotGzipException() {
+        super(HttpStatus.BAD_REQUEST, Cons.RequestGzip.INVALID_MSG);
+    }
+}
@@ -0,0 +1,17 @@
+package org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Custom exception thrown when a compressed request body inflates to more bytes than the allowed
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class RequestBodyTooLargeException extends ProperExceptionForTheUser {
+    public RequestBodyTooLargeException(long maxInflatedBytes) {
+        super(HttpStatus.PAYLOAD_TOO_LARGE, Cons.RequestGzip.TOO_LARGE_MSG.formatted(maxInflatedBytes));
+    }
+}
@@ -0,0 +1,18 @@
+package org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Custom exception thrown when a call to a service can't even wait its turn, all the threads and the queue
+ * of the pool are busy
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class ServiceBusyException extends ProperExceptionForTheUser {
+    public ServiceBusyException() {
+        super(HttpStatus.SERVICE_UNAVAILABLE, Cons.AsyncCalls.BUSY_MSG);
+    }
+}
@@ -0,0 +1,23 @@
+package org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common;
+
+import lombok.Getter;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Custom exception thrown when a call to a service is rejected because the calls in progress already reached
+ * the adaptive limit, the client is told when to retry ( {@code Retry-After} )
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Getter
+public class ServiceOverloadedException extends ProperExceptionForTheUser {
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(long retryAfterSeconds) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, Cons.ConcurrencyLimit.OVERLOADED_MSG);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,18 @@
+package org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Custom exception thrown when a request wasn't answered in time ( an asynchronous call to a service, or the
+ * asynchronous request itself )
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class ServiceTimeoutException extends ProperExceptionForTheUser {
+    public ServiceTimeoutException() {
+        super(HttpStatus.SERVICE_UNAVAILABLE, Cons.AsyncCalls.TIMEOUT_MSG);
+    }
+}
@@ -0,0 +1,17 @@
+package org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.JfrRecordingService;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Custom exception thrown when the duration of a recording is out of its limits
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class JfrDurationInvalidException extends ProperExceptionForTheUser {
+    public JfrDurationInvalidException() {
+        super(HttpStatus.BAD_REQUEST, Cons.Admin.Jfr.DURATION_INVALID_MSG);
+    }
+}
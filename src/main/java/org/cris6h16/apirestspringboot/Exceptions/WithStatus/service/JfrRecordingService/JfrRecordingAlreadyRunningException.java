@@ -0,0 +1,17 @@
+package org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.JfrRecordingService;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Custom exception thrown when a recording is started while another one is running
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class JfrRecordingAlreadyRunningException extends ProperExceptionForTheUser {
+    public JfrRecordingAlreadyRunningException() {
+        super(HttpStatus.CONFLICT, Cons.Admin.Jfr.ALREADY_RUNNING_MSG);
+    }
+}
@@ -0,0 +1,17 @@
+package org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.JfrRecordingService;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Custom exception thrown when there isn't any recording to stop or to download
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class JfrRecordingNotFoundException extends ProperExceptionForTheUser {
+    public JfrRecordingNotFoundException() {
+        super(HttpStatus.NOT_FOUND, Cons.Admin.Jfr.NOT_FOUND_MSG);
+    }
+}
@@ -0,0 +1,18 @@
+package org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Custom exception thrown when the content of a note is longer than the allowed, as soon as
+ * the limit is crossed while the body is read
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class NoteContentTooLongException extends ProperExceptionForTheUser {
+    public NoteContentTooLongException(int maxLength) {
+        super(HttpStatus.PAYLOAD_TOO_LARGE, Cons.Note.Content.TOO_LONG_MSG.formatted(maxLength));
+    }
+}
@@ -0,0 +1,17 @@
+package org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Custom exception thrown when a note is created by PUT with the id of a note of another user
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class NoteIdAlreadyExistsException extends ProperExceptionForTheUser {
+    public NoteIdAlreadyExistsException() {
+        super(HttpStatus.CONFLICT, Cons.Note.Fails.ID_ALREADY_EXISTS);
+    }
+}
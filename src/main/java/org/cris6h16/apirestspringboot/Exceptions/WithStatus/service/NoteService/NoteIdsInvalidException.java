@@ -0,0 +1,17 @@
+package org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Custom exception thrown when the list of ids of a multi-get is empty or too long
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class NoteIdsInvalidException extends ProperExceptionForTheUser {
+    public NoteIdsInvalidException() {
+        super(HttpStatus.BAD_REQUEST, Cons.Note.MultiGet.IDS_INVALID_MSG);
+    }
+}
@@ -0,0 +1,18 @@
+package org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Custom exception thrown when the note was modified after the version expected by the client
+ * ( {@code If-Match} ), or concurrently while it was being updated
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class NoteVersionMismatchException extends ProperExceptionForTheUser {
+    public NoteVersionMismatchException() {
+        super(HttpStatus.PRECONDITION_FAILED, Cons.Note.Fails.VERSION_MISMATCH);
+    }
+}
@@ -0,0 +1,17 @@
+package org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Custom exception thrown when the search query is blank or too long
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class SearchQueryInvalidException extends ProperExceptionForTheUser {
+    public SearchQueryInvalidException() {
+        super(HttpStatus.BAD_REQUEST, Cons.Note.Search.QUERY_INVALID_MSG);
+    }
+}
@@ -0,0 +1,11 @@
+package org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.UserService;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.springframework.http.HttpStatus;
+
+public class EncodedPasswordInvalidException extends ProperExceptionForTheUser {
+    public EncodedPasswordInvalidException() {
+        super(HttpStatus.BAD_REQUEST, Cons.Admin.BulkLoad.PASSWORD_NOT_ENCODED_MSG);
+    }
+}
@@ -0,0 +1,57 @@
+package org.cris6h16.apirestspringboot.Repositories;
+
+import org.cris6h16.apirestspringboot.Entities.NoteEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.List;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Import.JDBC_BATCH_SIZE;
+
+/**
+ * Inserts of notes, one or many of a user in JDBC batches ( {@code PreparedStatement#executeBatch} ), a batch is a
+ * round trip.<br>
+ * It bypasses the persistence context, then the ids are assigned by the caller ( the client, or
+ * {@link org.cris6h16.apirestspringboot.Services.BulkLoad.BulkLoader#reserveIds(String, int)} ) and the notes
+ * start in the version {@code 0} ( default of the column ).
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Repository
+public class NoteBatchRepository {
+    static final String INSERT_SQL = "INSERT INTO notes (id, title, content, updated_at, user_id) VALUES (?, ?, ?, ?, ?)";
+    private final JdbcTemplate jdbcTemplate;
+
+    public NoteBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert a note with the id chosen by the client ( PUT ): {@code persist} rejects an id assigned to an entity
+     * with a generated id, and {@code merge} would update the note if it was created meanwhile
+     *
+     * @param userId id of the owner
+     * @param note   with its id, title, content & updatedAt
+     */
+    public void insert(Long userId, NoteEntity note) {
+        jdbcTemplate.update(INSERT_SQL, note.getId(), note.getTitle(), note.getContent(), new Date(note.getUpdatedAt().getTime()), userId);
+    }
+
+    /**
+     * Insert the notes in batches of {@link org.cris6h16.apirestspringboot.Constants.Cons.Note.Import#JDBC_BATCH_SIZE}
+     *
+     * @param userId id of the owner
+     * @param notes  with their ids, title, content & updatedAt
+     */
+    public void insertAll(Long userId, List<NoteEntity> notes) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, notes, JDBC_BATCH_SIZE, (ps, n) -> {
+            ps.setLong(1, n.getId());
+            ps.setString(2, n.getTitle());
+            ps.setString(3, n.getContent());
+            ps.setDate(4, new Date(n.getUpdatedAt().getTime()));
+            ps.setLong(5, userId);
+        });
+    }
+}
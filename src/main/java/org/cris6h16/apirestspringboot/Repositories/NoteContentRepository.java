@@ -0,0 +1,87 @@
+package org.cris6h16.apirestspringboot.Repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.Reader;
+import java.sql.Date;
+import java.util.Optional;
+
+/**
+ * Writes of the content of the notes as a character stream ( {@code PreparedStatement#setCharacterStream} ), the content
+ * is never a {@link String}: the driver reads it while it binds the parameter ( PostgreSQL: a small buffer in memory,
+ * the rest in a temporary file ).<br>
+ * Reads of the content by chunks ( {@code substr} ), the drivers load a whole column of the result set in memory
+ * ( PostgreSQL: even {@code ResultSet#getCharacterStream} reads the {@link String} ), then a chunk is the most that
+ * is loaded at once.<br>
+ * It bypasses the persistence context, then the version of the note is incremented here ( {@code @Version} of
+ * {@link org.cris6h16.apirestspringboot.Entities.NoteEntity} ), the notes aren't in the second-level cache.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Repository
+public class NoteContentRepository {
+    // without Hibernate, their plans are checked apart ( QueryPlanIntegrationTest )
+    static final String STAT_SQL = "SELECT version, COALESCE(octet_length(content), 0), COALESCE(char_length(content), 0) FROM notes WHERE id = ? AND user_id = ?";
+    static final String CHUNK_SQL = "SELECT COALESCE(substr(content, CAST(? AS INTEGER), CAST(? AS INTEGER)), '') FROM notes WHERE id = ? AND user_id = ? AND version = ?";
+    static final String UPDATE_SQL = "UPDATE notes SET content = ?, updated_at = ?, version = version + 1 WHERE id = ? AND user_id = ?";
+    private final JdbcTemplate jdbcTemplate;
+
+    public NoteContentRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param noteId          id of the note
+     * @param userId          id of the owner
+     * @param content         new content, read until its end
+     * @param expectedVersion the note is updated only if it has this version, {@code null} to update it unconditionally
+     * @return {@code true} if the note was updated, {@code false} if it doesn't exist ( or has another version )
+     */
+    public boolean updateContent(Long noteId, Long userId, Reader content, Long expectedVersion) {
+        String sql = expectedVersion == null ? UPDATE_SQL : UPDATE_SQL + " AND version = ?";
+        int updated = jdbcTemplate.update(sql, ps -> {
+            ps.setCharacterStream(1, content); // unknown length
+            ps.setDate(2, new Date(System.currentTimeMillis()));
+            ps.setLong(3, noteId);
+            ps.setLong(4, userId);
+            if (expectedVersion != null) ps.setLong(5, expectedVersion);
+        });
+        return updated == 1;
+    }
+
+    /**
+     * @param noteId id of the note
+     * @param userId id of the owner
+     * @return the version and the length of the content, empty if the note doesn't exist
+     */
+    public Optional<Stat> findStat(Long noteId, Long userId) {
+        return jdbcTemplate.query(STAT_SQL, (rs, i) -> new Stat(rs.getLong(1), rs.getLong(2), rs.getLong(3)), noteId, userId)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * @param noteId  id of the note
+     * @param userId  id of the owner
+     * @param version the chunk is read only if the note has this version
+     * @param from    first character of the chunk, from {@code 1}
+     * @param length  max characters of the chunk ( the unit of the database: PostgreSQL code points, H2 UTF-16 chars )
+     * @return the chunk, empty at the end of the content; {@link Optional#empty()} if the note doesn't exist
+     * ( or has another version )
+     */
+    public Optional<String> findChunk(Long noteId, Long userId, long version, long from, int length) {
+        return jdbcTemplate.queryForList(CHUNK_SQL, String.class, from, length, noteId, userId, version)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * @param version    of the note
+     * @param bytes      of the content encoded as UTF-8
+     * @param characters of the content, in the unit of the database
+     */
+    public record Stat(long version, long bytes, long characters) {
+    }
+}
@@ -1,12 +1,24 @@
 package org.cris6h16.apirestspringboot.Repositories;
 
+import jakarta.persistence.QueryHint;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteExcerptDTO;
 import org.cris6h16.apirestspringboot.Entities.NoteEntity;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Export.FETCH_SIZE;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Page.EXCERPT_LENGTH;
 
 /**
  * Repository for {@link NoteEntity}
@@ -26,5 +38,114 @@ public interface NoteRepository extends
 
     <S extends NoteEntity> Page<S> findByUserId(Long userId, Pageable pageable);
 
+    /**
+     * Get just the version of a note, used to validate the ETag of a client
+     * without loading the content of the note
+     *
+     * @param id     the id of the note
+     * @param userId the owner of the note
+     * @return the version of the note if it exists
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    @Query("SELECT n.version FROM NoteEntity n WHERE n.id = :id AND n.user.id = :userId")
+    Optional<Long> findVersionByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Get just the title of a note, used to re-index a note without loading its content
+     *
+     * @param id the id of the note
+     * @return the title of the note if it exists
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    @Query("SELECT n.title FROM NoteEntity n WHERE n.id = :id")
+    Optional<String> findTitleById(Long id);
+
+    /**
+     * Get a page of the notes of a user, but the {@code content} is cut in the database
+     * to the first {@link org.cris6h16.apirestspringboot.Constants.Cons.Note.Page#EXCERPT_LENGTH}
+     * characters, then the complete {@code TEXT} column is never sent by the database.
+     *
+     * @param userId   the owner of the notes
+     * @param pageable the page request
+     * @return a page of {@link PublicNoteExcerptDTO}
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    @Query(value = "SELECT new org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteExcerptDTO(" +
+            "n.id, n.title, SUBSTRING(n.content, 1, " + EXCERPT_LENGTH + "), n.updatedAt" +
+            ") FROM NoteEntity n WHERE n.user.id = :userId",
+            countQuery = "SELECT COUNT(n) FROM NoteEntity n WHERE n.user.id = :userId")
+    Page<PublicNoteExcerptDTO> findExcerptsByUserId(Long userId, Pageable pageable);
+
+    /**
+     * Get a page of the ids of the notes of a user, without any other column. The deep pages of
+     * {@link #findExcerptsByUserId(Long, Pageable)} skip just ids: the database projects the rows skipped
+     * by {@code OFFSET} too, and the excerpt of each one reads its content.
+     *
+     * @param userId   the owner of the notes
+     * @param pageable the page request
+     * @return a page of ids, sorted as requested
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    @Query(value = "SELECT n.id FROM NoteEntity n WHERE n.user.id = :userId",
+            countQuery = "SELECT COUNT(n) FROM NoteEntity n WHERE n.user.id = :userId")
+    Page<Long> findIdsByUserId(Long userId, Pageable pageable);
+
+    /**
+     * Same as {@link #findExcerptsByUserId(Long, Pageable)} but for the given ids,
+     * used to load the results of a search and the deep pages.
+     *
+     * @param userId the owner of the notes
+     * @param ids    the ids of the notes
+     * @return the notes found, in any order
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    @Query("SELECT new org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteExcerptDTO(" +
+            "n.id, n.title, SUBSTRING(n.content, 1, " + EXCERPT_LENGTH + "), n.updatedAt" +
+            ") FROM NoteEntity n WHERE n.user.id = :userId AND n.id IN :ids")
+    List<PublicNoteExcerptDTO> findExcerptsByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    /**
+     * Get the notes of a user with the given ids in a single query, projected to {@link PublicNoteDTO} then they
+     * don't enter in the persistence context. The {@code IN} list is padded to the next power of 2
+     * ( {@code hibernate.query.in_clause_parameter_padding} ), then few different statements are prepared
+     *
+     * @param userId the owner of the notes
+     * @param ids    the ids of the notes
+     * @return the notes found, in any order
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    @Query("SELECT new org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO(" +
+            "n.id, n.title, n.content, n.updatedAt, n.version" +
+            ") FROM NoteEntity n WHERE n.user.id = :userId AND n.id IN :ids")
+    List<PublicNoteDTO> findNotesByUserIdAndIdIn(Long userId, Collection<Long> ids);
+
+    /**
+     * Stream all the notes of a user from a forward-only cursor, fetching
+     * {@link org.cris6h16.apirestspringboot.Constants.Cons.Note.Export#FETCH_SIZE} rows by round trip.<br>
+     * The notes are projected to {@link PublicNoteDTO}, then they never enter in the persistence context
+     * and the memory used is the same for any number of notes.<br>
+     * It must be consumed inside a transaction ( PostgreSQL only uses a cursor when the auto-commit is off )
+     * and closed after that.
+     *
+     * @param userId the owner of the notes
+     * @return the notes sorted by id
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO(" +
+            "n.id, n.title, n.content, n.updatedAt, n.version" +
+            ") FROM NoteEntity n WHERE n.user.id = :userId ORDER BY n.id")
+    Stream<PublicNoteDTO> streamByUserId(Long userId);
+
 }
 
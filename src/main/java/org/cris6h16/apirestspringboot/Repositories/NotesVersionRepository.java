@@ -0,0 +1,50 @@
+package org.cris6h16.apirestspringboot.Repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Version of the collection of notes of each user ( {@code users.notes_version} ), it's incremented
+ * in the same transaction of each write of the notes of the user, then it changes iff the notes changed.<br>
+ * The column isn't mapped in {@link org.cris6h16.apirestspringboot.Entities.UserEntity}, then the
+ * increments don't evict the users from the second-level cache ( a JPQL bulk update would evict the whole region ).
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Repository
+public class NotesVersionRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotesVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param userId of the owner of the notes
+     * @return the version of the notes of the user, empty if the user doesn't exist
+     */
+    public Optional<Long> findByUserId(Long userId) {
+        return jdbcTemplate.queryForList("SELECT notes_version FROM users WHERE id = ?", Long.class, userId)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Increment the version of the notes of a user, the row is locked until the end of the transaction
+     *
+     * @param userId of the owner of the notes
+     */
+    public void increment(Long userId) {
+        jdbcTemplate.update("UPDATE users SET notes_version = notes_version + 1 WHERE id = ?", userId);
+    }
+
+    /**
+     * Increment the version of the notes of all the users
+     */
+    public void incrementAll() {
+        jdbcTemplate.update("UPDATE users SET notes_version = notes_version + 1");
+    }
+}
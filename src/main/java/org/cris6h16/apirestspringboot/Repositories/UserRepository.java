@@ -1,15 +1,27 @@
 package org.cris6h16.apirestspringboot.Repositories;
 
+import jakarta.persistence.QueryHint;
 import org.cris6h16.apirestspringboot.Entities.UserEntity;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository for {@link UserEntity}
+ * <p>
+ * The bulk updates ({@link Modifying}) don't pass through the second-level cache, Hibernate
+ * evicts the {@code users} region (and the queries cached over the {@code users} table) when
+ * they are executed, then the next read of any user is a miss and goes to the database.
+ * </p>
  *
  * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
  * @since 1.0
@@ -18,6 +30,7 @@ public interface UserRepository extends
         JpaRepository<UserEntity, Long>,
         PagingAndSortingRepository<UserEntity, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")) // executed in each authentication
     Optional<UserEntity> findByUsername(String username);
 
     @Modifying(clearAutomatically = true)
@@ -35,4 +48,33 @@ public interface UserRepository extends
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.username FROM UserEntity u WHERE u.username IN :usernames")
+    List<String> findUsernamesIn(Collection<String> usernames);
+
+    @Query("SELECT u.email FROM UserEntity u WHERE u.email IN :emails")
+    List<String> findEmailsIn(Collection<String> emails);
+
+    /**
+     * Get a page of the ids of the users, without any other column. The users of the page are loaded with
+     * {@link #findAllWithRolesByIdIn(Collection)}: a page of {@code findAll} loads the roles of each user
+     * in its own query ( {@code EAGER} ), and a {@code JOIN FETCH} can't be paged by the database.
+     *
+     * @param pageable the page request
+     * @return a page of ids, sorted as requested
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    @Query(value = "SELECT u.id FROM UserEntity u",
+            countQuery = "SELECT COUNT(u) FROM UserEntity u")
+    Page<Long> findIds(Pageable pageable);
+
+    /**
+     * @param ids the ids of the users
+     * @return the users found with their roles, in one query and in any order
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    @Query("SELECT DISTINCT u FROM UserEntity u LEFT JOIN FETCH u.roles WHERE u.id IN :ids")
+    List<UserEntity> findAllWithRolesByIdIn(Collection<Long> ids);
 }
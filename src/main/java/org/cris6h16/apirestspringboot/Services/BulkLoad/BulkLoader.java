@@ -0,0 +1,74 @@
+package org.cris6h16.apirestspringboot.Services.BulkLoad;
+
+import org.cris6h16.apirestspringboot.Entities.NoteEntity;
+import org.cris6h16.apirestspringboot.Entities.UserEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Admin.BulkLoad.SEQUENCE_INCREMENT;
+
+/**
+ * Writes the rows of a bulk load, bypassing the persistence context.<br>
+ * It is called by {@link org.cris6h16.apirestspringboot.Services.BulkLoadServiceImpl} inside the
+ * transaction of each block, the implementation is chosen by the database in
+ * {@link org.cris6h16.apirestspringboot.Config.BulkLoad.BulkLoadConfig}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public interface BulkLoader {
+
+    /**
+     * Take the next values of a sequence in one round trip
+     *
+     * @param sequence the name of the sequence
+     * @param count    the number of values
+     * @return the values, each one is the last id of a block of
+     * {@link org.cris6h16.apirestspringboot.Constants.Cons.Admin.BulkLoad#SEQUENCE_INCREMENT} ids
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    List<Long> nextValues(String sequence, int count);
+
+    /**
+     * Take ids from a sequence in the same way as the {@code pooled} optimizer of Hibernate: each value
+     * {@code v} of the sequence reserves the ids {@code (v - SEQUENCE_INCREMENT, v]}, then the ids never
+     * collide with the ones assigned by Hibernate ( the ids {@code < 1} are discarded ).<br>
+     * The ids left of the last value are lost, as it happens when the application is stopped.
+     *
+     * @param sequence the name of the sequence
+     * @param count    the number of ids
+     * @return the ids, ascending by each value of the sequence
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    default List<Long> reserveIds(String sequence, int count) {
+        List<Long> ids = new ArrayList<>(count + SEQUENCE_INCREMENT);
+        while (ids.size() < count) {
+            int values = (count - ids.size() + SEQUENCE_INCREMENT - 1) / SEQUENCE_INCREMENT;
+            for (Long last : nextValues(sequence, values)) {
+                for (long id = Math.max(1, last - SEQUENCE_INCREMENT + 1); id <= last; id++) ids.add(id);
+            }
+        }
+        return ids.subList(0, count);
+    }
+
+    /**
+     * Write the users and their roles ( {@code users} and {@code users_roles} )
+     *
+     * @param users with their ids, and their roles with their ids
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    void insertUsers(List<UserEntity> users);
+
+    /**
+     * Write the notes, the search index isn't maintained here
+     *
+     * @param notes with their ids, and their owners with their ids
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    void insertNotes(List<NoteEntity> notes);
+}
@@ -0,0 +1,66 @@
+package org.cris6h16.apirestspringboot.Services.BulkLoad;
+
+import org.cris6h16.apirestspringboot.Entities.NoteEntity;
+import org.cris6h16.apirestspringboot.Entities.RoleEntity;
+import org.cris6h16.apirestspringboot.Entities.UserEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.List;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Admin.BulkLoad.JDBC_BATCH_SIZE;
+
+/**
+ * {@link BulkLoader} with batched {@code INSERT}s, used when the database isn't PostgreSQL
+ * ( {@code H2} in the tests ).
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class JdbcBatchBulkLoader implements BulkLoader {
+    private static final String NEXT_VALUES_SQL = "SELECT NEXT VALUE FOR %s FROM SYSTEM_RANGE(1, ?)";
+    private static final String INSERT_USER_SQL = "INSERT INTO users (id, username, password, email, created_at) VALUES (?, ?, ?, ?, ?)";
+    private static final String INSERT_USER_ROLE_SQL = "INSERT INTO users_roles (user_id, role_id) VALUES (?, ?)";
+    private static final String INSERT_NOTE_SQL = "INSERT INTO notes (id, title, content, updated_at, user_id) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcBatchBulkLoader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> nextValues(String sequence, int count) {
+        return jdbcTemplate.queryForList(NEXT_VALUES_SQL.formatted(sequence), Long.class, count);
+    }
+
+    @Override
+    public void insertUsers(List<UserEntity> users) {
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, users, JDBC_BATCH_SIZE, (ps, u) -> {
+            ps.setLong(1, u.getId());
+            ps.setString(2, u.getUsername());
+            ps.setString(3, u.getPassword());
+            ps.setString(4, u.getEmail());
+            ps.setDate(5, Date.valueOf(u.getCreatedAt()));
+        });
+
+        List<Long[]> usersRoles = users.stream()
+                .flatMap(u -> u.getRoles().stream().map(RoleEntity::getId).map(roleId -> new Long[]{u.getId(), roleId}))
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE_SQL, usersRoles, JDBC_BATCH_SIZE, (ps, ur) -> {
+            ps.setLong(1, ur[0]);
+            ps.setLong(2, ur[1]);
+        });
+    }
+
+    @Override
+    public void insertNotes(List<NoteEntity> notes) {
+        jdbcTemplate.batchUpdate(INSERT_NOTE_SQL, notes, JDBC_BATCH_SIZE, (ps, n) -> {
+            ps.setLong(1, n.getId());
+            ps.setString(2, n.getTitle());
+            ps.setString(3, n.getContent());
+            ps.setDate(4, new Date(n.getUpdatedAt().getTime()));
+            ps.setLong(5, n.getUser().getId());
+        });
+    }
+}
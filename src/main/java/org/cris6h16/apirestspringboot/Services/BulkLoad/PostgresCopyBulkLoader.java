@@ -0,0 +1,112 @@
+package org.cris6h16.apirestspringboot.Services.BulkLoad;
+
+import org.cris6h16.apirestspringboot.Entities.NoteEntity;
+import org.cris6h16.apirestspringboot.Entities.RoleEntity;
+import org.cris6h16.apirestspringboot.Entities.UserEntity;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * {@link BulkLoader} which streams the rows with {@code COPY ... FROM STDIN} ( CSV ) through the
+ * {@code CopyManager} of the PostgreSQL driver, on the connection of the current transaction.<br>
+ * The constraints ( primary keys, unique, foreign keys and checks ) are verified by {@code COPY}
+ * row by row, a violation aborts the whole block before it is committed.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class PostgresCopyBulkLoader implements BulkLoader {
+    private static final String NEXT_VALUES_SQL = "SELECT nextval('%s') FROM generate_series(1, ?)";
+    private static final String COPY_USERS_SQL = "COPY users (id, username, password, email, created_at) FROM STDIN (FORMAT csv)";
+    private static final String COPY_USERS_ROLES_SQL = "COPY users_roles (user_id, role_id) FROM STDIN (FORMAT csv)";
+    private static final String COPY_NOTES_SQL = "COPY notes (id, title, content, updated_at, user_id) FROM STDIN (FORMAT csv)";
+    private static final int BUFFER_SIZE = 64 * 1024; // bytes sent by each message of the COPY
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostgresCopyBulkLoader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> nextValues(String sequence, int count) {
+        return jdbcTemplate.queryForList(NEXT_VALUES_SQL.formatted(sequence), Long.class, count);
+    }
+
+    @Override
+    public void insertUsers(List<UserEntity> users) {
+        copy(COPY_USERS_SQL, users, u -> new Object[]{
+                u.getId(), u.getUsername(), u.getPassword(), u.getEmail(), u.getCreatedAt()
+        });
+
+        List<Object[]> usersRoles = users.stream()
+                .flatMap(u -> u.getRoles().stream().map(RoleEntity::getId).map(roleId -> new Object[]{u.getId(), roleId}))
+                .toList();
+        copy(COPY_USERS_ROLES_SQL, usersRoles, Function.identity());
+    }
+
+    @Override
+    public void insertNotes(List<NoteEntity> notes) {
+        copy(COPY_NOTES_SQL, notes, n -> new Object[]{
+                n.getId(), n.getTitle(), n.getContent(), new Date(n.getUpdatedAt().getTime()), n.getUser().getId()
+        });
+    }
+
+    /**
+     * Stream the rows to {@code COPY}, the {@link java.sql.SQLException}s are translated as
+     * any other statement of the {@link JdbcTemplate} ( e.g. {@link org.springframework.dao.DuplicateKeyException} )
+     *
+     * @param sql     the {@code COPY ... FROM STDIN} statement
+     * @param rows    the rows to write
+     * @param columns the values of the columns of a row, in the order of the statement
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    private <T> void copy(String sql, List<T> rows, Function<T, Object[]> columns) {
+        if (rows.isEmpty()) return;
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+            PGCopyOutputStream copy = new PGCopyOutputStream(con.unwrap(PGConnection.class), sql, BUFFER_SIZE);
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                for (T row : rows) writeCsvLine(out, columns.apply(row));
+            } catch (IOException e) { // the driver wraps the errors of the server
+                if (e.getCause() instanceof SQLException sqlException) throw sqlException;
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Write a line of CSV, the texts are always quoted ( an unquoted empty value is {@code NULL} )
+     */
+    static void writeCsvLine(Writer out, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) out.write(',');
+
+            Object value = values[i];
+            if (value == null) continue;
+            if (value instanceof String text) {
+                out.write('"');
+                out.write(text.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(value.toString()); // numbers and dates ( yyyy-mm-dd )
+            }
+        }
+        out.write('\n');
+    }
+}
@@ -0,0 +1,300 @@
+package org.cris6h16.apirestspringboot.Services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.cris6h16.apirestspringboot.DTOs.Creation.BulkLoadUserDTO;
+import org.cris6h16.apirestspringboot.DTOs.Creation.CreateNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicBulkLoadResultDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteImportResultDTO;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Entities.NoteEntity;
+import org.cris6h16.apirestspringboot.Entities.RoleEntity;
+import org.cris6h16.apirestspringboot.Entities.UserEntity;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.TitleMaxLengthFailException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.UserService.AnyUserDTOIsNullException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.UserService.EmailAlreadyExistsException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.UserService.EncodedPasswordInvalidException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.UserService.UsernameAlreadyExistsException;
+import org.cris6h16.apirestspringboot.Repositories.RoleRepository;
+import org.cris6h16.apirestspringboot.Repositories.UserRepository;
+import org.cris6h16.apirestspringboot.Services.BulkLoad.BulkLoader;
+import org.cris6h16.apirestspringboot.Services.Interfaces.BulkLoadService;
+import org.cris6h16.apirestspringboot.Services.Search.NoteSearchIndex;
+import org.cris6h16.apirestspringboot.Services.Validation.NoteContentLimit;
+import org.cris6h16.apirestspringboot.Services.Validation.NoteValidator;
+import org.cris6h16.apirestspringboot.Utils.BoundedLineReader;
+import org.hibernate.SessionFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Admin.BulkLoad.*;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Content.TOO_LONG_MSG;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Validations.MAX_TITLE_LENGTH;
+import static org.cris6h16.apirestspringboot.Constants.Cons.User.Constrains.EMAIL_UNIQUE_MSG;
+import static org.cris6h16.apirestspringboot.Constants.Cons.User.Constrains.USERNAME_UNIQUE_MSG;
+
+/**
+ * An implementation of {@link BulkLoadService} interface.<br>
+ * The rows are written by the {@link BulkLoader} of the database, the ids are taken from the
+ * same sequences used by Hibernate ( see {@link BulkLoader#reserveIds(String, int)} ).
+ *
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class BulkLoadServiceImpl implements BulkLoadService {
+    private static final Pattern ENCODED_PASSWORD = Pattern.compile("^\\{bcrypt}\\$2[aby]?\\$(0[4-9]|[12]\\d|3[01])\\$[./0-9A-Za-z]{53}$"); // as BCryptPasswordEncoder
+
+    private final BulkLoader bulkLoader;
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final NoteSearchIndex noteSearchIndex;
+    private final NoteContentLimit noteContentLimit;
+    private final ObjectMapper objectMapper;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate blockTransaction;
+
+    public BulkLoadServiceImpl(BulkLoader bulkLoader,
+                               UserRepository userRepository,
+                               RoleRepository roleRepository,
+                               NoteSearchIndex noteSearchIndex,
+                               NoteContentLimit noteContentLimit,
+                               ObjectMapper objectMapper,
+                               EntityManagerFactory entityManagerFactory,
+                               PlatformTransactionManager transactionManager) {
+        this.bulkLoader = bulkLoader;
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.noteSearchIndex = noteSearchIndex;
+        this.noteContentLimit = noteContentLimit;
+        this.objectMapper = noteContentLimit.limit(objectMapper); // the notes of the users
+        this.entityManagerFactory = entityManagerFactory;
+        this.blockTransaction = new TransactionTemplate(transactionManager);
+        this.blockTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.blockTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public PublicBulkLoadResultDTO load(InputStream ndjson) {
+        if (ndjson == null) throw new IllegalArgumentException("Input can't be null");
+        long start = System.nanoTime();
+
+        Map<ERole, RoleEntity> roles = blockTransaction.execute(status -> findOrCreateRoles());
+        ObjectReader userReader = objectMapper.readerFor(BulkLoadUserDTO.class);
+        Progress progress = new Progress();
+        List<Line> block = new ArrayList<>(BLOCK_SIZE);
+        Set<String> usernames = new HashSet<>(), emails = new HashSet<>(); // of the block
+        long lineNumber = 0;
+
+        try (BoundedLineReader reader = new BoundedLineReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8), noteContentLimit.getMaxLineLength())) {
+            while (true) {
+                String text;
+                try {
+                    text = reader.readLine();
+                } catch (BoundedLineReader.LineTooLongException e) { // skipped, never in memory
+                    progress.reject(++lineNumber, LINE_TOO_LONG_MSG);
+                    continue;
+                }
+                if (text == null) break;
+                lineNumber++;
+                if (text.isBlank()) continue;
+
+                try {
+                    BulkLoadUserDTO user = userReader.readValue(text);
+                    prepareAndVerify(user);
+                    if (usernames.contains(user.getUsername())) throw new UsernameAlreadyExistsException();
+                    if (emails.contains(user.getEmail())) throw new EmailAlreadyExistsException();
+
+                    usernames.add(user.getUsername());
+                    emails.add(user.getEmail());
+                    block.add(new Line(lineNumber, user));
+                } catch (StreamConstraintsException e) { // a string longer than the content of a note
+                    progress.reject(lineNumber, TOO_LONG_MSG.formatted(noteContentLimit.getMaxLength()));
+                } catch (JsonProcessingException e) {
+                    progress.reject(lineNumber, INVALID_JSON_MSG);
+                } catch (ProperExceptionForTheUser e) {
+                    progress.reject(lineNumber, e.getReason());
+                }
+
+                if (block.size() == BLOCK_SIZE) { // the body isn't read ( backpressure ) while the block is written
+                    loadBlock(block, roles, progress);
+                    block.clear();
+                    usernames.clear();
+                    emails.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // the blocks already written remain
+        }
+        if (!block.isEmpty()) loadBlock(block, roles, progress);
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+        long rows = progress.users + progress.roles + progress.notes;
+        long rowsPerSecond = Math.round(rows * 1e9 / elapsedNanos);
+        log.info("Bulk load: {} users, {} roles, {} notes, {} lines rejected, in {} ms ( {} rows/s )",
+                progress.users, progress.roles, progress.notes, progress.failed, elapsedNanos / 1_000_000, rowsPerSecond);
+
+        return PublicBulkLoadResultDTO.builder()
+                .users(progress.users)
+                .roles(progress.roles)
+                .notes(progress.notes)
+                .failed(progress.failed)
+                .errors(progress.errors)
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(rowsPerSecond)
+                .build();
+    }
+
+    /**
+     * Write a block of verified users in its own transaction. The users which already exist are
+     * rejected before writing, if the database still rejects the block ( e.g. a user created
+     * concurrently ) all its lines are rejected and the load continues with the next block.
+     */
+    private void loadBlock(List<Line> block, Map<ERole, RoleEntity> roles, Progress progress) {
+        List<Line> accepted = new ArrayList<>(block.size());
+        try {
+            blockTransaction.executeWithoutResult(status -> {
+                Set<String> existingUsernames = new HashSet<>(userRepository.findUsernamesIn(
+                        block.stream().map(l -> l.user().getUsername()).toList()));
+                Set<String> existingEmails = new HashSet<>(userRepository.findEmailsIn(
+                        block.stream().map(l -> l.user().getEmail()).toList()));
+
+                for (Line line : block) {
+                    if (existingUsernames.contains(line.user().getUsername())) progress.reject(line.number(), USERNAME_UNIQUE_MSG);
+                    else if (existingEmails.contains(line.user().getEmail())) progress.reject(line.number(), EMAIL_UNIQUE_MSG);
+                    else accepted.add(line);
+                }
+                write(accepted, roles);
+            });
+        } catch (DataAccessException e) {
+            log.warn("Block of the bulk load rejected by the database: {}", e.getMessage());
+            accepted.forEach(l -> progress.reject(l.number(), BLOCK_REJECTED_MSG));
+            return;
+        }
+
+        for (Line line : accepted) {
+            progress.users++;
+            progress.roles += line.user().getRoles().size();
+            progress.notes += line.user().getNotes().size();
+        }
+        // written without Hibernate: the cached queries ( e.g. findByUsername ) would keep returning the misses
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+
+    private void write(List<Line> lines, Map<ERole, RoleEntity> roles) {
+        if (lines.isEmpty()) return;
+
+        int notesCount = lines.stream().mapToInt(l -> l.user().getNotes().size()).sum();
+        List<Long> userIds = bulkLoader.reserveIds(USER_SEQUENCE, lines.size());
+        Iterator<Long> noteIds = bulkLoader.reserveIds(NOTE_SEQUENCE, notesCount).iterator();
+        Date now = new Date();
+        LocalDate today = LocalDate.now();
+
+        List<UserEntity> users = new ArrayList<>(lines.size());
+        List<NoteEntity> notes = new ArrayList<>(notesCount);
+        for (int i = 0; i < lines.size(); i++) {
+            BulkLoadUserDTO dto = lines.get(i).user();
+            UserEntity user = UserEntity.builder()
+                    .id(userIds.get(i))
+                    .username(dto.getUsername())
+                    .password(dto.getPassword())
+                    .email(dto.getEmail())
+                    .createdAt(today)
+                    .roles(dto.getRoles().stream().map(roles::get).collect(Collectors.toSet()))
+                    .build();
+            users.add(user);
+
+            for (CreateNoteDTO note : dto.getNotes()) {
+                notes.add(NoteEntity.builder()
+                        .id(noteIds.next())
+                        .title(note.getTitle())
+                        .content(note.getContent())
+                        .updatedAt(now)
+                        .user(user)
+                        .build());
+            }
+        }
+
+        bulkLoader.insertUsers(users);
+        bulkLoader.insertNotes(notes);
+        noteSearchIndex.indexAll(notes);
+    }
+
+    private Map<ERole, RoleEntity> findOrCreateRoles() {
+        Map<ERole, RoleEntity> roles = new EnumMap<>(ERole.class);
+        for (ERole role : ERole.values()) {
+            roles.put(role, roleRepository
+                    .findByName(role)
+                    .orElseGet(() -> roleRepository.saveAndFlush(RoleEntity.builder().name(role).build())));
+        }
+        return roles;
+    }
+
+    /**
+     * Normalize and verify a user as {@link UserServiceImpl#create} does and its notes as the import does
+     * ( {@link NoteValidator} ), with the limits of the columns, then a valid line is never rejected by the
+     * checks of the database
+     */
+    private void prepareAndVerify(BulkLoadUserDTO dto) {
+        if (dto == null) throw new AnyUserDTOIsNullException();
+        dto.trimNotNullAttributes();
+        dto.toLowerCaseNotNullAttributes();
+
+        UserServiceImpl.validateUsername(dto.getUsername());
+        UserServiceImpl.validateEmail(dto.getEmail());
+        verifyEncodedPassword(dto.getPassword());
+
+        Set<ERole> roles = (dto.getRoles() == null) ? new HashSet<>() : new HashSet<>(dto.getRoles());
+        roles.remove(null);
+        if (roles.isEmpty()) roles.add(ERole.ROLE_USER);
+        dto.setRoles(roles);
+
+        if (dto.getNotes() == null) dto.setNotes(List.of());
+        for (CreateNoteDTO note : dto.getNotes()) {
+            NoteValidator.prepareAndVerify(note, noteContentLimit.getMaxLength()); // as the import of notes
+            if (note.getTitle().length() > MAX_TITLE_LENGTH) throw new TitleMaxLengthFailException(); // untrimmed, as it's written
+        }
+    }
+
+    private void verifyEncodedPassword(String password) {
+        boolean invalid = password == null || !ENCODED_PASSWORD.matcher(password).matches(); // e.g. {noop} would store it in plain text
+        if (invalid) throw new EncodedPasswordInvalidException();
+    }
+
+    /**
+     * A verified line of the input
+     */
+    private record Line(long number, BulkLoadUserDTO user) {
+    }
+
+    /**
+     * Counts of the load
+     */
+    private static class Progress {
+        long users, roles, notes, failed;
+        final List<PublicNoteImportResultDTO.LineError> errors = new ArrayList<>();
+
+        void reject(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add(new PublicNoteImportResultDTO.LineError(line, message));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.cris6h16.apirestspringboot.Services.Dataset;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * What a synthetic dataset contains, the same spec ( with the same seed ) always generates the same
+ * users with the same notes ( the ids depend on the sequences )
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@AllArgsConstructor
+@Getter
+@Builder
+@ToString(exclude = "password")
+public class DatasetSpec {
+    private int users;
+    private long notes; // of all the users
+    /**
+     * Skew of the notes by user: the user of rank {@code k} has notes proportional to {@code 1 / k^exponent},
+     * {@code 0} spreads them evenly
+     */
+    @Builder.Default
+    private double zipfExponent = 1.0;
+    @Builder.Default
+    private long seed = 42;
+    /**
+     * The usernames are the prefix followed by the index of the user, e.g. {@code user0}
+     */
+    @Builder.Default
+    private String usernamePrefix = "user";
+    /**
+     * Password of all the users, it is hashed just once
+     */
+    @Builder.Default
+    private String password = "12345678";
+    /**
+     * Index the notes for the in-process full-text search ( PostgreSQL always generates the vector with the rows )
+     */
+    @Builder.Default
+    private boolean searchIndex = true;
+    /**
+     * Blocks of notes written at the same time, each one by its own connection ( and backend of the database,
+     * which computes the search vectors )
+     */
+    @Builder.Default
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+}
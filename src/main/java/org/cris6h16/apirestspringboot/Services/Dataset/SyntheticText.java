@@ -0,0 +1,85 @@
+package org.cris6h16.apirestspringboot.Services.Dataset;
+
+import java.util.Date;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Admin.Dataset.MAX_AGE_DAYS;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Admin.Dataset.MAX_CONTENT_LENGTH;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Validations.MAX_TITLE_LENGTH;
+
+/**
+ * Titles, contents & dates of the notes of a user, each user has its own random
+ * sequence: its notes don't depend on how the users are split in blocks.
+ * <ul>
+ *     <li>titles: few words ( geometric, mostly 1 - 4 )</li>
+ *     <li>contents: log-normal length ( median ~300 characters, a long tail up to {@link org.cris6h16.apirestspringboot.Constants.Cons.Admin.Dataset#MAX_CONTENT_LENGTH} ),
+ *     some of them empty</li>
+ *     <li>words: the first words of the vocabulary are the most frequent, as in a real text ( and in the full-text search )</li>
+ * </ul>
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class SyntheticText {
+    private static final String[] WORDS = (
+            "the note of and to a in is for on with that this it list ideas meeting project todo review plan " +
+            "notes week today tomorrow work home shopping book read call email draft final budget report team " +
+            "client design code bug fix release deploy test data query index cache server api user account " +
+            "password login security backup migration schema table column spring boot java postgres docker " +
+            "travel flight hotel recipe dinner garden music movie gym health doctor birthday gift family " +
+            "friends weekend holiday january february march april may june july august september october " +
+            "november december monday tuesday wednesday thursday friday saturday sunday morning evening " +
+            "important urgent later maybe someday remember check buy pay send write learn practice finish"
+    ).split(" ");
+    private static final double CONTENT_MEDIAN_LOG = Math.log(300);
+    private static final double CONTENT_SIGMA = 1.1;
+    private static final double EMPTY_CONTENT_PROBABILITY = 0.03;
+    private static final double TITLE_NEXT_WORD_PROBABILITY = 0.55;
+    private static final long MAX_AGE_MILLIS = TimeUnit.DAYS.toMillis(MAX_AGE_DAYS);
+
+    private final SplittableRandom random;
+    private final long now;
+
+    /**
+     * @param seed      of the dataset
+     * @param userIndex of the user, from {@code 0}
+     * @param now       the most recent date
+     */
+    public SyntheticText(long seed, int userIndex, Date now) {
+        this.random = new SplittableRandom(seed ^ (0x9E3779B97F4A7C15L * (userIndex + 1L)));
+        this.now = now.getTime();
+    }
+
+    public String title() {
+        StringBuilder title = new StringBuilder(word());
+        while (random.nextDouble() < TITLE_NEXT_WORD_PROBABILITY) title.append(' ').append(word());
+        return title.length() > MAX_TITLE_LENGTH ? title.substring(0, MAX_TITLE_LENGTH) : title.toString();
+    }
+
+    public String content() {
+        if (random.nextDouble() < EMPTY_CONTENT_PROBABILITY) return "";
+
+        long length = Math.round(Math.exp(CONTENT_MEDIAN_LOG + CONTENT_SIGMA * random.nextGaussian()));
+        length = Math.max(1, Math.min(MAX_CONTENT_LENGTH, length));
+        StringBuilder content = new StringBuilder((int) length + 16);
+        while (content.length() < length) {
+            if (!content.isEmpty()) content.append(random.nextInt(12) == 0 ? ".\n" : " ");
+            content.append(word());
+        }
+        content.setLength((int) length);
+        return content.toString().trim();
+    }
+
+    /**
+     * @return a date of the last {@link org.cris6h16.apirestspringboot.Constants.Cons.Admin.Dataset#MAX_AGE_DAYS} days
+     */
+    public Date date() {
+        return new Date(now - random.nextLong(MAX_AGE_MILLIS));
+    }
+
+    private String word() {
+        double r = random.nextDouble();
+        return WORDS[(int) (WORDS.length * r * r)]; // skewed to the first words
+    }
+}
@@ -0,0 +1,68 @@
+package org.cris6h16.apirestspringboot.Services.Dataset;
+
+import java.util.SplittableRandom;
+
+/**
+ * Spreads the notes between the users by a Zipf distribution: few users have most of the notes.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public final class ZipfNoteCounts {
+
+    private ZipfNoteCounts() {
+    }
+
+    /**
+     * The user of rank {@code k} ( from {@code 1} ) receives {@code notes * k^-exponent / H}, where {@code H} is the sum of
+     * all the weights. The counts are rounded over the cumulative weights, then their sum is exactly {@code notes}.<br>
+     * The ranks are shuffled by the seed: the users with more notes aren't the first ones ( nor the lowest ids ).
+     *
+     * @param users    number of users
+     * @param notes    number of notes of all the users
+     * @param exponent skew of the distribution, {@code 0} is uniform
+     * @param seed     of the shuffle
+     * @return the notes of each user, by the index of the user
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static int[] allocate(int users, long notes, double exponent, long seed) {
+        if (users <= 0) throw new IllegalArgumentException("Users must be positive");
+        if (notes < 0) throw new IllegalArgumentException("Notes can't be negative");
+        if (exponent < 0) throw new IllegalArgumentException("Exponent can't be negative");
+
+        double total = 0;
+        for (int k = 1; k <= users; k++) total += Math.pow(k, -exponent);
+
+        int[] ranks = shuffledRanks(users, seed);
+        int[] counts = new int[users];
+        double cumulative = 0;
+        long assigned = 0;
+        for (int k = 1; k <= users; k++) {
+            cumulative += Math.pow(k, -exponent);
+            long upTo = (k == users) ? notes : Math.round(notes * (cumulative / total));
+            long count = Math.max(0, upTo - assigned);
+            if (count > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many notes for a single user: " + count);
+            counts[ranks[k - 1]] = (int) count;
+            assigned += count;
+        }
+        return counts;
+    }
+
+    /**
+     * @return the index of the user of each rank ( Fisher-Yates )
+     */
+    private static int[] shuffledRanks(int users, long seed) {
+        int[] ranks = new int[users];
+        for (int i = 0; i < users; i++) ranks[i] = i;
+
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = users - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ranks[i];
+            ranks[i] = ranks[j];
+            ranks[j] = swap;
+        }
+        return ranks;
+    }
+}
@@ -0,0 +1,246 @@
+package org.cris6h16.apirestspringboot.Services;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicBulkLoadResultDTO;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Entities.NoteEntity;
+import org.cris6h16.apirestspringboot.Entities.RoleEntity;
+import org.cris6h16.apirestspringboot.Entities.UserEntity;
+import org.cris6h16.apirestspringboot.Repositories.RoleRepository;
+import org.cris6h16.apirestspringboot.Repositories.UserRepository;
+import org.cris6h16.apirestspringboot.Services.BulkLoad.BulkLoader;
+import org.cris6h16.apirestspringboot.Services.Dataset.DatasetSpec;
+import org.cris6h16.apirestspringboot.Services.Dataset.SyntheticText;
+import org.cris6h16.apirestspringboot.Services.Dataset.ZipfNoteCounts;
+import org.cris6h16.apirestspringboot.Services.Interfaces.DatasetService;
+import org.cris6h16.apirestspringboot.Services.Search.NoteSearchIndex;
+import org.hibernate.SessionFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Admin.BulkLoad.NOTE_SEQUENCE;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Admin.BulkLoad.USER_SEQUENCE;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Admin.Dataset.NOTES_BLOCK_SIZE;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Admin.Dataset.USERS_BLOCK_SIZE;
+import static org.cris6h16.apirestspringboot.Constants.Cons.User.Validations.MAX_USERNAME_LENGTH;
+import static org.cris6h16.apirestspringboot.Constants.Cons.User.Validations.MIN_USERNAME_LENGTH;
+
+/**
+ * An implementation of {@link DatasetService} interface.<br>
+ * The rows are written by the {@link BulkLoader} of the database ( {@code COPY} in PostgreSQL ),
+ * the notes are generated while they are written: the memory is bounded by the size of a block.
+ *
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class DatasetServiceImpl implements DatasetService {
+    private static final Pattern USERNAME_PREFIX = Pattern.compile("^[a-z0-9]+$"); // the usernames are stored in lower case
+
+    private final BulkLoader bulkLoader;
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final NoteSearchIndex noteSearchIndex;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate blockTransaction;
+
+    public DatasetServiceImpl(BulkLoader bulkLoader,
+                              UserRepository userRepository,
+                              RoleRepository roleRepository,
+                              NoteSearchIndex noteSearchIndex,
+                              PasswordEncoder passwordEncoder,
+                              EntityManagerFactory entityManagerFactory,
+                              PlatformTransactionManager transactionManager) {
+        this.bulkLoader = bulkLoader;
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.noteSearchIndex = noteSearchIndex;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManagerFactory = entityManagerFactory;
+        this.blockTransaction = new TransactionTemplate(transactionManager);
+        this.blockTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.blockTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public PublicBulkLoadResultDTO generate(DatasetSpec spec) {
+        verify(spec);
+        long start = System.nanoTime();
+        log.info("Generating the dataset: {}", spec);
+
+        int[] notesByUser = ZipfNoteCounts.allocate(spec.getUsers(), spec.getNotes(), spec.getZipfExponent(), spec.getSeed());
+        String password = passwordEncoder.encode(spec.getPassword()); // once: the logins pay BCrypt, the load doesn't
+        RoleEntity role = blockTransaction.execute(status -> roleRepository
+                .findByName(ERole.ROLE_USER)
+                .orElseGet(() -> roleRepository.saveAndFlush(RoleEntity.builder().name(ERole.ROLE_USER).build())));
+        Date now = new Date();
+        LocalDate today = LocalDate.now();
+
+        List<NoteEntity> notes = new ArrayList<>(NOTES_BLOCK_SIZE);
+        long notesWritten;
+        try (NoteWriters writers = new NoteWriters(spec)) {
+            for (int from = 0; from < spec.getUsers(); from += USERS_BLOCK_SIZE) {
+                int to = Math.min(spec.getUsers(), from + USERS_BLOCK_SIZE);
+                List<UserEntity> users = writeUsers(spec, from, to, password, role, today);
+
+                for (int i = from; i < to; i++) {
+                    UserEntity user = users.get(i - from);
+                    SyntheticText text = new SyntheticText(spec.getSeed(), i, now);
+                    for (int n = 0; n < notesByUser[i]; n++) {
+                        notes.add(NoteEntity.builder()
+                                .title(text.title())
+                                .content(text.content())
+                                .updatedAt(text.date())
+                                .user(user)
+                                .build());
+                        if (notes.size() == NOTES_BLOCK_SIZE) {
+                            writers.submit(notes);
+                            notes = new ArrayList<>(NOTES_BLOCK_SIZE);
+                        }
+                    }
+                }
+                log.info("Dataset: {} of {} users, {} notes written", to, spec.getUsers(), writers.written());
+            }
+            if (!notes.isEmpty()) writers.submit(notes);
+            notesWritten = writers.awaitWritten();
+        }
+
+        // written without Hibernate: the cached queries ( e.g. findByUsername ) would keep returning the misses
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+
+        long elapsedNanos = Math.max(1, System.nanoTime() - start);
+        long rows = 2L * spec.getUsers() + notesWritten; // users & users_roles
+        long rowsPerSecond = Math.round(rows * 1e9 / elapsedNanos);
+        log.info("Dataset: {} users, {} notes, in {} ms ( {} rows/s )",
+                spec.getUsers(), notesWritten, elapsedNanos / 1_000_000, rowsPerSecond);
+
+        return PublicBulkLoadResultDTO.builder()
+                .users(spec.getUsers())
+                .roles(spec.getUsers())
+                .notes(notesWritten)
+                .failed(0)
+                .errors(List.of())
+                .elapsedMillis(elapsedNanos / 1_000_000)
+                .rowsPerSecond(rowsPerSecond)
+                .build();
+    }
+
+    private List<UserEntity> writeUsers(DatasetSpec spec, int from, int to, String password, RoleEntity role, LocalDate today) {
+        return blockTransaction.execute(status -> {
+            Iterator<Long> ids = bulkLoader.reserveIds(USER_SEQUENCE, to - from).iterator();
+            List<UserEntity> users = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                String username = spec.getUsernamePrefix() + i;
+                users.add(UserEntity.builder()
+                        .id(ids.next())
+                        .username(username)
+                        .password(password)
+                        .email(username + "@example.com")
+                        .createdAt(today)
+                        .roles(Set.of(role))
+                        .build());
+            }
+            bulkLoader.insertUsers(users);
+            return users;
+        });
+    }
+
+    /**
+     * @return the notes written
+     */
+    private int writeNotes(List<NoteEntity> notes, boolean searchIndex) {
+        blockTransaction.executeWithoutResult(status -> {
+            Iterator<Long> ids = bulkLoader.reserveIds(NOTE_SEQUENCE, notes.size()).iterator();
+            notes.forEach(n -> n.setId(ids.next()));
+            bulkLoader.insertNotes(notes);
+            if (searchIndex) noteSearchIndex.indexAll(notes);
+        });
+        return notes.size();
+    }
+
+    /**
+     * Writes the blocks of notes in virtual threads, at most {@link DatasetSpec#getParallelism()} blocks at
+     * the same time ( and in memory ): the generation waits for a free writer. The first failure is thrown
+     * by the next {@link #submit} or by {@link #awaitWritten()}, the blocks already written remain.
+     */
+    private class NoteWriters implements AutoCloseable {
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private final Semaphore free;
+        private final boolean searchIndex;
+        private final AtomicLong written = new AtomicLong();
+        private volatile RuntimeException failure;
+
+        NoteWriters(DatasetSpec spec) {
+            this.free = new Semaphore(spec.getParallelism());
+            this.searchIndex = spec.isSearchIndex();
+        }
+
+        void submit(List<NoteEntity> notes) {
+            throwFailure();
+            free.acquireUninterruptibly();
+            executor.execute(() -> {
+                try {
+                    written.addAndGet(writeNotes(notes, searchIndex));
+                } catch (RuntimeException e) {
+                    failure = e;
+                } finally {
+                    free.release();
+                }
+            });
+        }
+
+        long written() {
+            return written.get();
+        }
+
+        long awaitWritten() {
+            executor.close(); // waits for the submitted blocks
+            throwFailure();
+            return written.get();
+        }
+
+        private void throwFailure() {
+            if (failure != null) throw failure;
+        }
+
+        @Override
+        public void close() {
+            executor.close();
+        }
+    }
+
+    private void verify(DatasetSpec spec) {
+        if (spec == null) throw new IllegalArgumentException("Spec can't be null");
+        if (spec.getUsers() <= 0) throw new IllegalArgumentException("Users must be positive");
+        if (spec.getNotes() < 0) throw new IllegalArgumentException("Notes can't be negative");
+        if (spec.getParallelism() <= 0) throw new IllegalArgumentException("Parallelism must be positive");
+
+        String prefix = spec.getUsernamePrefix();
+        if (prefix == null || !USERNAME_PREFIX.matcher(prefix).matches()) {
+            throw new IllegalArgumentException("Username prefix must be lower case letters or digits");
+        }
+        if (prefix.length() + 1 < MIN_USERNAME_LENGTH || (prefix + (spec.getUsers() - 1)).length() > MAX_USERNAME_LENGTH) {
+            throw new IllegalArgumentException("Usernames must be between " + MIN_USERNAME_LENGTH + " and " + MAX_USERNAME_LENGTH + " characters");
+        }
+        if (userRepository.existsByUsername(prefix + 0)) {
+            throw new IllegalStateException("Dataset already generated, use another username prefix: " + prefix);
+        }
+    }
+}
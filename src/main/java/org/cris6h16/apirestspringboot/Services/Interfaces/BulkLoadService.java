@@ -0,0 +1,29 @@
+package org.cris6h16.apirestspringboot.Services.Interfaces;
+
+import org.cris6h16.apirestspringboot.DTOs.Creation.BulkLoadUserDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicBulkLoadResultDTO;
+
+import java.io.InputStream;
+
+/**
+ * Service layer for the admin data loads, which write {@code users}, {@code users_roles}
+ * and {@code notes} without passing through the persistence context
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public interface BulkLoadService {
+
+    /**
+     * Load users with their roles and notes from NDJSON ( a {@link BulkLoadUserDTO} by line ).<br>
+     * The input is read while the rows are written in blocks, each block is committed in its own
+     * transaction, then the blocks loaded before an error reading the input remain.
+     * The invalid lines, and the users which already exist, are reported and skipped.
+     *
+     * @param ndjson the users, read just once
+     * @return the counts, the rejected lines and the throughput
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    PublicBulkLoadResultDTO load(InputStream ndjson);
+}
@@ -0,0 +1,26 @@
+package org.cris6h16.apirestspringboot.Services.Interfaces;
+
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicBulkLoadResultDTO;
+import org.cris6h16.apirestspringboot.Services.Dataset.DatasetSpec;
+
+/**
+ * Service layer for the synthetic datasets of the volume tests
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public interface DatasetService {
+
+    /**
+     * Generate users ( {@code ROLE_USER} ) with their notes, spread by a Zipf distribution.<br>
+     * The rows are written in blocks as the bulk load does, each block is committed in its own transaction.
+     *
+     * @param spec what to generate
+     * @return the counts and the throughput
+     * @throws IllegalArgumentException if the spec is invalid ( e.g. the usernames would be too long )
+     * @throws IllegalStateException    if the users of the spec already exist
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    PublicBulkLoadResultDTO generate(DatasetSpec spec);
+}
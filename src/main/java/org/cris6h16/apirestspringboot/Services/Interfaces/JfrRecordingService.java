@@ -0,0 +1,43 @@
+package org.cris6h16.apirestspringboot.Services.Interfaces;
+
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicJfrRecordingDTO;
+
+import java.nio.file.Path;
+
+/**
+ * Service layer for the recordings of Java Flight Recorder, with the settings of the JDK plus the
+ * events of the application. Just one recording exists at the same time, it's bounded by duration and by size
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public interface JfrRecordingService {
+
+    /**
+     * Start a recording, the previous one ( already stopped ) is discarded
+     *
+     * @param durationSeconds after it the recording stops by itself
+     * @return the recording started
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    PublicJfrRecordingDTO start(long durationSeconds);
+
+    /**
+     * Stop the recording, it's kept to be downloaded
+     *
+     * @return the recording stopped
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    PublicJfrRecordingDTO stop();
+
+    /**
+     * Write the data of the recording ( running or stopped ) in a temporary file
+     *
+     * @return the file, the caller should delete it
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    Path dump();
+}
@@ -1,11 +1,21 @@
 package org.cris6h16.apirestspringboot.Services.Interfaces;
 
 import org.cris6h16.apirestspringboot.DTOs.Creation.CreateNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteContentStatDTO;
 import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteExcerptDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteImportResultDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteMultiGetDTO;
 import org.cris6h16.apirestspringboot.Repositories.NoteRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.function.Consumer;
 
 /**
  * Service layer for {@link NoteRepository}
@@ -25,6 +35,40 @@ public interface NoteService {
      */
     PublicNoteDTO getByIdAndUserId(Long noteId, Long userId);
 
+    /**
+     * Get several notes of a user by their ids in a single query, instead of a
+     * {@link #getByIdAndUserId(Long, Long)} by each id
+     *
+     * @param noteIds ids of the notes, the repeated ones are returned once
+     * @param userId  user id that owns the notes
+     * @return the notes found and the missing ids, in the order of {@code noteIds}
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    PublicNoteMultiGetDTO getByIdsAndUserId(Collection<Long> noteIds, Long userId);
+
+    /**
+     * Get the version of a note, where {@code (note.id == noteId) && (note.user.id == userId)}
+     *
+     * @param noteId note id
+     * @param userId user id that owns the note
+     * @return the current version of the note
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    Long getVersionByIdAndUserId(Long noteId, Long userId);
+
+    /**
+     * Get the version of the notes of a user, it changes on every create, put or delete
+     * of any of its notes
+     *
+     * @param userId user id that owns the notes
+     * @return the current version of the notes of the user
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    Long getNotesVersionByUserId(Long userId);
+
     /**
      * Create a new note
      *
@@ -48,6 +92,62 @@ public interface NoteService {
      */
     void putByIdAndUserId(Long noteId, Long userId, CreateNoteDTO note);
 
+    /**
+     * Conditional PUT of a note.<br>
+     * Same as {@link #putByIdAndUserId(Long, Long, CreateNoteDTO)} but the note must exist with
+     * the {@code expectedVersion}, nothing is locked: the update fails if the note was modified concurrently
+     *
+     * @param noteId          note id
+     * @param userId          user id that owns the note
+     * @param note            the note data to be PUT
+     * @param expectedVersion the version of the note known by the client, {@code null} to PUT unconditionally
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    void putByIdAndUserId(Long noteId, Long userId, CreateNoteDTO note, Long expectedVersion);
+
+    /**
+     * PUT just the content of an existing note, it's copied to a temporary file while it's read ( never loaded as a
+     * whole, rejected as soon as it's longer than the allowed ), then streamed to the database: a slow client never
+     * holds a connection
+     *
+     * @param noteId          note id
+     * @param userId          user id that owns the note
+     * @param content         the new content, UTF-8
+     * @param expectedVersion the version of the note known by the client, {@code null} to PUT unconditionally
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    void putContentByIdAndUserId(Long noteId, Long userId, InputStream content, Long expectedVersion);
+
+    /**
+     * Get the version of a note and the length of its content, without reading its content
+     *
+     * @param noteId note id
+     * @param userId user id that owns the note
+     * @return the version and the UTF-8 bytes of the content
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    PublicNoteContentStatDTO getContentStatByIdAndUserId(Long noteId, Long userId);
+
+    /**
+     * Write a range of the content of a note encoded as UTF-8, it's read from the database by chunks
+     * while it's written ( never loaded as a whole ), each one in its own statement: a note modified meanwhile
+     * stops the writing
+     *
+     * @param noteId  note id
+     * @param userId  user id that owns the note
+     * @param version the version of the note, e.g. from {@link #getContentStatByIdAndUserId(Long, Long)}
+     * @param start   first byte to write, from {@code 0}
+     * @param count   bytes to write, the ones after the end of the content are ignored
+     * @param out     where the bytes are written, it isn't closed
+     * @throws IOException if {@code out} fails, e.g. the client disconnected
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    void writeContentByIdAndUserId(Long noteId, Long userId, long version, long start, long count, OutputStream out) throws IOException;
+
     /**
      * DELETE a note.<br>
      * where {@code (note.id == noteId) && (note.user.id == userId)}
@@ -59,16 +159,78 @@ public interface NoteService {
      */
     void deleteByIdAndUserId(Long noteId, Long userId);
 
+    /**
+     * The page served for a page requested by a client: its sort must be by an indexed field, its size is
+     * capped and it can't skip too many rows ( {@code PageRequestGovernor}, counted once by request )
+     *
+     * @param pageable the page request of the client
+     * @return the page to pass to {@link #getPage(Pageable, Long)} or {@link #getExcerptPage(Pageable, Long)}
+     * @throws org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.PageSortInvalidException if it's sorted by a field without index
+     * @throws org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.PageTooDeepException     if it skips too many rows
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    PageRequest governPage(Pageable pageable);
+
     /**
      * Get a page of notes owned by a user
      *
-     * @param pageable the page request
+     * @param served   the page served, returned by {@link #governPage(Pageable)}
      * @param userId   the id of the user that owns the notes
      * @return a list of {@link PublicNoteDTO} with the notes data
      * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
      * @since 1.0
      */
-    Page<PublicNoteDTO> getPage(Pageable pageable, Long userId);
+    Page<PublicNoteDTO> getPage(Pageable served, Long userId);
+
+    /**
+     * Get a page of notes owned by a user, each one with just an excerpt of its content
+     *
+     * @param served   the page served, returned by {@link #governPage(Pageable)}
+     * @param userId   the id of the user that owns the notes
+     * @return a list of {@link PublicNoteExcerptDTO} with the notes data
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    Page<PublicNoteExcerptDTO> getExcerptPage(Pageable served, Long userId);
+
+    /**
+     * Full-text search over the notes owned by a user
+     *
+     * @param query    the text to search, the notes must contain all its words
+     * @param pageable the page request, unsorted: the results are sorted by rank
+     * @param userId   the id of the user that owns the notes
+     * @return a page of {@link PublicNoteExcerptDTO}, the best ranked first
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    Page<PublicNoteExcerptDTO> search(String query, Pageable pageable, Long userId);
+
+    /**
+     * Pass all the notes owned by a user to the consumer, one by one, while they are read
+     * from the database ( the notes aren't collected in memory )
+     *
+     * @param userId   the id of the user that owns the notes
+     * @param consumer called with each note, sorted by id
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    void exportByUserId(Long userId, Consumer<PublicNoteDTO> consumer);
+
+    /**
+     * Import notes for a user from NDJSON ( a {@link CreateNoteDTO} by line ), with the same validations
+     * of {@link #create(CreateNoteDTO, Long)}.<br>
+     * The input is read while the notes are written in chunks, each chunk is committed in its own
+     * transaction, then the notes imported before an error reading the input remain.<br>
+     * A line longer than a note can be is an invalid line, it's skipped without being kept in memory.
+     *
+     * @param userId the id of the user that will own the notes
+     * @param ndjson the notes, read just once
+     * @return the counts and the invalid lines
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    PublicNoteImportResultDTO importByUserId(Long userId, InputStream ndjson);
 
     /**
      * Delete all notes
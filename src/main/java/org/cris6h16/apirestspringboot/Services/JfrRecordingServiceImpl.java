@@ -0,0 +1,144 @@
+package org.cris6h16.apirestspringboot.Services;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.cris6h16.apirestspringboot.Config.Jfr.LogFlushEvent;
+import org.cris6h16.apirestspringboot.Config.Jfr.PasswordHashEvent;
+import org.cris6h16.apirestspringboot.Config.Jfr.RepositoryCallEvent;
+import org.cris6h16.apirestspringboot.Config.Jfr.ServiceCallEvent;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicJfrRecordingDTO;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.JfrRecordingService.JfrDurationInvalidException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.JfrRecordingService.JfrRecordingAlreadyRunningException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.JfrRecordingService.JfrRecordingNotFoundException;
+import org.cris6h16.apirestspringboot.Services.Interfaces.JfrRecordingService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Admin.Jfr.*;
+
+/**
+ * An implementation of {@link JfrRecordingService} interface.<br>
+ * The recording is written to the disk ( the repository of the JDK ), then its memory is bounded by the
+ * buffers of JFR and its disk by {@link org.cris6h16.apirestspringboot.Constants.Cons.Admin.Jfr#MAX_SIZE_BYTES}
+ * ( the oldest chunks are discarded ).
+ *
+ * @since 1.0
+ */
+@Service
+@Slf4j
+public class JfrRecordingServiceImpl implements JfrRecordingService, DisposableBean {
+    private static final List<Class<? extends Event>> EVENTS = List.of(
+            PasswordHashEvent.class,
+            ServiceCallEvent.class,
+            RepositoryCallEvent.class,
+            LogFlushEvent.class
+    );
+
+    private final ReentrantLock lock = new ReentrantLock(); // not `synchronized`: the dump writes a file while it's held
+    private Recording recording;
+
+    @Override
+    public PublicJfrRecordingDTO start(long durationSeconds) {
+        if (durationSeconds < 1 || durationSeconds > MAX_DURATION_SECONDS) throw new JfrDurationInvalidException();
+
+        lock.lock();
+        try {
+            if (recording != null && recording.getState() == RecordingState.RUNNING) {
+                throw new JfrRecordingAlreadyRunningException();
+            }
+            if (recording != null) recording.close(); // the previous one, already stopped
+
+            recording = new Recording(settings());
+            recording.setName(FILENAME);
+            EVENTS.forEach(event -> recording.enable(event).withoutThreshold());
+            recording.setToDisk(true);
+            recording.setMaxSize(MAX_SIZE_BYTES);
+            recording.setDuration(Duration.ofSeconds(durationSeconds));
+            recording.start();
+            log.info("JFR recording {} started for {} seconds", recording.getId(), durationSeconds);
+
+            return toDTO(recording);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public PublicJfrRecordingDTO stop() {
+        lock.lock();
+        try {
+            if (recording == null) throw new JfrRecordingNotFoundException();
+            if (recording.getState() == RecordingState.RUNNING) recording.stop();
+            log.info("JFR recording {} stopped", recording.getId());
+
+            return toDTO(recording);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Path dump() {
+        lock.lock();
+        try {
+            if (recording == null) throw new JfrRecordingNotFoundException();
+
+            Path file = Files.createTempFile("recording-", ".jfr");
+            try {
+                recording.dump(file);
+            } catch (IOException e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        lock.lock();
+        try {
+            if (recording != null) recording.close();
+            recording = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Configuration settings() {
+        try {
+            return Configuration.getConfiguration(SETTINGS);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JFR settings not found: " + SETTINGS, e);
+        }
+    }
+
+    private static PublicJfrRecordingDTO toDTO(Recording recording) {
+        Duration duration = recording.getDuration();
+        return PublicJfrRecordingDTO.builder()
+                .id(recording.getId())
+                .state(recording.getState().name())
+                .startedAt(recording.getStartTime() == null ? null : Date.from(recording.getStartTime()))
+                .durationSeconds(duration == null ? 0 : duration.toSeconds())
+                .maxSizeBytes(recording.getMaxSize())
+                .sizeBytes(recording.getSize())
+                .build();
+    }
+}
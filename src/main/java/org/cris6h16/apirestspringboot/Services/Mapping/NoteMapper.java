@@ -0,0 +1,38 @@
+package org.cris6h16.apirestspringboot.Services.Mapping;
+
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.cris6h16.apirestspringboot.Entities.NoteEntity;
+
+import java.util.Optional;
+
+/**
+ * Mappings of the notes to the DTOs returned by {@link org.cris6h16.apirestspringboot.Services.NoteServiceImpl}.<br>
+ * It doesn't depend on the service, then it can be measured alone ( module {@code benchmarks} ).
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public final class NoteMapper {
+
+    private NoteMapper() {
+    }
+
+    /**
+     * Create a {@link PublicNoteDTO} from a {@link NoteEntity}, the {@code null} title and content as empty, and
+     * the {@code null} id as {@code -1}
+     *
+     * @param noteEntity to create the {@link PublicNoteDTO}
+     * @return {@link PublicNoteDTO}
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static PublicNoteDTO toPublicNoteDTO(NoteEntity noteEntity) {
+        return PublicNoteDTO.builder()
+                .title(Optional.ofNullable(noteEntity.getTitle()).orElse(""))
+                .content(Optional.ofNullable(noteEntity.getContent()).orElse(""))
+                .id(Optional.ofNullable(noteEntity.getId()).orElse(-1L))
+                .updatedAt(noteEntity.getUpdatedAt())
+                .version(noteEntity.getVersion())
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package org.cris6h16.apirestspringboot.Services.Mapping;
+
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicRoleDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicUserDTO;
+import org.cris6h16.apirestspringboot.Entities.UserEntity;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Mappings of the users to the DTOs returned by {@link org.cris6h16.apirestspringboot.Services.UserServiceImpl}.<br>
+ * It doesn't depend on the service, then it can be measured alone ( module {@code benchmarks} ).
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public final class UserMapper {
+
+    private UserMapper() {
+    }
+
+    /**
+     * Create a {@link PublicUserDTO} from a {@link UserEntity}<br>
+     * - If {@code user == null} return {@code dto} empty.<br>
+     * - If {@code user.roles == null } return {@code dto} with roles empty.<br>
+     *
+     * @param user to create the {@link PublicUserDTO}
+     * @return {@link PublicUserDTO}
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static PublicUserDTO toPublicUserDTO(UserEntity user) {
+        if (user == null) return PublicUserDTO.builder().build();
+
+        boolean rolesNull = (user.getRoles() == null); // roles --> is EAGER
+        Set<PublicRoleDTO> roles = rolesNull ?
+                (new HashSet<>(0)) :
+                (user.getRoles().stream()
+                        .map(role -> new PublicRoleDTO(role.getName()))
+                        .collect(Collectors.toSet()));
+
+        return PublicUserDTO.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .roles(roles)
+                .notes(new HashSet<>(0))
+                .build();
+    }
+}
@@ -1,30 +1,88 @@
 package org.cris6h16.apirestspringboot.Services;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.annotation.Timed;
 import org.cris6h16.apirestspringboot.DTOs.Creation.CreateNoteDTO;
-import org.cris6h16.apirestspringboot.DTOs.Interfaces.Notes.NullAttributesBlanker;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteContentStatDTO;
 import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteExcerptDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteImportResultDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteMultiGetDTO;
 import org.cris6h16.apirestspringboot.Entities.NoteEntity;
 import org.cris6h16.apirestspringboot.Entities.UserEntity;
-import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.InvalidIdException;
-import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.AnyNoteDTOIsNullException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteIdAlreadyExistsException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteIdsInvalidException;
 import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteNotFoundException;
-import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.TitleMaxLengthFailException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteVersionMismatchException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.SearchQueryInvalidException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
 import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.UserService.UserNotFoundException;
+import org.cris6h16.apirestspringboot.Repositories.NoteBatchRepository;
+import org.cris6h16.apirestspringboot.Repositories.NoteContentRepository;
 import org.cris6h16.apirestspringboot.Repositories.NoteRepository;
+import org.cris6h16.apirestspringboot.Repositories.NotesVersionRepository;
 import org.cris6h16.apirestspringboot.Repositories.UserRepository;
+import org.cris6h16.apirestspringboot.Services.BulkLoad.BulkLoader;
 import org.cris6h16.apirestspringboot.Services.Interfaces.NoteService;
+import org.cris6h16.apirestspringboot.Services.Mapping.NoteMapper;
+import org.cris6h16.apirestspringboot.Services.Search.NoteSearchIndex;
+import org.cris6h16.apirestspringboot.Services.Validation.NoteContentLimit;
+import org.cris6h16.apirestspringboot.Services.Validation.NoteValidator;
+import org.cris6h16.apirestspringboot.Services.Validation.PageRequestGovernor;
+import org.cris6h16.apirestspringboot.Utils.BoundedLineReader;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-
-import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Validations.MAX_TITLE_LENGTH;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Admin.BulkLoad.NOTE_SEQUENCE;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Metrics.SERVICE_TIMER;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Content.STREAM_CHUNK_LENGTH;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Content.TOO_LONG_MSG;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Import.CHUNK_SIZE;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Import.INVALID_JSON_MSG;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Import.LINE_TOO_LONG_MSG;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Import.MAX_REPORTED_ERRORS;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.MultiGet.MAX_IDS;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Page.SORTABLE;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Search.MAX_QUERY_LENGTH;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Pages.NOTES;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Pages.NOTES_SEARCH;
 
 /**
  * An implementation of {@link NoteService} interface
@@ -32,14 +90,47 @@ import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Validations.MAX
  * @since 1.0
  */
 @Service
+@Timed(SERVICE_TIMER) // each public method: tags class, method & exception
 public class NoteServiceImpl implements NoteService {
     private final NoteRepository noteRepository;
     private final UserRepository userRepository;
+    private final NoteSearchIndex noteSearchIndex;
+    private final NotesVersionRepository notesVersionRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate chunkTransaction;
+    private final TransactionTemplate contentTransaction;
+    private final PageRequestGovernor pageRequestGovernor;
+    private final NoteContentLimit noteContentLimit;
+    private final NoteContentRepository noteContentRepository;
+    private final NoteBatchRepository noteBatchRepository;
+    private final BulkLoader bulkLoader;
 
     public NoteServiceImpl(NoteRepository noteRepository,
-                           UserRepository userRepository) {
+                           UserRepository userRepository,
+                           NoteSearchIndex noteSearchIndex,
+                           NotesVersionRepository notesVersionRepository,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           PageRequestGovernor pageRequestGovernor,
+                           NoteContentLimit noteContentLimit,
+                           NoteContentRepository noteContentRepository,
+                           NoteBatchRepository noteBatchRepository,
+                           BulkLoader bulkLoader) {
         this.noteRepository = noteRepository;
         this.userRepository = userRepository;
+        this.noteSearchIndex = noteSearchIndex;
+        this.notesVersionRepository = notesVersionRepository;
+        this.objectMapper = noteContentLimit.limit(objectMapper);
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.contentTransaction = new TransactionTemplate(transactionManager);
+        this.contentTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        this.pageRequestGovernor = pageRequestGovernor;
+        this.noteContentLimit = noteContentLimit;
+        this.noteContentRepository = noteContentRepository;
+        this.noteBatchRepository = noteBatchRepository;
+        this.bulkLoader = bulkLoader;
     }
 
     @Override
@@ -56,6 +147,8 @@ public class NoteServiceImpl implements NoteService {
                 .user(user)
                 .build();
         noteEntity = noteRepository.saveAndFlush(noteEntity);
+        noteSearchIndex.index(noteEntity.getId(), userId, dto.getTitle(), dto.getContent());
+        notesVersionRepository.increment(userId);
 
         return noteEntity.getId();
     }
@@ -68,24 +161,191 @@ public class NoteServiceImpl implements NoteService {
         NoteEntity noteEntity = noteRepository.findByIdAndUserId(noteId, userId)
                 .orElseThrow(NoteNotFoundException::new);
 
-        return createPublicNoteDTO(noteEntity);
+        return NoteMapper.toPublicNoteDTO(noteEntity);
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED, rollbackFor = Exception.class)
+    public PublicNoteMultiGetDTO getByIdsAndUserId(Collection<Long> noteIds, Long userId) {
+        if (noteIds == null || noteIds.isEmpty() || noteIds.size() > MAX_IDS) throw new NoteIdsInvalidException();
+        Set<Long> ids = new LinkedHashSet<>(noteIds); // requested order, without repeated ids
+        verifyId(userId);
+        verifyId(ids.toArray(Long[]::new));
+
+        Map<Long, PublicNoteDTO> found = noteRepository.findNotesByUserIdAndIdIn(userId, ids)
+                .stream()
+                .collect(Collectors.toMap(PublicNoteDTO::getId, Function.identity()));
+
+        List<PublicNoteDTO> notes = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>(ids.size() - found.size());
+        for (Long id : ids) {
+            PublicNoteDTO note = found.get(id);
+            if (note != null) notes.add(note);
+            else missing.add(id);
+        }
+
+        return PublicNoteMultiGetDTO.builder()
+                .notes(notes)
+                .missing(missing)
+                .build();
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED, rollbackFor = Exception.class)
+    public Long getVersionByIdAndUserId(Long noteId, Long userId) {
+        verifyId(userId, noteId);
+
+        return noteRepository.findVersionByIdAndUserId(noteId, userId)
+                .orElseThrow(NoteNotFoundException::new);
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED, rollbackFor = Exception.class)
+    public Long getNotesVersionByUserId(Long userId) {
+        verifyId(userId);
+
+        return notesVersionRepository.findByUserId(userId)
+                .orElseThrow(UserNotFoundException::new);
     }
 
     @Override
     @Transactional(isolation = Isolation.READ_COMMITTED, rollbackFor = Exception.class)
     public void putByIdAndUserId(Long noteId, Long userId, CreateNoteDTO dto) {
+        putByIdAndUserId(noteId, userId, dto, null);
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED, rollbackFor = Exception.class)
+    public void putByIdAndUserId(Long noteId, Long userId, CreateNoteDTO dto, Long expectedVersion) {
         prepareAndVerifyDTOAndIds(dto, userId, noteId);
 
-        UserEntity user = getUserById(userId);
+        getUserById(userId); // not found never reached ( is stateless and isn't multi-session)
 
-        NoteEntity noteEntity = noteRepository.findByIdAndUserId(noteId, userId)
-                .orElse(NoteEntity.builder().id(noteId).user(user).build());
+        Optional<NoteEntity> found = noteRepository.findByIdAndUserId(noteId, userId);
+        if (expectedVersion != null && !found.map(n -> expectedVersion.equals(n.getVersion())).orElse(false)) {
+            throw new NoteVersionMismatchException();
+        }
 
+        if (found.isEmpty()) { // created with the id of the client: an insert, never a merge
+            if (noteRepository.existsById(noteId)) throw new NoteIdAlreadyExistsException(); // of another user
+            NoteEntity created = NoteEntity.builder()
+                    .id(noteId)
+                    .title(dto.getTitle())
+                    .content(dto.getContent())
+                    .updatedAt(new Date())
+                    .build();
+            noteBatchRepository.insert(userId, created);
+            noteSearchIndex.index(noteId, userId, dto.getTitle(), dto.getContent());
+            notesVersionRepository.increment(userId);
+            return;
+        }
+
+        NoteEntity noteEntity = found.get();
         noteEntity.setTitle(dto.getTitle());
         noteEntity.setContent(dto.getContent());
         noteEntity.setUpdatedAt(new Date());
 
-        noteRepository.saveAndFlush(noteEntity);
+        try {
+            noteRepository.saveAndFlush(noteEntity); // UPDATE ... WHERE version = ?
+        } catch (OptimisticLockingFailureException e) {
+            throw new NoteVersionMismatchException(); // modified after it was read
+        }
+        noteSearchIndex.index(noteId, userId, dto.getTitle(), dto.getContent());
+        notesVersionRepository.increment(userId);
+    }
+
+    @Override // not transactional: the body is read without a connection, just the write takes one ( contentTransaction )
+    public void putContentByIdAndUserId(Long noteId, Long userId, InputStream content, Long expectedVersion) {
+        if (content == null) throw new IllegalArgumentException("Content can't be null");
+        verifyId(userId, noteId);
+
+        Long version = noteRepository.findVersionByIdAndUserId(noteId, userId) // before the body is read
+                .orElseThrow(expectedVersion == null ? NoteNotFoundException::new : NoteVersionMismatchException::new);
+        if (expectedVersion != null && !version.equals(expectedVersion)) throw new NoteVersionMismatchException();
+
+        try {
+            Path file = Files.createTempFile("note-content-", ".txt");
+            try {
+                Reader reader = noteContentLimit.limit(new InputStreamReader(content, StandardCharsets.UTF_8)); // the body isn't closed here
+                try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    reader.transferTo(writer); // bounded: rejected as soon as it's longer than the max
+                }
+                contentTransaction.executeWithoutResult(status -> updateContent(noteId, userId, file, expectedVersion));
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // e.g. the client disconnected
+        }
+    }
+
+    private void updateContent(Long noteId, Long userId, Path file, Long expectedVersion) {
+        boolean updated;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            updated = noteContentRepository.updateContent(noteId, userId, reader, expectedVersion);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!updated) throw new NoteVersionMismatchException(); // modified or deleted while the body was read
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) { // the content isn't loaded from the database
+            noteSearchIndex.index(noteId, userId, () -> noteRepository.findTitleById(noteId).orElseThrow(NoteNotFoundException::new), reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        notesVersionRepository.increment(userId);
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED, readOnly = true, rollbackFor = Exception.class)
+    public PublicNoteContentStatDTO getContentStatByIdAndUserId(Long noteId, Long userId) {
+        verifyId(userId, noteId);
+
+        return noteContentRepository.findStat(noteId, userId)
+                .map(stat -> new PublicNoteContentStatDTO(stat.version(), stat.bytes()))
+                .orElseThrow(NoteNotFoundException::new);
+    }
+
+    @Override // not transactional: each chunk is a short statement ( of the same version ), a slow client never holds a connection
+    public void writeContentByIdAndUserId(Long noteId, Long userId, long version, long start, long count, OutputStream out) throws IOException {
+        if (out == null) throw new IllegalArgumentException("Output can't be null");
+        if (start < 0 || count < 0) throw new IllegalArgumentException("Invalid range");
+        verifyId(userId, noteId);
+
+        NoteContentRepository.Stat stat = noteContentRepository.findStat(noteId, userId)
+                .filter(s -> s.version() == version)
+                .orElseThrow(NoteVersionMismatchException::new); // modified or deleted after the headers were sent
+        long remaining = Math.min(count, stat.bytes() - start);
+        long from = 1, skip = start;
+        if (stat.bytes() == stat.characters()) { // ASCII: a byte by character, the chunks before the range aren't read
+            from = start + 1;
+            skip = 0;
+        }
+
+        String pending = ""; // a high surrogate at the end of the previous chunk ( H2 counts UTF-16 chars, not code points )
+        while (remaining > 0) {
+            String chunk = noteContentRepository.findChunk(noteId, userId, version, from, STREAM_CHUNK_LENGTH)
+                    .orElseThrow(NoteVersionMismatchException::new); // modified or deleted while it was written
+            if (chunk.isEmpty()) break;
+            from += STREAM_CHUNK_LENGTH; // a chunk which isn't the last has exactly that length in the unit of the database
+
+            String text = pending.isEmpty() ? chunk : pending + chunk;
+            pending = "";
+            if (Character.isHighSurrogate(text.charAt(text.length() - 1))) {
+                pending = text.substring(text.length() - 1);
+                text = text.substring(0, text.length() - 1);
+            }
+
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            if (skip >= bytes.length) { // before the range
+                skip -= bytes.length;
+                continue;
+            }
+            int length = (int) Math.min(bytes.length - skip, remaining);
+            out.write(bytes, (int) skip, length);
+            remaining -= length;
+            skip = 0;
+        }
     }
 
 
@@ -97,29 +357,175 @@ public class NoteServiceImpl implements NoteService {
         if (!noteRepository.existsByIdAndUserId(noteId, userId)) throw new NoteNotFoundException();
 
         noteRepository.deleteByIdAndUserId(noteId, userId);
+        noteSearchIndex.remove(noteId, userId);
+        notesVersionRepository.increment(userId);
+    }
+
+    @Override
+    public PageRequest governPage(Pageable pageable) {
+        return pageRequestGovernor.govern(pageable, NOTES, SORTABLE);
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED, rollbackFor = Exception.class)
+    public Page<PublicNoteDTO> getPage(Pageable served, Long userId) {
+        if (served == null) throw new IllegalArgumentException("Pageable can't be null");
+        verifyId(userId);
+        if (!userRepository.existsById(userId)) throw new UserNotFoundException();
+
+        return noteRepository.findByUserId(userId, served)
+                .map(NoteMapper::toPublicNoteDTO);
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED, rollbackFor = Exception.class)
+    public Page<PublicNoteExcerptDTO> getExcerptPage(Pageable served, Long userId) {
+        if (served == null) throw new IllegalArgumentException("Pageable can't be null");
+        verifyId(userId);
+        if (!userRepository.existsById(userId)) throw new UserNotFoundException();
+
+        if (served.getOffset() == 0) return noteRepository.findExcerptsByUserId(userId, served);
+
+        // deeper pages skip just ids: the database projects the skipped rows too, the excerpt would read each content
+        Page<Long> ids = noteRepository.findIdsByUserId(userId, served);
+        return new PageImpl<>(findExcerptsInOrder(userId, ids.getContent()), served, ids.getTotalElements());
     }
 
     @Override
     @Transactional(isolation = Isolation.READ_COMMITTED, rollbackFor = Exception.class)
-    public Page<PublicNoteDTO> getPage(Pageable pageable, Long userId) {
+    public Page<PublicNoteExcerptDTO> search(String query, Pageable pageable, Long userId) {
         if (pageable == null) throw new IllegalArgumentException("Pageable can't be null");
         verifyId(userId);
+        _verifySearchQuery(query);
+        Pageable pageRequest = pageRequestGovernor.govern(pageable, NOTES_SEARCH, Set.of()); // sorted by rank
         if (!userRepository.existsById(userId)) throw new UserNotFoundException();
+        Page<Long> ranked = noteSearchIndex.search(userId, query.trim(), pageRequest);
+
+        return new PageImpl<>(findExcerptsInOrder(userId, ranked.getContent()), pageRequest, ranked.getTotalElements());
+    }
+
+    /**
+     * @return the excerpts of the notes in the order of {@code ids}, without the ones deleted meanwhile
+     */
+    private List<PublicNoteExcerptDTO> findExcerptsInOrder(Long userId, List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
 
-        Pageable pageRequest = PageRequest.of(
-                pageable.getPageNumber(),
-                pageable.getPageSize(),
-                pageable.getSort()
-        );
+        Map<Long, PublicNoteExcerptDTO> notes = noteRepository.findExcerptsByUserIdAndIdIn(userId, ids)
+                .stream()
+                .collect(Collectors.toMap(PublicNoteExcerptDTO::getId, Function.identity()));
 
-        return noteRepository.findByUserId(userId, pageRequest)
-                .map(this::createPublicNoteDTO);
+        return ids.stream()
+                .map(notes::get)
+                .filter(Objects::nonNull) // deleted after the ids were read
+                .toList();
+    }
+
+    @Override
+    @Transactional(isolation = Isolation.READ_COMMITTED, readOnly = true, rollbackFor = Exception.class)
+    public void exportByUserId(Long userId, Consumer<PublicNoteDTO> consumer) {
+        if (consumer == null) throw new IllegalArgumentException("Consumer can't be null");
+        verifyId(userId);
+        if (!userRepository.existsById(userId)) throw new UserNotFoundException();
+
+        try (Stream<PublicNoteDTO> notes = noteRepository.streamByUserId(userId)) {
+            notes.forEach(consumer);
+        }
+    }
+
+    @Override
+    public PublicNoteImportResultDTO importByUserId(Long userId, InputStream ndjson) {
+        if (ndjson == null) throw new IllegalArgumentException("Input can't be null");
+        verifyId(userId);
+        if (!userRepository.existsById(userId)) throw new UserNotFoundException();
+
+        ObjectReader noteReader = objectMapper.readerFor(CreateNoteDTO.class);
+        List<CreateNoteDTO> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<PublicNoteImportResultDTO.LineError> errors = new ArrayList<>();
+        long imported = 0, failed = 0, lineNumber = 0;
+
+        try (BoundedLineReader reader = new BoundedLineReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8), noteContentLimit.getMaxLineLength())) {
+            while (true) {
+                String line, error = null;
+                try {
+                    line = reader.readLine();
+                } catch (BoundedLineReader.LineTooLongException e) { // skipped, never in memory
+                    line = "";
+                    error = LINE_TOO_LONG_MSG;
+                }
+                if (line == null) break;
+                lineNumber++;
+                if (error == null && line.isBlank()) continue;
+
+                if (error == null) {
+                    try {
+                        CreateNoteDTO dto = noteReader.readValue(line);
+                        prepareAndVerifyDTOAndIds(dto, userId);
+                        chunk.add(dto);
+                    } catch (StreamConstraintsException e) { // a string longer than the content of a note
+                        error = TOO_LONG_MSG.formatted(noteContentLimit.getMaxLength());
+                    } catch (JsonProcessingException e) {
+                        error = INVALID_JSON_MSG;
+                    } catch (ProperExceptionForTheUser e) {
+                        error = e.getReason();
+                    }
+                }
+
+                if (error != null) {
+                    failed++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) errors.add(new PublicNoteImportResultDTO.LineError(lineNumber, error));
+                }
+
+                if (chunk.size() == CHUNK_SIZE) { // the body isn't read ( backpressure ) while the chunk is written
+                    imported += saveChunk(userId, chunk);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // the chunks already written remain
+        }
+        if (!chunk.isEmpty()) imported += saveChunk(userId, chunk);
+
+        return PublicNoteImportResultDTO.builder()
+                .imported(imported)
+                .failed(failed)
+                .errors(errors)
+                .build();
     }
 
     @Override
     @Transactional(isolation = Isolation.SERIALIZABLE, rollbackFor = Exception.class)
     public void deleteAll() {
         noteRepository.deleteAll();
+        noteSearchIndex.clear();
+        notesVersionRepository.incrementAll();
+    }
+
+    /**
+     * Persist a chunk of validated notes in its own transaction, the inserts are sent
+     * in JDBC batches of {@link org.cris6h16.apirestspringboot.Constants.Cons.Note.Import#JDBC_BATCH_SIZE}
+     * ( {@link NoteBatchRepository} ), with the ids reserved from the sequence in one round trip
+     *
+     * @return the number of notes persisted
+     */
+    private int saveChunk(Long userId, List<CreateNoteDTO> chunk) {
+        Integer saved = chunkTransaction.execute(status -> {
+            Iterator<Long> ids = bulkLoader.reserveIds(NOTE_SEQUENCE, chunk.size()).iterator();
+            Date now = new Date();
+            List<NoteEntity> notes = chunk.stream()
+                    .map(dto -> NoteEntity.builder()
+                            .id(ids.next())
+                            .title(dto.getTitle())
+                            .content(dto.getContent())
+                            .updatedAt(now)
+                            .build())
+                    .toList();
+
+            noteBatchRepository.insertAll(userId, notes); // never in the persistence context of the request
+            noteSearchIndex.index(userId, notes);
+            notesVersionRepository.increment(userId);
+            return notes.size();
+        });
+        return saved == null ? 0 : saved;
     }
 
     private UserEntity getUserById(Long userId) {
@@ -128,47 +534,17 @@ public class NoteServiceImpl implements NoteService {
                 .orElseThrow(UserNotFoundException::new);
     }
 
-    private PublicNoteDTO createPublicNoteDTO(NoteEntity noteEntity) {
-        return PublicNoteDTO.builder()
-                .title(Optional.ofNullable(noteEntity.getTitle()).orElse(""))
-                .content(Optional.ofNullable(noteEntity.getContent()).orElse(""))
-                .id(Optional.ofNullable(noteEntity.getId()).orElse(-1L))
-                .updatedAt(noteEntity.getUpdatedAt())
-                .build();
-    }
-
     private void prepareAndVerifyDTOAndIds(CreateNoteDTO dto, Long... ids) {
-        verifyId(ids); // always correct if come from the controller (principal.id injected)
-        _dtoNotNull(dto); // always not-null if come from the controller (required = true)
-        _prepareAttributes(dto);
-
-        _verifyTitle(dto.getTitle());
-        _verifyContent(dto.getContent());
+        NoteValidator.prepareAndVerify(dto, noteContentLimit.getMaxLength(), ids); // ids: always correct if come from the controller (principal.id injected), dto: always not-null (required = true)
     }
 
     private void verifyId(Long... ids) {
-        for (Long id : ids) {
-            if (id == null || id <= 0) {
-                throw new InvalidIdException();
-            }
-        }
+        NoteValidator.verifyIds(ids);
     }
 
-    private void _verifyContent(String content) {
-        // at the moment we don't have any validation for content
-    }
-
-    private void _verifyTitle(String title) {
-        if (title.trim().length() > MAX_TITLE_LENGTH) {
-            throw new TitleMaxLengthFailException();
+    private void _verifySearchQuery(String query) {
+        if (query == null || query.isBlank() || query.length() > MAX_QUERY_LENGTH) {
+            throw new SearchQueryInvalidException();
         }
     }
-
-    private <T> void _dtoNotNull(T dto) {
-        if (dto == null) throw new AnyNoteDTOIsNullException();
-    }
-
-    private <T extends NullAttributesBlanker> void _prepareAttributes(T dto) {
-        dto.toBlankNullAttributes();
-    }
 }
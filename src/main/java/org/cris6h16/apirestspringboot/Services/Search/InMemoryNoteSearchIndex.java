@@ -0,0 +1,139 @@
+package org.cris6h16.apirestspringboot.Services.Search;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Search.CONTENT_WEIGHT;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Search.INDEXED_CONTENT_LENGTH;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Search.TITLE_WEIGHT;
+
+/**
+ * In-process inverted index, used when the database doesn't support full-text search ( {@code H2} ).<br>
+ * It behaves like {@link PostgresNoteSearchIndex} with the {@code simple} configuration: the terms are
+ * lowercase words, a note matches if it contains all the terms of the query, and the rank is the sum of the
+ * frequencies of the terms weighted by {@code TITLE_WEIGHT} and {@code CONTENT_WEIGHT}; just the first
+ * {@code INDEXED_CONTENT_LENGTH} characters of the content are indexed.<br>
+ * The index is volatile, it is filled by the writes done after the start of the application.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class InMemoryNoteSearchIndex implements NoteSearchIndex {
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final Map<Long, UserIndex> indexByUser = new ConcurrentHashMap<>();
+
+    @Override
+    public void index(Long noteId, Long userId, String title, String content) {
+        Map<String, Float> scores = new HashMap<>();
+        for (String term : terms(title)) scores.merge(term, TITLE_WEIGHT, Float::sum);
+        for (String term : terms(indexed(content))) scores.merge(term, CONTENT_WEIGHT, Float::sum);
+
+        indexByUser.computeIfAbsent(userId, id -> new UserIndex()).put(noteId, scores);
+    }
+
+    @Override
+    public void remove(Long noteId, Long userId) {
+        UserIndex userIndex = indexByUser.get(userId);
+        if (userIndex != null) userIndex.remove(noteId);
+    }
+
+    @Override
+    public void clear() {
+        indexByUser.clear();
+    }
+
+    @Override
+    public Page<Long> search(Long userId, String query, Pageable pageable) {
+        UserIndex userIndex = indexByUser.get(userId);
+        Set<String> terms = new LinkedHashSet<>(terms(query));
+        if (userIndex == null || terms.isEmpty()) return new PageImpl<>(List.of(), pageable, 0);
+
+        List<Map.Entry<Long, Float>> ranked = userIndex.match(terms);
+        ranked.sort(Map.Entry.<Long, Float>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        List<Long> ids = ranked.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .map(Map.Entry::getKey)
+                .toList();
+
+        return new PageImpl<>(ids, pageable, ranked.size());
+    }
+
+    /**
+     * Split a text in lowercase terms
+     *
+     * @param text to split, can be null
+     * @return the terms in the same order as the text
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    static List<String> terms(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        return Arrays.stream(SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    private static String indexed(String content) { // UTF-16 chars, PostgreSQL counts code points
+        return (content == null || content.length() <= INDEXED_CONTENT_LENGTH) ? content : content.substring(0, INDEXED_CONTENT_LENGTH);
+    }
+
+    /**
+     * Postings of the notes of a user: {@code term -> (noteId -> score)}, also keeps the
+     * terms of each note to remove them when the note is re-indexed or deleted
+     */
+    private static class UserIndex {
+        private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+        private final Map<Long, Set<String>> termsByNote = new HashMap<>();
+
+        synchronized void put(Long noteId, Map<String, Float> scores) {
+            remove(noteId);
+            scores.forEach((term, score) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(noteId, score));
+            termsByNote.put(noteId, scores.keySet());
+        }
+
+        synchronized void remove(Long noteId) {
+            Set<String> terms = termsByNote.remove(noteId);
+            if (terms == null) return;
+
+            for (String term : terms) {
+                Map<Long, Float> notes = postings.get(term);
+                notes.remove(noteId);
+                if (notes.isEmpty()) postings.remove(term);
+            }
+        }
+
+        /**
+         * @return the notes which contain all the terms, with the sum of the scores
+         */
+        synchronized List<Map.Entry<Long, Float>> match(Set<String> terms) {
+            List<Map<Long, Float>> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Float> notes = postings.get(term);
+                if (notes == null) return new ArrayList<>();
+                lists.add(notes);
+            }
+            lists.sort(Comparator.comparingInt(Map::size)); // intersect from the rarest term
+
+            List<Map.Entry<Long, Float>> matches = new ArrayList<>();
+            candidates:
+            for (Map.Entry<Long, Float> candidate : lists.get(0).entrySet()) {
+                float score = candidate.getValue();
+                for (int i = 1; i < lists.size(); i++) {
+                    Float other = lists.get(i).get(candidate.getKey());
+                    if (other == null) continue candidates;
+                    score += other;
+                }
+                matches.add(Map.entry(candidate.getKey(), score));
+            }
+            return matches;
+        }
+    }
+}
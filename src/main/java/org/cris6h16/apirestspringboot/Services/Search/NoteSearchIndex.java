@@ -0,0 +1,110 @@
+package org.cris6h16.apirestspringboot.Services.Search;
+
+import org.cris6h16.apirestspringboot.Entities.NoteEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Collection;
+import java.util.function.Supplier;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Search.INDEXED_CONTENT_LENGTH;
+
+/**
+ * Full-text index of the notes, scoped by the owner of the notes.<br>
+ * It is maintained on write by {@link org.cris6h16.apirestspringboot.Services.NoteServiceImpl} ( or by the database
+ * itself, {@link PostgresNoteSearchIndex} ),
+ * the implementation is chosen by the database in {@link org.cris6h16.apirestspringboot.Config.Search.NoteSearchConfig}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public interface NoteSearchIndex {
+
+    /**
+     * Index ( or re-index ) a note, called after the note was flushed
+     *
+     * @param noteId  the id of the note
+     * @param userId  the id of the owner
+     * @param title   the title of the note
+     * @param content the content of the note
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    void index(Long noteId, Long userId, String title, String content);
+
+    /**
+     * Re-index a note whose content was written streamed ( never loaded in memory ): just the indexed part of the
+     * content is read ( the first {@code INDEXED_CONTENT_LENGTH} characters ), called after the content was written
+     *
+     * @param noteId  the id of the note
+     * @param userId  the id of the owner
+     * @param title   the title of the note, got just if it's indexed here
+     * @param content the content written, it isn't closed
+     * @throws IOException if the content can't be read
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    default void index(Long noteId, Long userId, Supplier<String> title, Reader content) throws IOException {
+        char[] indexed = new char[INDEXED_CONTENT_LENGTH];
+        int length = 0;
+        for (int n; length < indexed.length && (n = content.read(indexed, length, indexed.length - length)) != -1; ) {
+            length += n;
+        }
+        index(noteId, userId, title.get(), new String(indexed, 0, length));
+    }
+
+    /**
+     * Index several notes of a user, called after the notes were flushed
+     *
+     * @param userId the id of the owner
+     * @param notes  the notes, with their ids
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    default void index(Long userId, Collection<NoteEntity> notes) {
+        notes.forEach(n -> index(n.getId(), userId, n.getTitle(), n.getContent()));
+    }
+
+    /**
+     * Index notes of several users, called after the notes were written ( e.g. by the bulk load )
+     *
+     * @param notes the notes, with their ids and their owners
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    default void indexAll(Collection<NoteEntity> notes) {
+        notes.forEach(n -> index(n.getId(), n.getUser().getId(), n.getTitle(), n.getContent()));
+    }
+
+    /**
+     * Remove a note from the index
+     *
+     * @param noteId the id of the note
+     * @param userId the id of the owner
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    void remove(Long noteId, Long userId);
+
+    /**
+     * Remove all the notes from the index
+     *
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    void clear();
+
+    /**
+     * Search the notes of a user which contain all the terms of the query
+     *
+     * @param userId   the id of the owner
+     * @param query    the text to search, it is split in terms
+     * @param pageable just the page number and the page size are used
+     * @return the ids of the notes found, ordered by rank ( the best first )
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    Page<Long> search(Long userId, String query, Pageable pageable);
+}
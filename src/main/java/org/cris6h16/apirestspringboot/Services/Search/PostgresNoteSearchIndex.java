@@ -0,0 +1,77 @@
+package org.cris6h16.apirestspringboot.Services.Search;
+
+import org.cris6h16.apirestspringboot.Entities.NoteEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.Reader;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Search.TS_CONFIG;
+
+/**
+ * {@link NoteSearchIndex} backed by a {@code tsvector} column of the {@code notes} table
+ * with a {@code GIN} index ( {@code V2__notes_full_text_search.sql} ).<br>
+ * The column is generated by PostgreSQL from the title ( weight {@code A} ) and the content ( weight {@code B} ) in
+ * the same write of the row, then the writes don't index anything here; the results are ranked by {@code ts_rank}.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class PostgresNoteSearchIndex implements NoteSearchIndex {
+    private static final String QUERY = "plainto_tsquery('" + TS_CONFIG + "', ?)";
+    public static final String SEARCH_SQL = "SELECT n.id FROM notes n, " + QUERY + " query " +
+            "WHERE n.user_id = ? AND n.search_vector @@ query " +
+            "ORDER BY ts_rank(n.search_vector, query) DESC, n.id " +
+            "LIMIT ? OFFSET ?";
+    public static final String COUNT_SQL = "SELECT count(*) FROM notes n WHERE n.user_id = ? AND n.search_vector @@ " + QUERY;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PostgresNoteSearchIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void index(Long noteId, Long userId, String title, String content) {
+        // the vector is generated with the row
+    }
+
+    @Override
+    public void index(Long noteId, Long userId, Supplier<String> title, Reader content) {
+        // the vector is generated with the row, neither the title nor the content are read
+    }
+
+    @Override
+    public void index(Long userId, Collection<NoteEntity> notes) {
+        // the vectors are generated with the rows
+    }
+
+    @Override
+    public void indexAll(Collection<NoteEntity> notes) {
+        // the vectors are generated with the rows
+    }
+
+    @Override
+    public void remove(Long noteId, Long userId) {
+        // the vector is removed with the row
+    }
+
+    @Override
+    public void clear() {
+        // the vectors are removed with the rows
+    }
+
+    @Override
+    public Page<Long> search(Long userId, String query, Pageable pageable) {
+        List<Long> ids = jdbcTemplate.queryForList(SEARCH_SQL,
+                Long.class, query, userId, pageable.getPageSize(), pageable.getOffset());
+        Long total = jdbcTemplate.queryForObject(COUNT_SQL, Long.class, userId, query);
+
+        return new PageImpl<>(ids, pageable, total == null ? 0 : total);
+    }
+}
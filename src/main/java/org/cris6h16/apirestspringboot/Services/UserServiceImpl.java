@@ -1,13 +1,14 @@
 package org.cris6h16.apirestspringboot.Services;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
+import org.cris6h16.apirestspringboot.Constants.Cons;
 import org.cris6h16.apirestspringboot.DTOs.Creation.CreateUserDTO;
 import org.cris6h16.apirestspringboot.DTOs.Interfaces.Users.NotNullAttributesToLowerConverter;
 import org.cris6h16.apirestspringboot.DTOs.Interfaces.Users.NotNullAttributesTrimmer;
 import org.cris6h16.apirestspringboot.DTOs.Patch.PatchEmailUserDTO;
 import org.cris6h16.apirestspringboot.DTOs.Patch.PatchPasswordUserDTO;
 import org.cris6h16.apirestspringboot.DTOs.Patch.PatchUsernameUserDTO;
-import org.cris6h16.apirestspringboot.DTOs.Public.PublicRoleDTO;
 import org.cris6h16.apirestspringboot.DTOs.Public.PublicUserDTO;
 import org.cris6h16.apirestspringboot.Entities.ERole;
 import org.cris6h16.apirestspringboot.Entities.RoleEntity;
@@ -17,17 +18,20 @@ import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.UserService.
 import org.cris6h16.apirestspringboot.Repositories.RoleRepository;
 import org.cris6h16.apirestspringboot.Repositories.UserRepository;
 import org.cris6h16.apirestspringboot.Services.Interfaces.UserService;
+import org.cris6h16.apirestspringboot.Services.Mapping.UserMapper;
+import org.cris6h16.apirestspringboot.Services.Validation.PageRequestGovernor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
 
+import static org.cris6h16.apirestspringboot.Constants.Cons.Metrics.SERVICE_TIMER;
 import static org.cris6h16.apirestspringboot.Constants.Cons.User.Validations.*;
 
 
@@ -38,18 +42,22 @@ import static org.cris6h16.apirestspringboot.Constants.Cons.User.Validations.*;
  * @since 1.0
  */
 @Service
+@Timed(SERVICE_TIMER) // each public method: tags class, method & exception
 @Slf4j
 public class UserServiceImpl implements UserService {
     UserRepository userRepository;
     RoleRepository roleRepository;
     PasswordEncoder passwordEncoder;
+    PageRequestGovernor pageRequestGovernor;
 
     public UserServiceImpl(UserRepository userRepository,
                            RoleRepository roleRepository,
-                           PasswordEncoder passwordEncoder) {
+                           PasswordEncoder passwordEncoder,
+                           PageRequestGovernor pageRequestGovernor) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.pageRequestGovernor = pageRequestGovernor;
     }
 
     @Override
@@ -86,7 +94,7 @@ public class UserServiceImpl implements UserService {
                 .password(passwordEncoder.encode(dto.getPassword()))
                 .email(dto.getEmail())
                 .roles(rolesEntities)
-                .createdAt(new Date())
+                .createdAt(LocalDate.now())
                 .build();
         user = userRepository.saveAndFlush(user); // reassigned for testing purposes
 
@@ -105,7 +113,7 @@ public class UserServiceImpl implements UserService {
         if (userO.isEmpty())
             throw new UserNotFoundException(); // if our app is not stateless && is multi-session, we may have that exception
 
-        return createPublicUserDTO(userO.get());
+        return UserMapper.toPublicUserDTO(userO.get());
     }
 
 
@@ -128,15 +136,19 @@ public class UserServiceImpl implements UserService {
     public Page<PublicUserDTO> getPage(Pageable pageable) {
         if (pageable == null) throw new IllegalArgumentException("Pageable can't be null");
 
-        // all elements are verified in the creation of the PageRequest then it is not necessary to verify them again ( IllegalArgumentException )
-        Pageable pag = PageRequest.of(
-                pageable.getPageNumber(),
-                pageable.getPageSize(),
-                pageable.getSort()
-        );
+        Pageable pag = pageRequestGovernor.govern(pageable, Cons.Pages.USERS, Cons.User.Page.SORTABLE);
 
-        return userRepository.findAll(pag)
-                .map(this::createPublicUserDTO);
+        Page<Long> ids = userRepository.findIds(pag); // the roles of all the users in one more query, not one by user
+        if (ids.isEmpty()) return new PageImpl<>(List.of(), pag, ids.getTotalElements());
+
+        Map<Long, UserEntity> users = new HashMap<>();
+        for (UserEntity user : userRepository.findAllWithRolesByIdIn(ids.getContent())) users.put(user.getId(), user);
+        List<PublicUserDTO> content = ids.stream()
+                .map(users::get)
+                .filter(Objects::nonNull) // deleted after the ids were read
+                .map(UserMapper::toPublicUserDTO)
+                .toList();
+        return new PageImpl<>(content, pag, ids.getTotalElements());
     }
 
     @Override
@@ -216,7 +228,7 @@ public class UserServiceImpl implements UserService {
         if (lengthFail) throw new PlainPasswordLengthException();
     }
 
-    private void validateUsername(String username) {
+    static void validateUsername(String username) { // also used by the bulk load
         if (username == null) throw new UsernameLengthException();
 
         boolean isTooShort = username.trim().length() < MIN_USERNAME_LENGTH;
@@ -226,7 +238,7 @@ public class UserServiceImpl implements UserService {
         if (lengthFail) throw new UsernameLengthException();
     }
 
-    private void validateEmail(String email) {
+    static void validateEmail(String email) { // also used by the bulk load
         if (email == null) throw new EmailIsInvalidException();
 
         boolean isTooShort = email.trim().length() < MIN_EMAIL_LENGTH;
@@ -237,37 +249,6 @@ public class UserServiceImpl implements UserService {
         if (emailInvalid) throw new EmailIsInvalidException();
     }
 
-    /**
-     * Create a {@link PublicUserDTO} from a {@link UserEntity}<br>
-     * - If {@code user == null} return {@code dto} empty.<br>
-     * - If {@code user.roles == null } return {@code dto} with roles empty.<br>
-     *
-     * @param user to create the {@link PublicUserDTO}
-     * @return {@link PublicUserDTO}
-     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
-     * @since 1.0
-     */
-    private PublicUserDTO createPublicUserDTO(UserEntity user) {
-        if (user == null) return PublicUserDTO.builder().build();
-
-        boolean rolesNull = (user.getRoles() == null); // roles --> is EAGER
-        Set<PublicRoleDTO> roles = rolesNull ?
-                (new HashSet<>(0)) :
-                (user.getRoles().stream()
-                        .map(role -> new PublicRoleDTO(role.getName()))
-                        .collect(Collectors.toSet()));
-
-        return PublicUserDTO.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .createdAt(user.getCreatedAt())
-                .updatedAt(user.getUpdatedAt())
-                .roles(roles)
-                .notes(new HashSet<>(0))
-                .build();
-    }
-
     private <T> void dtoNotNull(T dto) {
         if (dto == null) throw new AnyUserDTOIsNullException();
     }
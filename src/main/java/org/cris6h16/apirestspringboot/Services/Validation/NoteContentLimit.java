@@ -0,0 +1,109 @@
+package org.cris6h16.apirestspringboot.Services.Validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteContentTooLongException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Content.DEFAULT_MAX_LENGTH;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Content.PROPERTY_PREFIX;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Import.MAX_LINE_OVERHEAD;
+
+/**
+ * Max length of the content of the notes ( {@code notes.content.max-length} ), enforced while the bodies are read:
+ * <ul>
+ *     <li>JSON: the parser of the notes rejects a longer string as soon as it's crossed ( {@link #limit(ObjectMapper)} ),
+ *     the rest of the bodies keep the limits of Jackson</li>
+ *     <li>Streamed content: {@link #limit(Reader)}</li>
+ *     <li>Any other source: {@link NoteValidator#prepareAndVerify(org.cris6h16.apirestspringboot.DTOs.Creation.CreateNoteDTO, int, Long...)}</li>
+ * </ul>
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Component
+public class NoteContentLimit {
+    private final int maxLength;
+
+    public NoteContentLimit(@Value("${" + PROPERTY_PREFIX + ".max-length:" + DEFAULT_MAX_LENGTH + "}") int maxLength) {
+        if (maxLength < 1) throw new IllegalArgumentException("Invalid max length of the content");
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * @return max characters of the content of a note
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * @return max characters of a line of NDJSON with a note ( the import, the bulk load ): its content escaped
+     * ( each character can take two, e.g. {@code \n} ) plus the title and the keys
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public int getMaxLineLength() {
+        return (int) Math.min(Integer.MAX_VALUE - 8, 2L * maxLength + MAX_LINE_OVERHEAD);
+    }
+
+    /**
+     * @param objectMapper configured by Spring Boot
+     * @return a copy whose parser rejects any string longer than the content of a note while it reads it, before the
+     * whole string is in memory ( a title is never that long ); the original keeps its limits
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public ObjectMapper limit(ObjectMapper objectMapper) {
+        ObjectMapper limited = objectMapper.copy();
+        limited.getFactory().setStreamReadConstraints(objectMapper.getFactory().streamReadConstraints().rebuild()
+                .maxStringLength(maxLength)
+                .build());
+        return limited;
+    }
+
+    /**
+     * @param content being read, e.g. the body of a request
+     * @return the same characters, a {@link NoteContentTooLongException} is thrown by the read
+     * which crosses the limit ( nothing is buffered )
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public Reader limit(Reader content) {
+        return new FilterReader(content) {
+            private long read;
+
+            @Override
+            public int read() throws IOException {
+                int c = super.read();
+                if (c != -1) count(1);
+                return c;
+            }
+
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                int n = super.read(buffer, offset, length);
+                if (n > 0) count(n);
+                return n;
+            }
+
+            @Override
+            public long skip(long n) throws IOException {
+                long skipped = super.skip(n);
+                count(skipped);
+                return skipped;
+            }
+
+            private void count(long n) {
+                read += n;
+                if (read > maxLength) throw new NoteContentTooLongException(maxLength);
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package org.cris6h16.apirestspringboot.Services.Validation;
+
+import org.cris6h16.apirestspringboot.DTOs.Creation.CreateNoteDTO;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.InvalidIdException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.AnyNoteDTOIsNullException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteContentTooLongException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.TitleMaxLengthFailException;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Content.DEFAULT_MAX_LENGTH;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Validations.MAX_TITLE_LENGTH;
+
+/**
+ * Validations of the notes, shared by {@link org.cris6h16.apirestspringboot.Services.NoteServiceImpl}
+ * and the reactive notes endpoints ( module {@code reactive} ).<br>
+ * It doesn't depend on the persistence, then it can be used by any stack.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public final class NoteValidator {
+
+    private NoteValidator() {
+    }
+
+    /**
+     * Verify the ids, then blank the {@code null} attributes of the DTO and verify them, the content can have up to
+     * {@link org.cris6h16.apirestspringboot.Constants.Cons.Note.Content#DEFAULT_MAX_LENGTH} characters
+     *
+     * @param dto to create or update a note
+     * @param ids of the principal, the note, etc.
+     * @throws InvalidIdException          if any id is {@code null} or isn't positive
+     * @throws AnyNoteDTOIsNullException   if the DTO is {@code null}
+     * @throws TitleMaxLengthFailException if the title is too long
+     * @throws NoteContentTooLongException if the content is too long
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static void prepareAndVerify(CreateNoteDTO dto, Long... ids) {
+        prepareAndVerify(dto, DEFAULT_MAX_LENGTH, ids);
+    }
+
+    /**
+     * Same as {@link #prepareAndVerify(CreateNoteDTO, Long...)} with the max length of the content configured
+     * ( {@link NoteContentLimit} )
+     *
+     * @param dto              to create or update a note
+     * @param maxContentLength characters of the content
+     * @param ids              of the principal, the note, etc.
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static void prepareAndVerify(CreateNoteDTO dto, int maxContentLength, Long... ids) {
+        verifyIds(ids);
+        if (dto == null) throw new AnyNoteDTOIsNullException();
+        dto.toBlankNullAttributes();
+
+        verifyTitle(dto.getTitle());
+        verifyContent(dto.getContent(), maxContentLength);
+    }
+
+    /**
+     * @param ids to verify
+     * @throws InvalidIdException if any id is {@code null} or isn't positive
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public static void verifyIds(Long... ids) {
+        for (Long id : ids) {
+            if (id == null || id <= 0) {
+                throw new InvalidIdException();
+            }
+        }
+    }
+
+    private static void verifyTitle(String title) {
+        if (title.trim().length() > MAX_TITLE_LENGTH) {
+            throw new TitleMaxLengthFailException();
+        }
+    }
+
+    private static void verifyContent(String content, int maxLength) {
+        if (content != null && content.length() > maxLength) { // the JSON parser already rejects the longer strings, this covers any other source
+            throw new NoteContentTooLongException(maxLength);
+        }
+    }
+}
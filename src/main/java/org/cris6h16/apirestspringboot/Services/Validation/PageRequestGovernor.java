@@ -0,0 +1,104 @@
+package org.cris6h16.apirestspringboot.Services.Validation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.PageSortInvalidException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.PageTooDeepException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.cris6h16.apirestspringboot.Constants.Cons.Metrics.PAGES_CAPPED_COUNTER;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Metrics.PAGES_REJECTED_COUNTER;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Pages.*;
+
+/**
+ * Limits of the pages requested by the clients, before they reach the database:
+ * <ul>
+ *     <li>the sort is allowed just by the fields with an index, else each page sorts all the rows</li>
+ *     <li>a size bigger than {@code pages.max-size} is reduced to it</li>
+ *     <li>a page which skips more than {@code pages.max-offset} rows is rejected, the database reads
+ *     all the skipped rows ( {@code OFFSET} )</li>
+ * </ul>
+ * The rejections are counted in {@code app.pages.rejected} ( tags {@code resource} & {@code reason} ),
+ * the reduced sizes in {@code app.pages.capped}, the counters of each resource of {@link Cons.Pages#RESOURCES}
+ * are registered once.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Component
+public class PageRequestGovernor {
+    private final int maxSize;
+    private final long maxOffset;
+    private final Map<String, Counter> capped = new HashMap<>(); // by resource
+    private final Map<String, Counter> sortRejected = new HashMap<>();
+    private final Map<String, Counter> offsetRejected = new HashMap<>();
+
+    public PageRequestGovernor(@Value("${" + PROPERTY_PREFIX + ".max-size:" + DEFAULT_MAX_SIZE + "}") int maxSize,
+                               @Value("${" + PROPERTY_PREFIX + ".max-offset:" + DEFAULT_MAX_OFFSET + "}") long maxOffset,
+                               MeterRegistry registry) {
+        if (maxSize < 1 || maxOffset < 0) throw new IllegalArgumentException("Invalid page limits");
+        this.maxSize = maxSize;
+        this.maxOffset = maxOffset;
+
+        for (String resource : RESOURCES) {
+            capped.put(resource, Counter.builder(PAGES_CAPPED_COUNTER)
+                    .tag("resource", resource)
+                    .description("Pages requested with a size bigger than the maximum")
+                    .register(registry));
+            sortRejected.put(resource, rejected(registry, resource, "sort"));
+            offsetRejected.put(resource, rejected(registry, resource, "offset"));
+        }
+    }
+
+    /**
+     * @param pageable requested by the client
+     * @param resource paged, tag of the metrics, one of {@link Cons.Pages#RESOURCES}
+     * @param sortable fields which can be used in the sort
+     * @return the same page, with the size reduced if it's too big
+     * @throws PageSortInvalidException if it's sorted by a field out of {@code sortable}
+     * @throws PageTooDeepException     if it skips too many rows
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public PageRequest govern(Pageable pageable, String resource, Set<String> sortable) {
+        if (pageable == null) throw new IllegalArgumentException("Pageable can't be null");
+        if (!RESOURCES.contains(resource)) throw new IllegalArgumentException("Unknown resource: " + resource);
+
+        Sort sort = pageable.getSort();
+        for (Sort.Order order : sort) {
+            if (sortable.contains(order.getProperty())) continue;
+            sortRejected.get(resource).increment();
+            throw new PageSortInvalidException(sortable);
+        }
+
+        int size = pageable.getPageSize();
+        if (size > maxSize) {
+            size = maxSize;
+            capped.get(resource).increment();
+        }
+
+        if ((long) pageable.getPageNumber() * size > maxOffset) {
+            offsetRejected.get(resource).increment();
+            throw new PageTooDeepException(maxOffset);
+        }
+
+        return PageRequest.of(pageable.getPageNumber(), size, sort);
+    }
+
+    private static Counter rejected(MeterRegistry registry, String resource, String reason) {
+        return Counter.builder(PAGES_REJECTED_COUNTER)
+                .tag("resource", resource)
+                .tag("reason", reason)
+                .description("Pages rejected before reaching the database")
+                .register(registry);
+    }
+}
@@ -0,0 +1,94 @@
+package org.cris6h16.apirestspringboot.Utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads the lines of a text ( e.g. NDJSON ) keeping at most {@code maxLineLength} characters in memory, unlike
+ * {@link java.io.BufferedReader#readLine()} which buffers a whole line, however long it is.<br>
+ * A longer line is skipped until its end without keeping it and reported by {@link LineTooLongException}, the next
+ * {@link #readLine()} continues with the following line.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class BoundedLineReader implements Closeable {
+    private final Reader in;
+    private final int maxLineLength;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+
+    /**
+     * @param in            the text, lines ended by {@code \n} or {@code \r\n}
+     * @param maxLineLength max characters of a line, without its end
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public BoundedLineReader(Reader in, int maxLineLength) {
+        if (maxLineLength < 1) throw new IllegalArgumentException("Invalid max line length");
+        this.in = in;
+        this.maxLineLength = maxLineLength;
+    }
+
+    /**
+     * @return the next line without its end, {@code null} at the end of the text
+     * @throws LineTooLongException if the line is longer than {@code maxLineLength}, it was skipped
+     * @throws IOException          if the text couldn't be read
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    public String readLine() throws IOException {
+        StringBuilder line = null;
+        boolean tooLong = false;
+
+        while (true) {
+            if (position == limit) {
+                int n = in.read(buffer, 0, buffer.length);
+                if (n == -1) {
+                    if (line == null && !tooLong) return null;
+                    break; // the last line, without its end
+                }
+                position = 0;
+                limit = n;
+            }
+
+            int start = position;
+            while (position < limit && buffer[position] != '\n') position++;
+            if (!tooLong) {
+                if (line == null) line = new StringBuilder();
+                if (line.length() + (position - start) > maxLineLength + 1) { // + 1: the \r of \r\n
+                    tooLong = true;
+                    line = null; // released, the rest of the line is just skipped
+                } else {
+                    line.append(buffer, start, position - start);
+                }
+            }
+
+            if (position < limit) {
+                position++; // the \n
+                break;
+            }
+        }
+
+        if (tooLong) throw new LineTooLongException();
+        if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') line.setLength(line.length() - 1);
+        if (line.length() > maxLineLength) throw new LineTooLongException();
+        return line.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * A line longer than the max, it was skipped
+     */
+    public static class LineTooLongException extends IOException {
+        public LineTooLongException() {
+            super("Line too long");
+        }
+    }
+}
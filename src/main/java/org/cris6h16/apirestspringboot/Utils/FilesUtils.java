@@ -1,6 +1,7 @@
 package org.cris6h16.apirestspringboot.Utils;
 
 import lombok.extern.slf4j.Slf4j;
+import org.cris6h16.apirestspringboot.Config.Jfr.LogFlushEvent;
 import org.springframework.stereotype.Component;
 
 import java.io.BufferedWriter;
@@ -22,10 +23,12 @@ public class FilesUtils {
     /**
      * Write content in a file ( append ).
      * <p>
-     * you should use this method into a synchronized block properly
-     * locked, because this method due to optimization reasons is not
-     * thread-safe.
+     * you should use this method while a lock is properly held ( a
+     * {@link java.util.concurrent.locks.ReentrantLock}, a {@code synchronized}
+     * block would pin the carrier of a virtual thread ), because this method
+     * due to optimization reasons is not thread-safe.
      * </p>
+     * Each write is a {@link LogFlushEvent} in the recordings of Java Flight Recorder.
      *
      * @param path    The path of the file ( relative to the project root recommended ).
      * @param content The content to append in the file.
@@ -36,6 +39,8 @@ public class FilesUtils {
         if (path == null) throw new IllegalArgumentException("The path can't be null");
         if (content == null) content = "";
 
+        LogFlushEvent event = new LogFlushEvent();
+        event.begin();
         try {
             if (Files.notExists(path.getParent())) Files.createDirectories(path.getParent());
 
@@ -52,6 +57,13 @@ public class FilesUtils {
         } catch (Exception e) {
             log.error("Error writing in file, path: {}, exception: {}", path, e.toString());
             throw new RuntimeException("Error writing in file, path: " + path + ", exception: " + e.toString());
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.path = path.toString();
+                event.characters = content.length();
+                event.commit();
+            }
         }
     }
 }
@@ -0,0 +1,53 @@
+-- Schema of the entities for H2 ( tests ), same as db/migration/postgresql/V1__create_schema.sql
+-- Keep it in sync with the entities, Hibernate validates it at startup ( ddl-auto: validate ).
+
+CREATE SEQUENCE id_note_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE id_role_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE id_user_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE roles
+(
+    id   BIGINT       NOT NULL,
+    name VARCHAR(255) NOT NULL CHECK (name IN ('ROLE_USER', 'ROLE_ADMIN')),
+    CONSTRAINT roles_pkey PRIMARY KEY (id)
+);
+
+CREATE TABLE users
+(
+    id         BIGINT        NOT NULL,
+    username   VARCHAR(20)   NOT NULL CHECK (LENGTH(username) >= 4),
+    password   VARCHAR(1000) NOT NULL CHECK (LENGTH(password) >= 8),
+    email      VARCHAR(255)  NOT NULL CHECK (LENGTH(email) >= 5),
+    created_at DATE          NOT NULL,
+    updated_at DATE,
+    CONSTRAINT users_pkey PRIMARY KEY (id),
+    CONSTRAINT username_unique UNIQUE (username),
+    CONSTRAINT email_unique UNIQUE (email)
+);
+
+-- user_id first: the roles are always loaded by user
+CREATE TABLE users_roles
+(
+    user_id BIGINT NOT NULL,
+    role_id BIGINT NOT NULL,
+    CONSTRAINT users_roles_pkey PRIMARY KEY (user_id, role_id),
+    CONSTRAINT fk_user_id FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_role_id FOREIGN KEY (role_id) REFERENCES roles (id)
+);
+
+CREATE TABLE notes
+(
+    id         BIGINT       NOT NULL,
+    title      VARCHAR(255) NOT NULL,
+    content    TEXT         NOT NULL,
+    updated_at DATE         NOT NULL,
+    user_id    BIGINT,
+    CONSTRAINT notes_pkey PRIMARY KEY (id),
+    CONSTRAINT fk_notes_user_id FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- access paths, all the queries of NoteRepository filter by the owner
+CREATE INDEX idx_notes_user_id_id ON notes (user_id, id);
+CREATE INDEX idx_notes_user_id_updated_at ON notes (user_id, updated_at);
+CREATE INDEX idx_users_roles_role_id ON users_roles (role_id);
+CREATE INDEX idx_roles_name ON roles (name);
@@ -0,0 +1,3 @@
+-- Optimistic locking of the notes ( NoteEntity.version ), exposed as the ETag of a note
+
+ALTER TABLE notes ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
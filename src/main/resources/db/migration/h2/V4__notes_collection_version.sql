@@ -0,0 +1,4 @@
+-- Version of the notes of each user, incremented on every write of its notes ( NotesVersionRepository ),
+-- exposed as the ETag of the pages of notes. In the database to be shared by all the nodes of the application
+
+ALTER TABLE users ADD COLUMN notes_version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,14 @@
+-- Full-text search of the notes ( PostgresNoteSearchIndex ), the vector is computed by PostgreSQL in the same write
+-- of the row ( also for the existing rows ), the application never writes it
+-- title with the weight A, content with the weight B
+-- just the first 100000 characters of the content are indexed ( Cons.Note.Search.INDEXED_CONTENT_LENGTH ): a tsvector
+-- is at most 1 MB and its size grows up to ~6 bytes by character ( short distinct words ), then a note of the max
+-- length ( notes.content.max-length ) is always saved
+
+ALTER TABLE notes
+    ADD COLUMN search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', left(coalesce(content, ''), 100000)), 'B')
+        ) STORED;
+
+CREATE INDEX idx_notes_search_vector ON notes USING GIN (search_vector);
@@ -0,0 +1,193 @@
+package org.cris6h16.apirestspringboot.Config.AsyncCalls;
+
+import org.cris6h16.apirestspringboot.Config.Sql.SqlStatements;
+import org.cris6h16.apirestspringboot.Config.Timing.RequestTimings;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.ServiceBusyException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.ServiceTimeoutException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link ServiceCalls}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class ServiceCallsTest {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ServiceCalls calls;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        if (calls != null) calls.destroy();
+    }
+
+    @Test
+    void supply_inline_ThenReturnedFromTheThreadOfTheRequest() {
+        // Arrange
+        calls = ServiceCalls.inline();
+
+        // Act
+        String result = calls.supply(() -> Thread.currentThread().getName());
+
+        // Assert
+        assertThat(result).isEqualTo(Thread.currentThread().getName());
+        assertThat(calls.isPooled()).isFalse();
+    }
+
+    @Test
+    void supply_inlineCallThrows_ThenThrownBySupply() {
+        // Arrange
+        calls = ServiceCalls.inline();
+
+        // Act & Assert
+        assertThatThrownBy(() -> calls.supply(() -> {
+            throw new NoteNotFoundException();
+        })).isInstanceOf(NoteNotFoundException.class);
+    }
+
+    @Test
+    void submit_pooled_ThenInAThreadOfThePool() throws Exception {
+        // Arrange
+        calls = ServiceCalls.pooled(2, 10, Duration.ofSeconds(5), "notes-db-");
+
+        // Act
+        Object thread = awaitResult(calls.submit(() -> Thread.currentThread().getName()));
+
+        // Assert
+        assertThat(thread).startsWith("notes-db-");
+    }
+
+    @Test
+    void submit_pooled_ThenTheThreadLocalsOfTheRequestInstalledJustAroundTheCall() throws Exception {
+        // Arrange
+        calls = ServiceCalls.pooled(1, 10, Duration.ofSeconds(5), "notes-db-");
+        SqlStatements statements = SqlStatements.begin();
+        RequestTimings timings = RequestTimings.begin();
+
+        // Act
+        try {
+            Object inTheCall = awaitResult(calls.submit(() -> List.<Object>of(SqlStatements.current(), RequestTimings.current())));
+            SqlStatements.end();
+            RequestTimings.end();
+            Object afterTheCall = awaitResult(calls.submit(() -> List.of(SqlStatements.current() == null, RequestTimings.current() == null)));
+
+            // Assert
+            assertThat(inTheCall).isEqualTo(List.of(statements, timings));
+            assertThat(afterTheCall).isEqualTo(List.of(true, true)); // same thread of the pool, outside a request
+        } finally {
+            SqlStatements.end();
+            RequestTimings.end();
+        }
+    }
+
+    @Test
+    void submit_pooledCallThrows_ThenTheResultIsTheSameException() throws Exception {
+        // Arrange
+        calls = ServiceCalls.pooled(2, 10, Duration.ofSeconds(5), "notes-db-");
+
+        // Act
+        Object result = awaitResult(calls.submit(() -> {
+            throw new NoteNotFoundException();
+        }));
+
+        // Assert
+        assertThat(result).isInstanceOf(NoteNotFoundException.class);
+    }
+
+    @Test
+    void submit_slowerThanTheTimeout_ThenServiceTimeoutExceptionAndTheCallInterrupted() throws Exception {
+        // Arrange
+        calls = ServiceCalls.pooled(1, 10, Duration.ofMillis(50), "notes-db-");
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+
+        // Act
+        Object result = awaitResult(calls.submit(() -> {
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.complete(true);
+                throw new IllegalStateException(e);
+            }
+        }));
+
+        // Assert
+        assertThat(result).isInstanceOf(ServiceTimeoutException.class)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(interrupted.get(5, TimeUnit.SECONDS)).isTrue(); // its thread back to the pool
+    }
+
+    @Test
+    void submit_queuedLongerThanTheTimeout_ThenNeverCalled() throws Exception {
+        // Arrange
+        calls = ServiceCalls.pooled(1, 10, Duration.ofMillis(50), "notes-db-");
+        CountDownLatch started = new CountDownLatch(1);
+        calls.submit(() -> {
+            started.countDown();
+            return awaitRelease();
+        }); // the thread
+        assertThat(awaitQuietly(started)).isTrue();
+        CompletableFuture<Boolean> called = new CompletableFuture<>();
+
+        // Act
+        Object result = awaitResult(calls.submit(() -> called.complete(true)));
+        release.countDown(); // the thread is free, the call was removed from the queue
+
+        // Assert
+        assertThat(result).isInstanceOf(ServiceTimeoutException.class);
+        calls.destroy();
+        assertThat(called).isNotDone();
+    }
+
+    @Test
+    void submit_threadsAndQueueBusy_ThenServiceBusyException() {
+        // Arrange
+        calls = ServiceCalls.pooled(1, 1, Duration.ofSeconds(5), "notes-db-");
+        CountDownLatch started = new CountDownLatch(1);
+        calls.submit(() -> {
+            started.countDown();
+            return awaitRelease();
+        }); // the thread
+        assertThat(awaitQuietly(started)).isTrue(); // taken from the queue
+        calls.submit(this::awaitRelease); // the queue
+
+        // Act & Assert
+        assertThatThrownBy(() -> calls.submit(this::awaitRelease))
+                .isInstanceOf(ServiceBusyException.class)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * @return the result or the exception of the call
+     */
+    private static Object awaitResult(DeferredResult<?> result) throws Exception {
+        CompletableFuture<Object> set = new CompletableFuture<>();
+        result.setResultHandler(set::complete);
+        return set.get(5, TimeUnit.SECONDS);
+    }
+
+    private boolean awaitRelease() {
+        return awaitQuietly(release);
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package org.cris6h16.apirestspringboot.Config.Cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Entities.RoleEntity;
+import org.cris6h16.apirestspringboot.Entities.UserEntity;
+import org.cris6h16.apirestspringboot.Repositories.RoleRepository;
+import org.cris6h16.apirestspringboot.Repositories.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test the Hibernate second-level cache configuration ( {@code caffeine.conf} ) for
+ * {@link UserEntity}, {@link RoleEntity} and {@code UserEntity.roles}.<br>
+ * Each repository call is executed in its own transaction ( as it happens in the services ),
+ * otherwise the persistence context would hide the second-level cache.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true") // off by default in prod
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheTest {
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private UserEntity usr;
+
+    /**
+     * Saves a user with {@link ERole#ROLE_USER}, then cleans the cache and the statistics
+     */
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+
+        usr = userRepository.saveAndFlush(UserEntity.builder()
+                .username("cris6h16")
+                .password("12345678")
+                .email("cristianmherrera21@gmail.com")
+                .roles(Set.of(RoleEntity.builder().name(ERole.ROLE_USER).build()))
+                .createdAt(LocalDate.now())
+                .build());
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    /**
+     * The data is committed, then it must be removed for the other tests
+     */
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+    @Test
+    void findById_secondReadIsServedFromTheCache() {
+        // Act
+        userRepository.findById(usr.getId());
+        UserEntity cached = userRepository.findById(usr.getId()).orElseThrow();
+
+        // Assert
+        assertThat(cached.getUsername()).isEqualTo(usr.getUsername());
+        assertThat(cached.getRoles())
+                .extracting(RoleEntity::getName)
+                .containsExactly(ERole.ROLE_USER);
+
+        assertThat(statistics.getCacheRegionStatistics(Cons.CacheRegions.USERS).getMissCount()).isEqualTo(1);
+        assertThat(statistics.getCacheRegionStatistics(Cons.CacheRegions.USERS).getHitCount()).isEqualTo(1);
+        assertThat(statistics.getCacheRegionStatistics(Cons.CacheRegions.USERS_ROLES).getHitCount()).isEqualTo(1);
+        assertThat(SecondLevelCacheMetrics.hitRatio(statistics, Cons.CacheRegions.USERS)).isEqualTo(0.5);
+    }
+
+    @Test
+    void findById_cachedStateIsTheSameAsTheDatabaseState() {
+        // Arrange
+        Long id = userRepository.saveAndFlush(UserEntity.builder()
+                .username("githubcomcris6h16")
+                .password("12345678")
+                .email("hello@example.com")
+                .createdAt(LocalDate.now())
+                .build()).getId();
+
+        // Act
+        UserEntity fromCache = userRepository.findById(id).orElseThrow(); // put in the cache by the insert
+        entityManagerFactory.getCache().evictAll();
+        UserEntity fromDatabase = userRepository.findById(id).orElseThrow();
+
+        // Assert
+        assertThat(statistics.getCacheRegionStatistics(Cons.CacheRegions.USERS).getHitCount()).isEqualTo(1);
+        assertThat(fromCache.getCreatedAt()).isEqualTo(fromDatabase.getCreatedAt());
+    }
+
+    @Test
+    void findByUsername_secondExecutionIsServedFromTheQueryCache() {
+        // Act
+        userRepository.findByUsername(usr.getUsername());
+        userRepository.findByUsername(usr.getUsername());
+
+        // Assert
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateEmailById_bulkUpdateInvalidatesTheCachedUser() {
+        // Arrange
+        String newEmail = "updated@example.com";
+        userRepository.findById(usr.getId());
+        userRepository.findByUsername(usr.getUsername());
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                userRepository.updateEmailById(newEmail, usr.getId())
+        );
+
+        // Assert
+        assertThat(userRepository.findById(usr.getId()).orElseThrow().getEmail()).isEqualTo(newEmail);
+        assertThat(userRepository.findByUsername(usr.getUsername()).orElseThrow().getEmail()).isEqualTo(newEmail);
+        assertThat(statistics.getCacheRegionStatistics(Cons.CacheRegions.USERS).getHitCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+    }
+
+    @Test
+    void updateUsernameById_bulkUpdateInvalidatesTheCachedQueries() {
+        // Arrange
+        String newUsername = "cristianmherrera21";
+        assertThat(userRepository.findByUsername(newUsername)).isEmpty();
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                userRepository.updateUsernameById(newUsername, usr.getId())
+        );
+
+        // Assert
+        assertThat(userRepository.findByUsername(newUsername)).isPresent();
+        assertThat(userRepository.findByUsername(usr.getUsername())).isEmpty();
+    }
+
+    @Test
+    void hitRatio_regionNotRequestedYet_ThenZero() {
+        assertThat(SecondLevelCacheMetrics.hitRatio(statistics, Cons.CacheRegions.ROLES)).isZero();
+    }
+
+    @Test
+    void bindTo_statisticsEnabledOrNot_ThenGaugesOnlyIfEnabled() {
+        // Arrange
+        MeterRegistry enabled = new SimpleMeterRegistry(), disabled = new SimpleMeterRegistry();
+        SecondLevelCacheMetrics metrics = new SecondLevelCacheMetrics(entityManagerFactory);
+
+        // Act
+        metrics.bindTo(enabled);
+        statistics.setStatisticsEnabled(false); // e.g. hibernate.generate_statistics off in prod
+        try {
+            metrics.bindTo(disabled);
+        } finally {
+            statistics.setStatisticsEnabled(true);
+        }
+
+        // Assert
+        assertThat(enabled.find(SecondLevelCacheMetrics.HIT_RATIO_METRIC).gauges()).hasSize(4);
+        assertThat(disabled.find(SecondLevelCacheMetrics.HIT_RATIO_METRIC).gauges()).isEmpty();
+    }
+}
@@ -0,0 +1,153 @@
+package org.cris6h16.apirestspringboot.Config.ConcurrencyLimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Test class for {@link AdaptiveConcurrencyLimit}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class AdaptiveConcurrencyLimitTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(50);
+
+    @Test
+    void tryAcquire_limitReached_ThenRejectedUntilARelease() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 1.5, 0.2);
+
+        // Act & Assert
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        limit.release();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.getInFlight()).isEqualTo(2);
+        assertThat(limit.getRejections()).isEqualTo(1);
+    }
+
+    @Test
+    void onSample_latencyGrowsWhileSaturated_ThenTheLimitShrinksNearTheMin() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 4, 100, 1.5, 0.2);
+        saturated(limit, FAST, 300); // the latency without load
+
+        // Act
+        saturated(limit, SLOW, 50);
+
+        // Assert
+        assertThat(limit.getLimit()).isLessThanOrEqualTo(8); // limit * 0.5 + sqrt(limit): 4, the no-load latency drifts up
+        assertThat(limit.getNoLoadRttNanos()).isLessThan(SLOW / 2);
+    }
+
+    @Test
+    void onSample_stableLatencyWhileSaturated_ThenTheLimitGrowsToTheMax() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 4, 100, 1.5, 0.2);
+
+        // Act
+        saturated(limit, FAST, 500);
+
+        // Assert
+        assertThat(limit.getLimit()).isEqualTo(100);
+    }
+
+    @Test
+    void onSample_databaseRecovers_ThenTheLimitGrowsAgain() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 4, 100, 1.5, 0.2);
+        saturated(limit, FAST, 300);
+        saturated(limit, SLOW, 50);
+        int shrunk = limit.getLimit();
+
+        // Act
+        saturated(limit, FAST, 200);
+
+        // Assert
+        assertThat(limit.getLimit()).isGreaterThan(shrunk * 4);
+    }
+
+    @Test
+    void onSample_fewCallsInProgress_ThenTheLimitDoesNotChange() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 100, 1.5, 0.2);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+            limit.onSample(i < 50 ? FAST : SLOW);
+            limit.release();
+        }
+
+        // Assert
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void onSample_concurrentSamples_ThenNoneIsLost() throws InterruptedException {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 100, 1.5, 0.2);
+        limit.onSample(SLOW);
+        List<Thread> threads = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 1_000; i++) limit.onSample(FAST);
+            }));
+        }
+        for (Thread thread : threads) thread.join();
+
+        // Assert ( 8000 samples of FAST: the long average ( ~600 calls ) reached it, a lost update would leave it higher )
+        assertThat(limit.getNoLoadRttNanos()).isCloseTo(FAST, within(FAST * 0.01));
+        assertThat(limit.getLimit()).isEqualTo(20); // idle: the limit doesn't change
+    }
+
+    @Test
+    void bindTo_ThenTheLimitInFlightRejectionsAndNoLoadLatencyAreExported() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 10, 1.5, 0.2);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        limit.bindTo(registry);
+
+        // Act
+        limit.tryAcquire();
+        limit.tryAcquire();
+        limit.onSample(FAST);
+
+        // Assert
+        assertThat(registry.get("service.concurrency.limit").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("service.concurrency.in.flight").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("service.concurrency.rejections").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("service.concurrency.no.load.latency").timeGauge().value(TimeUnit.NANOSECONDS)).isEqualTo(FAST);
+    }
+
+    @Test
+    void new_invalidLimits_ThenIllegalArgumentException() {
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(2, 3, 10, 1.5, 0.2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(2, 1, 10, 0.5, 0.2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveConcurrencyLimit(2, 1, 10, 1.5, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Calls of {@code rttNanos} with all the limit in progress
+     */
+    private static void saturated(AdaptiveConcurrencyLimit limit, long rttNanos, int calls) {
+        for (int i = 0; i < calls; i++) {
+            int inFlight = 0;
+            while (limit.tryAcquire()) inFlight++;
+            limit.onSample(rttNanos);
+            for (int j = 0; j < inFlight; j++) limit.release();
+        }
+    }
+}
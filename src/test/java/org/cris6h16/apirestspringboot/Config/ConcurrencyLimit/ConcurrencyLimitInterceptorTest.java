@@ -0,0 +1,147 @@
+package org.cris6h16.apirestspringboot.Config.ConcurrencyLimit;
+
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.http.HttpStatus;
+
+import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link ConcurrencyLimitInterceptor}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class ConcurrencyLimitInterceptorTest {
+
+    @Test
+    void invoke_limitReached_ThenServiceOverloadedExceptionWithoutCallingTheService() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 10, 1.5, 0.2);
+        AtomicReference<Integer> calls = new AtomicReference<>(0);
+        Service service = proxy(new Service(() -> calls.set(calls.get() + 1)), limit);
+        limit.tryAcquire(); // another call in progress
+
+        // Act & Assert
+        assertThatThrownBy(service::get)
+                .isInstanceOf(ServiceOverloadedException.class)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.SERVICE_UNAVAILABLE)
+                .hasFieldOrPropertyWithValue("retryAfterSeconds", 2L);
+        assertThat(calls.get()).isZero();
+    }
+
+    @Test
+    void invoke_serviceCalledByAnotherService_ThenAcquiredOnce() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 10, 1.5, 0.2);
+        AtomicReference<Integer> inFlight = new AtomicReference<>();
+        Service inner = proxy(new Service(() -> inFlight.set(limit.getInFlight())), limit);
+        Service outer = proxy(new Service(inner::get), limit);
+
+        // Act
+        outer.get();
+
+        // Assert
+        assertThat(inFlight.get()).isEqualTo(1);
+        assertThat(limit.getInFlight()).isZero();
+        assertThat(limit.getNoLoadRttNanos()).isPositive();
+    }
+
+    @Test
+    void invoke_serviceThrows_ThenReleased() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 10, 1.5, 0.2);
+        Service service = proxy(new Service(() -> {
+            throw new IllegalStateException();
+        }), limit);
+
+        // Act & Assert
+        assertThatThrownBy(service::get).isInstanceOf(IllegalStateException.class);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void invoke_streamOfTheClient_ThenOutOfTheAdaptiveLimitAndNotASample() {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 10, 1.5, 0.2);
+        AtomicReference<Integer> inFlight = new AtomicReference<>();
+        Service service = proxy(new Service(() -> inFlight.set(limit.getInFlight())), limit);
+
+        // Act
+        service.write(OutputStream.nullOutputStream());
+
+        // Assert
+        assertThat(inFlight.get()).isZero(); // a slow client doesn't hold a slot of the services
+        assertThat(limit.getNoLoadRttNanos()).isZero();
+    }
+
+    @Test
+    void invoke_streamingLimitReached_ThenServiceOverloadedExceptionWhileTheOtherCallsAreAdmitted() throws InterruptedException {
+        // Arrange
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1, 10, 1.5, 0.2);
+        CountDownLatch streaming = new CountDownLatch(1), release = new CountDownLatch(1);
+        AtomicBoolean slowClient = new AtomicBoolean(true); // just the first call
+        Service service = proxy(new Service(() -> {
+            if (!slowClient.getAndSet(false)) return;
+            streaming.countDown();
+            awaitQuietly(release);
+        }), limit, 1);
+        Thread transfer = new Thread(() -> service.write(OutputStream.nullOutputStream()));
+        transfer.start();
+        streaming.await();
+
+        // Act & Assert
+        try {
+            assertThatThrownBy(() -> service.write(OutputStream.nullOutputStream()))
+                    .isInstanceOf(ServiceOverloadedException.class);
+            service.get(); // admitted: the slot of the adaptive limit is free
+        } finally {
+            release.countDown();
+            transfer.join();
+        }
+        service.write(OutputStream.nullOutputStream()); // released
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Service proxy(Service target, AdaptiveConcurrencyLimit limit) {
+        return proxy(target, limit, 8);
+    }
+
+    private static Service proxy(Service target, AdaptiveConcurrencyLimit limit, int streamingLimit) {
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvice(new ConcurrencyLimitInterceptor(limit, streamingLimit, 2));
+        return (Service) factory.getProxy();
+    }
+
+    public static class Service {
+        private final Runnable body;
+
+        public Service(Runnable body) {
+            this.body = body;
+        }
+
+        public void get() {
+            body.run();
+        }
+
+        public void write(OutputStream out) {
+            body.run();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.cris6h16.apirestspringboot.Config;
+
+import org.cris6h16.apirestspringboot.DTOs.Creation.CreateUserDTO;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Services.NoteServiceImpl;
+import org.cris6h16.apirestspringboot.Services.UserServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Controller.Path.NOTE_PATH;
+import static org.cris6h16.apirestspringboot.Constants.Cons.User.Controller.Path.USER_PATH;
+
+/**
+ * Integration test for the meters scraped by Prometheus ( {@code /actuator/prometheus} ): endpoints,
+ * services, repositories, password hashes, Hikari & handled exceptions
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false) // the exporters ( Prometheus ) are disabled in the tests by default
+@Tag("IntegrationTest")
+@ActiveProfiles(profiles = "test")
+class MetricsIntegrationTest {
+    private static final String PROMETHEUS_PATH = "/actuator/prometheus";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private NoteServiceImpl noteService;
+
+    private Long adminId;
+
+    @BeforeEach
+    void setUp() {
+        noteService.deleteAll();
+        userService.deleteAll();
+        adminId = userService.create(
+                CreateUserDTO.builder()
+                        .username("cris6h16")
+                        .email("cristianmherrera21@gmail.com")
+                        .password("12345678")
+                        .build(),
+                ERole.ROLE_ADMIN
+        );
+    }
+
+    @Test
+    void prometheus_notAuthenticated_ThenUnauthorized() {
+        assertThat(restTemplate.getForEntity(PROMETHEUS_PATH, String.class).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void prometheus_afterRequests_ThenBoundedMetersOfEachLayer() {
+        // Arrange
+        CreateUserDTO user = CreateUserDTO.builder().username("metrics").email("metrics@example.com").password("12345678").build();
+        assertThat(restTemplate.postForEntity(USER_PATH, user, Void.class).getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(restTemplate.postForEntity(USER_PATH, user, String.class).getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(restTemplate.withBasicAuth("metrics", "12345678").getForEntity(NOTE_PATH, String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+        assertThat(restTemplate.withBasicAuth("cris6h16", "12345678").getForEntity(USER_PATH + "/" + adminId, String.class).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+
+        // Act
+        ResponseEntity<String> scrape = restTemplate.withBasicAuth("cris6h16", "12345678").getForEntity(PROMETHEUS_PATH, String.class);
+
+        // Assert
+        assertThat(scrape.getStatusCode()).isEqualTo(HttpStatus.OK);
+        String metrics = scrape.getBody();
+        assertThat(metrics)
+                // endpoints, by their patterns ( never the ids )
+                .containsPattern("http_server_requests_seconds_bucket\\{.*uri=\"/api/v1/users/\\{id}\"")
+                .containsPattern("http_server_requests_seconds_count\\{.*method=\"POST\".*status=\"409\".*uri=\"/api/v1/users\"")
+                .doesNotContainPattern("http_server_requests_seconds_count\\{.*uri=\"/api/v1/users/" + adminId + "\"")
+                // services ( @Timed )
+                .containsPattern("app_service_seconds_count\\{class=\"[\\w.]+UserServiceImpl\",exception=\"none\",method=\"create\"")
+                .containsPattern("app_service_seconds_count\\{class=\"[\\w.]+UserServiceImpl\",exception=\"UsernameAlreadyExistsException\",method=\"create\"")
+                .containsPattern("app_service_seconds_count\\{class=\"[\\w.]+NoteServiceImpl\",exception=\"none\",method=\"getPage\"")
+                // repositories
+                .containsPattern("spring_data_repository_invocations_seconds_count\\{.*repository=\"UserRepository\"")
+                // password hashes
+                .contains("app_password_seconds_count{operation=\"encode\"")
+                .contains("app_password_seconds_count{operation=\"matches\"")
+                // connection pool
+                .contains("hikaricp_connections_active")
+                // handled exceptions
+                .containsPattern("app_exceptions_handled_total\\{exception=\"UsernameAlreadyExistsException\",status=\"409\",?} 1.0");
+    }
+}
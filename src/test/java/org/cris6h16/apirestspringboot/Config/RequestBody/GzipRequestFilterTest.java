@@ -0,0 +1,184 @@
+package org.cris6h16.apirestspringboot.Config.RequestBody;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.RequestBodyNotGzipException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.RequestBodyTooLargeException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link GzipRequestFilter}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class GzipRequestFilterTest {
+
+    @Test
+    void doFilter_gzipBody_ThenDecompressedWithoutTheHeadersOfTheCompressedBody() throws Exception {
+        // Arrange
+        GzipRequestFilter filter = new GzipRequestFilter(1024);
+        MockHttpServletRequest request = gzipRequest(gzip("{\"title\":\"cris6h16's note\"}"));
+        AtomicReference<String> read = new AtomicReference<>();
+        AtomicReference<HttpServletRequest> passed = new AtomicReference<>();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            passed.set((HttpServletRequest) req);
+            read.set(new String(req.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+        });
+
+        // Assert
+        assertThat(read.get()).isEqualTo("{\"title\":\"cris6h16's note\"}");
+        assertThat(passed.get().getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(passed.get().getContentLengthLong()).isEqualTo(-1);
+        assertThat(Collections.list(passed.get().getHeaderNames()))
+                .doesNotContain(HttpHeaders.CONTENT_ENCODING, HttpHeaders.CONTENT_LENGTH);
+    }
+
+    @Test
+    void doFilter_withoutContentEncoding_ThenTheSameRequest() throws Exception {
+        // Arrange
+        GzipRequestFilter filter = new GzipRequestFilter(1024);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/notes");
+        request.setContent("{}".getBytes(StandardCharsets.UTF_8));
+        AtomicReference<Object> passed = new AtomicReference<>();
+
+        // Act
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> passed.set(req));
+
+        // Assert
+        assertThat(passed.get()).isSameAs(request);
+    }
+
+    @Test
+    void doFilter_inflatesMoreThanTheMax_ThenRequestBodyTooLargeException() throws Exception {
+        // Arrange
+        GzipRequestFilter filter = new GzipRequestFilter(1024);
+        byte[] bomb = gzip("0".repeat(1024 * 1024)); // ~1 KB compressed
+        AtomicReference<Long> readBeforeTheException = new AtomicReference<>(0L);
+
+        // Act & Assert
+        assertThatThrownBy(() -> filter.doFilter(gzipRequest(bomb), new MockHttpServletResponse(), (req, res) -> {
+            byte[] buffer = new byte[256];
+            int n;
+            while ((n = req.getInputStream().read(buffer)) != -1) readBeforeTheException.set(readBeforeTheException.get() + n);
+        }))
+                .isInstanceOf(RequestBodyTooLargeException.class)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(readBeforeTheException.get()).isLessThanOrEqualTo(1024);
+    }
+
+    @Test
+    void doFilter_notGzip_ThenRequestBodyNotGzipException() {
+        // Arrange
+        GzipRequestFilter filter = new GzipRequestFilter(1024);
+        MockHttpServletRequest request = gzipRequest("{\"title\":\"plain\"}".getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> req.getInputStream().readAllBytes()))
+                .isInstanceOf(RequestBodyNotGzipException.class)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void setReadListener_ThenDelegatedToTheCompressedBodyAndReadInflatedOnceArrived() throws Exception {
+        // Arrange
+        NonBlockingInputStream compressed = new NonBlockingInputStream(gzip("{\"title\":\"cris6h16's note\"}"));
+        GzipRequestFilter.InflatingInputStream body = new GzipRequestFilter.InflatingInputStream(compressed, 1024);
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        AtomicReference<Boolean> allRead = new AtomicReference<>(false);
+
+        // Act
+        body.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                byte[] buffer = new byte[8];
+                int n;
+                while (body.isReady() && (n = body.read(buffer)) != -1) read.write(buffer, 0, n);
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+        });
+        boolean readyBeforeTheBody = body.isReady();
+        compressed.listener.onDataAvailable(); // as the container
+        compressed.listener.onAllDataRead();
+
+        // Assert
+        assertThat(readyBeforeTheBody).isFalse();
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo("{\"title\":\"cris6h16's note\"}");
+        assertThat(allRead.get()).isTrue();
+        assertThat(body.isFinished()).isTrue();
+    }
+
+    /**
+     * A body read by a {@link ReadListener}, all its bytes are available
+     */
+    private static class NonBlockingInputStream extends ServletInputStream {
+        private final ByteArrayInputStream bytes;
+        private ReadListener listener;
+
+        NonBlockingInputStream(byte[] bytes) {
+            this.bytes = new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public int read() {
+            return bytes.read();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return bytes.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+            return !isFinished();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            this.listener = readListener;
+        }
+    }
+
+    private static MockHttpServletRequest gzipRequest(byte[] body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/notes");
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        request.setContent(body); // also the Content-Length
+        return request;
+    }
+
+    private static byte[] gzip(String content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+}
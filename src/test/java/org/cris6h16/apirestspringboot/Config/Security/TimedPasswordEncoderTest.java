@@ -0,0 +1,50 @@
+package org.cris6h16.apirestspringboot.Config.Security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Metrics.PASSWORD_TIMER;
+
+/**
+ * Test class for {@link TimedPasswordEncoder}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class TimedPasswordEncoderTest {
+
+    @Test
+    void encodeAndMatches_bound_ThenTimedByOperation() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        TimedPasswordEncoder encoder = new TimedPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+        encoder.bindTo(registry);
+
+        // Act
+        String encoded = encoder.encode("12345678");
+        boolean matches = encoder.matches("12345678", encoded);
+        boolean notMatches = encoder.matches("87654321", encoded);
+
+        // Assert
+        assertThat(encoded).startsWith("{bcrypt}");
+        assertThat(matches).isTrue();
+        assertThat(notMatches).isFalse();
+        assertThat(registry.get(PASSWORD_TIMER).tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(registry.get(PASSWORD_TIMER).tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void encode_notBound_ThenDelegatedWithoutMeters() {
+        // Arrange
+        TimedPasswordEncoder encoder = new TimedPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+
+        // Act
+        String encoded = encoder.encode("12345678");
+
+        // Assert
+        assertThat(encoder.matches("12345678", encoded)).isTrue();
+        assertThat(encoder.upgradeEncoding(encoded)).isFalse();
+    }
+}
@@ -0,0 +1,35 @@
+package org.cris6h16.apirestspringboot.Config.Sql;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Max SQL statements executed by the requests of the test ( {@code TestRestTemplate} or {@code MockMvc} ), by type,
+ * the test fails if any of them is exceeded, e.g.: {@code @QueryBudget(value = "GET /notes/{id}", select = 1)}.<br>
+ * The statements of the arrange & assert phases ( outside the requests ) aren't counted. The context of the test
+ * must record them: {@code @Import(QueryBudgetRecorder.class)}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+    /**
+     * @return the requests of the test, just for the message of the failure
+     */
+    String value() default "";
+
+    int select() default 0;
+
+    int insert() default 0;
+
+    int update() default 0;
+
+    int delete() default 0;
+}
@@ -0,0 +1,75 @@
+package org.cris6h16.apirestspringboot.Config.Sql;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Records the statements of the requests of a test annotated with {@link QueryBudget} ( after its {@code @BeforeEach} )
+ * and fails it if its budget is exceeded
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+    private static final List<String> TYPES = List.of("select", "insert", "update", "delete");
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        if (!QueryBudgetRecorder.isRegistered()) {
+            throw new IllegalStateException("The statements aren't recorded, the test needs: " +
+                    "@Import(QueryBudgetRecorder.class)");
+        }
+        QueryBudgetRecorder.start();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        List<String> statements = QueryBudgetRecorder.stop();
+        if (context.getExecutionException().isPresent()) return; // already failed
+
+        QueryBudget budget = context.getRequiredTestMethod().getAnnotation(QueryBudget.class);
+        Map<String, List<String>> byType = statements.stream()
+                .collect(Collectors.groupingBy(QueryBudgetExtension::type, LinkedHashMap::new, Collectors.toList()));
+
+        List<String> exceeded = new ArrayList<>();
+        for (String type : TYPES) {
+            int executed = byType.getOrDefault(type, List.of()).size();
+            int max = max(budget, type);
+            if (executed > max) exceeded.add(executed + " " + type + " ( budget: " + max + " )");
+        }
+        byType.keySet().stream()
+                .filter(type -> !TYPES.contains(type))
+                .forEach(type -> exceeded.add(byType.get(type).size() + " " + type + " ( budget: 0 )"));
+
+        if (exceeded.isEmpty()) return;
+        throw new AssertionError("Query budget exceeded by " + context.getDisplayName() +
+                (budget.value().isEmpty() ? "" : " [" + budget.value() + "]") + ": " + String.join(", ", exceeded) +
+                "\nstatements:\n  " + statements.stream().map(SqlStatements::shape).collect(Collectors.joining("\n  ")));
+    }
+
+    private static int max(QueryBudget budget, String type) {
+        return switch (type) {
+            case "select" -> budget.select();
+            case "insert" -> budget.insert();
+            case "update" -> budget.update();
+            case "delete" -> budget.delete();
+            default -> 0;
+        };
+    }
+
+    /**
+     * @param sql statement
+     * @return its first word in lower case ( {@code with} is a {@code select} )
+     */
+    static String type(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) end++;
+        String type = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return type.equals("with") ? "select" : type;
+    }
+}
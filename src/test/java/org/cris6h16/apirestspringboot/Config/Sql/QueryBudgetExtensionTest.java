@@ -0,0 +1,117 @@
+package org.cris6h16.apirestspringboot.Config.Sql;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for {@link QueryBudgetExtension} & {@link QueryBudgetRecorder}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class QueryBudgetExtensionTest {
+    private final QueryBudgetExtension extension = new QueryBudgetExtension();
+    private final QueryBudgetRecorder recorder = new QueryBudgetRecorder();
+    private ExtensionContext context;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        Method budgeted = QueryBudgetExtensionTest.class.getDeclaredMethod("budgeted");
+        context = mock(ExtensionContext.class);
+        when(context.getRequiredTestMethod()).thenReturn(budgeted);
+        when(context.getExecutionException()).thenReturn(Optional.empty());
+        when(context.getDisplayName()).thenReturn("budgeted()");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatements.end();
+    }
+
+    @Test
+    void afterTestExecution_withinTheBudget_ThenPasses() {
+        // Arrange
+        extension.beforeTestExecution(context);
+        SqlStatements.begin(); // inside a request
+        recorder.onStatement("select n1_0.id from notes n1_0 where n1_0.id=?", 0);
+        recorder.onStatement("update notes set title=? where id=?", 0);
+
+        // Act & Assert
+        extension.afterTestExecution(context);
+    }
+
+    @Test
+    void afterTestExecution_exceeded_ThenFailsWithTheStatements() {
+        // Arrange
+        extension.beforeTestExecution(context);
+        recorder.onStatement("select 1", 0); // outside the requests ( arrange ), not counted
+        SqlStatements.begin();
+        recorder.onStatement("select n1_0.id from notes n1_0 where n1_0.id=?", 0);
+        recorder.onStatement("\n select r1_0.id from roles r1_0 where r1_0.id=?", 0);
+        recorder.onStatement("delete from notes where id=?", 0);
+
+        // Act & Assert
+        assertThatThrownBy(() -> extension.afterTestExecution(context))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("[GET /notes/{id}]: 2 select ( budget: 1 ), 1 delete ( budget: 0 )")
+                .hasMessageContaining("select r1_0.id from roles r1_0 where r1_0.id=?")
+                .hasMessageNotContaining("select 1");
+    }
+
+    @Test
+    void afterTestExecution_statementsOfTheDataSourceInAnotherThreadOfTheRequest_ThenCounted() throws Exception {
+        // Arrange
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenAnswer(i -> mock(PreparedStatement.class));
+        DataSource dataSource = (DataSource) recorder.postProcessAfterInitialization(target, "dataSource");
+        extension.beforeTestExecution(context);
+        SqlStatements request = SqlStatements.begin();
+        Thread async = new Thread(() -> { // e.g. a streamed response
+            SqlStatements.attach(request);
+            try (Connection con = dataSource.getConnection()) {
+                con.prepareStatement("select n1_0.id from notes n1_0 where n1_0.id=?").executeQuery(); // JdbcTemplate
+                con.prepareStatement("update notes set title=? where id=?").executeUpdate();
+                con.prepareStatement("update notes_version set version=version+1 where user_id=?").executeUpdate();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            } finally {
+                SqlStatements.end();
+            }
+        });
+        async.start();
+        async.join();
+
+        // Act & Assert
+        assertThatThrownBy(() -> extension.afterTestExecution(context))
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("2 update ( budget: 1 )")
+                .hasMessageContaining("update notes_version set version=version+?");
+    }
+
+    @Test
+    void type_withClause_ThenSelect() {
+        assertThat(QueryBudgetExtension.type("WITH ranked AS (select 1) select * from ranked")).isEqualTo("select");
+        assertThat(QueryBudgetExtension.type("  insert into notes values (?)")).isEqualTo("insert");
+    }
+
+    @QueryBudget(value = "GET /notes/{id}", select = 1, update = 1)
+    private void budgeted() {
+    }
+}
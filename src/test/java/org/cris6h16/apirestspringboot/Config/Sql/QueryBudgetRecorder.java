@@ -0,0 +1,53 @@
+package org.cris6h16.apirestspringboot.Config.Sql;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Wraps the {@link DataSource} of the context in a {@link SqlStatementsDataSource} which records the statements
+ * executed inside the requests while a {@link QueryBudget} is open: those of Hibernate and those of
+ * {@code JdbcTemplate}.<br>
+ * A statement is inside a request if the thread which executes it records the {@link SqlStatements} of a request
+ * ( sampled by {@link SqlStatementsFilter}, all of them in the profile {@code test} ), the thread of the server or
+ * the threads which handle it asynchronously ( e.g. a streamed export ). The context of the test must import it:
+ * {@code @Import(QueryBudgetRecorder.class)}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class QueryBudgetRecorder implements BeanPostProcessor {
+    private static volatile boolean registered;
+    private static volatile Queue<String> recording;
+
+    public QueryBudgetRecorder() {
+        registered = true;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return (bean instanceof DataSource dataSource) ? new SqlStatementsDataSource(dataSource, this::onStatement) : bean;
+    }
+
+    void onStatement(String sql, long nanos) {
+        Queue<String> statements = recording;
+        if (statements != null && SqlStatements.current() != null) statements.add(sql);
+    }
+
+    static boolean isRegistered() {
+        return registered;
+    }
+
+    static void start() {
+        recording = new ConcurrentLinkedQueue<>();
+    }
+
+    static List<String> stop() {
+        Queue<String> statements = recording;
+        recording = null;
+        return (statements == null) ? List.of() : List.copyOf(statements);
+    }
+}
@@ -0,0 +1,166 @@
+package org.cris6h16.apirestspringboot.Config.Sql;
+
+import org.cris6h16.apirestspringboot.Config.Timing.RequestTimings;
+import org.cris6h16.apirestspringboot.Config.Timing.RequestTimings.Phase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for {@link SqlStatementsDataSource}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class SqlStatementsDataSourceTest {
+    private Connection connection;
+    private PreparedStatement prepared;
+    private Statement plain;
+    private List<String> executed;
+    private SqlStatementsDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        prepared = mock(PreparedStatement.class);
+        plain = mock(Statement.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(prepared);
+        when(connection.createStatement()).thenReturn(plain);
+        executed = new ArrayList<>();
+        dataSource = new SqlStatementsDataSource(target, (sql, nanos) -> executed.add(sql));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatements.end();
+        RequestTimings.end();
+    }
+
+    @Test
+    void prepareStatement_executedTwiceAndABatch_ThenEachExecutionReported() throws SQLException {
+        // Arrange
+        String sql = "update notes set content=? where id=?";
+
+        // Act
+        try (Connection con = dataSource.getConnection()) {
+            PreparedStatement statement = con.prepareStatement(sql);
+            statement.executeUpdate();
+            statement.executeUpdate();
+            statement.addBatch();
+            statement.addBatch();
+            statement.executeBatch();
+        }
+
+        // Assert
+        assertThat(executed).containsExactly(sql, sql, sql);
+        verify(prepared, times(2)).executeUpdate();
+        verify(prepared).executeBatch();
+        verify(connection).close();
+    }
+
+    @Test
+    void createStatement_ThenTheSqlOfEachExecution() throws SQLException {
+        // Act
+        try (Connection con = dataSource.getConnection()) {
+            Statement statement = con.createStatement();
+            statement.execute("select 1");
+            statement.executeQuery("select 2");
+            statement.setFetchSize(10); // not an execution
+        }
+
+        // Assert
+        assertThat(executed).containsExactly("select 1", "select 2");
+    }
+
+    @Test
+    void execute_fails_ThenItsExceptionAndStillReported() throws SQLException {
+        // Arrange
+        SQLException failure = new SQLException("deadlock", "40P01");
+        when(prepared.executeQuery()).thenThrow(failure);
+
+        // Act & Assert
+        try (Connection con = dataSource.getConnection()) {
+            assertThatThrownBy(() -> con.prepareStatement("select 1").executeQuery()).isSameAs(failure);
+        }
+        assertThat(executed).containsExactly("select 1");
+    }
+
+    @Test
+    void getConnection_ThenEqualJustToItselfAndUnwrapsTheTarget() throws SQLException {
+        // Arrange
+        when(connection.unwrap(Connection.class)).thenReturn(connection);
+
+        // Act
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+
+        // Assert
+        assertThat(first).isEqualTo(first).isNotEqualTo(second).hasSameHashCodeAs(first);
+        assertThat(first.unwrap(Connection.class)).isSameAs(connection);
+    }
+
+    @Test
+    void record_insideARequest_ThenCountedWithItsTime() throws SQLException {
+        // Arrange
+        SqlStatementsDataSource recording = new SqlStatementsDataSource(mock(DataSource.class, i -> connection));
+        SqlStatements statements = SqlStatements.begin();
+
+        // Act
+        try (Connection con = recording.getConnection()) {
+            con.prepareStatement("select n1_0.id from notes n1_0 where n1_0.id=?").executeQuery();
+            con.createStatement().execute("select 1");
+        }
+
+        // Assert
+        assertThat(statements.getCount()).isEqualTo(2);
+        assertThat(statements.getNanos()).isPositive();
+    }
+
+    @Test
+    void record_insideATimedRequest_ThenItsTimeInTheDbPhase() throws SQLException {
+        // Arrange
+        SqlStatementsDataSource recording = new SqlStatementsDataSource(mock(DataSource.class, i -> connection));
+        when(prepared.executeQuery()).thenAnswer(i -> {
+            Thread.sleep(5);
+            return null;
+        });
+        RequestTimings timings = RequestTimings.begin(); // not sampled
+
+        // Act
+        try (Connection con = recording.getConnection()) {
+            con.prepareStatement("select n1_0.id from notes n1_0 where n1_0.id=?").executeQuery(); // Hibernate
+            con.createStatement().execute("select 1"); // JdbcTemplate alike
+        }
+
+        // Assert
+        assertThat(timings.getNanos(Phase.DB)).isGreaterThanOrEqualTo(5_000_000);
+        assertThat(SqlStatements.current()).isNull();
+    }
+
+    @Test
+    void getConnection_outsideASampledOrTimedRequest_ThenTheConnectionOfThePoolItself() throws SQLException {
+        // Arrange
+        SqlStatementsDataSource recording = new SqlStatementsDataSource(mock(DataSource.class, i -> connection));
+
+        // Act
+        Connection con = recording.getConnection();
+
+        // Assert
+        assertThat(con).isSameAs(connection); // no proxies
+    }
+}
@@ -0,0 +1,165 @@
+package org.cris6h16.apirestspringboot.Config.Sql;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Metrics.SQL_REPEATED_COUNTER;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Metrics.SQL_STATEMENTS_SUMMARY;
+import static org.cris6h16.apirestspringboot.Constants.Cons.SqlStatements.COUNT_HEADER;
+import static org.cris6h16.apirestspringboot.Constants.Cons.SqlStatements.TIME_HEADER;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for {@link SqlStatementsFilter}, {@link SqlStatementsCallableInterceptor} & {@link SqlStatements}, the
+ * statements are executed by a {@link SqlStatementsDataSource}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class SqlStatementsFilterTest {
+    private SqlStatementsDataSource dataSource;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        registry = new SimpleMeterRegistry();
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenAnswer(i -> mock(PreparedStatement.class));
+        dataSource = new SqlStatementsDataSource(target);
+    }
+
+    @Test
+    void doFilter_queryByEachElement_ThenHeadersAndRepeatedCounted() throws Exception {
+        // Arrange
+        SqlStatementsFilter filter = new SqlStatementsFilter(1.0, true, 5);
+        filter.bindTo(registry);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain chain = (req, res) -> {
+            execute("select n1_0.id from notes n1_0 where n1_0.user_id=?");
+            for (int i = 1; i <= 6; i++) {
+                execute("select r1_0.id,\n r1_0.name from roles r1_0 where r1_0.id=" + i);
+            }
+        };
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/notes"), response, chain);
+
+        // Assert
+        assertThat(response.getHeader(COUNT_HEADER)).isEqualTo("7");
+        assertThat(response.getHeader(TIME_HEADER)).matches("\\d+\\.\\d{3}");
+        assertThat(registry.get(SQL_STATEMENTS_SUMMARY).summary().totalAmount()).isEqualTo(7);
+        assertThat(registry.get(SQL_REPEATED_COUNTER).counter().count()).isEqualTo(1);
+        assertThat(SqlStatements.current()).isNull();
+    }
+
+    @Test
+    void doFilter_headerDisabled_ThenJustTheMeters() throws Exception {
+        // Arrange
+        SqlStatementsFilter filter = new SqlStatementsFilter(1.0, false, 5);
+        filter.bindTo(registry);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest(), response, (req, res) -> execute("select 1"));
+
+        // Assert
+        assertThat(response.getHeader(COUNT_HEADER)).isNull();
+        assertThat(registry.get(SQL_STATEMENTS_SUMMARY).summary().count()).isEqualTo(1);
+        assertThat(registry.get(SQL_REPEATED_COUNTER).counter().count()).isZero();
+    }
+
+    @Test
+    void doFilter_notSampled_ThenNothingRecorded() throws Exception {
+        // Arrange
+        SqlStatementsFilter filter = new SqlStatementsFilter(0, true, 5);
+        filter.bindTo(registry);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest(), response, (req, res) -> {
+            assertThat(SqlStatements.current()).isNull();
+            execute("select 1");
+        });
+
+        // Assert
+        assertThat(response.getHeader(COUNT_HEADER)).isNull();
+        assertThat(registry.get(SQL_STATEMENTS_SUMMARY).summary().count()).isZero();
+    }
+
+    @Test
+    void repeated_listsOfDifferentLengths_ThenSameShape() {
+        // Arrange
+        SqlStatements statements = SqlStatements.begin();
+        try {
+            execute("delete from notes where id in (?,?)");
+            execute("delete from notes where id in (?, ?, ?)");
+            execute("delete  from notes\nwhere id in (?)");
+            execute("select u1_0.id from users u1_0 where u1_0.username='cris6h16'");
+
+            // Act
+            Map<String, Integer> repeated = statements.repeated(2);
+
+            // Assert
+            assertThat(repeated).containsExactly(Map.entry("delete from notes where id in (?)", 3));
+            assertThat(statements.getCount()).isEqualTo(4);
+        } finally {
+            SqlStatements.end();
+        }
+    }
+
+    @Test
+    void doFilter_asyncRequest_ThenStatementsOfTheAsyncThreadReportedWhenCompleted() throws Exception {
+        // Arrange
+        SqlStatementsFilter filter = new SqlStatementsFilter(1.0, false, 5);
+        filter.bindTo(registry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/notes/export");
+        request.setAsyncSupported(true);
+        SqlStatementsCallableInterceptor interceptor = new SqlStatementsCallableInterceptor();
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            execute("select u1_0.id from users u1_0 where u1_0.username=?"); // authentication
+            req.startAsync();
+        });
+        assertThat(registry.get(SQL_STATEMENTS_SUMMARY).summary().count()).isZero(); // not completed yet
+
+        // Act
+        Thread streaming = new Thread(() -> {
+            ServletWebRequest webRequest = new ServletWebRequest(request);
+            interceptor.preProcess(webRequest, () -> null);
+            execute("select n1_0.id from notes n1_0 where n1_0.user_id=?");
+            execute("select n1_0.id from notes n1_0 where n1_0.user_id=? and n1_0.id>?");
+            interceptor.postProcess(webRequest, () -> null, null);
+            assertThat(SqlStatements.current()).isNull();
+        });
+        streaming.start();
+        streaming.join();
+        request.getAsyncContext().complete();
+
+        // Assert
+        assertThat(registry.get(SQL_STATEMENTS_SUMMARY).summary().count()).isEqualTo(1);
+        assertThat(registry.get(SQL_STATEMENTS_SUMMARY).summary().totalAmount()).isEqualTo(3);
+    }
+
+    private void execute(String sql) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement(sql).execute();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
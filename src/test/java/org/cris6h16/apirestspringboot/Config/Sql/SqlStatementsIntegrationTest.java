@@ -0,0 +1,95 @@
+package org.cris6h16.apirestspringboot.Config.Sql;
+
+import org.cris6h16.apirestspringboot.DTOs.Creation.CreateNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Creation.CreateUserDTO;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Services.NoteServiceImpl;
+import org.cris6h16.apirestspringboot.Services.UserServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Controller.Path.NOTE_PATH;
+import static org.cris6h16.apirestspringboot.Constants.Cons.SqlStatements.COUNT_HEADER;
+import static org.cris6h16.apirestspringboot.Constants.Cons.SqlStatements.TIME_HEADER;
+import static org.cris6h16.apirestspringboot.Constants.Cons.User.Controller.Path.USER_PATH;
+
+/**
+ * Integration test for the headers of the SQL statements ( profile {@code test}: all the requests are sampled )
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Tag("IntegrationTest")
+@ActiveProfiles(profiles = "test")
+class SqlStatementsIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private NoteServiceImpl noteService;
+
+    private Long adminId;
+
+    @BeforeEach
+    void setUp() {
+        noteService.deleteAll();
+        userService.deleteAll();
+        adminId = userService.create(
+                CreateUserDTO.builder()
+                        .username("cris6h16")
+                        .email("cristianmherrera21@gmail.com")
+                        .password("12345678")
+                        .build(),
+                ERole.ROLE_ADMIN
+        );
+    }
+
+    @Test
+    void getUser_authenticated_ThenStatementsOfTheRequestInTheHeaders() {
+        // Act
+        ResponseEntity<String> res = restTemplate.withBasicAuth("cris6h16", "12345678")
+                .getForEntity(USER_PATH + "/" + adminId, String.class);
+
+        // Assert
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(Integer.parseInt(res.getHeaders().getFirst(COUNT_HEADER))).isPositive(); // at least the principal
+        assertThat(Double.parseDouble(res.getHeaders().getFirst(TIME_HEADER))).isGreaterThan(0);
+    }
+
+    @Test
+    void getContent_readByJdbcTemplateWhileStreamed_ThenCountedInTheHeader() {
+        // Arrange
+        Long noteId = noteService.create(CreateNoteDTO.builder().title("title").content("content").build(), adminId);
+
+        // Act
+        ResponseEntity<String> res = restTemplate.withBasicAuth("cris6h16", "12345678")
+                .getForEntity(NOTE_PATH + "/" + noteId + "/content", String.class);
+
+        // Assert
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(Integer.parseInt(res.getHeaders().getFirst(COUNT_HEADER))).isEqualTo(4); // the principal & its roles, then by JDBC the length & the chunk ( async thread )
+    }
+
+    @Test
+    void getUser_notAuthenticated_ThenHeadersAlsoInTheErrors() {
+        // Act
+        ResponseEntity<String> res = restTemplate.getForEntity(USER_PATH + "/" + adminId, String.class);
+
+        // Assert
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(res.getHeaders().getFirst(COUNT_HEADER)).isEqualTo("0");
+    }
+}
@@ -0,0 +1,86 @@
+package org.cris6h16.apirestspringboot.Config.Threads;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Detects the virtual threads pinned to their carrier ( {@code jdk.VirtualThreadPinned} of JFR ),
+ * e.g. a virtual thread which blocks inside a {@code synchronized} block.<br>
+ * Only the pinning with a frame of {@link #PACKAGE} in its stack is collected, the libraries
+ * aren't our business. Registered as an extension ( {@code @RegisterExtension} ) each test
+ * fails if the code of the project pinned a virtual thread while it was executed.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class PinningDetector implements BeforeEachCallback, AfterEachCallback {
+    public static final String PACKAGE = "org.cris6h16.apirestspringboot";
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final boolean failOnPinning;
+    private final List<String> pinnedStacks = new CopyOnWriteArrayList<>();
+    private RecordingStream stream;
+
+    /**
+     * @param failOnPinning if the test must fail when a virtual thread was pinned by the project
+     */
+    public PinningDetector(boolean failOnPinning) {
+        this.failOnPinning = failOnPinning;
+    }
+
+    /**
+     * Start to record the pinning
+     */
+    public void start() {
+        pinnedStacks.clear();
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withStackTrace().withThreshold(Duration.ZERO);
+        stream.onEvent(PINNED_EVENT, this::collect);
+        stream.startAsync();
+    }
+
+    /**
+     * Stop to record, the events recorded until now are consumed before returning
+     *
+     * @return the stacks ( of the project ) of the virtual threads pinned
+     */
+    public List<String> stop() {
+        stream.stop();
+        stream.close();
+        return List.copyOf(pinnedStacks);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        start();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        List<String> pinned = stop();
+        if (failOnPinning && !pinned.isEmpty()) {
+            throw new AssertionError("Virtual threads pinned to their carrier by:\n" + String.join("\n\n", pinned));
+        }
+    }
+
+    private void collect(RecordedEvent event) {
+        if (event.getStackTrace() == null) return;
+
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        boolean byTheProject = frames.stream().anyMatch(f -> f.getMethod().getType().getName().startsWith(PACKAGE));
+        if (!byTheProject) return;
+
+        pinnedStacks.add(frames.stream()
+                .map(f -> f.getMethod().getType().getName() + "." + f.getMethod().getName() + ":" + f.getLineNumber())
+                .collect(Collectors.joining("\n\tat ", "\tat ", "")));
+    }
+}
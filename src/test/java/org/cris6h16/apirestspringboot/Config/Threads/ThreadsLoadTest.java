@@ -0,0 +1,189 @@
+package org.cris6h16.apirestspringboot.Config.Threads;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cris6h16.apirestspringboot.Services.BulkLoadServiceImpl;
+import org.cris6h16.apirestspringboot.Services.NoteServiceImpl;
+import org.cris6h16.apirestspringboot.Services.UserServiceImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.NestedTestConfiguration;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Controller.Path.NOTE_PATH;
+
+/**
+ * Compares the request handling in platform threads ( a bounded pool of Tomcat ), platform threads which hand the
+ * services to a pool sized to the connections ( {@code notes.async.enabled} ) and virtual threads
+ * ( {@code spring.threads.virtual.enabled} ) at high concurrency, all with the same fixed Hikari pool:
+ * the database is the real bound, not the threads.<br>
+ * Executed just by the profile {@code load-tests} ( {@code mvn test -P load-tests} ), the
+ * throughput and the latencies of each mode are logged at the end.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Tag("LoadTest")
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ThreadsLoadTest {
+    private static final int CLIENTS = 1000;
+    private static final int REQUESTS_PER_CLIENT = 5;
+    private static final int NOTES = 50;
+    private static final String POOL_SIZE = "spring.datasource.hikari.maximum-pool-size=10";
+    private static final String TOMCAT_THREADS = "server.tomcat.threads.max=50";
+    private static final String QUIET_LOGS = "logging.level.root=info"; // the test profile logs in debug each request
+
+    private final Map<String, String> results = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    @AfterAll
+    void logComparison() {
+        log.info("Load of GET {} by {} concurrent clients, {} requests each:\n{}", NOTE_PATH, CLIENTS, REQUESTS_PER_CLIENT,
+                results.entrySet().stream()
+                        .map(e -> e.getKey() + ": " + e.getValue())
+                        .collect(Collectors.joining("\n")));
+    }
+
+    @Nested
+    @NestedTestConfiguration(NestedTestConfiguration.EnclosingConfiguration.OVERRIDE)
+    @SpringBootTest(
+            webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {"spring.threads.virtual.enabled=false", POOL_SIZE, TOMCAT_THREADS, QUIET_LOGS, "spring.jpa.show-sql=false"}
+    )
+    @ActiveProfiles(profiles = "test")
+    class PlatformThreads extends Load {
+        @Test
+        void getPage_highConcurrency() throws InterruptedException {
+            results.put("platform threads", run());
+        }
+    }
+
+    @Nested
+    @NestedTestConfiguration(NestedTestConfiguration.EnclosingConfiguration.OVERRIDE)
+    @SpringBootTest(
+            webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {"spring.threads.virtual.enabled=false", "notes.async.enabled=true",
+                    "notes.async.queue-capacity=" + CLIENTS, // every client can wait its turn, none is rejected
+                    POOL_SIZE, TOMCAT_THREADS, QUIET_LOGS, "spring.jpa.show-sql=false"}
+    )
+    @ActiveProfiles(profiles = "test")
+    class PlatformThreadsAsyncCalls extends Load {
+        @Test
+        void getPage_highConcurrency() throws InterruptedException {
+            results.put("platform threads + async calls", run());
+        }
+    }
+
+    @Nested
+    @NestedTestConfiguration(NestedTestConfiguration.EnclosingConfiguration.OVERRIDE)
+    @SpringBootTest(
+            webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = {"spring.threads.virtual.enabled=true", POOL_SIZE, QUIET_LOGS, "spring.jpa.show-sql=false"}
+    )
+    @ActiveProfiles(profiles = "test")
+    class VirtualThreads extends Load {
+        @RegisterExtension
+        PinningDetector pinningDetector = new PinningDetector(false); // the pinning by the libraries is reported, not failed
+
+        @Test
+        void getPage_highConcurrency() throws InterruptedException {
+            String result = run();
+            results.put("virtual threads", result + ", pinned by the project code: " + pinningDetector.stop().size());
+            pinningDetector.start(); // stopped again by the extension
+        }
+    }
+
+    /**
+     * The load, the user is written with the bulk load: its password is hashed with the min cost of BCrypt ( 4 ),
+     * then the authentication of each request doesn't hide the cost of the threads
+     */
+    abstract static class Load {
+        @LocalServerPort
+        private int port;
+        @Autowired
+        private UserServiceImpl userService;
+        @Autowired
+        private NoteServiceImpl noteService;
+        @Autowired
+        private BulkLoadServiceImpl bulkLoadService;
+
+        @BeforeEach
+        void setUp() {
+            noteService.deleteAll();
+            userService.deleteAll();
+
+            String notes = IntStream.range(0, NOTES)
+                    .mapToObj(i -> "{\"title\":\"note " + i + "\",\"content\":\"content of the note " + i + "\"}")
+                    .collect(Collectors.joining(","));
+            String user = "{\"username\":\"cris6h16\",\"email\":\"cristianmherrera21@gmail.com\",\"password\":\"{bcrypt}$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK\",\"notes\":[" + notes + "]}";
+            bulkLoadService.load(new ByteArrayInputStream(user.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        /**
+         * @return the throughput and the latencies
+         */
+        String run() throws InterruptedException {
+            String authorization = "Basic " + Base64.getEncoder().encodeToString("cris6h16:12345678".getBytes(StandardCharsets.UTF_8));
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + NOTE_PATH))
+                    .header("Authorization", authorization)
+                    .GET()
+                    .build();
+            Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+            Queue<Integer> failures = new ConcurrentLinkedQueue<>();
+
+            long start = System.nanoTime();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+                 HttpClient http = HttpClient.newHttpClient()) {
+                for (int c = 0; c < CLIENTS; c++) {
+                    clients.submit(() -> {
+                        for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                            long sent = System.nanoTime();
+                            try {
+                                int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                                if (status != 200) failures.add(status);
+                            } catch (Exception e) {
+                                failures.add(-1);
+                            }
+                            latencies.add(System.nanoTime() - sent);
+                        }
+                    });
+                }
+                clients.shutdown();
+                clients.awaitTermination(10, TimeUnit.MINUTES);
+            }
+            long elapsed = System.nanoTime() - start;
+
+            assertThat(failures).isEmpty();
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            return "%d req/s, p50 %d ms, p99 %d ms, max %d ms".formatted(
+                    Math.round(sorted.length * 1e9 / elapsed),
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), sorted[sorted.length - 1] / 1_000_000);
+        }
+
+        private static long percentile(long[] sorted, double p) {
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1_000_000;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.cris6h16.apirestspringboot.Config.Threads;
+
+import org.cris6h16.apirestspringboot.Config.Security.EventListener.AuthenticationListener;
+import org.cris6h16.apirestspringboot.Controllers.ExceptionHandler.ExceptionHandlerControllers;
+import org.cris6h16.apirestspringboot.Utils.FilesUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The code of the project executed by the requests must not pin the carriers of the virtual
+ * threads ( {@code spring.threads.virtual.enabled} ): the files are written while a lock is held,
+ * then the lock can't be a {@code synchronized} block.<br>
+ * The writes are simulated by a slow {@link FilesUtils}, several virtual threads contend for the lock.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Tag("UnitTest")
+class VirtualThreadsPinningTest {
+    private static final int THREADS = 8;
+
+    @RegisterExtension
+    PinningDetector pinningDetector = new PinningDetector(true);
+
+    private FilesUtils slowFilesUtils;
+
+    @BeforeEach
+    void setUp() {
+        slowFilesUtils = mock(FilesUtils.class);
+        doAnswer(inv -> {
+            Thread.sleep(20); // parks the virtual thread while the lock is held
+            return null;
+        }).when(slowFilesUtils).appendToFile(any(), any());
+    }
+
+    @Test
+    void authenticationListener_flushInFile_ThenNotPinned() {
+        AuthenticationListener listener = new AuthenticationListener(slowFilesUtils);
+        AuthenticationSuccessEvent event = new AuthenticationSuccessEvent(new TestingAuthenticationToken("cris6h16", null));
+
+        inVirtualThreads(() -> listener.onSuccess(event));
+    }
+
+    @Test
+    void exceptionHandlerControllers_saveHiddenException_ThenNotPinned() {
+        ExceptionHandlerControllers handler = new ExceptionHandlerControllers(slowFilesUtils, null);
+
+        inVirtualThreads(() -> handler.handleException(new RuntimeException("cris6h16's")));
+    }
+
+    @Test
+    void pinningDetector_synchronizedBlockParks_ThenDetected() {
+        pinningDetector.stop(); // this test is about the detector
+        Object monitor = new Object();
+
+        pinningDetector.start();
+        inVirtualThreads(() -> {
+            synchronized (monitor) {
+                slowFilesUtils.appendToFile(null, null);
+            }
+        });
+
+        assertThat(pinningDetector.stop())
+                .isNotEmpty()
+                .allMatch(stack -> stack.contains(VirtualThreadsPinningTest.class.getName()));
+        pinningDetector.start(); // stopped again by the extension
+    }
+
+    private static void inVirtualThreads(Runnable task) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < THREADS; i++) executor.submit(task);
+        } // waits for all the tasks
+    }
+}
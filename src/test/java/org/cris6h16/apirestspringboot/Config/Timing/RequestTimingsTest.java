@@ -0,0 +1,75 @@
+package org.cris6h16.apirestspringboot.Config.Timing;
+
+import org.cris6h16.apirestspringboot.Config.Timing.RequestTimings.Phase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link RequestTimings}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class RequestTimingsTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestTimings.end();
+    }
+
+    @Test
+    void stop_nestedPhase_ThenJustTheOuterOneMeasured() throws InterruptedException {
+        // Arrange
+        RequestTimings timings = RequestTimings.begin();
+
+        // Act
+        RequestTimings.start(Phase.SERVICE);
+        RequestTimings.start(Phase.SERVICE); // a service which calls another one
+        Thread.sleep(5);
+        RequestTimings.stop(Phase.SERVICE);
+        long afterInner = timings.getNanos(Phase.SERVICE);
+        Thread.sleep(5);
+        RequestTimings.stop(Phase.SERVICE);
+
+        // Assert
+        assertThat(afterInner).isGreaterThanOrEqualTo(5_000_000); // in progress
+        assertThat(timings.getNanos(Phase.SERVICE)).isGreaterThanOrEqualTo(10_000_000);
+        assertThat(timings.getNanos(Phase.DB)).isZero();
+        assertThat(timings.getTotalNanos()).isGreaterThanOrEqualTo(timings.getNanos(Phase.SERVICE));
+    }
+
+    @Test
+    void begin_nextRequestOfTheThread_ThenSameSlotsReset() throws InterruptedException {
+        // Arrange
+        RequestTimings first = RequestTimings.begin();
+        RequestTimings.start(Phase.DB);
+        Thread.sleep(1);
+        RequestTimings.stop(Phase.DB);
+        RequestTimings.end();
+
+        // Act
+        RequestTimings second = RequestTimings.begin();
+
+        // Assert
+        assertThat(second).isSameAs(first);
+        assertThat(second.getNanos(Phase.DB)).isZero();
+    }
+
+    @Test
+    void start_outsideARequest_ThenIgnored() {
+        // Arrange
+        RequestTimings timings = RequestTimings.begin();
+        RequestTimings.end();
+
+        // Act
+        RequestTimings.start(Phase.WRITE);
+        RequestTimings.stop(Phase.WRITE);
+        RequestTimings.stop(Phase.SECURITY); // never started
+
+        // Assert
+        assertThat(timings.getNanos(Phase.WRITE)).isZero();
+        assertThat(timings.getNanos(Phase.SECURITY)).isZero();
+    }
+}
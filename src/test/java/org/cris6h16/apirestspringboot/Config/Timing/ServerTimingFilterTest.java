@@ -0,0 +1,115 @@
+package org.cris6h16.apirestspringboot.Config.Timing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.cris6h16.apirestspringboot.Config.AsyncCalls.ServiceCalls;
+import org.cris6h16.apirestspringboot.Config.Timing.RequestTimings.Phase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.cris6h16.apirestspringboot.Constants.Cons.ServerTiming.HEADER;
+
+/**
+ * Test class for {@link ServerTimingFilter}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@ExtendWith(OutputCaptureExtension.class)
+public class ServerTimingFilterTest {
+
+    @Test
+    void doFilter_headerEnabled_ThenEachPhaseInTheHeader(CapturedOutput output) throws Exception {
+        // Arrange
+        ServerTimingFilter filter = new ServerTimingFilter(true, Long.MAX_VALUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/notes"), response, (req, res) -> {
+            RequestTimings.stop(Phase.SECURITY);
+            RequestTimings.start(Phase.SERVICE);
+            RequestTimings.start(Phase.DB);
+            RequestTimings.stop(Phase.DB);
+            RequestTimings.stop(Phase.SERVICE);
+            res.getWriter().write("{}");
+            res.flushBuffer(); // committed
+        });
+
+        // Assert
+        assertThat(response.getHeader(HEADER))
+                .matches("security;dur=\\d+\\.\\d, service;dur=\\d+\\.\\d, db;dur=\\d+\\.\\d, write;dur=0\\.0, total;dur=\\d+\\.\\d");
+        assertThat(output).doesNotContain("total_ms=");
+    }
+
+    @Test
+    void doFilter_slowRequest_ThenStructuredLog(CapturedOutput output) throws Exception {
+        // Arrange
+        ServerTimingFilter filter = new ServerTimingFilter(false, 0);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/api/v1/notes/1"), response, (req, res) -> {
+            RequestTimings.stop(Phase.SECURITY);
+            ((MockHttpServletResponse) res).setStatus(204);
+        });
+
+        // Assert
+        assertThat(response.getHeader(HEADER)).isNull();
+        assertThat(output).containsPattern("slow-requests.* method=DELETE uri=/api/v1/notes/1 status=204 total_ms=\\d+\\.\\d " +
+                "security_ms=\\d+\\.\\d service_ms=0\\.0 db_ms=0\\.0 write_ms=0\\.0");
+    }
+
+    @Test
+    void doFilter_asyncRequestWithAPooledServiceCall_ThenItsPhasesLoggedWhenCompleted(CapturedOutput output) throws Exception {
+        // Arrange
+        ServerTimingFilter filter = new ServerTimingFilter(false, 0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/notes");
+        request.setAsyncSupported(true);
+        ServiceCalls calls = ServiceCalls.pooled(1, 1, Duration.ofSeconds(5), "notes-db-");
+        WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
+
+        // Act
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+                RequestTimings.stop(Phase.SECURITY);
+                asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest((HttpServletRequest) req, (HttpServletResponse) res)); // as Spring MVC
+                RequestContextHolder.setRequestAttributes(new ServletRequestAttributes((HttpServletRequest) req));
+                try {
+                    calls.supply(() -> {
+                        RequestTimings.start(Phase.SERVICE);
+                        LockSupport.parkNanos(Duration.ofMillis(20).toNanos());
+                        RequestTimings.stop(Phase.SERVICE);
+                        return "ok";
+                    });
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                }
+            });
+            assertThat(request.isAsyncStarted()).isTrue();
+            assertThat(RequestTimings.current()).isNull(); // handed over to the request
+            assertThat(output).doesNotContain("total_ms="); // not completed yet
+            for (int i = 0; i < 500 && !asyncManager.hasConcurrentResult(); i++) LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+            assertThat(asyncManager.getConcurrentResult()).isEqualTo("ok");
+            request.getAsyncContext().complete();
+        } finally {
+            calls.destroy();
+        }
+
+        // Assert
+        assertThat(output).containsPattern("slow-requests.* method=GET uri=/api/v1/notes status=200 total_ms=\\d+\\.\\d " +
+                "security_ms=\\d+\\.\\d service_ms=[1-9]\\d*\\.\\d db_ms=0\\.0 write_ms=0\\.0");
+    }
+}
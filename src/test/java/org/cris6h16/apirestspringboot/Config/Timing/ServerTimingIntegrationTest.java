@@ -0,0 +1,78 @@
+package org.cris6h16.apirestspringboot.Config.Timing;
+
+import org.cris6h16.apirestspringboot.DTOs.Creation.CreateUserDTO;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Services.NoteServiceImpl;
+import org.cris6h16.apirestspringboot.Services.UserServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.cris6h16.apirestspringboot.Constants.Cons.ServerTiming.HEADER;
+import static org.cris6h16.apirestspringboot.Constants.Cons.User.Controller.Path.USER_PATH;
+
+/**
+ * Integration test for the header {@code Server-Timing} ( profile {@code test} )
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Tag("IntegrationTest")
+@ActiveProfiles(profiles = "test")
+class ServerTimingIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private NoteServiceImpl noteService;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        noteService.deleteAll();
+        userService.deleteAll();
+        id = userService.create(
+                CreateUserDTO.builder()
+                        .username("cris6h16")
+                        .email("cristianmherrera21@gmail.com")
+                        .password("12345678")
+                        .build(),
+                ERole.ROLE_USER
+        );
+    }
+
+    @Test
+    void getUser_authenticated_ThenTheTimeOfEachPhase() {
+        // Act
+        ResponseEntity<String> res = restTemplate.withBasicAuth("cris6h16", "12345678")
+                .getForEntity(USER_PATH + "/" + id, String.class);
+
+        // Assert
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Map<String, Double> phases = Arrays.stream(res.getHeaders().getFirst(HEADER).split(", "))
+                .map(metric -> metric.split(";dur="))
+                .collect(Collectors.toMap(metric -> metric[0], metric -> Double.parseDouble(metric[1])));
+        assertThat(phases).containsOnlyKeys("security", "service", "db", "write", "total");
+        assertThat(phases.get("security")).isPositive(); // BCrypt
+        assertThat(phases.get("service")).isPositive();
+        assertThat(phases.get("db")).isPositive();
+        assertThat(phases.get("total")).isGreaterThanOrEqualTo(phases.get("security") + phases.get("service"));
+    }
+}
@@ -0,0 +1,127 @@
+package org.cris6h16.apirestspringboot.Controllers;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.DTOs.Creation.CreateUserDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicBulkLoadResultDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteExcerptDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteImportResultDTO;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Repositories.UserRepository;
+import org.cris6h16.apirestspringboot.Services.BulkLoad.BulkLoader;
+import org.cris6h16.apirestspringboot.Services.BulkLoad.PostgresCopyBulkLoader;
+import org.cris6h16.apirestspringboot.Services.NoteServiceImpl;
+import org.cris6h16.apirestspringboot.Services.UserServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Controller.Path.NOTE_PATH;
+
+/**
+ * Integration test for {@link BulkLoadController}, the rows are written with {@code COPY}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Tag("IntegrationTest")
+@ActiveProfiles(profiles = "test")
+class BulkLoadControllerIntegrationTest {
+    private static final String NDJSON = """
+            {"username":"loaded","email":"loaded@example.com","password":"{bcrypt}$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK","notes":[{"title":"bulk \\"loaded\\", note","content":"written with copy"}]}
+            {"username":"loadedadmin","email":"loadedadmin@example.com","password":"{bcrypt}$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK","roles":["ROLE_ADMIN"]}
+            not a user
+            """;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private NoteServiceImpl noteService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BulkLoader bulkLoader;
+
+    @BeforeEach
+    void setUp() {
+        noteService.deleteAll();
+        userService.deleteAll();
+        userService.create(
+                CreateUserDTO.builder()
+                        .username("cris6h16")
+                        .email("cristianmherrera21@gmail.com")
+                        .password("12345678")
+                        .build(),
+                ERole.ROLE_ADMIN
+        );
+    }
+
+    @Test
+    void load_successful_ThenCopiedAndUsable() {
+        // Act
+        ResponseEntity<PublicBulkLoadResultDTO> response = load();
+
+        // Assert
+        assertThat(bulkLoader).isInstanceOf(PostgresCopyBulkLoader.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getUsers()).isEqualTo(2);
+        assertThat(response.getBody().getRoles()).isEqualTo(2);
+        assertThat(response.getBody().getNotes()).isEqualTo(1);
+        assertThat(response.getBody().getErrors())
+                .containsExactly(new PublicNoteImportResultDTO.LineError(3, Cons.Admin.BulkLoad.INVALID_JSON_MSG));
+
+        Long loadedId = userRepository.findByUsername("loaded").orElseThrow().getId();
+        ResponseEntity<String> notes = this.restTemplate
+                .withBasicAuth("loaded", "12345678") // the loaded user can authenticate
+                .getForEntity(NOTE_PATH, String.class);
+        assertThat(notes.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(notes.getBody()).contains("written with copy");
+        assertThat(noteService.search("copy", PageRequest.of(0, 10), loadedId).getContent())
+                .extracting(PublicNoteExcerptDTO::getTitle)
+                .containsExactly("bulk \"loaded\", note"); // the search vector is written with the rows
+    }
+
+    @Test
+    void load_usersAlreadyExist_ThenRejected() {
+        // Arrange
+        load();
+
+        // Act
+        ResponseEntity<PublicBulkLoadResultDTO> response = load();
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getUsers()).isZero();
+        assertThat(response.getBody().getErrors()).containsExactlyInAnyOrder(
+                new PublicNoteImportResultDTO.LineError(1, Cons.User.Constrains.USERNAME_UNIQUE_MSG),
+                new PublicNoteImportResultDTO.LineError(2, Cons.User.Constrains.USERNAME_UNIQUE_MSG),
+                new PublicNoteImportResultDTO.LineError(3, Cons.Admin.BulkLoad.INVALID_JSON_MSG)
+        );
+    }
+
+    private ResponseEntity<PublicBulkLoadResultDTO> load() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        return this.restTemplate
+                .withBasicAuth("cris6h16", "12345678")
+                .exchange(Cons.Admin.BulkLoad.PATH, HttpMethod.POST, new HttpEntity<>(NDJSON, headers), PublicBulkLoadResultDTO.class);
+    }
+}
@@ -0,0 +1,114 @@
+package org.cris6h16.apirestspringboot.Controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Controllers.CustomClasses.WithMockUserWithId;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicBulkLoadResultDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteImportResultDTO;
+import org.cris6h16.apirestspringboot.Services.BulkLoadServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for {@link BulkLoadController}
+ * tested also the security configuration for the bulk load endpoint ( only for admins )
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Tag("UnitTest") // @WebMvcTest doesn't work with spring security custom configuration
+class BulkLoadControllerTest {
+    private static final String NDJSON = "{\"username\":\"cris6h16\",\"email\":\"cristianmherrera21@gmail.com\",\"password\":\"{bcrypt}$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK\"}\n";
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private BulkLoadServiceImpl bulkLoadService;
+
+    private static String path = Cons.Admin.BulkLoad.PATH;
+
+
+    @BeforeEach
+    void setUp() {
+        reset(bulkLoadService);
+    }
+
+    @Test
+    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    void load_successful_Then200_OkWithTheResult() throws Exception {
+        // Arrange
+        PublicBulkLoadResultDTO result = PublicBulkLoadResultDTO.builder()
+                .users(1)
+                .roles(1)
+                .failed(1)
+                .errors(List.of(new PublicNoteImportResultDTO.LineError(2, Cons.Admin.BulkLoad.INVALID_JSON_MSG)))
+                .elapsedMillis(10)
+                .rowsPerSecond(200)
+                .build();
+        String[] body = new String[1];
+        when(bulkLoadService.load(any(InputStream.class))).thenAnswer(inv -> {
+            body[0] = new String(inv.getArgument(0, InputStream.class).readAllBytes(), StandardCharsets.UTF_8);
+            return result;
+        });
+
+        // Act
+        String res = this.mvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        // Assert
+        assertThat(objectMapper.readValue(res, PublicBulkLoadResultDTO.class)).isEqualTo(result);
+        assertThat(body[0]).isEqualTo(NDJSON);
+    }
+
+    @Test
+    void load_isNotAuthenticated_Then401_UNAUTHORIZED() throws Exception {
+        this.mvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(NDJSON))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().bytes(new byte[0]));
+        verify(bulkLoadService, never()).load(any());
+    }
+
+    @Test
+    @WithMockUserWithId
+    void load_isNotAnAdmin_Then403_FORBIDDEN() throws Exception {
+        this.mvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(NDJSON))
+                .andExpect(status().isForbidden())
+                .andExpect(content().bytes(new byte[0]));
+        verify(bulkLoadService, never()).load(any());
+    }
+}
@@ -4,6 +4,7 @@ import org.assertj.core.api.Assertions;
 import org.cris6h16.apirestspringboot.Config.Security.CustomUser.UserWithId;
 import org.cris6h16.apirestspringboot.Constants.Cons;
 import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.ServiceOverloadedException;
 import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
 import org.cris6h16.apirestspringboot.Utils.FilesUtils;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,7 +14,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -70,6 +73,16 @@ class ExceptionHandlerControllersTest {
         assertThat(res.getBody()).contains("\"message\":\"My custom message in the exception 123\"");
     }
 
+    @Test
+    void handleServiceOverloaded_Then503WithRetryAfter() {
+        ResponseEntity<String> res = this.exceptionHandlerControllers.handleServiceOverloaded(new ServiceOverloadedException(3));
+
+        assertThat(res.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(res.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("3");
+        assertThat(res.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(res.getBody()).contains("\"message\":\"" + Cons.ConcurrencyLimit.OVERLOADED_MSG + "\"");
+    }
+
     @Test
     void handleException_Then403() throws Exception {
         NullPointerException e = mock(NullPointerException.class);
@@ -0,0 +1,171 @@
+package org.cris6h16.apirestspringboot.Controllers;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.DTOs.Creation.CreateUserDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicJfrRecordingDTO;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Services.JfrRecordingServiceImpl;
+import org.cris6h16.apirestspringboot.Services.NoteServiceImpl;
+import org.cris6h16.apirestspringboot.Services.UserServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Controller.Path.NOTE_PATH;
+
+/**
+ * Integration test for {@link JfrController}, a recording is started, some requests are done and
+ * the events of the application are read from the downloaded file
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Tag("IntegrationTest")
+@ActiveProfiles(profiles = "test")
+class JfrControllerIntegrationTest {
+    private static final String EVENTS_PREFIX = "org.cris6h16.apirestspringboot.";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private NoteServiceImpl noteService;
+
+    @Autowired
+    private JfrRecordingServiceImpl jfrRecordingService;
+
+    @BeforeEach
+    void setUp() {
+        noteService.deleteAll();
+        userService.deleteAll();
+        userService.create(
+                CreateUserDTO.builder()
+                        .username("cris6h16")
+                        .email("cristianmherrera21@gmail.com")
+                        .password("12345678")
+                        .build(),
+                ERole.ROLE_ADMIN
+        );
+        userService.create(
+                CreateUserDTO.builder()
+                        .username("notadmin")
+                        .email("notadmin@example.com")
+                        .password("12345678")
+                        .build(),
+                ERole.ROLE_USER
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        jfrRecordingService.destroy(); // the next tests start without recording
+    }
+
+    @Test
+    void startStopDownload_ThenEventsOfTheApplicationRecorded() throws Exception {
+        // Act
+        ResponseEntity<PublicJfrRecordingDTO> started = admin()
+                .postForEntity(Cons.Admin.Jfr.PATH + Cons.Admin.Jfr.START_PATH + "?durationSeconds=30", null, PublicJfrRecordingDTO.class);
+        ResponseEntity<String> notes = this.restTemplate
+                .withBasicAuth("notadmin", "12345678")
+                .getForEntity(NOTE_PATH, String.class);
+        ResponseEntity<PublicJfrRecordingDTO> stopped = admin()
+                .postForEntity(Cons.Admin.Jfr.PATH + Cons.Admin.Jfr.STOP_PATH, null, PublicJfrRecordingDTO.class);
+        ResponseEntity<byte[]> download = admin().getForEntity(Cons.Admin.Jfr.PATH, byte[].class);
+
+        // Assert
+        assertThat(started.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(started.getBody().getState()).isEqualTo("RUNNING");
+        assertThat(started.getBody().getDurationSeconds()).isEqualTo(30);
+        assertThat(notes.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(stopped.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(stopped.getBody().getState()).isEqualTo("STOPPED");
+        assertThat(download.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(download.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION))
+                .isEqualTo("attachment; filename=\"" + Cons.Admin.Jfr.FILENAME + "\"");
+
+        List<RecordedEvent> events = read(download.getBody());
+        assertThat(events)
+                .filteredOn(e -> e.getEventType().getName().equals(EVENTS_PREFIX + "PasswordHash"))
+                .extracting(e -> e.getString("operation"))
+                .contains("matches");
+        assertThat(events)
+                .filteredOn(e -> e.getEventType().getName().equals(EVENTS_PREFIX + "ServiceCall"))
+                .extracting(e -> e.getString("service") + "." + e.getString("method"))
+                .contains("NoteServiceImpl.getPage");
+        assertThat(events)
+                .filteredOn(e -> e.getEventType().getName().equals(EVENTS_PREFIX + "RepositoryCall"))
+                .filteredOn(e -> e.getString("repository").equals("NoteRepository"))
+                .extracting(e -> e.getString("statements"))
+                .anyMatch(statements -> statements.contains("from notes"));
+    }
+
+    @Test
+    void start_alreadyRunning_ThenConflict() {
+        // Arrange
+        admin().postForEntity(Cons.Admin.Jfr.PATH + Cons.Admin.Jfr.START_PATH, null, PublicJfrRecordingDTO.class);
+
+        // Act
+        ResponseEntity<String> response = admin().postForEntity(Cons.Admin.Jfr.PATH + Cons.Admin.Jfr.START_PATH, null, String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).contains(Cons.Admin.Jfr.ALREADY_RUNNING_MSG);
+    }
+
+    @Test
+    void download_withoutRecording_ThenNotFound() {
+        // Act
+        ResponseEntity<String> response = admin().getForEntity(Cons.Admin.Jfr.PATH, String.class);
+
+        // Assert
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void start_notAdmin_ThenForbidden() {
+        // Act
+        ResponseEntity<String> notAdmin = this.restTemplate
+                .withBasicAuth("notadmin", "12345678")
+                .postForEntity(Cons.Admin.Jfr.PATH + Cons.Admin.Jfr.START_PATH, null, String.class);
+        ResponseEntity<String> anonymous = this.restTemplate
+                .postForEntity(Cons.Admin.Jfr.PATH + Cons.Admin.Jfr.START_PATH, null, String.class);
+
+        // Assert
+        assertThat(notAdmin.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(anonymous.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private TestRestTemplate admin() {
+        return this.restTemplate.withBasicAuth("cris6h16", "12345678");
+    }
+
+    private static List<RecordedEvent> read(byte[] recording) throws Exception {
+        Path file = Files.createTempFile("downloaded-", ".jfr");
+        try {
+            Files.write(file, recording);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package org.cris6h16.apirestspringboot.Controllers;
+
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Controllers.CustomClasses.WithMockUserWithId;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteNotFoundException;
+import org.cris6h16.apirestspringboot.Services.NoteServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for {@link NoteController} with {@code notes.async.enabled}: the services are called in the pool,
+ * the responses are written by the asynchronous dispatch with the plain return types of the handlers
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@SpringBootTest(properties = {"notes.async.enabled=true", "notes.async.timeout=200ms"})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Tag("UnitTest")
+class NoteControllerAsyncTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private NoteServiceImpl noteService;
+
+    private static final String path = Cons.Note.Controller.Path.NOTE_PATH;
+    private final CountDownLatch release = new CountDownLatch(1); // the calls end after the request thread is released
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        reset(noteService);
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void getByIdAndUserId_successful_Then200_OkFromAThreadOfThePool() throws Exception {
+        AtomicReference<String> thread = new AtomicReference<>();
+        when(noteService.getByIdAndUserId(10L, 1L)).thenAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            release.await(5, TimeUnit.SECONDS);
+            return PublicNoteDTO.builder().id(10L).title("cris6h16's note").content("content").version(3L).build();
+        });
+
+        MvcResult async = this.mvc.perform(get(path + "/10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        release.countDown();
+        this.mvc.perform(asyncDispatch(async))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.title").value("cris6h16's note"));
+
+        assertThat(thread.get()).startsWith(Cons.AsyncCalls.THREAD_NAME_PREFIX);
+        assertThat(async.getRequest().getAsyncContext().getTimeout()).isPositive(); // the default, only the streams change it
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void getByIdAndUserId_ifNoneMatchTheVersion_Then304_NotModifiedWithoutLoadingTheNote() throws Exception {
+        when(noteService.getVersionByIdAndUserId(10L, 1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return 3L;
+        });
+
+        MvcResult async = this.mvc.perform(get(path + "/10").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        release.countDown();
+        this.mvc.perform(asyncDispatch(async))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().bytes(new byte[0]));
+
+        verify(noteService, never()).getByIdAndUserId(any(), any());
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void getByIdAndUserId_HandledExceptionRaisedInService_PassedToAdviceSuccessfully() throws Exception {
+        when(noteService.getByIdAndUserId(10L, 1L)).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new NoteNotFoundException();
+        });
+
+        MvcResult async = this.mvc.perform(get(path + "/10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        release.countDown();
+        this.mvc.perform(asyncDispatch(async))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value(Cons.Note.Fails.NOT_FOUND));
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void getByIdAndUserId_slowerThanTheTimeout_Then503_ServiceUnavailableAndTheCallInterrupted() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(noteService.getByIdAndUserId(10L, 1L)).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return PublicNoteDTO.builder().id(10L).build();
+        });
+
+        MvcResult async = this.mvc.perform(get(path + "/10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        release.countDown();
+        this.mvc.perform(asyncDispatch(async))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message").value(Cons.AsyncCalls.TIMEOUT_MSG));
+
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue(); // its connection back to the pool
+    }
+}
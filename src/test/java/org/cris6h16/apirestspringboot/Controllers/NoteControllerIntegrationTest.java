@@ -1,9 +1,16 @@
 package org.cris6h16.apirestspringboot.Controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cris6h16.apirestspringboot.Config.Sql.QueryBudget;
+import org.cris6h16.apirestspringboot.Config.Sql.QueryBudgetRecorder;
+import org.cris6h16.apirestspringboot.Constants.Cons;
 import org.cris6h16.apirestspringboot.Controllers.CustomClasses.CustomPageImpl;
 import org.cris6h16.apirestspringboot.DTOs.Creation.CreateNoteDTO;
 import org.cris6h16.apirestspringboot.DTOs.Creation.CreateUserDTO;
 import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteExcerptDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteImportResultDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteMultiGetDTO;
 import org.cris6h16.apirestspringboot.Entities.ERole;
 import org.cris6h16.apirestspringboot.Entities.NoteEntity;
 import org.cris6h16.apirestspringboot.Entities.UserEntity;
@@ -17,18 +24,27 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.ByteArrayOutputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.zip.GZIPOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.cris6h16.apirestspringboot.Constants.Cons.Note.Controller.Path.NOTE_PATH;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -41,6 +57,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  */
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(QueryBudgetRecorder.class)
 @Tag("IntegrationTest")
 @ActiveProfiles(profiles = "test")
 class NoteControllerIntegrationTest {
@@ -84,6 +101,7 @@ class NoteControllerIntegrationTest {
     // -------------------------------- CREATE --------------------------------\\
 
     @Test
+    @QueryBudget(value = "POST /notes", select = 1, insert = 1, update = 1) // update: the version of his notes
     void create_successful_Then201_Created() {
         CreateNoteDTO dto = CreateNoteDTO.builder()
                 .title("My First Note")
@@ -112,6 +130,7 @@ class NoteControllerIntegrationTest {
 
 
     @Test
+    @QueryBudget(value = "GET /notes", select = 4) // + the version of his notes ( by JDBC )
     void getPage_successful_Then200_Ok() {
         List<CreateNoteDTO> createNoteDTOList = new ArrayList<>();
         for (int i = 0; i < 24; i++) {
@@ -164,10 +183,194 @@ class NoteControllerIntegrationTest {
 
     }
 
+    @Test
+    @QueryBudget(value = "GET /notes ( If-None-Match ) x3", select = 11)
+    void getPage_pollingWithIfNoneMatch_Then304UntilANoteChanges() {
+        Long id = noteServiceImpl.create(CreateNoteDTO.builder().title("My First Note").content("note of cris6h16").build(), userEntity.getId());
+        String eTag = getPageIfNoneMatch(null).getHeaders().getETag();
+
+        ResponseEntity<String> notModified = getPageIfNoneMatch(eTag);
+        noteServiceImpl.putByIdAndUserId(id, userEntity.getId(), CreateNoteDTO.builder().title("updated").content("").build());
+        ResponseEntity<String> afterPut = getPageIfNoneMatch(eTag);
+        noteServiceImpl.deleteByIdAndUserId(id, userEntity.getId());
+        ResponseEntity<String> afterDelete = getPageIfNoneMatch(afterPut.getHeaders().getETag());
+
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(notModified.getBody()).isNull();
+        assertThat(afterPut.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(afterPut.getBody()).contains("updated");
+        assertThat(afterDelete.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(afterDelete.getHeaders().getETag()).isNotIn(eTag, afterPut.getHeaders().getETag());
+    }
+
+    private ResponseEntity<String> getPageIfNoneMatch(String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        if (eTag != null) headers.setIfNoneMatch(eTag);
+        return this.restTemplate
+                .withBasicAuth(userEntity.getUsername(), noEncryptedPassword)
+                .exchange(NOTE_PATH, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+    }
+
+    // -------------------------------- SEARCH --------------------------------\\
+
+    @Test
+    @QueryBudget(value = "GET /notes/search", select = 5) // + the ids by rank & the count ( by JDBC )
+    void search_successful_Then200_OkSortedByRank() {
+        Long inContent = noteServiceImpl.create(CreateNoteDTO.builder()
+                .title("Groceries")
+                .content("buy milk for the postgres meetup")
+                .build(), userEntity.getId());
+        Long inTitle = noteServiceImpl.create(CreateNoteDTO.builder()
+                .title("Postgres meetup")
+                .content("talk about indexes")
+                .build(), userEntity.getId());
+        noteServiceImpl.create(CreateNoteDTO.builder()
+                .title("Postgres")
+                .content("without the other word")
+                .build(), userEntity.getId());
+
+        URI uri = UriComponentsBuilder.fromPath(NOTE_PATH + "/search")
+                .queryParam("q", "MEETUP postgres")
+                .build().toUri();
+
+        ResponseEntity<CustomPageImpl<PublicNoteExcerptDTO>> response = this.restTemplate
+                .withBasicAuth(userEntity.getUsername(), noEncryptedPassword)
+                .exchange(uri, HttpMethod.GET, null, new ParameterizedTypeReference<CustomPageImpl<PublicNoteExcerptDTO>>() {
+                });
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getTotalElements()).isEqualTo(2);
+        assertThat(response.getBody().getContent())
+                .extracting(PublicNoteExcerptDTO::getId)
+                .containsExactly(inTitle, inContent);
+    }
+
+    @Test
+    void search_afterPutAndDelete_TheIndexIsUpdated() {
+        Long id = noteServiceImpl.create(CreateNoteDTO.builder()
+                .title("first")
+                .content("original")
+                .build(), userEntity.getId());
+        noteServiceImpl.putByIdAndUserId(id, userEntity.getId(), CreateNoteDTO.builder()
+                .title("first")
+                .content("updated")
+                .build());
+
+        assertThat(noteServiceImpl.search("original", PageRequest.of(0, 10), userEntity.getId())).isEmpty();
+        assertThat(noteServiceImpl.search("updated", PageRequest.of(0, 10), userEntity.getId()))
+                .extracting(PublicNoteExcerptDTO::getId)
+                .containsExactly(id);
+
+        noteServiceImpl.deleteByIdAndUserId(id, userEntity.getId());
+        assertThat(noteServiceImpl.search("updated", PageRequest.of(0, 10), userEntity.getId())).isEmpty();
+    }
+
+    // -------------------------------- MULTI-GET --------------------------------\\
+
+    @Test
+    @QueryBudget(value = "GET /notes?ids", select = 2) // authentication + a single query for all the ids
+    void getByIds_successful_Then200_OkFoundAndMissing() {
+        Long first = noteServiceImpl.create(CreateNoteDTO.builder().title("first").content("content 1").build(), userEntity.getId());
+        Long second = noteServiceImpl.create(CreateNoteDTO.builder().title("second").content("content 2").build(), userEntity.getId());
+        Long otherId = userService.create(CreateUserDTO.builder()
+                .username("githubcomcris6h16")
+                .email("hello@example.com")
+                .password(noEncryptedPassword)
+                .build(), ERole.ROLE_USER);
+        Long notMine = noteServiceImpl.create(CreateNoteDTO.builder().title("Not mine").content("").build(), otherId);
+
+        URI uri = UriComponentsBuilder.fromPath(NOTE_PATH)
+                .queryParam(Cons.Note.MultiGet.IDS_PARAM, second + "," + notMine + "," + first + ",999999," + second)
+                .build().toUri();
+        ResponseEntity<PublicNoteMultiGetDTO> response = this.restTemplate
+                .withBasicAuth(userEntity.getUsername(), noEncryptedPassword)
+                .getForEntity(uri, PublicNoteMultiGetDTO.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getNotes())
+                .extracting(PublicNoteDTO::getId, PublicNoteDTO::getContent)
+                .containsExactly(tuple(second, "content 2"), tuple(first, "content 1"));
+        assertThat(response.getBody().getMissing()).containsExactly(notMine, 999999L);
+    }
+
+    @Test
+    @QueryBudget(value = "POST /notes/multi-get", select = 1) // just the authentication
+    void multiGet_tooManyIds_Then400_BadRequest() {
+        List<Long> ids = new ArrayList<>();
+        for (long i = 1; i <= Cons.Note.MultiGet.MAX_IDS + 1; i++) ids.add(i);
+
+        ResponseEntity<String> response = this.restTemplate
+                .withBasicAuth(userEntity.getUsername(), noEncryptedPassword)
+                .postForEntity(NOTE_PATH + Cons.Note.MultiGet.PATH, ids, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains(Cons.Note.MultiGet.IDS_INVALID_MSG);
+    }
+
+    // -------------------------------- EXPORT --------------------------------\\
+
+    @Test
+    @QueryBudget(value = "GET /notes/export", select = 3) // the principal, then the user & its notes in the async thread
+    void export_successful_ThenAllHisNotesAsNDJSON() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            noteServiceImpl.create(CreateNoteDTO.builder().title("Note " + i).content("content " + i).build(), userEntity.getId());
+        }
+        Long otherId = userService.create(CreateUserDTO.builder()
+                .username("githubcomcris6h16")
+                .email("hello@example.com")
+                .password(noEncryptedPassword)
+                .build(), ERole.ROLE_USER);
+        noteServiceImpl.create(CreateNoteDTO.builder().title("Not mine").content("").build(), otherId);
+
+        ResponseEntity<String> response = this.restTemplate
+                .withBasicAuth(userEntity.getUsername(), noEncryptedPassword)
+                .getForEntity(NOTE_PATH + Cons.Note.Export.PATH, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        ObjectMapper mapper = new ObjectMapper();
+        List<PublicNoteDTO> exported = new ArrayList<>();
+        for (String line : response.getBody().split("\n")) exported.add(mapper.readValue(line, PublicNoteDTO.class));
+        assertThat(exported)
+                .extracting(PublicNoteDTO::getTitle)
+                .containsExactly("Note 0", "Note 1", "Note 2");
+        assertThat(exported).isSortedAccordingTo(Comparator.comparing(PublicNoteDTO::getId));
+    }
+
+    // -------------------------------- IMPORT --------------------------------\\
+
+    @Test
+    @QueryBudget(value = "POST /notes/import", select = 4, update = 2, // the user & the ids by chunk, the version by chunk
+            insert = Cons.Note.Import.CHUNK_SIZE / Cons.Note.Import.JDBC_BATCH_SIZE + 1) // a JDBC batch by 50 notes
+    void importNotes_successful_ThenValidNotesSavedAndIndexed() {
+        StringBuilder ndjson = new StringBuilder();
+        int notes = Cons.Note.Import.CHUNK_SIZE + 3; // 2 chunks
+        for (int i = 0; i < notes; i++) {
+            ndjson.append("{\"title\":\"imported ").append(i).append("\",\"content\":\"from another app\"}\n");
+        }
+        ndjson.append("not a note\n");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_NDJSON);
+        ResponseEntity<PublicNoteImportResultDTO> response = this.restTemplate
+                .withBasicAuth(userEntity.getUsername(), noEncryptedPassword)
+                .exchange(NOTE_PATH + Cons.Note.Import.PATH, HttpMethod.POST, new HttpEntity<>(ndjson.toString(), headers), PublicNoteImportResultDTO.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getImported()).isEqualTo(notes);
+        assertThat(response.getBody().getErrors())
+                .containsExactly(new PublicNoteImportResultDTO.LineError(notes + 1, Cons.Note.Import.INVALID_JSON_MSG));
+        assertThat(noteRepository.findByUserId(userEntity.getId(), PageRequest.of(0, 1)).getTotalElements()).isEqualTo(notes);
+        assertThat(noteServiceImpl.search("imported " + (notes - 1), PageRequest.of(0, 10), userEntity.getId()).getContent())
+                .extracting(PublicNoteExcerptDTO::getTitle)
+                .contains("imported " + (notes - 1)); // indexed in the last chunk
+    }
+
     // -------------------------------- GET --------------------------------\\
 
 
     @Test
+    @QueryBudget(value = "GET /notes/{id}", select = 2)
     void getByIdAndUserId_successful_Then200_Ok() {
         CreateNoteDTO dto = CreateNoteDTO.builder()
                 .title("My First Note")
@@ -187,9 +390,28 @@ class NoteControllerIntegrationTest {
                 .hasFieldOrPropertyWithValue("content", dto.getContent());
     }
 
+    @Test
+    @QueryBudget(value = "GET /notes/{id} x2", select = 3)
+    void getByIdAndUserId_ifNoneMatchTheETag_Then304_NotModified() {
+        Long note_id = noteServiceImpl.create(CreateNoteDTO.builder().title("My First Note").content("note of cris6h16").build(), userEntity.getId());
+        TestRestTemplate authenticated = this.restTemplate.withBasicAuth(userEntity.getUsername(), noEncryptedPassword);
+
+        ResponseEntity<PublicNoteDTO> first = authenticated.getForEntity(NOTE_PATH + "/" + note_id, PublicNoteDTO.class);
+        String eTag = first.getHeaders().getETag();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+        ResponseEntity<String> second = authenticated.exchange(NOTE_PATH + "/" + note_id, HttpMethod.GET, new HttpEntity<>(headers), String.class);
+
+        assertThat(eTag).isEqualTo("\"0\"");
+        assertThat(second.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(second.getBody()).isNull();
+    }
+
     // -------------------------------- PUT --------------------------------\\
 
     @Test
+    @QueryBudget(value = "PUT /notes/{id}", select = 2, update = 2) // + the version of his notes
     void put_ByIdAndUserId_successful_Then204_NoContent() {
         CreateNoteDTO dto = CreateNoteDTO.builder()
                 .title("My First Note")
@@ -216,9 +438,177 @@ class NoteControllerIntegrationTest {
         assertThat(noteEntity.getUpdatedAt()).isBeforeOrEqualTo(new Date());
     }
 
+    @Test
+    @QueryBudget(value = "PUT /notes/{id}", select = 3, insert = 1, update = 1) // the note & its id aren't found, then inserted
+    void put_ByIdAndUserId_noteNotFound_Then204_NoContentAndCreatedWithThatId() {
+        Long id = 1_000_000L; // out of the ids of the sequence in the tests
+        CreateNoteDTO putDto = CreateNoteDTO.builder().title("Created by PUT").content("note of cris6h16").build();
+
+        ResponseEntity<Void> response = this.restTemplate
+                .withBasicAuth(userEntity.getUsername(), noEncryptedPassword)
+                .exchange(NOTE_PATH + "/" + id, HttpMethod.PUT, new HttpEntity<>(putDto), Void.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(noteRepository.findByIdAndUserId(id, userEntity.getId()).orElseThrow())
+                .hasFieldOrPropertyWithValue("title", putDto.getTitle())
+                .hasFieldOrPropertyWithValue("version", 0L);
+    }
+
+    @Test
+    @QueryBudget(value = "PUT /notes/{id}", select = 3)
+    void put_ByIdAndUserId_idOfANoteOfAnotherUser_Then409_ConflictAndNotModified() {
+        Long otherId = userService.create(CreateUserDTO.builder()
+                .username("githubcomcris6h16")
+                .email("hello@example.com")
+                .password(noEncryptedPassword)
+                .build(), ERole.ROLE_USER);
+        Long notMine = noteServiceImpl.create(CreateNoteDTO.builder().title("Not mine").content("").build(), otherId);
+        CreateNoteDTO putDto = CreateNoteDTO.builder().title("Mine").content("note of cris6h16").build();
+
+        ResponseEntity<String> response = this.restTemplate
+                .withBasicAuth(userEntity.getUsername(), noEncryptedPassword)
+                .exchange(NOTE_PATH + "/" + notMine, HttpMethod.PUT, new HttpEntity<>(putDto), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody()).contains(Cons.Note.Fails.ID_ALREADY_EXISTS);
+        assertThat(noteRepository.findByIdAndUserId(notMine, otherId).orElseThrow())
+                .hasFieldOrPropertyWithValue("title", "Not mine");
+    }
+
+    @Test
+    @QueryBudget(value = "PUT /notes/{id}, GET /notes/{id}", select = 3, update = 2)
+    void put_ByIdAndUserId_ifMatchTheCurrentETag_ThenUpdatedAndTheETagChanges() {
+        Long id = noteServiceImpl.create(CreateNoteDTO.builder().title("My First Note").content("note of cris6h16").build(), userEntity.getId());
+        CreateNoteDTO putDto = CreateNoteDTO.builder().title("My First Note Updated").content("note of cris6h16 Updated").build();
+
+        ResponseEntity<Void> response = putIfMatch(id, putDto, "\"0\"");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(noteRepository.findById(id).orElseThrow())
+                .hasFieldOrPropertyWithValue("title", putDto.getTitle())
+                .hasFieldOrPropertyWithValue("version", 1L);
+        assertThat(this.restTemplate
+                .withBasicAuth(userEntity.getUsername(), noEncryptedPassword)
+                .getForEntity(NOTE_PATH + "/" + id, PublicNoteDTO.class)
+                .getHeaders().getETag()).isEqualTo("\"1\"");
+    }
+
+    @Test
+    @QueryBudget(value = "PUT /notes/{id} x2", select = 3, update = 2)
+    void put_ByIdAndUserId_ifMatchAnOldETag_Then412_PreconditionFailed() {
+        Long id = noteServiceImpl.create(CreateNoteDTO.builder().title("My First Note").content("note of cris6h16").build(), userEntity.getId());
+        CreateNoteDTO first = CreateNoteDTO.builder().title("first writer").content("content").build();
+        CreateNoteDTO second = CreateNoteDTO.builder().title("second writer").content("content").build();
+
+        ResponseEntity<Void> firstResponse = putIfMatch(id, first, "\"0\"");
+        ResponseEntity<Void> secondResponse = putIfMatch(id, second, "\"0\""); // lost update
+
+        assertThat(firstResponse.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(secondResponse.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        assertThat(noteRepository.findById(id).orElseThrow())
+                .hasFieldOrPropertyWithValue("title", first.getTitle());
+    }
+
+    private ResponseEntity<Void> putIfMatch(Long id, CreateNoteDTO dto, String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfMatch(eTag);
+        return this.restTemplate
+                .withBasicAuth(userEntity.getUsername(), noEncryptedPassword)
+                .exchange(NOTE_PATH + "/" + id, HttpMethod.PUT, new HttpEntity<>(dto, headers), Void.class);
+    }
+
+    // -------------------------------- PUT CONTENT --------------------------------\\
+
+    @Test
+    @QueryBudget(value = "PUT /notes/{id}/content", select = 2, update = 2) // the content & the version of his notes, by JDBC
+    void putContent_gzipIfMatch_ThenStreamedVersionIncrementedAndIndexed() throws Exception {
+        Long id = noteServiceImpl.create(CreateNoteDTO.builder().title("My First Note").content("original").build(), userEntity.getId());
+        String content = "streamed ñ ".repeat(20_000); // bigger than the buffer in memory of the driver
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(body)) {
+            gzip.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        ResponseEntity<Void> response = putContent(id, body.toByteArray(), "\"0\"", true);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(noteRepository.findById(id).orElseThrow())
+                .hasFieldOrPropertyWithValue("title", "My First Note")
+                .hasFieldOrPropertyWithValue("content", content)
+                .hasFieldOrPropertyWithValue("version", 1L);
+        assertThat(noteServiceImpl.search("original", PageRequest.of(0, 10), userEntity.getId())).isEmpty();
+        assertThat(noteServiceImpl.search("streamed", PageRequest.of(0, 10), userEntity.getId()))
+                .extracting(PublicNoteExcerptDTO::getId)
+                .containsExactly(id);
+    }
+
+    @Test
+    @QueryBudget(value = "PUT /notes/{id}/content", select = 2)
+    void putContent_longerThanTheMax_Then413_PayloadTooLargeAndTheNoteIsKept() {
+        Long id = noteServiceImpl.create(CreateNoteDTO.builder().title("My First Note").content("original").build(), userEntity.getId());
+        byte[] content = "a".repeat(Cons.Note.Content.DEFAULT_MAX_LENGTH + 1).getBytes(StandardCharsets.UTF_8);
+
+        ResponseEntity<Void> response = putContent(id, content, null, false);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        assertThat(noteRepository.findById(id).orElseThrow())
+                .hasFieldOrPropertyWithValue("content", "original")
+                .hasFieldOrPropertyWithValue("version", 0L);
+    }
+
+    private ResponseEntity<Void> putContent(Long id, byte[] body, String eTag, boolean gzip) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+        if (eTag != null) headers.setIfMatch(eTag);
+        if (gzip) headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        return this.restTemplate
+                .withBasicAuth(userEntity.getUsername(), noEncryptedPassword)
+                .exchange(NOTE_PATH + "/" + id + "/content", HttpMethod.PUT, new HttpEntity<>(body, headers), Void.class);
+    }
+
+    // -------------------------------- GET CONTENT --------------------------------\\
+
+    @Test
+    @QueryBudget(value = "GET /notes/{id}/content", select = 5) // + the stat & a chunk of the content twice ( by JDBC )
+    void getContent_severalChunks_Then200_OkTheWholeContent() {
+        String content = "ñ€a😀".repeat(70_000); // more than a chunk, even in code points
+        Long id = noteServiceImpl.create(CreateNoteDTO.builder().title("My First Note").content(content).build(), userEntity.getId());
+
+        ResponseEntity<byte[]> response = getContent(id, null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getETag()).isIn("\"0\"", "\"0-gzip\""); // decompressed by the client if it asked for gzip
+        assertThat(new String(response.getBody(), StandardCharsets.UTF_8)).isEqualTo(content);
+    }
+
+    @Test
+    @QueryBudget(value = "GET /notes/{id}/content", select = 5)
+    void getContent_rangeInTheSecondChunk_Then206_PartialContent() {
+        String content = "ñ€a😀".repeat(70_000);
+        byte[] utf8 = content.getBytes(StandardCharsets.UTF_8);
+        Long id = noteServiceImpl.create(CreateNoteDTO.builder().title("My First Note").content(content).build(), userEntity.getId());
+        int start = utf8.length - 1000;
+
+        ResponseEntity<byte[]> response = getContent(id, "bytes=" + start + "-" + (start + 99));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE))
+                .isEqualTo("bytes " + start + "-" + (start + 99) + "/" + utf8.length);
+        assertThat(response.getBody()).isEqualTo(Arrays.copyOfRange(utf8, start, start + 100));
+    }
+
+    private ResponseEntity<byte[]> getContent(Long id, String range) {
+        HttpHeaders headers = new HttpHeaders();
+        if (range != null) headers.set(HttpHeaders.RANGE, range);
+        return this.restTemplate
+                .withBasicAuth(userEntity.getUsername(), noEncryptedPassword)
+                .exchange(NOTE_PATH + "/" + id + "/content", HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+
     // -------------------------------- DELETE --------------------------------\\
 
     @Test
+    @QueryBudget(value = "DELETE /notes/{id}", select = 4, delete = 1, update = 1)
     void delete_successful_Then204_NoContent() {
         CreateNoteDTO dto = CreateNoteDTO.builder()
                 .title("My First Note")
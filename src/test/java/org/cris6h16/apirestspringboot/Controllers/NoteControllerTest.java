@@ -1,14 +1,24 @@
 package org.cris6h16.apirestspringboot.Controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.cris6h16.apirestspringboot.Constants.Cons;
 import org.cris6h16.apirestspringboot.Controllers.CustomClasses.CustomPageImpl;
 import org.cris6h16.apirestspringboot.Controllers.CustomClasses.WithMockUserWithId;
 import org.cris6h16.apirestspringboot.DTOs.Creation.CreateNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteContentStatDTO;
 import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteExcerptDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteImportResultDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteMultiGetDTO;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteContentTooLongException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteVersionMismatchException;
 import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.ProperExceptionForTheUser;
 import org.cris6h16.apirestspringboot.Services.NoteServiceImpl;
+import org.cris6h16.apirestspringboot.Services.Validation.PageRequestGovernor;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
@@ -18,15 +28,28 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
-
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -58,6 +81,12 @@ class NoteControllerTest {
     private NoteServiceImpl noteService;
 
     private static String path = Cons.Note.Controller.Path.NOTE_PATH;
+    private final PageRequestGovernor pageRequestGovernor = new PageRequestGovernor(Cons.Pages.DEFAULT_MAX_SIZE, Cons.Pages.DEFAULT_MAX_OFFSET, new SimpleMeterRegistry());
+
+    @BeforeEach
+    void setUp() { // the pages served as the service does
+        when(noteService.governPage(any())).thenAnswer(i -> pageRequestGovernor.govern(i.getArgument(0), Cons.Pages.NOTES, Cons.Note.Page.SORTABLE));
+    }
 
     @AfterEach
     void tearDown() {
@@ -141,6 +170,42 @@ class NoteControllerTest {
     }
 
 
+    @Test
+    @WithMockUserWithId(id = 1, roles = {"ROLE_USER"})
+    void create_contentLongerThanTheMax_Then413_PayloadTooLargeWhileParsing() throws Exception {
+        String content = "a".repeat(Cons.Note.Content.DEFAULT_MAX_LENGTH + 1);
+
+        this.mvc.perform(post(path)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"My First Note\",\"content\":\"" + content + "\"}"))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.message").value(Cons.Note.Content.TOO_LONG_MSG.formatted(Cons.Note.Content.DEFAULT_MAX_LENGTH)));
+        verify(noteService, never()).create(any(), any());
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1, roles = {"ROLE_USER"})
+    void create_gzipBody_Then201_Created() throws Exception {
+        when(noteService.create(any(CreateNoteDTO.class), anyLong())).thenReturn(222L);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(body)) {
+            gzip.write("{\"title\":\"My First Note\",\"content\":\"note of cris6h16\"}".getBytes(StandardCharsets.UTF_8));
+        }
+
+        this.mvc.perform(post(path)
+                        .with(csrf())
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body.toByteArray()))
+                .andExpect(status().isCreated());
+
+        verify(noteService).create(
+                argThat(dto -> dto.getTitle().equals("My First Note") && dto.getContent().equals("note of cris6h16")),
+                eq(1L)
+        );
+    }
+
     @Test
     @WithMockUserWithId(id = 100, roles = {"ROLE_USER"})
     void create_givenEmptyContent_DTO_Then201_Created() throws Exception {
@@ -264,6 +329,70 @@ class NoteControllerTest {
                 .isEqualTo(pageStr);
     }
 
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void getPage_ThenETagOfTheUserNotesVersion() throws Exception {
+        when(noteService.getNotesVersionByUserId(1L)).thenReturn(7L);
+        when(noteService.getPage(any(Pageable.class), anyLong())).thenReturn(mock(CustomPageImpl.class));
+
+        String eTag = this.mvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String otherPageETag = this.mvc.perform(get(path).param("page", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(eTag).isEqualTo("\"1-7-full-0-10-id.asc\"");
+        assertThat(otherPageETag).isEqualTo("\"1-7-full-1-10-id.asc\"");
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void getPage_sizeBiggerThanTheMax_ThenETagOfTheServedPage() throws Exception {
+        when(noteService.getNotesVersionByUserId(1L)).thenReturn(7L);
+        when(noteService.getPage(any(Pageable.class), anyLong())).thenReturn(mock(CustomPageImpl.class));
+
+        String eTag = this.mvc.perform(get(path)
+                        .param("size", String.valueOf(Cons.Pages.DEFAULT_MAX_SIZE + 1))
+                        .param("sort", "updatedAt,desc"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(eTag).isEqualTo("\"1-7-full-0-" + Cons.Pages.DEFAULT_MAX_SIZE + "-updatedAt.desc\"");
+        verify(noteService).getPage(argThat(p -> p.getPageSize() == Cons.Pages.DEFAULT_MAX_SIZE), eq(1L));
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void getPage_ifNoneMatchIsTheCurrentETag_Then304_NotModified() throws Exception {
+        when(noteService.getNotesVersionByUserId(1L)).thenReturn(7L);
+        when(noteService.getPage(any(Pageable.class), anyLong())).thenReturn(mock(CustomPageImpl.class));
+        String eTag = this.mvc.perform(get(path)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        clearInvocations(noteService);
+
+        this.mvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        verify(noteService).getNotesVersionByUserId(1L);
+        verify(noteService, never()).getPage(any(), any());
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void getPage_notesModifiedAfterTheETag_Then200_Ok() throws Exception {
+        when(noteService.getNotesVersionByUserId(1L)).thenReturn(7L, 8L);
+        when(noteService.getPage(any(Pageable.class), anyLong())).thenReturn(mock(CustomPageImpl.class));
+        String eTag = this.mvc.perform(get(path)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        this.mvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"1-8-full-")));
+
+        verify(noteService, times(2)).getPage(any(), any());
+    }
+
     @Test
     void getPage_isNotAuthenticated_Then401_UNAUTHORIZED() throws Exception {
         this.mvc.perform(get(path))
@@ -298,14 +427,14 @@ class NoteControllerTest {
         when(noteService.getPage(any(Pageable.class), anyLong()))
                 .thenReturn(mock(CustomPageImpl.class));
 
-        this.mvc.perform(get(path + "?page=7&size=21&sort=cris6h16,desc"))
+        this.mvc.perform(get(path + "?page=7&size=21&sort=updatedAt,desc"))
                 .andExpect(status().isOk());
 
         verify(noteService).getPage(
                 argThat(pageable ->
                         pageable.getPageNumber() == 7 &&
                                 pageable.getPageSize() == 21 &&
-                                pageable.getSort().getOrderFor("cris6h16").getDirection().equals(Sort.Direction.DESC)
+                                pageable.getSort().getOrderFor("updatedAt").getDirection().equals(Sort.Direction.DESC)
                 ),
                 eq(101L)
         );
@@ -346,6 +475,186 @@ class NoteControllerTest {
                 .andExpect(jsonPath("$.message").value("cris6h16's handleable exception"));
     }
 
+    // -------------------------------- GET EXCERPT PAGE --------------------------------\\
+
+    @Test
+    @WithMockUserWithId(id = 1, roles = {"ROLE_USER"})
+    void getExcerptPage_successful_Then200_Ok() throws Exception {
+        CustomPageImpl<PublicNoteExcerptDTO> page = mock(CustomPageImpl.class);
+        when(page.getContent()).thenReturn(List.of(
+                new PublicNoteExcerptDTO(1L, "title", "excerpt", new Date()),
+                new PublicNoteExcerptDTO(2L, "title2", "excerpt2", new Date())
+        ));
+        when(page.getTotalElements()).thenReturn(2L);
+        when(page.getTotalPages()).thenReturn(1);
+        when(page.getSize()).thenReturn(10);
+
+        when(noteService.getExcerptPage(any(), anyLong())).thenReturn(page);
+
+        String pageStr = this.mvc.perform(get(path).param("view", "excerpt"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.content[0].excerpt").value("excerpt"))
+                .andExpect(jsonPath("$.content[0].content").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(this.objectMapper.writeValueAsString(page)).isEqualTo(pageStr);
+        verify(noteService).getExcerptPage(any(), eq(1L));
+        verify(noteService, never()).getPage(any(), anyLong());
+    }
+
+    @Test
+    @WithMockUserWithId(id = 100L)
+    void getExcerptPage_PageableParamsWork() throws Exception {
+        when(noteService.getExcerptPage(any(Pageable.class), anyLong()))
+                .thenReturn(mock(CustomPageImpl.class));
+
+        this.mvc.perform(get(path + "?view=excerpt&page=7&size=21&sort=updatedAt,desc"))
+                .andExpect(status().isOk());
+
+        verify(noteService).getExcerptPage(
+                argThat(pageable ->
+                        pageable.getPageNumber() == 7 &&
+                                pageable.getPageSize() == 21 &&
+                                pageable.getSort().getOrderFor("updatedAt").getDirection().equals(Sort.Direction.DESC)
+                ),
+                eq(100L)
+        );
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void getExcerptPage_ETagIsNotTheSameOfTheFullPage_AndIfNoneMatchThen304() throws Exception {
+        when(noteService.getNotesVersionByUserId(1L)).thenReturn(7L);
+        when(noteService.getPage(any(Pageable.class), anyLong())).thenReturn(mock(CustomPageImpl.class));
+        when(noteService.getExcerptPage(any(Pageable.class), anyLong())).thenReturn(mock(CustomPageImpl.class));
+
+        String fullETag = this.mvc.perform(get(path)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String excerptETag = this.mvc.perform(get(path).param("view", "excerpt"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(excerptETag).startsWith("\"1-7-excerpt-").isNotEqualTo(fullETag);
+        this.mvc.perform(get(path).param("view", "excerpt").header(HttpHeaders.IF_NONE_MATCH, excerptETag))
+                .andExpect(status().isNotModified());
+        verify(noteService, times(1)).getExcerptPage(any(), any());
+    }
+
+    @Test
+    void getExcerptPage_isNotAuthenticated_Then401_UNAUTHORIZED() throws Exception {
+        this.mvc.perform(get(path).param("view", "excerpt"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().bytes(new byte[0]));
+        verify(noteService, never()).getExcerptPage(any(), anyLong());
+    }
+
+    // -------------------------------- SEARCH --------------------------------\\
+
+    @Test
+    @WithMockUserWithId(id = 7L)
+    void search_successful_Then200_Ok() throws Exception {
+        CustomPageImpl<PublicNoteExcerptDTO> page = mock(CustomPageImpl.class);
+        when(page.getContent()).thenReturn(List.of(new PublicNoteExcerptDTO(1L, "title", "excerpt", new Date())));
+        when(page.getTotalElements()).thenReturn(1L);
+        when(noteService.search(anyString(), any(Pageable.class), anyLong())).thenReturn(page);
+
+        String pageStr = this.mvc.perform(get(path + "/search").param("q", "cris6h16 notes").param("page", "2").param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(this.objectMapper.writeValueAsString(page)).isEqualTo(pageStr);
+        verify(noteService).search(
+                eq("cris6h16 notes"),
+                argThat(pageable -> pageable.getPageNumber() == 2 && pageable.getPageSize() == 5),
+                eq(7L)
+        );
+    }
+
+    @Test
+    @WithMockUserWithId
+    void search_queryMissing_Then403_FORBIDDEN() throws Exception {
+        this.mvc.perform(get(path + "/search"))
+                .andExpect(status().isForbidden());
+        verify(noteService, never()).search(any(), any(), anyLong());
+    }
+
+    @Test
+    @WithMockUserWithId
+    void search_HandledExceptionRaisedInService_PassedToAdviceSuccessfully() throws Exception {
+        when(noteService.search(any(), any(Pageable.class), anyLong()))
+                .thenThrow(new ProperExceptionForTheUser(HttpStatus.BAD_REQUEST, Cons.Note.Search.QUERY_INVALID_MSG));
+
+        this.mvc.perform(get(path + "/search").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value(Cons.Note.Search.QUERY_INVALID_MSG));
+    }
+
+    @Test
+    void search_isNotAuthenticated_Then401_UNAUTHORIZED() throws Exception {
+        this.mvc.perform(get(path + "/search").param("q", "cris6h16"))
+                .andExpect(status().isUnauthorized());
+        verify(noteService, never()).search(any(), any(), anyLong());
+    }
+
+    // -------------------------------- MULTI-GET --------------------------------\\
+
+    @Test
+    @WithMockUserWithId(id = 7L)
+    void getByIds_successful_Then200_Ok() throws Exception {
+        PublicNoteMultiGetDTO result = PublicNoteMultiGetDTO.builder()
+                .notes(create10FixedPublicNoteDTO().subList(1, 3))
+                .missing(List.of(99L))
+                .build();
+        when(noteService.getByIdsAndUserId(anyCollection(), anyLong())).thenReturn(result);
+
+        String body = this.mvc.perform(get(path).param(Cons.Note.MultiGet.IDS_PARAM, "1,2,99"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(this.objectMapper.readValue(body, PublicNoteMultiGetDTO.class)).isEqualTo(result);
+        verify(noteService).getByIdsAndUserId(List.of(1L, 2L, 99L), 7L);
+        verify(noteService, never()).getPage(any(), anyLong());
+    }
+
+    @Test
+    @WithMockUserWithId(id = 7L)
+    void multiGet_successful_Then200_Ok() throws Exception {
+        PublicNoteMultiGetDTO result = PublicNoteMultiGetDTO.builder()
+                .notes(List.of())
+                .missing(List.of(5L, 6L))
+                .build();
+        when(noteService.getByIdsAndUserId(anyCollection(), anyLong())).thenReturn(result);
+
+        this.mvc.perform(post(path + Cons.Note.MultiGet.PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[5, 6]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.missing[0]").value(5))
+                .andExpect(jsonPath("$.missing[1]").value(6));
+        verify(noteService).getByIdsAndUserId(List.of(5L, 6L), 7L);
+    }
+
+    @Test
+    @WithMockUserWithId
+    void getByIds_HandledExceptionRaisedInService_PassedToAdviceSuccessfully() throws Exception {
+        when(noteService.getByIdsAndUserId(any(), anyLong()))
+                .thenThrow(new ProperExceptionForTheUser(HttpStatus.BAD_REQUEST, Cons.Note.MultiGet.IDS_INVALID_MSG));
+
+        this.mvc.perform(get(path).param(Cons.Note.MultiGet.IDS_PARAM, "1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(Cons.Note.MultiGet.IDS_INVALID_MSG));
+    }
+
+    @Test
+    void getByIds_isNotAuthenticated_Then401_UNAUTHORIZED() throws Exception {
+        this.mvc.perform(get(path).param(Cons.Note.MultiGet.IDS_PARAM, "1,2"))
+                .andExpect(status().isUnauthorized());
+        verify(noteService, never()).getByIdsAndUserId(any(), anyLong());
+    }
+
     private List<PublicNoteDTO> create10FixedPublicNoteDTO() {
         List<PublicNoteDTO> notes = new ArrayList<>();
         for (int i = 0; i < 10; i++) {
@@ -360,6 +669,104 @@ class NoteControllerTest {
     }
 
 
+    // -------------------------------- EXPORT --------------------------------\\
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void export_successful_ThenNDJSONStreamed() throws Exception {
+        List<PublicNoteDTO> notes = create10FixedPublicNoteDTO();
+        doAnswer(invocation -> {
+            Consumer<PublicNoteDTO> consumer = invocation.getArgument(1);
+            notes.forEach(consumer);
+            return null;
+        }).when(noteService).exportByUserId(anyLong(), any());
+
+        MvcResult async = this.mvc.perform(get(path + Cons.Note.Export.PATH))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = this.mvc.perform(asyncDispatch(awaitStream(async)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + Cons.Note.Export.FILENAME + "\""))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(notes.size());
+        for (int i = 0; i < lines.length; i++) {
+            assertThat(objectMapper.readValue(lines[i], PublicNoteDTO.class)).isEqualTo(notes.get(i));
+        }
+        verify(noteService).exportByUserId(eq(1L), any());
+        assertThat(async.getRequest().getAsyncContext().getTimeout()).isZero(); // as long as the notes
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void export_noNotes_ThenEmptyBody() throws Exception {
+        MvcResult async = this.mvc.perform(get(path + Cons.Note.Export.PATH))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mvc.perform(asyncDispatch(awaitStream(async)))
+                .andExpect(status().isOk())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void export_Unauthenticated_Then401_Unauthorized() throws Exception {
+        this.mvc.perform(get(path + Cons.Note.Export.PATH))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().bytes(new byte[0]));
+        verify(noteService, never()).exportByUserId(any(), any());
+    }
+
+    // -------------------------------- IMPORT --------------------------------\\
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void importNotes_successful_Then200_OkWithTheResult() throws Exception {
+        String ndjson = "{\"title\":\"first\"}\n{\n";
+        PublicNoteImportResultDTO result = PublicNoteImportResultDTO.builder()
+                .imported(1)
+                .failed(1)
+                .errors(List.of(new PublicNoteImportResultDTO.LineError(2, Cons.Note.Import.INVALID_JSON_MSG)))
+                .build();
+        String[] passed = new String[1];
+        when(noteService.importByUserId(anyLong(), any())).thenAnswer(invocation -> {
+            passed[0] = new String(invocation.<InputStream>getArgument(1).readAllBytes());
+            return result;
+        });
+
+        String body = this.mvc.perform(post(path + Cons.Note.Import.PATH)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(objectMapper.readValue(body, PublicNoteImportResultDTO.class)).isEqualTo(result);
+        assertThat(passed[0]).isEqualTo(ndjson); // the raw body is passed
+        verify(noteService).importByUserId(eq(1L), any());
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void importNotes_notNDJSON_Then403_FORBIDDEN() throws Exception {
+        this.mvc.perform(post(path + Cons.Note.Import.PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"title\":\"first\"}]"))
+                .andExpect(status().isForbidden()); // unsupported media type, handled as any unexpected exception
+        verify(noteService, never()).importByUserId(any(), any());
+    }
+
+    @Test
+    void importNotes_Unauthenticated_Then401_Unauthorized() throws Exception {
+        this.mvc.perform(post(path + Cons.Note.Import.PATH)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{}"))
+                .andExpect(status().isUnauthorized());
+        verify(noteService, never()).importByUserId(any(), any());
+    }
+
     // -------------------------------- GET --------------------------------\\
 
     @Test
@@ -380,6 +787,44 @@ class NoteControllerTest {
         verify(noteService, times(1)).getByIdAndUserId(10L, 1L);
     }
 
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void getByIdAndUserId_versionedNote_ThenETagHeader() throws Exception {
+        PublicNoteDTO dto = PublicNoteDTO.builder().id(10L).title("cris6h16's note").content("content").version(3L).build();
+        when(noteService.getByIdAndUserId(any(Long.class), any(Long.class))).thenReturn(dto);
+
+        this.mvc.perform(get(path + "/10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.version").doesNotExist());
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void getByIdAndUserId_ifNoneMatchIsTheCurrentVersion_Then304_NotModified() throws Exception {
+        when(noteService.getVersionByIdAndUserId(10L, 1L)).thenReturn(3L);
+
+        this.mvc.perform(get(path + "/10").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().bytes(new byte[0]));
+
+        verify(noteService, never()).getByIdAndUserId(any(), any());
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void getByIdAndUserId_ifNoneMatchIsAnOldVersion_Then200_Ok() throws Exception {
+        PublicNoteDTO dto = PublicNoteDTO.builder().id(10L).title("cris6h16's note").content("content").version(4L).build();
+        when(noteService.getVersionByIdAndUserId(10L, 1L)).thenReturn(4L);
+        when(noteService.getByIdAndUserId(10L, 1L)).thenReturn(dto);
+
+        this.mvc.perform(get(path + "/10").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.title").value(dto.getTitle()));
+    }
+
     @Test
     void getByIdAndUserId_Unauthenticated_Then401_Unauthorized() throws Exception {
         this.mvc.perform(get(path + "/1"))
@@ -475,6 +920,65 @@ class NoteControllerTest {
                 );
     }
 
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void put_ByIdAndUserId_ifMatch_ThenTheVersionIsPassedToTheService() throws Exception {
+        this.mvc.perform(put(path + "/10")
+                        .with(csrf())
+                        .header(HttpHeaders.IF_MATCH, "\"5\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"My First Note\",\"content\":\"note of cris6h16\"}"))
+                .andExpect(status().isNoContent());
+
+        verify(noteService, times(1)).putByIdAndUserId(eq(10L), eq(1L), any(CreateNoteDTO.class), eq(5L));
+        verify(noteService, never()).putByIdAndUserId(any(), any(), any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"W/\"5\"", "5", "\"five\"", "\"\""})
+    @WithMockUserWithId(id = 1L)
+    void put_ByIdAndUserId_ifMatchIsNotAStrongETagOfANote_ThenNeverMatches(String ifMatch) throws Exception {
+        this.mvc.perform(put(path + "/10")
+                        .with(csrf())
+                        .header(HttpHeaders.IF_MATCH, ifMatch)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"My First Note\",\"content\":\"note of cris6h16\"}"))
+                .andExpect(status().isNoContent());
+
+        verify(noteService, times(1)).putByIdAndUserId(eq(10L), eq(1L), any(CreateNoteDTO.class), eq(-1L));
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void put_ByIdAndUserId_ifMatchAsterisk_ThenUnconditional() throws Exception {
+        this.mvc.perform(put(path + "/10")
+                        .with(csrf())
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"My First Note\",\"content\":\"note of cris6h16\"}"))
+                .andExpect(status().isNoContent());
+
+        verify(noteService, times(1)).putByIdAndUserId(eq(10L), eq(1L), any(CreateNoteDTO.class));
+        verify(noteService, never()).putByIdAndUserId(any(), any(), any(), any());
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void put_ByIdAndUserId_versionMismatch_Then412_PreconditionFailed() throws Exception {
+        doThrow(new NoteVersionMismatchException())
+                .when(noteService)
+                .putByIdAndUserId(anyLong(), anyLong(), any(CreateNoteDTO.class), anyLong());
+
+        this.mvc.perform(put(path + "/10")
+                        .with(csrf())
+                        .header(HttpHeaders.IF_MATCH, "\"5\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"My First Note\",\"content\":\"note of cris6h16\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value(Cons.Note.Fails.VERSION_MISMATCH));
+    }
+
 
     @Test
     @WithMockUserWithId(id = 1L)
@@ -621,6 +1125,176 @@ class NoteControllerTest {
                 .andExpect(jsonPath("$.message").value("cris6h16's handleable exception"));
     }
 
+    // -------------------------------- PUT CONTENT --------------------------------\\
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void putContent_ifMatch_Then204_NoContentWithTheRawContentPassed() throws Exception {
+        String[] passed = new String[1];
+        doAnswer(invocation -> {
+            passed[0] = new String(invocation.<InputStream>getArgument(2).readAllBytes(), StandardCharsets.UTF_8);
+            return null;
+        }).when(noteService).putContentByIdAndUserId(anyLong(), anyLong(), any(), any());
+
+        this.mvc.perform(put(path + "/10/content")
+                        .with(csrf())
+                        .header(HttpHeaders.IF_MATCH, "\"5\"")
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("note of cris6h16 ñ".getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isNoContent());
+
+        assertThat(passed[0]).isEqualTo("note of cris6h16 ñ");
+        verify(noteService).putContentByIdAndUserId(eq(10L), eq(1L), any(), eq(5L));
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void putContent_contentTooLong_Then413_PayloadTooLarge() throws Exception {
+        doThrow(new NoteContentTooLongException(Cons.Note.Content.DEFAULT_MAX_LENGTH))
+                .when(noteService)
+                .putContentByIdAndUserId(anyLong(), anyLong(), any(), isNull());
+
+        this.mvc.perform(put(path + "/10/content")
+                        .with(csrf())
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("note of cris6h16"))
+                .andExpect(status().isPayloadTooLarge())
+                .andExpect(jsonPath("$.message").value(Cons.Note.Content.TOO_LONG_MSG.formatted(Cons.Note.Content.DEFAULT_MAX_LENGTH)));
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void putContent_notPlainText_Then403_FORBIDDEN() throws Exception {
+        this.mvc.perform(put(path + "/10/content")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"content\":\"note of cris6h16\"}"))
+                .andExpect(status().isForbidden()); // unsupported media type, handled as any unexpected exception
+        verify(noteService, never()).putContentByIdAndUserId(any(), any(), any(), any());
+    }
+
+    // -------------------------------- GET CONTENT --------------------------------\\
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void getContent_successful_Then200_OkStreamedWithETagAndLength() throws Exception {
+        byte[] content = "note of cris6h16 ñ".getBytes(StandardCharsets.UTF_8);
+        stubContent(content, 5L);
+
+        MvcResult async = this.mvc.perform(get(path + "/10/content"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        this.mvc.perform(asyncDispatch(awaitStream(async)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/plain;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5\""))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, content.length))
+                .andExpect(content().bytes(content));
+        verify(noteService).writeContentByIdAndUserId(eq(10L), eq(1L), eq(5L), eq(0L), eq((long) content.length), any());
+        assertThat(async.getRequest().getAsyncContext().getTimeout()).isZero();
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void getContent_range_Then206_PartialContent() throws Exception {
+        stubContent("github.com/cris6h16".getBytes(StandardCharsets.UTF_8), 5L);
+
+        MvcResult async = this.mvc.perform(get(path + "/10/content")
+                        .header(HttpHeaders.RANGE, "bytes=11-")
+                        .header(HttpHeaders.IF_RANGE, "\"5\"")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        this.mvc.perform(asyncDispatch(awaitStream(async)))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 11-18/19"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 8))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string("cris6h16"));
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void getContent_ifRangeOfAnotherVersion_Then200_OkTheWholeContent() throws Exception {
+        stubContent("github.com/cris6h16".getBytes(StandardCharsets.UTF_8), 5L);
+
+        MvcResult async = this.mvc.perform(get(path + "/10/content")
+                        .header(HttpHeaders.RANGE, "bytes=11-")
+                        .header(HttpHeaders.IF_RANGE, "\"4\""))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        this.mvc.perform(asyncDispatch(awaitStream(async)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().string("github.com/cris6h16"));
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void getContent_rangeAfterTheEnd_Then416_RequestedRangeNotSatisfiable() throws Exception {
+        stubContent("github.com/cris6h16".getBytes(StandardCharsets.UTF_8), 5L);
+
+        this.mvc.perform(get(path + "/10/content").header(HttpHeaders.RANGE, "bytes=19-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */19"));
+        verify(noteService, never()).writeContentByIdAndUserId(any(), any(), anyLong(), anyLong(), anyLong(), any());
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void getContent_acceptsGzip_Then200_OkCompressedWithItsOwnETag() throws Exception {
+        byte[] content = "note of cris6h16 ".repeat(200).getBytes(StandardCharsets.UTF_8);
+        stubContent(content, 5L);
+
+        MvcResult async = this.mvc.perform(get(path + "/10/content").header(HttpHeaders.ACCEPT_ENCODING, "deflate, gzip;q=0.8"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] compressed = this.mvc.perform(asyncDispatch(awaitStream(async)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"5-gzip\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_LENGTH))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(compressed.length).isLessThan(content.length);
+        assertThat(new GZIPInputStream(new ByteArrayInputStream(compressed)).readAllBytes()).isEqualTo(content);
+    }
+
+    @Test
+    @WithMockUserWithId(id = 1L)
+    void getContent_ifNoneMatchTheVersion_Then304_NotModifiedWithoutReadingTheContent() throws Exception {
+        stubContent("github.com/cris6h16".getBytes(StandardCharsets.UTF_8), 5L);
+
+        this.mvc.perform(get(path + "/10/content").header(HttpHeaders.IF_NONE_MATCH, "\"5\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+        verify(noteService, never()).writeContentByIdAndUserId(any(), any(), anyLong(), anyLong(), anyLong(), any());
+    }
+
+    /**
+     * The streamed responses have no timeout, then {@code asyncDispatch} doesn't wait for them
+     */
+    private static MvcResult awaitStream(MvcResult async) {
+        async.getAsyncResult(5_000);
+        return async;
+    }
+
+    /**
+     * The content of the note 10 of the user 1
+     */
+    private void stubContent(byte[] content, long version) throws IOException {
+        when(noteService.getContentStatByIdAndUserId(10L, 1L))
+                .thenReturn(new PublicNoteContentStatDTO(version, content.length));
+        doAnswer(invocation -> {
+            int start = invocation.<Long>getArgument(3).intValue();
+            int count = (int) Math.min(invocation.<Long>getArgument(4), content.length - start);
+            invocation.<OutputStream>getArgument(5).write(content, start, count);
+            return null;
+        }).when(noteService).writeContentByIdAndUserId(eq(10L), eq(1L), eq(version), anyLong(), anyLong(), any());
+    }
+
     // -------------------------------- DELETE --------------------------------\\
 
     @Test
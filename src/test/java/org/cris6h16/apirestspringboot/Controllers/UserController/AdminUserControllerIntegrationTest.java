@@ -1,5 +1,8 @@
 package org.cris6h16.apirestspringboot.Controllers.UserController;
 
+import org.cris6h16.apirestspringboot.Config.Sql.QueryBudget;
+import org.cris6h16.apirestspringboot.Config.Sql.QueryBudgetRecorder;
+import org.cris6h16.apirestspringboot.Constants.Cons;
 import org.cris6h16.apirestspringboot.Controllers.CustomClasses.CustomPageImpl;
 import org.cris6h16.apirestspringboot.DTOs.Creation.CreateUserDTO;
 import org.cris6h16.apirestspringboot.DTOs.Public.PublicUserDTO;
@@ -11,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -32,6 +36,7 @@ import static org.cris6h16.apirestspringboot.Constants.Cons.User.Controller.Path
  * @since 1.0
  */
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(QueryBudgetRecorder.class)
 @Tag("IntegrationTest")
 @ActiveProfiles(profiles = "test")
 class AdminUserControllerIntegrationTest {
@@ -51,6 +56,7 @@ class AdminUserControllerIntegrationTest {
 
 
     @Test
+    @QueryBudget(value = "GET /users", select = 5) // the authentication ( user & roles ), the ids, the count & the users with their roles
     void getPage_successful_Then200_Ok() throws Exception {
         ParameterizedTypeReference<CustomPageImpl<PublicUserDTO>> type = new ParameterizedTypeReference<>() {
         };
@@ -70,6 +76,47 @@ class AdminUserControllerIntegrationTest {
         assertThat(list.getBody().getContent()).isSortedAccordingTo(Comparator.comparing(PublicUserDTO::getEmail).reversed());
     }
 
+    @Test
+    @QueryBudget(value = "GET /users?sort=createdAt", select = 2) // just the authentication ( user & roles ), rejected before any query
+    void getPage_sortByFieldWithoutIndex_Then400_BadRequest() {
+        URI uri = UriComponentsBuilder.fromPath(USER_PATH)
+                .queryParam("sort", "createdAt,desc")
+                .build().toUri();
+
+        ResponseEntity<String> response = this.restTemplate
+                .withBasicAuth("cris6h16", "12345678")
+                .getForEntity(uri, String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody()).contains(Cons.Pages.SORT_INVALID_MSG + "email, id, username");
+    }
+
+    @Test
+    void getPage_sizeTooBigOrPageTooDeep_ThenCappedOrRejected() {
+        ParameterizedTypeReference<CustomPageImpl<PublicUserDTO>> type = new ParameterizedTypeReference<>() {
+        };
+        URI capped = UriComponentsBuilder.fromPath(USER_PATH)
+                .queryParam("size", 1000)
+                .build().toUri();
+        URI deep = UriComponentsBuilder.fromPath(USER_PATH)
+                .queryParam("page", 50000)
+                .queryParam("size", 10)
+                .build().toUri();
+
+        ResponseEntity<CustomPageImpl<PublicUserDTO>> cappedResponse = this.restTemplate
+                .withBasicAuth("cris6h16", "12345678")
+                .exchange(capped, HttpMethod.GET, null, type);
+        ResponseEntity<String> deepResponse = this.restTemplate
+                .withBasicAuth("cris6h16", "12345678")
+                .getForEntity(deep, String.class);
+
+        assertThat(cappedResponse.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(cappedResponse.getBody().getSize()).isEqualTo(Cons.Pages.DEFAULT_MAX_SIZE);
+        assertThat(cappedResponse.getBody().getContent()).hasSize(24);
+        assertThat(deepResponse.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(deepResponse.getBody()).contains(Cons.Pages.TOO_DEEP_MSG.formatted(Cons.Pages.DEFAULT_MAX_OFFSET));
+    }
+
     private void createUsersAndAdmin() {
         for (int i = 0; i < 23; i++) {
             userService.create(
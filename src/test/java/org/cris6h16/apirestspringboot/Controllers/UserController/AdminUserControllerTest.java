@@ -22,6 +22,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDate;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -183,8 +184,8 @@ class AdminUserControllerTest {
                     .id((long) j)
                     .username("cris6h16" + j)
                     .email("cris6h16" + j + "@gmail.com")
-                    .createdAt(new Date())
-                    .updatedAt(new Date())
+                    .createdAt(LocalDate.now())
+                    .updatedAt(LocalDate.now())
                     .roles(roles)
                     .build());
         }
@@ -1,5 +1,7 @@
 package org.cris6h16.apirestspringboot.Controllers.UserController;
 
+import org.cris6h16.apirestspringboot.Config.Sql.QueryBudget;
+import org.cris6h16.apirestspringboot.Config.Sql.QueryBudgetRecorder;
 import org.cris6h16.apirestspringboot.Constants.Cons;
 import org.cris6h16.apirestspringboot.DTOs.Creation.CreateUserDTO;
 import org.cris6h16.apirestspringboot.DTOs.Patch.PatchEmailUserDTO;
@@ -17,16 +19,18 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.*;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
-import java.util.Date;
+import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -37,6 +41,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
  * @since 1.0
  */
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(QueryBudgetRecorder.class)
 @Tag("IntegrationTest")
 @ActiveProfiles(profiles = "test")
 class AuthenticatedUserControllerIntegrationTest {
@@ -75,6 +80,7 @@ class AuthenticatedUserControllerIntegrationTest {
     // -------------------------------------------------- GET --------------------------------------------------
 
     @Test
+    @QueryBudget(value = "GET /users/{id}", select = 2)
     void getById_successful_Then200_Ok() throws Exception {
 
         ResponseEntity<PublicUserDTO> res = this.restTemplate
@@ -92,13 +98,14 @@ class AuthenticatedUserControllerIntegrationTest {
                 .hasFieldOrPropertyWithValue("roles", Set.of(PublicRoleDTO.builder().name(ERole.ROLE_USER).build()))
                 .hasFieldOrPropertyWithValue("notes", new HashSet<>(0))
                 .hasNoNullFieldsOrPropertiesExcept("updatedAt");
-        assertTrue(pdto.getCreatedAt().getTime() <= System.currentTimeMillis());
+        assertFalse(pdto.getCreatedAt().isAfter(LocalDate.now()));
     }
 
 
     // -------------------------------------------------- PATCH USERNAME --------------------------------------------------
 
     @Test
+    @QueryBudget(value = "PATCH /users/username/{id}", select = 3, update = 1)
     void patchUsernameById_successful_Then204_NoContent() throws Exception {
         UserEntity inDb = userRepository.findById(id).orElse(null);
 
@@ -134,6 +141,7 @@ class AuthenticatedUserControllerIntegrationTest {
 
 
     @Test
+    @QueryBudget(value = "PATCH /users/email/{id}", select = 3, update = 1)
     void patchEmailById_successful_Then204_NoContent() throws Exception {
         UserEntity inDb = userRepository.findById(id).orElse(null);
 
@@ -167,6 +175,7 @@ class AuthenticatedUserControllerIntegrationTest {
     // -------------------------------------------------- PATCH PASSWORD --------------------------------------------------\\
 
     @Test
+    @QueryBudget(value = "PATCH /users/password/{id}", select = 2, update = 1)
     void patchPasswordById_successful_Then204_NoContent() throws Exception {
         UserEntity inDb = userRepository.findById(id).orElse(null);
 
@@ -202,6 +211,7 @@ class AuthenticatedUserControllerIntegrationTest {
 
 
     @Test
+    @QueryBudget(value = "DELETE /users/{id}", select = 4, delete = 2)
     void deleteById_successful_Then204_NoContent() throws Exception {
         ResponseEntity<Void> res = this.restTemplate
                 .withBasicAuth("cris6h16", "12345678")
@@ -22,7 +22,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.util.Date;
+import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -171,11 +171,11 @@ class AuthenticatedUserControllerTest {
         return PublicUserDTO.builder()
                 .id(1L)
                 .username("cris6h16")
-                .createdAt(new Date())
+                .createdAt(LocalDate.now())
                 .email("cristianmherrera21@gmail.com@gmail.com")
                 .notes(new HashSet<>(0))
                 .roles(roles)
-                .createdAt(new Date(1718643989794L))
+                .createdAt(LocalDate.of(2024, 6, 17))
                 .build();
     }
 
@@ -1,11 +1,14 @@
 package org.cris6h16.apirestspringboot.Controllers.UserController;
 
+import org.cris6h16.apirestspringboot.Config.Sql.QueryBudget;
+import org.cris6h16.apirestspringboot.Config.Sql.QueryBudgetRecorder;
 import org.cris6h16.apirestspringboot.DTOs.Creation.CreateUserDTO;
 import org.cris6h16.apirestspringboot.Services.UserServiceImpl;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
@@ -21,6 +24,7 @@ import static org.cris6h16.apirestspringboot.Constants.Cons.User.Controller.Path
  * @since 1.0
  */
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(QueryBudgetRecorder.class)
 @Tag("IntegrationTest")
 @ActiveProfiles(profiles = "test")
 class PublicUserControllerIntegrationTest {
@@ -37,6 +41,7 @@ class PublicUserControllerIntegrationTest {
     }
 
     @Test
+    @QueryBudget(value = "POST /users", select = 3, insert = 2)
     void create_successful_Then201_Created() throws Exception {
 
         CreateUserDTO dto = CreateUserDTO.builder()
@@ -10,6 +10,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
@@ -81,7 +82,7 @@ public class CascadingUserEntityTest {
                 .password("12345678")
                 .email("cristianmherrera21@gmail.com")
                 .notes(new HashSet<>())
-                .createdAt(new Date())
+                .createdAt(LocalDate.now())
                 .build();
 
         for (int i = 0; i < 10; i++) {
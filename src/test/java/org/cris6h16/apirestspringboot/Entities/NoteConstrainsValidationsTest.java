@@ -11,9 +11,13 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.Set;
 
@@ -36,6 +40,8 @@ public class NoteConstrainsValidationsTest {
     private RoleRepository roleRepository;
     @Autowired
     private NoteRepository noteRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
     private UserEntity usr;
     private NoteEntity note;
 
@@ -137,6 +143,25 @@ public class NoteConstrainsValidationsTest {
         assertThat(noteRepository.findAll().get(0)).isEqualTo(note);
     }
 
+    @Test
+    void Success_contentColumnLength_TheMaxOfDistinctWordsThenSavedAndSearchable() {
+        // Arrange ( distinct words: alone they'd exceed the max size of a tsvector, 1 MB )
+        userRepository.saveAndFlush(usr);
+        StringBuilder content = new StringBuilder(Cons.Note.Content.DEFAULT_MAX_LENGTH);
+        for (int i = 0; content.length() + 33 <= Cons.Note.Content.DEFAULT_MAX_LENGTH; i++) {
+            content.append(DigestUtils.md5DigestAsHex(String.valueOf(i).getBytes(StandardCharsets.UTF_8))).append(' ');
+        }
+        note.setContent(content.toString());
+
+        // Act
+        noteRepository.saveAndFlush(note);
+
+        // Assert
+        String first = DigestUtils.md5DigestAsHex("0".getBytes(StandardCharsets.UTF_8));
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM notes WHERE search_vector @@ to_tsquery('simple', ?)",
+                Long.class, first)).isEqualTo(1);
+    }
+
     @Test
     void DataIntegrityViolationException_contentColumnIsNull() {
         // Arrange
@@ -178,7 +203,7 @@ public class NoteConstrainsValidationsTest {
                 .password("12345678")
                 .email("cris6h16@gmail.com")
                 .roles(Set.of(roles))
-                .createdAt(new Date())
+                .createdAt(LocalDate.now())
                 .build();
         note = NoteEntity.builder()
                 .id(null)
@@ -10,7 +10,7 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Date;
+import java.time.LocalDate;
 import java.util.Iterator;
 import java.util.Set;
 
@@ -89,7 +89,7 @@ public class UserConstrainsValidationsTest {
                 .email(usr.getEmail())
                 .password("12345678")
                 .roles(Set.of(roleRepository.findAll().iterator().next()))
-                .createdAt(new Date())
+                .createdAt(LocalDate.now())
                 .build();
         // Act & Assert
         assertThatThrownBy(() -> userRepository.saveAndFlush(usr2))
@@ -107,7 +107,7 @@ public class UserConstrainsValidationsTest {
                 .email(usr.getEmail())
                 .password("12345678")
                 .roles(Set.of(roleRepository.findAll().iterator().next()))
-                .createdAt(new Date())
+                .createdAt(LocalDate.now())
                 .build();
         // Act & Assert
         assertThatThrownBy(() -> userRepository.saveAndFlush(usr2))
@@ -271,11 +271,11 @@ void DataIntegrityViolationException_passwordTooLong() {
     @Tag(value = "UnsupportedOperationException")
     void UnsupportedOperationException_createdAtColumn_isNotUpdatable() {
         // Arrange
-        usr.setCreatedAt(new Date());
+        usr.setCreatedAt(LocalDate.now());
 
         // Act & Assert
         userRepository.saveAndFlush(usr);
-        usr.setCreatedAt(new Date());
+        usr.setCreatedAt(LocalDate.now());
         assertThatThrownBy(() -> userRepository.saveAndFlush(usr))
                 .isInstanceOf(UnsupportedOperationException.class);
     }
@@ -296,7 +296,7 @@ void DataIntegrityViolationException_passwordTooLong() {
                 .password("12345678")
                 .email("cris6h16@gmail.com")
                 .roles(Set.of(roles))
-                .createdAt(new Date())
+                .createdAt(LocalDate.now())
                 .build();
     }
 }
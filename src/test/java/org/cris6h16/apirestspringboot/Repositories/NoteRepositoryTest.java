@@ -1,8 +1,15 @@
 package org.cris6h16.apirestspringboot.Repositories;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteExcerptDTO;
 import org.cris6h16.apirestspringboot.Entities.NoteEntity;
 import org.cris6h16.apirestspringboot.Entities.UserEntity;
 import org.cris6h16.apirestspringboot.Services.UserServiceImpl;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
@@ -17,7 +24,9 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -52,6 +61,8 @@ public class NoteRepositoryTest {
     private NoteRepository noteRepository;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
 
     private Map<UserEntity, Set<NoteEntity>> userNotes;
 
@@ -263,6 +274,130 @@ public class NoteRepositoryTest {
     }
 
 
+    /**
+     * Test {@link NoteRepository#findExcerptsByUserId(Long, Pageable)} returns the
+     * notes of the user with the same data, but the content as excerpt.
+     *
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    @Test
+    void findExcerptsByUserId_returnHisNotesWithTheExcerpt() {
+        for (UserEntity usr : userNotes.keySet()) {
+            // Arrange
+            Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Order.asc("title")));
+            List<NoteEntity> expected = userNotes.get(usr).stream()
+                    .sorted(Comparator.comparing(NoteEntity::getTitle))
+                    .toList();
+
+            // Act
+            Page<PublicNoteExcerptDTO> page = noteRepository.findExcerptsByUserId(usr.getId(), pageable);
+
+            // Assert
+            assertThat(page.getTotalElements()).isEqualTo(expected.size());
+            assertThat(page.getContent()).hasSize(expected.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertThat(page.getContent().get(i))
+                        .hasFieldOrPropertyWithValue("id", expected.get(i).getId())
+                        .hasFieldOrPropertyWithValue("title", expected.get(i).getTitle())
+                        .hasFieldOrPropertyWithValue("excerpt", expected.get(i).getContent()); // shorter than the limit
+                assertThat(page.getContent().get(i).getUpdatedAt()).isNotNull(); // DATE column, the time is truncated
+            }
+        }
+    }
+
+    /**
+     * Test {@link NoteRepository#findIdsByUserId(Long, Pageable)} returns the ids of the
+     * notes of the user, sorted and paged as {@link NoteRepository#findExcerptsByUserId(Long, Pageable)}.
+     *
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    @Test
+    void findIdsByUserId_sameOrderAsTheExcerpts() {
+        for (UserEntity usr : userNotes.keySet()) {
+            // Arrange
+            Pageable pageable = PageRequest.of(1, 2, Sort.by(Sort.Order.desc("id")));
+
+            // Act
+            Page<Long> ids = noteRepository.findIdsByUserId(usr.getId(), pageable);
+
+            // Assert
+            Page<PublicNoteExcerptDTO> excerpts = noteRepository.findExcerptsByUserId(usr.getId(), pageable);
+            assertThat(ids.getTotalElements()).isEqualTo(userNotes.get(usr).size());
+            assertThat(ids.getContent()).isEqualTo(excerpts.getContent().stream().map(PublicNoteExcerptDTO::getId).toList());
+        }
+    }
+
+    /**
+     * Test {@link NoteRepository#findExcerptsByUserId(Long, Pageable)} with large notes,
+     * the excerpt is cut in the database and the payload of the page is a fraction
+     * of the payload of {@link NoteRepository#findByUserId(Long, Pageable)}.
+     *
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    @Test
+    void findExcerptsByUserId_largeNotes_payloadIsBounded() throws JsonProcessingException {
+        // Arrange
+        int noteLength = 50_000;
+        UserEntity usr = userRepository.saveAndFlush(createUser("largenotes"));
+        Set<NoteEntity> notes = setUser(createNotes(1, 10), usr);
+        notes.forEach(n -> n.setContent("x".repeat(noteLength)));
+        noteRepository.saveAllAndFlush(notes);
+
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("id"));
+        ObjectMapper mapper = new ObjectMapper();
+
+        // Act
+        Page<PublicNoteExcerptDTO> excerpts = noteRepository.findExcerptsByUserId(usr.getId(), pageable);
+        Page<NoteEntity> full = noteRepository.findByUserId(usr.getId(), pageable);
+
+        // Assert
+        assertThat(excerpts.getContent())
+                .hasSize(10)
+                .allSatisfy(e -> assertThat(e.getExcerpt()).hasSize(Cons.Note.Page.EXCERPT_LENGTH));
+
+        long excerptBytes = mapper.writeValueAsBytes(excerpts.getContent()).length;
+        long fullBytes = mapper.writeValueAsBytes(full.getContent().stream().map(NoteEntity::getContent).toList()).length;
+        assertThat(excerptBytes * 100).isLessThan(fullBytes); // ( 10 * ~250 bytes ) vs ( 10 * 50 000 bytes )
+    }
+
+
+    /**
+     * Test {@link NoteRepository#streamByUserId(Long)}, the notes are sorted by id
+     * and they aren't attached to the persistence context.
+     *
+     * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+     * @since 1.0
+     */
+    @Test
+    void streamByUserId_returnHisNotesSortedByIdWithoutManagingThem() {
+        for (UserEntity usr : userNotes.keySet()) {
+            // Arrange
+            List<NoteEntity> expected = userNotes.get(usr).stream()
+                    .sorted(Comparator.comparing(NoteEntity::getId))
+                    .toList();
+            entityManager.clear();
+
+            // Act
+            List<PublicNoteDTO> streamed;
+            try (Stream<PublicNoteDTO> notes = noteRepository.streamByUserId(usr.getId())) {
+                streamed = notes.toList();
+            }
+
+            // Assert
+            assertThat(streamed).hasSize(expected.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertThat(streamed.get(i))
+                        .hasFieldOrPropertyWithValue("id", expected.get(i).getId())
+                        .hasFieldOrPropertyWithValue("title", expected.get(i).getTitle())
+                        .hasFieldOrPropertyWithValue("content", expected.get(i).getContent());
+            }
+            assertThat(entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+        }
+    }
+
     /**
      * Initializes the {@link #userNotes} map and prepares it for testing.<br>
      * Creates 2 users with 5 notes each one and assigns them to {@link #userNotes} map.
@@ -293,7 +428,7 @@ public class NoteRepositoryTest {
                 .email(username + "@example.com")
                 .password("12345678")
                 .notes(new HashSet<>())
-                .createdAt(new Date())
+                .createdAt(LocalDate.now())
                 .build();
     }
 
@@ -0,0 +1,84 @@
+package org.cris6h16.apirestspringboot.Repositories;
+
+import org.cris6h16.apirestspringboot.Entities.UserEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link NotesVersionRepository}, it uses an embedded {@code H2} database
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import(NotesVersionRepository.class)
+@Transactional(rollbackFor = Exception.class)
+public class NotesVersionRepositoryTest {
+
+    @Autowired
+    private NotesVersionRepository notesVersionRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private UserEntity usr;
+    private UserEntity other;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        usr = userRepository.saveAndFlush(createUser("cris6h16", "cristianmherrera21@gmail.com"));
+        other = userRepository.saveAndFlush(createUser("githubcomcris6h16", "hello@example.com"));
+    }
+
+    @Test
+    void findByUserId_newUser_ThenZero() {
+        assertThat(notesVersionRepository.findByUserId(usr.getId())).contains(0L);
+    }
+
+    @Test
+    void findByUserId_userNotFound_ThenEmpty() {
+        assertThat(notesVersionRepository.findByUserId(other.getId() + 100)).isEmpty();
+    }
+
+    @Test
+    void increment_onlyTheUserIsIncremented() {
+        // Act
+        notesVersionRepository.increment(usr.getId());
+        notesVersionRepository.increment(usr.getId());
+
+        // Assert
+        assertThat(notesVersionRepository.findByUserId(usr.getId())).contains(2L);
+        assertThat(notesVersionRepository.findByUserId(other.getId())).contains(0L);
+    }
+
+    @Test
+    void incrementAll_allTheUsersAreIncremented() {
+        // Act
+        notesVersionRepository.increment(usr.getId());
+        notesVersionRepository.incrementAll();
+
+        // Assert
+        assertThat(notesVersionRepository.findByUserId(usr.getId())).contains(2L);
+        assertThat(notesVersionRepository.findByUserId(other.getId())).contains(1L);
+    }
+
+    private UserEntity createUser(String username, String email) {
+        return UserEntity.builder()
+                .username(username)
+                .password("12345678")
+                .email(email)
+                .createdAt(LocalDate.now())
+                .build();
+    }
+}
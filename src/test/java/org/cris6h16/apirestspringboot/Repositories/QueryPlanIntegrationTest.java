@@ -0,0 +1,268 @@
+package org.cris6h16.apirestspringboot.Repositories;
+
+import jakarta.persistence.EntityManager;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Entities.NoteEntity;
+import org.cris6h16.apirestspringboot.Entities.UserEntity;
+import org.cris6h16.apirestspringboot.Services.Search.PostgresNoteSearchIndex;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Asserts that each query of the repositories uses an index, the SQL generated by Hibernate is
+ * recorded by {@link SqlRecorder} and then explained in {@code PostgreSQL} with:
+ * <ul>
+ *     <li>{@code enable_seqscan = off}: the tables of the test are tiny, then a sequential scan would be
+ *     the cheapest plan, disabling it the planner uses an index if any index can be used</li>
+ *     <li>{@code plan_cache_mode = force_generic_plan}: the parameters are unknown ( like in the {@code ?} of the
+ *     application ) instead of the values of the test</li>
+ * </ul>
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "org.cris6h16.apirestspringboot.Repositories.QueryPlanIntegrationTest$SqlRecorder")
+@ActiveProfiles(profiles = "test")
+@Transactional(rollbackFor = Exception.class)
+@Tag("IntegrationTest")
+public class QueryPlanIntegrationTest {
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserEntity user;
+    private NoteEntity note;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(UserEntity.builder()
+                .username("queryplans")
+                .password("12345678")
+                .email("queryplans@example.com")
+                .roles(Set.of(roleRepository.findByName(ERole.ROLE_USER).orElseThrow()))
+                .createdAt(LocalDate.now())
+                .build());
+        note = noteRepository.save(NoteEntity.builder()
+                .title("title")
+                .content("content")
+                .updatedAt(new Date())
+                .user(user)
+                .build());
+        entityManager.flush();
+
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        jdbcTemplate.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+    }
+
+    @Test
+    void noteRepository_findByIdAndUserId() {
+        assertUsesIndexes(() -> noteRepository.findByIdAndUserId(note.getId(), user.getId()));
+    }
+
+    @Test
+    void noteRepository_findVersionByIdAndUserId() {
+        assertUsesIndexes(() -> noteRepository.findVersionByIdAndUserId(note.getId(), user.getId()));
+    }
+
+    @Test
+    void noteRepository_streamByUserId() {
+        assertUsesIndexes(() -> {
+            try (Stream<PublicNoteDTO> notes = noteRepository.streamByUserId(user.getId())) {
+                notes.forEach(note -> {
+                }); // the query is executed on the first read
+            }
+        });
+    }
+
+    @Test
+    void noteRepository_existsByIdAndUserId() {
+        assertUsesIndexes(() -> noteRepository.existsByIdAndUserId(note.getId(), user.getId()));
+    }
+
+    @Test
+    void noteRepository_deleteByIdAndUserId() {
+        assertUsesIndexes(() -> noteRepository.deleteByIdAndUserId(note.getId(), user.getId()));
+    }
+
+    @Test
+    void noteRepository_findByUserId_sortedById_withCount() {
+        assertUsesIndexes(() -> noteRepository.findByUserId(user.getId(), PageRequest.of(1, 1, Sort.by("id"))));
+    }
+
+    @Test
+    void noteRepository_findByUserId_sortedByUpdatedAt() {
+        assertUsesIndexes(() -> noteRepository.findByUserId(user.getId(), PageRequest.of(0, 10, Sort.by("updatedAt"))));
+    }
+
+    @Test
+    void noteRepository_findExcerptsByUserId_withCount() {
+        assertUsesIndexes(() -> noteRepository.findExcerptsByUserId(user.getId(), PageRequest.of(1, 1, Sort.by("id"))));
+    }
+
+    @Test
+    void noteRepository_findIdsByUserId_withCount() {
+        assertUsesIndexes(() -> noteRepository.findIdsByUserId(user.getId(), PageRequest.of(1, 1, Sort.by("updatedAt"))));
+    }
+
+    @Test
+    void noteRepository_findExcerptsByUserIdAndIdIn() {
+        assertUsesIndexes(() -> noteRepository.findExcerptsByUserIdAndIdIn(user.getId(), List.of(note.getId(), 2L)));
+    }
+
+    @Test
+    void noteRepository_findNotesByUserIdAndIdIn() {
+        assertUsesIndexes(() -> noteRepository.findNotesByUserIdAndIdIn(user.getId(), List.of(note.getId(), 2L)));
+    }
+
+    @Test
+    void userRepository_findById() {
+        assertUsesIndexes(() -> userRepository.findById(user.getId()));
+    }
+
+    @Test
+    void userRepository_findByUsername() {
+        assertUsesIndexes(() -> userRepository.findByUsername(user.getUsername()));
+    }
+
+    @Test
+    void userRepository_existsByUsernameAndEmail() {
+        assertUsesIndexes(() -> {
+            userRepository.existsByUsername(user.getUsername());
+            userRepository.existsByEmail(user.getEmail());
+        });
+    }
+
+    @Test
+    void userRepository_updatesById() {
+        assertUsesIndexes(() -> {
+            userRepository.updateEmailById("updated@example.com", user.getId());
+            userRepository.updateUsernameById("updatedname", user.getId());
+            userRepository.updatePasswordById("123456789", user.getId());
+        });
+    }
+
+    @Test
+    void roleRepository_findByName() {
+        assertUsesIndexes(() -> roleRepository.findByName(ERole.ROLE_USER));
+    }
+
+    @Test
+    void postgresNoteSearchIndex_search() {
+        assertThat(plan(PostgresNoteSearchIndex.SEARCH_SQL)).doesNotContain("Seq Scan");
+        assertThat(plan(PostgresNoteSearchIndex.COUNT_SQL)).doesNotContain("Seq Scan");
+    }
+
+    /**
+     * Executed with {@link JdbcTemplate} ( not recorded by {@link SqlRecorder} ), each one reaches its note by the id:
+     * {@code idx_notes_user_id_id} or the primary key ( unique ), as cheap as each other depending on the rows of the
+     * table, but never by scanning the notes of the owner. The owner has some notes and the table is analyzed
+     * ( rolled back with the test ): with an empty table any index of {@code notes} is as cheap as the others
+     */
+    @Test
+    void noteContentRepository_statChunkAndUpdate() {
+        List<NoteEntity> notes = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            notes.add(NoteEntity.builder().title("title").content("content").updatedAt(new Date()).user(user).build());
+        }
+        noteRepository.saveAll(notes);
+        entityManager.flush();
+        jdbcTemplate.execute("ANALYZE notes");
+
+        for (String sql : List.of(
+                NoteContentRepository.STAT_SQL,
+                NoteContentRepository.CHUNK_SQL,
+                NoteContentRepository.UPDATE_SQL,
+                NoteContentRepository.UPDATE_SQL + " AND version = ?")) { // with the expected version
+            assertThat(plan(sql))
+                    .as("plan of: %s", sql)
+                    .containsAnyOf("idx_notes_user_id_id", "notes_pkey")
+                    .doesNotContain("idx_notes_user_id_updated_at", "Seq Scan");
+        }
+    }
+
+    /**
+     * Executes the action without caches, then explains each SQL statement executed
+     *
+     * @param action which calls the repository
+     */
+    private void assertUsesIndexes(Runnable action) {
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+        SqlRecorder.STATEMENTS.clear();
+
+        action.run();
+        entityManager.flush();
+
+        List<String> statements = new ArrayList<>(SqlRecorder.STATEMENTS);
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            assertThat(plan(sql))
+                    .as("plan of: %s", sql)
+                    .doesNotContain("Seq Scan");
+        }
+    }
+
+    /**
+     * @param sql with {@code ?} as parameters
+     * @return the generic plan of the SQL
+     */
+    private String plan(String sql) {
+        int parameters = 0;
+        StringBuilder prepared = new StringBuilder();
+        for (char c : sql.toCharArray()) {
+            if (c == '?') prepared.append('$').append(++parameters);
+            else prepared.append(c);
+        }
+
+        jdbcTemplate.execute("PREPARE plan_check AS " + prepared);
+        try {
+            String nulls = String.join(", ", Collections.nCopies(parameters, "NULL"));
+            List<String> lines = jdbcTemplate.queryForList(
+                    "EXPLAIN EXECUTE plan_check" + (parameters == 0 ? "" : "(" + nulls + ")"), String.class);
+            return String.join("\n", lines);
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE plan_check");
+        }
+    }
+
+    /**
+     * Records the SQL generated by Hibernate
+     */
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
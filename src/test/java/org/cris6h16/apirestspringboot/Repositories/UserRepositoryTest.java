@@ -13,7 +13,7 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Date;
+import java.time.LocalDate;
 import java.util.Optional;
 import java.util.Set;
 
@@ -124,7 +124,7 @@ public class UserRepositoryTest {
                 .hasFieldOrPropertyWithValue("username", this.usr.getUsername())
                 .hasFieldOrPropertyWithValue("password", this.usr.getPassword());
         assertThat(result.getUpdatedAt())
-                .isBeforeOrEqualTo(new Date());
+                .isBeforeOrEqualTo(LocalDate.now());
     }
 
     /**
@@ -151,7 +151,7 @@ public class UserRepositoryTest {
                 .hasFieldOrPropertyWithValue("username", newUsername)
                 .hasFieldOrPropertyWithValue("password", this.usr.getPassword());
         assertThat(result.getUpdatedAt())
-                .isBeforeOrEqualTo(new Date());
+                .isBeforeOrEqualTo(LocalDate.now());
     }
 
 
@@ -179,7 +179,7 @@ public class UserRepositoryTest {
                 .hasFieldOrPropertyWithValue("username", this.usr.getUsername())
                 .hasFieldOrPropertyWithValue("password", newPassword);
         assertThat(result.getUpdatedAt())
-                .isBeforeOrEqualTo(new Date());
+                .isBeforeOrEqualTo(LocalDate.now());
     }
 
 
@@ -235,7 +235,7 @@ public class UserRepositoryTest {
                 .password("12345678")
                 .email("cristianmherrera21@gmail.com")
                 .roles(Set.of(roles))
-                .createdAt(new Date())
+                .createdAt(LocalDate.now())
                 .build();
     }
 
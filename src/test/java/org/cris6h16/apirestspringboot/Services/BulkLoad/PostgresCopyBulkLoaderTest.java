@@ -0,0 +1,44 @@
+package org.cris6h16.apirestspringboot.Services.BulkLoad;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.sql.Date;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the CSV written by {@link PostgresCopyBulkLoader}, the {@code COPY}
+ * itself is tested against PostgreSQL by the integration tests
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class PostgresCopyBulkLoaderTest {
+
+    @Test
+    void writeCsvLine_textsAreQuotedAndEscaped() throws IOException {
+        // Arrange
+        StringWriter out = new StringWriter();
+
+        // Act
+        PostgresCopyBulkLoader.writeCsvLine(out, new Object[]{1L, "say \"hi\", then\nbye", "", Date.valueOf(LocalDate.of(2024, 7, 22))});
+
+        // Assert
+        assertThat(out.toString()).isEqualTo("1,\"say \"\"hi\"\", then\nbye\",\"\",2024-07-22\n");
+    }
+
+    @Test
+    void writeCsvLine_null_ThenEmptyUnquoted() throws IOException {
+        // Arrange
+        StringWriter out = new StringWriter();
+
+        // Act
+        PostgresCopyBulkLoader.writeCsvLine(out, new Object[]{1L, null, 2L});
+
+        // Assert
+        assertThat(out.toString()).isEqualTo("1,,2\n");
+    }
+}
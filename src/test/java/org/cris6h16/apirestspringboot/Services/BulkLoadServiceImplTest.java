@@ -0,0 +1,281 @@
+package org.cris6h16.apirestspringboot.Services;
+
+import org.cris6h16.apirestspringboot.Config.BulkLoad.BulkLoadConfig;
+import org.cris6h16.apirestspringboot.Config.Search.NoteSearchConfig;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicBulkLoadResultDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteImportResultDTO;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Entities.NoteEntity;
+import org.cris6h16.apirestspringboot.Entities.RoleEntity;
+import org.cris6h16.apirestspringboot.Entities.UserEntity;
+import org.cris6h16.apirestspringboot.Repositories.NoteRepository;
+import org.cris6h16.apirestspringboot.Repositories.RoleRepository;
+import org.cris6h16.apirestspringboot.Repositories.UserRepository;
+import org.cris6h16.apirestspringboot.Services.BulkLoad.BulkLoader;
+import org.cris6h16.apirestspringboot.Services.BulkLoad.JdbcBatchBulkLoader;
+import org.cris6h16.apirestspringboot.Services.Validation.NoteContentLimit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Test class for {@link BulkLoadServiceImpl} with the fallback of the databases without {@code COPY}
+ * ( {@link JdbcBatchBulkLoader} ), it uses an embedded {@code H2} database.<br>
+ * Each block is committed in its own transaction, then the data is removed after each test.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@DataJpaTest(properties = Cons.Note.Content.PROPERTY_PREFIX + ".max-length=" + BulkLoadServiceImplTest.MAX_CONTENT_LENGTH)
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import({BulkLoadConfig.class, NoteSearchConfig.class, NoteContentLimit.class, BulkLoadServiceImpl.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class BulkLoadServiceImplTest {
+    static final int MAX_CONTENT_LENGTH = 100;
+    private static final String PASSWORD = "{bcrypt}$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK";
+
+    @Autowired
+    private BulkLoadServiceImpl bulkLoadService;
+    @Autowired
+    private BulkLoader bulkLoader;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        tearDown();
+    }
+
+    @AfterEach
+    void tearDown() {
+        noteRepository.deleteAll();
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+    @Test
+    void bulkLoader_H2_ThenTheBatchedInsertsFallback() {
+        assertThat(bulkLoader).isInstanceOf(JdbcBatchBulkLoader.class);
+    }
+
+    @Test
+    void load_usersWithRolesAndNotes_ThenWritten() {
+        // Arrange
+        String ndjson = """
+                {"username":" Cris6h16 ","email":"cristianmherrera21@gmail.com","password":"{bcrypt}$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK","roles":["ROLE_ADMIN","ROLE_USER"],"notes":[{"title":"first","content":"first content"},{"title":"second"}]}
+                {"username":"githubcomcris6h16","email":"hello@example.com","password":"{bcrypt}$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK"}
+                """;
+
+        // Act
+        PublicBulkLoadResultDTO result = load(ndjson);
+
+        // Assert
+        assertThat(result.getUsers()).isEqualTo(2);
+        assertThat(result.getRoles()).isEqualTo(3);
+        assertThat(result.getNotes()).isEqualTo(2);
+        assertThat(result.getFailed()).isZero();
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(result.getRowsPerSecond()).isPositive();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            UserEntity admin = userRepository.findByUsername("cris6h16").orElseThrow();
+            assertThat(admin.getPassword()).isEqualTo(PASSWORD);
+            assertThat(admin.getCreatedAt()).isNotNull();
+            assertThat(admin.getRoles())
+                    .extracting(RoleEntity::getName)
+                    .containsExactlyInAnyOrder(ERole.ROLE_ADMIN, ERole.ROLE_USER);
+            assertThat(admin.getNotes())
+                    .extracting(NoteEntity::getTitle, NoteEntity::getContent)
+                    .containsExactlyInAnyOrder(
+                            tuple("first", "first content"),
+                            tuple("second", ""));
+
+            UserEntity user = userRepository.findByUsername("githubcomcris6h16").orElseThrow();
+            assertThat(user.getRoles()).extracting(RoleEntity::getName).containsExactly(ERole.ROLE_USER); // by default
+            assertThat(user.getNotes()).isEmpty();
+        });
+    }
+
+    @Test
+    void load_invalidLines_ThenSkippedAndReported() {
+        // Arrange
+        userRepository.saveAndFlush(createUser("existing", "existing@example.com"));
+        String ndjson = """
+                {"username":"cris6h16","email":"cristianmherrera21@gmail.com","password":"{bcrypt}$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK"}
+                not a json
+                {"username":"abc","email":"abc@example.com","password":"{bcrypt}$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK"}
+                {"username":"plainpassword","email":"plain@example.com","password":"12345678"}
+                {"username":"cris6h16","email":"other@example.com","password":"{bcrypt}$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK"}
+
+                {"username":"existing","email":"new@example.com","password":"{bcrypt}$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK"}
+                {"username":"longtitle","email":"long@example.com","password":"{bcrypt}$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK","notes":[{"title":"%s"}]}
+                {"username":"samemail","email":"existing@example.com","password":"{bcrypt}$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK"}
+                """.formatted("a".repeat(Cons.Note.Validations.MAX_TITLE_LENGTH + 1));
+
+        // Act
+        PublicBulkLoadResultDTO result = load(ndjson);
+
+        // Assert
+        assertThat(result.getUsers()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(7);
+        assertThat(result.getErrors()).containsExactlyInAnyOrder(
+                new PublicNoteImportResultDTO.LineError(2, Cons.Admin.BulkLoad.INVALID_JSON_MSG),
+                new PublicNoteImportResultDTO.LineError(3, Cons.User.Validations.USERNAME_LENGTH_FAIL_MSG),
+                new PublicNoteImportResultDTO.LineError(4, Cons.Admin.BulkLoad.PASSWORD_NOT_ENCODED_MSG),
+                new PublicNoteImportResultDTO.LineError(5, Cons.User.Constrains.USERNAME_UNIQUE_MSG),
+                new PublicNoteImportResultDTO.LineError(7, Cons.User.Constrains.USERNAME_UNIQUE_MSG),
+                new PublicNoteImportResultDTO.LineError(8, Cons.Note.Validations.TITLE_MAX_LENGTH_MSG),
+                new PublicNoteImportResultDTO.LineError(9, Cons.User.Constrains.EMAIL_UNIQUE_MSG)
+        );
+        assertThat(userRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void load_contentOfANoteTooLong_ThenSkippedAndReported() {
+        // Arrange
+        String ndjson = """
+                {"username":"longcontent","email":"long@example.com","password":"%1$s","notes":[{"title":"long","content":"%2$s"}]}
+                {"username":"maxcontent","email":"max@example.com","password":"%1$s","notes":[{"title":"max","content":"%3$s"}]}
+                """.formatted(PASSWORD, "a".repeat(MAX_CONTENT_LENGTH + 1), "a".repeat(MAX_CONTENT_LENGTH));
+
+        // Act
+        PublicBulkLoadResultDTO result = load(ndjson);
+
+        // Assert
+        assertThat(result.getUsers()).isEqualTo(1);
+        assertThat(result.getNotes()).isEqualTo(1);
+        assertThat(result.getErrors()).containsExactly(
+                new PublicNoteImportResultDTO.LineError(1, Cons.Note.Content.TOO_LONG_MSG.formatted(MAX_CONTENT_LENGTH)));
+        assertThat(userRepository.findByUsername("maxcontent")).isPresent();
+    }
+
+    @Test
+    void load_lineLongerThanANote_ThenReportedAndTheNextLinesLoaded() {
+        // Arrange
+        String huge = "{\"username\":\"huge\",\"email\":\"huge@example.com\",\"password\":\"" + PASSWORD + "\"," +
+                "\"notes\":[{\"title\":\"huge\",\"content\":\"" + "a".repeat(2 * MAX_CONTENT_LENGTH + Cons.Note.Import.MAX_LINE_OVERHEAD) + "\"}]}";
+        String ndjson = huge + "\n{\"username\":\"after\",\"email\":\"after@example.com\",\"password\":\"" + PASSWORD + "\"}\n";
+
+        // Act
+        PublicBulkLoadResultDTO result = load(ndjson);
+
+        // Assert
+        assertThat(result.getUsers()).isEqualTo(1);
+        assertThat(result.getErrors()).containsExactly(new PublicNoteImportResultDTO.LineError(1, Cons.Admin.BulkLoad.LINE_TOO_LONG_MSG));
+        assertThat(userRepository.findByUsername("after")).isPresent();
+    }
+
+    @Test
+    void load_passwordNotABCryptHash_ThenSkippedAndReported() {
+        // Arrange
+        String ndjson = """
+                {"username":"noop","email":"noop@example.com","password":"{noop}12345678"}
+                {"username":"sha256","email":"sha256@example.com","password":"{sha256}97ba2f2bc0c8b5c3a1b1f7a2e5d2f2e8b0f0a1c7d6e5f4a3b2c1d0e9f8a7b6c5"}
+                {"username":"noprefix","email":"noprefix@example.com","password":"$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK"}
+                {"username":"shortbcrypt","email":"short@example.com","password":"{bcrypt}$2a$04$cqQJy75fGBEAWkMIC"}
+                {"username":"lowcost","email":"lowcost@example.com","password":"{bcrypt}$2a$03$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK"}
+                {"username":"valid","email":"valid@example.com","password":"%s"}
+                """.formatted(PASSWORD);
+
+        // Act
+        PublicBulkLoadResultDTO result = load(ndjson);
+
+        // Assert
+        assertThat(result.getUsers()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(PublicNoteImportResultDTO.LineError::getLine).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(result.getErrors()).allSatisfy(e -> assertThat(e.getMessage()).isEqualTo(Cons.Admin.BulkLoad.PASSWORD_NOT_ENCODED_MSG));
+    }
+
+    @Test
+    void load_moreThanABlock_ThenEachBlockIsWritten() {
+        // Arrange
+        int users = Cons.Admin.BulkLoad.BLOCK_SIZE + 1;
+        String ndjson = IntStream.range(0, users)
+                .mapToObj(i -> "{\"username\":\"user" + i + "\",\"email\":\"user" + i + "@example.com\",\"password\":\"" + PASSWORD + "\"," +
+                        "\"notes\":[{\"title\":\"note of " + i + "\"}]}")
+                .collect(Collectors.joining("\n"));
+
+        // Act
+        PublicBulkLoadResultDTO result = load(ndjson);
+
+        // Assert
+        assertThat(result.getUsers()).isEqualTo(users);
+        assertThat(result.getNotes()).isEqualTo(users);
+        assertThat(userRepository.count()).isEqualTo(users);
+        assertThat(noteRepository.count()).isEqualTo(users);
+    }
+
+    @Test
+    void load_idsTakenFromTheSequences_ThenHibernateDoesNotCollide() {
+        // Arrange
+        UserEntity before = userRepository.saveAndFlush(createUser("before", "before@example.com")); // Hibernate keeps a block of ids
+
+        // Act
+        load("""
+                {"username":"cris6h16","email":"cristianmherrera21@gmail.com","password":"{bcrypt}$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK","notes":[{"title":"first"}]}
+                """);
+        UserEntity after = userRepository.saveAndFlush(createUser("after", "after@example.com"));
+
+        // Assert
+        List<Long> ids = userRepository.findAll().stream().map(UserEntity::getId).toList();
+        assertThat(ids).hasSize(3).doesNotHaveDuplicates().contains(before.getId(), after.getId());
+    }
+
+    @Test
+    void load_usernameCachedAsNotFound_ThenFoundAfterTheLoad() {
+        // Arrange
+        assertThat(userRepository.findByUsername("cris6h16")).isEmpty(); // cached query
+
+        // Act
+        load("""
+                {"username":"cris6h16","email":"cristianmherrera21@gmail.com","password":"{bcrypt}$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK"}
+                """);
+
+        // Assert
+        assertThat(userRepository.findByUsername("cris6h16")).isPresent();
+    }
+
+    private PublicBulkLoadResultDTO load(String ndjson) {
+        return bulkLoadService.load(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private UserEntity createUser(String username, String email) {
+        return UserEntity.builder()
+                .username(username)
+                .password("12345678")
+                .email(email)
+                .roles(Set.of())
+                .createdAt(LocalDate.now())
+                .build();
+    }
+}
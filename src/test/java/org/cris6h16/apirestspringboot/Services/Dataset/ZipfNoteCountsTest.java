@@ -0,0 +1,59 @@
+package org.cris6h16.apirestspringboot.Services.Dataset;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link ZipfNoteCounts}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class ZipfNoteCountsTest {
+
+    @Test
+    void allocate_ThenExactlyTheNotesWithTheZipfWeights() {
+        // Act
+        int[] counts = ZipfNoteCounts.allocate(1000, 1_000_000, 1.0, 42);
+
+        // Assert
+        assertThat(Arrays.stream(counts).asLongStream().sum()).isEqualTo(1_000_000);
+        int[] sorted = Arrays.stream(counts).sorted().toArray();
+        assertThat(sorted[999]).isBetween(133_000, 134_500); // 1_000_000 / H(1000) ~ 133_609
+        assertThat(sorted[998]).isBetween(66_500, 67_300); // half of the first
+    }
+
+    @Test
+    void allocate_ThenTheBiggestUsersShuffledBySeed() {
+        // Act
+        int[] counts = ZipfNoteCounts.allocate(1000, 100_000, 1.0, 42);
+        int[] sameSeed = ZipfNoteCounts.allocate(1000, 100_000, 1.0, 42);
+        int[] otherSeed = ZipfNoteCounts.allocate(1000, 100_000, 1.0, 43);
+
+        // Assert
+        assertThat(sameSeed).isEqualTo(counts);
+        assertThat(otherSeed).isNotEqualTo(counts);
+        assertThat(counts[0]).isNotEqualTo(Arrays.stream(counts).max().getAsInt()); // not by index
+    }
+
+    @Test
+    void allocate_ExponentZero_ThenUniform() {
+        // Act
+        int[] counts = ZipfNoteCounts.allocate(10, 105, 0, 1);
+
+        // Assert
+        assertThat(Arrays.stream(counts).boxed().toList()).allSatisfy(c -> assertThat(c).isBetween(10, 11));
+        assertThat(Arrays.stream(counts).sum()).isEqualTo(105);
+    }
+
+    @Test
+    void allocate_InvalidArguments_ThenIllegalArgument() {
+        assertThatThrownBy(() -> ZipfNoteCounts.allocate(0, 10, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ZipfNoteCounts.allocate(10, -1, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ZipfNoteCounts.allocate(10, 10, -1, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
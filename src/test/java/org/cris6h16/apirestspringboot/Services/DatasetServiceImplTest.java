@@ -0,0 +1,175 @@
+package org.cris6h16.apirestspringboot.Services;
+
+import org.cris6h16.apirestspringboot.Config.BulkLoad.BulkLoadConfig;
+import org.cris6h16.apirestspringboot.Config.Search.NoteSearchConfig;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicBulkLoadResultDTO;
+import org.cris6h16.apirestspringboot.Entities.ERole;
+import org.cris6h16.apirestspringboot.Entities.NoteEntity;
+import org.cris6h16.apirestspringboot.Entities.RoleEntity;
+import org.cris6h16.apirestspringboot.Entities.UserEntity;
+import org.cris6h16.apirestspringboot.Repositories.NoteRepository;
+import org.cris6h16.apirestspringboot.Repositories.RoleRepository;
+import org.cris6h16.apirestspringboot.Repositories.UserRepository;
+import org.cris6h16.apirestspringboot.Services.Dataset.DatasetSpec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link DatasetServiceImpl}, it uses an embedded {@code H2} database
+ * ( {@link org.cris6h16.apirestspringboot.Services.BulkLoad.JdbcBatchBulkLoader} ).<br>
+ * Each block is committed in its own transaction, then the data is removed after each test.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import({BulkLoadConfig.class, NoteSearchConfig.class, DatasetServiceImpl.class, DatasetServiceImplTest.PasswordEncoderConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class DatasetServiceImplTest {
+
+    @Autowired
+    private DatasetServiceImpl datasetService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private NoteRepository noteRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TestConfiguration
+    static class PasswordEncoderConfig {
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        tearDown();
+    }
+
+    @AfterEach
+    void tearDown() {
+        noteRepository.deleteAll();
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+    }
+
+    @Test
+    void generate_ThenUsersWithZipfSkewedNotes() {
+        // Arrange
+        DatasetSpec spec = DatasetSpec.builder().users(1500).notes(30_000).parallelism(2).build(); // 2 blocks of users, 2 of notes written at the same time
+
+        // Act
+        PublicBulkLoadResultDTO result = datasetService.generate(spec);
+
+        // Assert
+        assertThat(result.getUsers()).isEqualTo(1500);
+        assertThat(result.getNotes()).isEqualTo(30_000);
+        assertThat(userRepository.count()).isEqualTo(1500);
+        assertThat(noteRepository.count()).isEqualTo(30_000);
+
+        List<Long> counts = new TransactionTemplate(transactionManager).execute(status -> userRepository.findAll().stream()
+                .map(u -> (long) u.getNotes().size())
+                .sorted(Comparator.reverseOrder())
+                .toList());
+        assertThat(counts.get(0)).isGreaterThan(3_000); // 30_000 / H(1500) ~ 3_760
+        assertThat(counts.subList(0, 150).stream().mapToLong(Long::longValue).sum()).isGreaterThan(20_000); // 10% of the users, most of the notes
+        assertThat(counts.get(counts.size() - 1)).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void generate_ThenRoleUserAndThePasswordHashedOnce() {
+        // Arrange
+        DatasetSpec spec = DatasetSpec.builder().users(3).notes(0).password("87654321").build();
+
+        // Act
+        datasetService.generate(spec);
+
+        // Assert
+        List<UserEntity> users = new TransactionTemplate(transactionManager).execute(status -> {
+            List<UserEntity> all = userRepository.findAll();
+            all.forEach(u -> u.getRoles().size());
+            return all;
+        });
+        assertThat(users).extracting(UserEntity::getUsername).containsExactlyInAnyOrder("user0", "user1", "user2");
+        assertThat(users).extracting(UserEntity::getPassword).containsOnly(users.get(0).getPassword());
+        assertThat(passwordEncoder.matches("87654321", users.get(0).getPassword())).isTrue();
+        assertThat(users).allSatisfy(u -> assertThat(u.getRoles()).extracting(RoleEntity::getName).containsExactly(ERole.ROLE_USER));
+    }
+
+    @Test
+    void generate_SameSeed_ThenSameNotesByUser() {
+        // Arrange
+        DatasetSpec.DatasetSpecBuilder spec = DatasetSpec.builder().users(20).notes(400).seed(7);
+
+        // Act
+        datasetService.generate(spec.usernamePrefix("first").build());
+        datasetService.generate(spec.usernamePrefix("second").build());
+
+        // Assert
+        for (int i = 0; i < 20; i++) {
+            assertThat(notesOf("second" + i)).isEqualTo(notesOf("first" + i));
+        }
+        assertThat(notesOf("first0")).isNotEqualTo(notesOf("first1"));
+    }
+
+    @Test
+    void generate_PrefixAlreadyUsed_ThenIllegalState() {
+        // Arrange
+        datasetService.generate(DatasetSpec.builder().users(1).notes(1).build());
+
+        // Act & Assert
+        assertThatThrownBy(() -> datasetService.generate(DatasetSpec.builder().users(1).notes(1).build()))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(noteRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void generate_UsernamesTooLong_ThenIllegalArgument() {
+        // Arrange
+        DatasetSpec spec = DatasetSpec.builder().users(1_000).usernamePrefix("averyveryverylongs").build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> datasetService.generate(spec)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(userRepository.count()).isZero();
+    }
+
+    /**
+     * @return "title|content" of the notes of the user, in the order they were generated
+     */
+    private List<String> notesOf(String username) {
+        Long userId = userRepository.findByUsername(username).orElseThrow().getId();
+        return noteRepository.findByUserId(userId, Pageable.unpaged()).stream()
+                .sorted(Comparator.comparing(NoteEntity::getId))
+                .map(n -> n.getTitle() + "|" + n.getContent())
+                .toList();
+    }
+}
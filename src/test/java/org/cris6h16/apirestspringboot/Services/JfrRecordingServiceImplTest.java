@@ -0,0 +1,117 @@
+package org.cris6h16.apirestspringboot.Services;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.cris6h16.apirestspringboot.Config.Jfr.PasswordHashEvent;
+import org.cris6h16.apirestspringboot.Config.Security.TimedPasswordEncoder;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicJfrRecordingDTO;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.JfrRecordingService.JfrDurationInvalidException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.JfrRecordingService.JfrRecordingAlreadyRunningException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.JfrRecordingService.JfrRecordingNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link JfrRecordingServiceImpl}, the recordings are real ( JFR is part of the JDK )
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Tag("UnitTest")
+public class JfrRecordingServiceImplTest {
+
+    private JfrRecordingServiceImpl jfrRecordingService;
+
+    @BeforeEach
+    void setUp() {
+        jfrRecordingService = new JfrRecordingServiceImpl();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jfrRecordingService.destroy();
+    }
+
+    @Test
+    void start_durationOutOfLimits_ThenJfrDurationInvalidException() {
+        assertThatThrownBy(() -> jfrRecordingService.start(0))
+                .isInstanceOf(JfrDurationInvalidException.class);
+        assertThatThrownBy(() -> jfrRecordingService.start(Cons.Admin.Jfr.MAX_DURATION_SECONDS + 1))
+                .isInstanceOf(JfrDurationInvalidException.class);
+    }
+
+    @Test
+    void start_alreadyRunning_ThenJfrRecordingAlreadyRunningException() {
+        // Arrange
+        jfrRecordingService.start(60);
+
+        // Act & Assert
+        assertThatThrownBy(() -> jfrRecordingService.start(60))
+                .isInstanceOf(JfrRecordingAlreadyRunningException.class);
+    }
+
+    @Test
+    void stopAndDump_withoutRecording_ThenJfrRecordingNotFoundException() {
+        assertThatThrownBy(() -> jfrRecordingService.stop())
+                .isInstanceOf(JfrRecordingNotFoundException.class);
+        assertThatThrownBy(() -> jfrRecordingService.dump())
+                .isInstanceOf(JfrRecordingNotFoundException.class);
+    }
+
+    @Test
+    void startStopDump_ThenEventsOfTheApplicationRecorded() throws Exception {
+        // Arrange
+        TimedPasswordEncoder encoder = new TimedPasswordEncoder(new BCryptPasswordEncoder(4)); // the min cost, fast
+        String outOfTheRecording = encoder.encode("out of the recording");
+
+        // Act
+        PublicJfrRecordingDTO started = jfrRecordingService.start(60);
+        encoder.encode("12345678");
+        PublicJfrRecordingDTO stopped = jfrRecordingService.stop();
+        encoder.matches("out of the recording", outOfTheRecording);
+        Path file = jfrRecordingService.dump();
+
+        // Assert
+        try {
+            assertThat(started.getState()).isEqualTo("RUNNING");
+            assertThat(started.getDurationSeconds()).isEqualTo(60);
+            assertThat(started.getMaxSizeBytes()).isEqualTo(Cons.Admin.Jfr.MAX_SIZE_BYTES);
+            assertThat(stopped.getId()).isEqualTo(started.getId());
+            assertThat(stopped.getState()).isEqualTo("STOPPED");
+
+            List<RecordedEvent> hashes = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals(PasswordHashEvent.class.getAnnotation(jdk.jfr.Name.class).value()))
+                    .toList();
+            assertThat(hashes)
+                    .extracting(e -> e.getString("operation"))
+                    .containsExactly("encode"); // just the one inside of the recording
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void start_afterStopped_ThenNewRecording() {
+        // Arrange
+        PublicJfrRecordingDTO first = jfrRecordingService.start(60);
+        jfrRecordingService.stop();
+
+        // Act
+        PublicJfrRecordingDTO second = jfrRecordingService.start(60);
+
+        // Assert
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(second.getState()).isEqualTo("RUNNING");
+    }
+}
@@ -1,42 +1,83 @@
 package org.cris6h16.apirestspringboot.Services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.cris6h16.apirestspringboot.Constants.Cons;
 import org.cris6h16.apirestspringboot.DTOs.Creation.CreateNoteDTO;
 import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteExcerptDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteImportResultDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteMultiGetDTO;
 import org.cris6h16.apirestspringboot.Entities.NoteEntity;
 import org.cris6h16.apirestspringboot.Entities.UserEntity;
 import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.InvalidIdException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.PageSortInvalidException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.PageTooDeepException;
 import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.AnyNoteDTOIsNullException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteContentTooLongException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteIdAlreadyExistsException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteIdsInvalidException;
 import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteNotFoundException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.NoteVersionMismatchException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.SearchQueryInvalidException;
 import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.NoteService.TitleMaxLengthFailException;
 import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.UserService.UserNotFoundException;
+import org.cris6h16.apirestspringboot.Repositories.NoteBatchRepository;
+import org.cris6h16.apirestspringboot.Repositories.NoteContentRepository;
 import org.cris6h16.apirestspringboot.Repositories.NoteRepository;
+import org.cris6h16.apirestspringboot.Repositories.NotesVersionRepository;
 import org.cris6h16.apirestspringboot.Repositories.UserRepository;
+import org.cris6h16.apirestspringboot.Services.BulkLoad.BulkLoader;
+import org.cris6h16.apirestspringboot.Services.Search.NoteSearchIndex;
+import org.cris6h16.apirestspringboot.Services.Validation.NoteContentLimit;
+import org.cris6h16.apirestspringboot.Services.Validation.PageRequestGovernor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
-
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.Mockito.*;
 
 
@@ -49,15 +90,42 @@ public class NoteServiceImplTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    NoteSearchIndex noteSearchIndex;
+
+    @Mock
+    NotesVersionRepository notesVersionRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper();
+
     @Mock
     UserServiceImpl userService;
 
+    @Spy
+    PageRequestGovernor pageRequestGovernor = new PageRequestGovernor(Cons.Pages.DEFAULT_MAX_SIZE, Cons.Pages.DEFAULT_MAX_OFFSET, new SimpleMeterRegistry());
+
+    @Spy
+    NoteContentLimit noteContentLimit = new NoteContentLimit(Cons.Note.Content.DEFAULT_MAX_LENGTH);
+
+    @Mock
+    NoteContentRepository noteContentRepository;
+
+    @Mock
+    NoteBatchRepository noteBatchRepository;
+
+    @Mock
+    BulkLoader bulkLoader;
+
     @InjectMocks
     NoteServiceImpl noteService;
 
     @BeforeEach
     void setUp() {
-        Mockito.reset(noteRepository, userRepository, userService);
+        Mockito.reset(noteRepository, userRepository, userService, noteSearchIndex, notesVersionRepository, transactionManager, noteContentRepository, noteBatchRepository, bulkLoader);
     }
 
     @Test
@@ -92,6 +160,8 @@ public class NoteServiceImplTest {
                         passedToDB.getUpdatedAt() != null &&
                         passedToDB.getUpdatedAt().getTime() <= System.currentTimeMillis()
         ));
+        verify(noteSearchIndex).index(noteId, userId, toCreate.getTitle(), toCreate.getContent());
+        verify(notesVersionRepository).increment(userId);
     }
 
     @Tag("create")
@@ -345,6 +415,7 @@ public class NoteServiceImplTest {
 
         when(userRepository.findById(any())).thenReturn(Optional.of(uDB));
         when(noteRepository.findByIdAndUserId(any(), any())).thenReturn(Optional.empty());
+        when(noteRepository.existsById(any())).thenReturn(false);
 
         // Act
         noteService.putByIdAndUserId(noteId, userId, dto);
@@ -352,14 +423,36 @@ public class NoteServiceImplTest {
         // Assert
         verify(userRepository).findById(userId);
         verify(noteRepository).findByIdAndUserId(noteId, userId);
-        verify(noteRepository).saveAndFlush(argThat(passedToDB ->
+        verify(noteRepository).existsById(noteId);
+        verify(noteBatchRepository).insert(eq(userId), argThat(passedToDB ->
                 passedToDB.getId().equals(noteId) &&
                         passedToDB.getTitle().equals(dto.getTitle()) &&
                         passedToDB.getContent().equals(dto.getContent()) &&
-                        passedToDB.getUser().equals(uDB) &&
                         passedToDB.getUpdatedAt() != null &&
                         passedToDB.getUpdatedAt().getTime() <= System.currentTimeMillis()
         ));
+        verify(noteRepository, never()).saveAndFlush(any()); // never a merge
+        verify(noteSearchIndex).index(noteId, userId, dto.getTitle(), dto.getContent());
+        verify(notesVersionRepository).increment(userId);
+    }
+
+    @Test
+    @Tag("putByIdAndUserId")
+    void putByIdAndUserId_ByIdAndUserId_idOfANoteOfAnotherUser_ThenNoteIdAlreadyExistsException() {
+        // Arrange
+        CreateNoteDTO dto = CreateNoteDTO.builder().title("cris6h16's note").content("github.com/cris6h16").build();
+
+        when(userRepository.findById(any())).thenReturn(Optional.of(mock(UserEntity.class)));
+        when(noteRepository.findByIdAndUserId(any(), any())).thenReturn(Optional.empty());
+        when(noteRepository.existsById(any())).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.putByIdAndUserId(11L, 1L, dto))
+                .isInstanceOf(NoteIdAlreadyExistsException.class)
+                .hasFieldOrPropertyWithValue("reason", Cons.Note.Fails.ID_ALREADY_EXISTS)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.CONFLICT);
+        verifyNoInteractions(noteBatchRepository, notesVersionRepository);
+        verify(noteRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -384,6 +477,8 @@ public class NoteServiceImplTest {
         when(userRepository.findById(any())).thenReturn(Optional.of(uDB));
         when(noteRepository.findByIdAndUserId(any(), any())).thenReturn(Optional.of(nDB));
 
+        when(noteRepository.saveAndFlush(any())).thenAnswer(returnsFirstArg());
+
         // Act
         noteService.putByIdAndUserId(noteId, userId, toPutDto);
 
@@ -398,6 +493,8 @@ public class NoteServiceImplTest {
                         passedToDB.getUpdatedAt() != null &&
                         passedToDB.getUpdatedAt().getTime() <= System.currentTimeMillis()
         ));
+        verify(noteSearchIndex).index(noteId, userId, toPutDto.getTitle(), toPutDto.getContent());
+        verify(notesVersionRepository).increment(userId);
     }
 
     @Tag("putByIdAndUserId")
@@ -423,6 +520,553 @@ public class NoteServiceImplTest {
         verify(noteRepository, never()).saveAndFlush(any());
     }
 
+    @Test
+    @Tag("exportByUserId")
+    void exportByUserId_Successful_ThenEachNotePassedAndTheStreamClosed() {
+        // Arrange
+        List<PublicNoteDTO> notes = List.of(
+                PublicNoteDTO.builder().id(1L).title("first").content("content").build(),
+                PublicNoteDTO.builder().id(2L).title("second").content("content").build()
+        );
+        boolean[] closed = {false};
+        List<PublicNoteDTO> consumed = new ArrayList<>();
+
+        when(userRepository.existsById(any())).thenReturn(true);
+        when(noteRepository.streamByUserId(any())).thenReturn(notes.stream().onClose(() -> closed[0] = true));
+
+        // Act
+        noteService.exportByUserId(1L, consumed::add);
+
+        // Assert
+        assertThat(consumed).containsExactlyElementsOf(notes);
+        assertThat(closed[0]).isTrue();
+        verify(noteRepository).streamByUserId(1L);
+    }
+
+    @Test
+    @Tag("exportByUserId")
+    void exportByUserId_UserNotFound_ThenUserNotFoundException() {
+        // Arrange
+        when(userRepository.existsById(any())).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.exportByUserId(1L, note -> {
+        }))
+                .isInstanceOf(UserNotFoundException.class);
+        verify(noteRepository, never()).streamByUserId(any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, -1})
+    @Tag("exportByUserId")
+    void exportByUserId_invalidUserId_ThenInvalidIdException(Long invalidId) {
+        assertThatThrownBy(() -> noteService.exportByUserId(invalidId, note -> {
+        }))
+                .isInstanceOf(InvalidIdException.class);
+        verify(noteRepository, never()).streamByUserId(any());
+    }
+
+    @Test
+    @Tag("exportByUserId")
+    void exportByUserId_consumerNull_ThenIllegalArgumentException() {
+        assertThatThrownBy(() -> noteService.exportByUserId(1L, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(noteRepository, never()).streamByUserId(any());
+    }
+
+    @Test
+    @Tag("importByUserId")
+    void importByUserId_validAndInvalidLines_ThenValidImportedAndInvalidReported() {
+        // Arrange
+        String ndjson = """
+                {"title":"first","content":"content"}
+                {"title":
+                {"title":"%s","content":""}
+
+                null
+                {"title":"second"}
+                """.formatted("a".repeat(Cons.Note.Validations.MAX_TITLE_LENGTH + 1));
+        reserveIdsFrom(1L);
+        when(userRepository.existsById(any())).thenReturn(true);
+
+        // Act
+        PublicNoteImportResultDTO result = noteService.importByUserId(1L, toStream(ndjson));
+
+        // Assert
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).containsExactly(
+                new PublicNoteImportResultDTO.LineError(2, Cons.Note.Import.INVALID_JSON_MSG),
+                new PublicNoteImportResultDTO.LineError(3, Cons.Note.Validations.TITLE_MAX_LENGTH_MSG),
+                new PublicNoteImportResultDTO.LineError(5, Cons.Note.DTO.NULL)
+        );
+        verify(bulkLoader).reserveIds(Cons.Admin.BulkLoad.NOTE_SEQUENCE, 2);
+        verify(noteBatchRepository).insertAll(eq(1L), argThat((List<NoteEntity> notes) ->
+                notes.size() == 2 &&
+                        notes.get(0).getId() == 1L &&
+                        notes.get(0).getTitle().equals("first") &&
+                        notes.get(1).getId() == 2L &&
+                        notes.get(1).getTitle().equals("second") &&
+                        notes.get(1).getContent().isEmpty()
+        ));
+        verify(noteSearchIndex).index(eq(1L), anyCollection());
+        verify(notesVersionRepository).increment(1L);
+        verify(transactionManager).commit(any());
+        verifyNoInteractions(noteRepository); // never in the persistence context
+    }
+
+    @Test
+    @Tag("importByUserId")
+    void importByUserId_moreNotesThanAChunk_ThenATransactionByChunk() {
+        // Arrange
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i <= Cons.Note.Import.CHUNK_SIZE; i++) ndjson.append("{\"title\":\"note ").append(i).append("\"}\n");
+        reserveIdsFrom(1L);
+        when(userRepository.existsById(any())).thenReturn(true);
+
+        // Act
+        PublicNoteImportResultDTO result = noteService.importByUserId(1L, toStream(ndjson.toString()));
+
+        // Assert
+        assertThat(result.getImported()).isEqualTo(Cons.Note.Import.CHUNK_SIZE + 1);
+        assertThat(result.getErrors()).isEmpty();
+        verify(noteBatchRepository).insertAll(eq(1L), argThat((List<NoteEntity> notes) -> notes.size() == Cons.Note.Import.CHUNK_SIZE));
+        verify(noteBatchRepository).insertAll(eq(1L), argThat((List<NoteEntity> notes) -> notes.size() == 1));
+        verify(transactionManager, times(2)).commit(any());
+        verify(notesVersionRepository, times(2)).increment(1L);
+    }
+
+    @Test
+    @Tag("importByUserId")
+    void importByUserId_manyInvalidLines_ThenTheReportedErrorsAreLimited() {
+        // Arrange
+        String ndjson = "{\n".repeat(Cons.Note.Import.MAX_REPORTED_ERRORS + 5);
+        when(userRepository.existsById(any())).thenReturn(true);
+
+        // Act
+        PublicNoteImportResultDTO result = noteService.importByUserId(1L, toStream(ndjson));
+
+        // Assert
+        assertThat(result.getImported()).isZero();
+        assertThat(result.getFailed()).isEqualTo(Cons.Note.Import.MAX_REPORTED_ERRORS + 5);
+        assertThat(result.getErrors()).hasSize(Cons.Note.Import.MAX_REPORTED_ERRORS);
+        verify(noteBatchRepository, never()).insertAll(any(), any());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @Tag("importByUserId")
+    void importByUserId_lineLongerThanANote_ThenReportedAndTheNextLinesImported() {
+        // Arrange
+        String huge = "{\"title\":\"huge\",\"content\":\"" + "a".repeat(2 * Cons.Note.Content.DEFAULT_MAX_LENGTH + Cons.Note.Import.MAX_LINE_OVERHEAD) + "\"}";
+        String ndjson = huge + "\n{\"title\":\"after\"}\n";
+        reserveIdsFrom(1L);
+        when(userRepository.existsById(any())).thenReturn(true);
+
+        // Act
+        PublicNoteImportResultDTO result = noteService.importByUserId(1L, toStream(ndjson));
+
+        // Assert
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors()).containsExactly(new PublicNoteImportResultDTO.LineError(1, Cons.Note.Import.LINE_TOO_LONG_MSG));
+        verify(noteBatchRepository).insertAll(eq(1L), argThat((List<NoteEntity> notes) -> notes.size() == 1 && notes.get(0).getTitle().equals("after")));
+    }
+
+    @Test
+    @Tag("importByUserId")
+    void importByUserId_UserNotFound_ThenUserNotFoundException() {
+        // Arrange
+        InputStream input = mock(InputStream.class);
+        when(userRepository.existsById(any())).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.importByUserId(1L, input))
+                .isInstanceOf(UserNotFoundException.class);
+        verifyNoInteractions(input, noteRepository);
+    }
+
+    @Test
+    @Tag("importByUserId")
+    void importByUserId_inputFails_ThenUncheckedIOException() throws IOException {
+        // Arrange
+        InputStream input = mock(InputStream.class);
+        when(input.read(any(), anyInt(), anyInt())).thenThrow(new IOException("connection reset"));
+        when(userRepository.existsById(any())).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.importByUserId(1L, input))
+                .isInstanceOf(UncheckedIOException.class);
+        verify(noteBatchRepository, never()).insertAll(any(), any());
+    }
+
+    /**
+     * The ids reserved from the sequence are consecutive from {@code first}
+     */
+    private void reserveIdsFrom(long first) {
+        when(bulkLoader.reserveIds(eq(Cons.Admin.BulkLoad.NOTE_SEQUENCE), anyInt()))
+                .thenAnswer(i -> LongStream.range(first, first + i.<Integer>getArgument(1)).boxed().toList());
+    }
+
+    private InputStream toStream(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String readAll(Reader reader) throws IOException { // as the driver does
+        StringBuilder read = new StringBuilder();
+        char[] buffer = new char[8192];
+        int n;
+        while ((n = reader.read(buffer)) != -1) read.append(buffer, 0, n);
+        return read.toString();
+    }
+
+    @Test
+    @Tag("getNotesVersionByUserId")
+    void getNotesVersionByUserId_Successful() {
+        // Arrange
+        when(notesVersionRepository.findByUserId(any())).thenReturn(Optional.of(7L));
+
+        // Act
+        Long version = noteService.getNotesVersionByUserId(1L);
+
+        // Assert
+        assertThat(version).isEqualTo(7L);
+        verify(notesVersionRepository).findByUserId(1L);
+        verifyNoInteractions(noteRepository);
+    }
+
+    @Test
+    @Tag("getNotesVersionByUserId")
+    void getNotesVersionByUserId_UserNotFound_ThenUserNotFoundException() {
+        // Arrange
+        when(notesVersionRepository.findByUserId(any())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.getNotesVersionByUserId(1L))
+                .isInstanceOf(UserNotFoundException.class)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.NOT_FOUND);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, -1})
+    @Tag("getNotesVersionByUserId")
+    void getNotesVersionByUserId_invalidUserId_ThenInvalidIdException(Long invalidId) {
+        assertThatThrownBy(() -> noteService.getNotesVersionByUserId(invalidId))
+                .isInstanceOf(InvalidIdException.class);
+        verifyNoInteractions(notesVersionRepository);
+    }
+
+    @Test
+    @Tag("getVersionByIdAndUserId")
+    void getVersionByIdAndUserId_Successful() {
+        // Arrange
+        when(noteRepository.findVersionByIdAndUserId(any(), any())).thenReturn(Optional.of(3L));
+
+        // Act
+        Long version = noteService.getVersionByIdAndUserId(11L, 1L);
+
+        // Assert
+        assertThat(version).isEqualTo(3L);
+        verify(noteRepository).findVersionByIdAndUserId(11L, 1L);
+        verify(noteRepository, never()).findByIdAndUserId(any(), any());
+    }
+
+    @Test
+    @Tag("getVersionByIdAndUserId")
+    void getVersionByIdAndUserId_NoteNotFound_ThenNoteNotFoundException() {
+        // Arrange
+        when(noteRepository.findVersionByIdAndUserId(any(), any())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.getVersionByIdAndUserId(11L, 1L))
+                .isInstanceOf(NoteNotFoundException.class)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    @Tag("putByIdAndUserId")
+    void putByIdAndUserId_expectedVersionIsTheCurrent_ThenUpdateSuccessful() {
+        // Arrange
+        Long userId = 1L;
+        Long noteId = 11L;
+        UserEntity uDB = mock(UserEntity.class);
+        NoteEntity nDB = NoteEntity.builder().id(noteId).title("title").content("content").version(5L).user(uDB).build();
+        CreateNoteDTO dto = CreateNoteDTO.builder().title("cris6h16's note").content("github.com/cris6h16").build();
+
+        when(userRepository.findById(any())).thenReturn(Optional.of(uDB));
+        when(noteRepository.findByIdAndUserId(any(), any())).thenReturn(Optional.of(nDB));
+        when(noteRepository.saveAndFlush(any())).thenAnswer(returnsFirstArg());
+
+        // Act
+        noteService.putByIdAndUserId(noteId, userId, dto, 5L);
+
+        // Assert
+        verify(noteRepository).saveAndFlush(argThat(passedToDB ->
+                passedToDB == nDB && passedToDB.getTitle().equals(dto.getTitle())
+        ));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {4L, 6L, -1L})
+    @Tag("putByIdAndUserId")
+    void putByIdAndUserId_expectedVersionIsNotTheCurrent_ThenNoteVersionMismatchException(long expectedVersion) {
+        // Arrange
+        UserEntity uDB = mock(UserEntity.class);
+        NoteEntity nDB = NoteEntity.builder().id(11L).title("title").content("content").version(5L).user(uDB).build();
+        CreateNoteDTO dto = CreateNoteDTO.builder().title("cris6h16's note").content("github.com/cris6h16").build();
+
+        when(userRepository.findById(any())).thenReturn(Optional.of(uDB));
+        when(noteRepository.findByIdAndUserId(any(), any())).thenReturn(Optional.of(nDB));
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.putByIdAndUserId(11L, 1L, dto, expectedVersion))
+                .isInstanceOf(NoteVersionMismatchException.class)
+                .hasFieldOrPropertyWithValue("reason", Cons.Note.Fails.VERSION_MISMATCH)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.PRECONDITION_FAILED);
+        verify(noteRepository, never()).saveAndFlush(any());
+        verify(noteSearchIndex, never()).index(any(), any(), any(), any());
+        verify(notesVersionRepository, never()).increment(any());
+    }
+
+    @Test
+    @Tag("putByIdAndUserId")
+    void putByIdAndUserId_expectedVersionButNoteNotFound_ThenNoteVersionMismatchException() {
+        // Arrange
+        CreateNoteDTO dto = CreateNoteDTO.builder().title("cris6h16's note").content("github.com/cris6h16").build();
+
+        when(userRepository.findById(any())).thenReturn(Optional.of(mock(UserEntity.class)));
+        when(noteRepository.findByIdAndUserId(any(), any())).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.putByIdAndUserId(11L, 1L, dto, 0L))
+                .isInstanceOf(NoteVersionMismatchException.class);
+        verify(noteRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @Tag("putByIdAndUserId")
+    void putByIdAndUserId_modifiedConcurrently_ThenNoteVersionMismatchException() {
+        // Arrange
+        UserEntity uDB = mock(UserEntity.class);
+        NoteEntity nDB = NoteEntity.builder().id(11L).title("title").content("content").version(5L).user(uDB).build();
+        CreateNoteDTO dto = CreateNoteDTO.builder().title("cris6h16's note").content("github.com/cris6h16").build();
+
+        when(userRepository.findById(any())).thenReturn(Optional.of(uDB));
+        when(noteRepository.findByIdAndUserId(any(), any())).thenReturn(Optional.of(nDB));
+        when(noteRepository.saveAndFlush(any())).thenThrow(new ObjectOptimisticLockingFailureException(NoteEntity.class, 11L));
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.putByIdAndUserId(11L, 1L, dto))
+                .isInstanceOf(NoteVersionMismatchException.class);
+        verify(noteSearchIndex, never()).index(any(), any(), any(), any());
+        verify(notesVersionRepository, never()).increment(any());
+    }
+
+    @Test
+    @Tag("putByIdAndUserId")
+    void putByIdAndUserId_contentTooLong_ThenNoteContentTooLongException() {
+        // Arrange
+        CreateNoteDTO dto = CreateNoteDTO.builder()
+                .title("cris6h16's note")
+                .content("a".repeat(Cons.Note.Content.DEFAULT_MAX_LENGTH + 1))
+                .build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.putByIdAndUserId(11L, 1L, dto))
+                .isInstanceOf(NoteContentTooLongException.class)
+                .hasFieldOrPropertyWithValue("reason", Cons.Note.Content.TOO_LONG_MSG.formatted(Cons.Note.Content.DEFAULT_MAX_LENGTH))
+                .hasFieldOrPropertyWithValue("status", HttpStatus.PAYLOAD_TOO_LARGE);
+        verify(noteRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @Tag("putContentByIdAndUserId")
+    void putContentByIdAndUserId_noteFound_ThenStreamedIndexedAndVersionIncremented() {
+        // Arrange
+        StringBuilder written = new StringBuilder();
+        when(noteRepository.findVersionByIdAndUserId(11L, 1L)).thenReturn(Optional.of(5L));
+        when(noteContentRepository.updateContent(eq(11L), eq(1L), any(), eq(5L))).thenAnswer(invocation -> {
+            written.append(readAll(invocation.getArgument(2)));
+            return true;
+        });
+        AtomicReference<String> indexed = new AtomicReference<>();
+        doAnswer(invocation -> {
+            indexed.set(readAll(invocation.getArgument(3)));
+            return null;
+        }).when(noteSearchIndex).index(eq(11L), eq(1L), ArgumentMatchers.<Supplier<String>>any(), any(Reader.class));
+
+        // Act
+        noteService.putContentByIdAndUserId(11L, 1L, toStream("github.com/cris6h16 ñ"), 5L);
+
+        // Assert
+        assertThat(written.toString()).isEqualTo("github.com/cris6h16 ñ");
+        verify(transactionManager).commit(any()); // the write in its own transaction
+        assertThat(indexed.get()).isEqualTo("github.com/cris6h16 ñ"); // from the content written, not from the database
+        verify(noteRepository, never()).getReferenceById(any());
+        verify(noteRepository, never()).findById(any());
+        verify(notesVersionRepository).increment(1L);
+    }
+
+    @Test
+    @Tag("putContentByIdAndUserId")
+    void putContentByIdAndUserId_contentTooLong_ThenNoteContentTooLongException() {
+        // Arrange
+        when(noteRepository.findVersionByIdAndUserId(11L, 1L)).thenReturn(Optional.of(5L));
+        InputStream content = toStream("a".repeat(Cons.Note.Content.DEFAULT_MAX_LENGTH + 1));
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.putContentByIdAndUserId(11L, 1L, content, null))
+                .isInstanceOf(NoteContentTooLongException.class)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.PAYLOAD_TOO_LARGE);
+        verifyNoInteractions(transactionManager); // rejected while it was read, before the transaction
+        verify(noteContentRepository, never()).updateContent(any(), any(), any(), any());
+        verify(noteSearchIndex, never()).index(any(), any(), ArgumentMatchers.<Supplier<String>>any(), any(Reader.class));
+        verify(notesVersionRepository, never()).increment(any());
+    }
+
+    @Test
+    @Tag("putContentByIdAndUserId")
+    void putContentByIdAndUserId_NoteNotFound_ThenNoteNotFoundExceptionWithoutReadingTheContent() {
+        // Arrange
+        when(noteRepository.findVersionByIdAndUserId(11L, 1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.putContentByIdAndUserId(11L, 1L, toStream("content"), null))
+                .isInstanceOf(NoteNotFoundException.class);
+        verify(noteContentRepository, never()).updateContent(any(), any(), any(), any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {4L, 6L})
+    @Tag("putContentByIdAndUserId")
+    void putContentByIdAndUserId_expectedVersionIsNotTheCurrent_ThenNoteVersionMismatchException(long expectedVersion) {
+        // Arrange
+        when(noteRepository.findVersionByIdAndUserId(11L, 1L)).thenReturn(Optional.of(5L));
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.putContentByIdAndUserId(11L, 1L, toStream("content"), expectedVersion))
+                .isInstanceOf(NoteVersionMismatchException.class);
+        verify(noteContentRepository, never()).updateContent(any(), any(), any(), any());
+    }
+
+    @Test
+    @Tag("putContentByIdAndUserId")
+    void putContentByIdAndUserId_modifiedWhileTheContentWasRead_ThenNoteVersionMismatchException() {
+        // Arrange
+        when(noteRepository.findVersionByIdAndUserId(11L, 1L)).thenReturn(Optional.of(5L));
+        when(noteContentRepository.updateContent(any(), any(), any(), any())).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.putContentByIdAndUserId(11L, 1L, toStream("content"), 5L))
+                .isInstanceOf(NoteVersionMismatchException.class);
+        verify(notesVersionRepository, never()).increment(any());
+    }
+
+    @Test
+    @Tag("getContentStatByIdAndUserId")
+    void getContentStatByIdAndUserId_NoteNotFound_ThenNoteNotFoundException() {
+        // Arrange
+        when(noteContentRepository.findStat(11L, 1L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.getContentStatByIdAndUserId(11L, 1L))
+                .isInstanceOf(NoteNotFoundException.class);
+    }
+
+    @Test
+    @Tag("writeContentByIdAndUserId")
+    void writeContentByIdAndUserId_severalChunks_ThenTheWholeContentAsUTF8() throws IOException {
+        // Arrange
+        String content = "ñ€a😀".repeat(70_000); // the first chunk ends in the middle of an emoji ( UTF-16 chars as H2 )
+        stubContent(content, 5L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        noteService.writeContentByIdAndUserId(11L, 1L, 5L, 0, Long.MAX_VALUE, out);
+
+        // Assert
+        assertThat(out.toByteArray()).isEqualTo(content.getBytes(StandardCharsets.UTF_8));
+        verify(noteContentRepository).findChunk(11L, 1L, 5L, 1L, Cons.Note.Content.STREAM_CHUNK_LENGTH);
+        verify(noteContentRepository).findChunk(11L, 1L, 5L, 1L + Cons.Note.Content.STREAM_CHUNK_LENGTH, Cons.Note.Content.STREAM_CHUNK_LENGTH);
+    }
+
+    @Test
+    @Tag("writeContentByIdAndUserId")
+    void writeContentByIdAndUserId_range_ThenJustItsBytes() throws IOException {
+        // Arrange
+        String content = "ñ€a😀".repeat(70_000);
+        byte[] utf8 = content.getBytes(StandardCharsets.UTF_8);
+        stubContent(content, 5L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int start = Cons.Note.Content.STREAM_CHUNK_LENGTH * 2 + 1; // in the second chunk, in the middle of a character
+
+        // Act
+        noteService.writeContentByIdAndUserId(11L, 1L, 5L, start, 100, out);
+
+        // Assert
+        assertThat(out.toByteArray()).isEqualTo(Arrays.copyOfRange(utf8, start, start + 100));
+    }
+
+    @Test
+    @Tag("writeContentByIdAndUserId")
+    void writeContentByIdAndUserId_rangeOfAnASCIIContent_ThenTheChunksBeforeTheRangeArentRead() throws IOException {
+        // Arrange
+        String content = "0123456789".repeat(60_000);
+        stubContent(content, 5L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        noteService.writeContentByIdAndUserId(11L, 1L, 5L, 500_003, 4, out);
+
+        // Assert
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("3456");
+        verify(noteContentRepository).findChunk(11L, 1L, 5L, 500_004L, Cons.Note.Content.STREAM_CHUNK_LENGTH);
+        verify(noteContentRepository, times(1)).findChunk(any(), any(), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @Tag("writeContentByIdAndUserId")
+    void writeContentByIdAndUserId_modifiedAfterTheStat_ThenNoteVersionMismatchExceptionWithoutWriting() {
+        // Arrange
+        stubContent("github.com/cris6h16", 6L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.writeContentByIdAndUserId(11L, 1L, 5L, 0, Long.MAX_VALUE, out))
+                .isInstanceOf(NoteVersionMismatchException.class);
+        assertThat(out.size()).isZero();
+        verify(noteContentRepository, never()).findChunk(any(), any(), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @Tag("writeContentByIdAndUserId")
+    void writeContentByIdAndUserId_modifiedWhileItsWritten_ThenNoteVersionMismatchExceptionAfterTheFirstChunk() {
+        // Arrange
+        String content = "a".repeat(Cons.Note.Content.STREAM_CHUNK_LENGTH + 1);
+        stubContent(content, 5L);
+        when(noteContentRepository.findChunk(11L, 1L, 5L, 1L + Cons.Note.Content.STREAM_CHUNK_LENGTH, Cons.Note.Content.STREAM_CHUNK_LENGTH))
+                .thenReturn(Optional.empty()); // another version since the second chunk
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.writeContentByIdAndUserId(11L, 1L, 5L, 0, Long.MAX_VALUE, out))
+                .isInstanceOf(NoteVersionMismatchException.class);
+        assertThat(out.size()).isEqualTo(Cons.Note.Content.STREAM_CHUNK_LENGTH);
+        verifyNoInteractions(transactionManager); // each chunk is its own statement
+    }
+
+    /**
+     * The content of the note 11 of the user 1, the chunks are cut by UTF-16 chars as H2 does
+     */
+    private void stubContent(String content, long version) {
+        when(noteContentRepository.findStat(11L, 1L))
+                .thenReturn(Optional.of(new NoteContentRepository.Stat(version, content.getBytes(StandardCharsets.UTF_8).length, content.length())));
+        lenient().when(noteContentRepository.findChunk(eq(11L), eq(1L), eq(version), anyLong(), anyInt())).thenAnswer(invocation -> {
+            int from = invocation.<Long>getArgument(3).intValue() - 1;
+            int length = invocation.getArgument(4);
+            return Optional.of(content.substring(Math.min(from, content.length()), Math.min(from + length, content.length())));
+        });
+    }
+
     @Test
     @Tag("putByIdAndUserId")
     void putByIdAndUserId_ByIdAndUserId_DTONull_ThenAnyNoteDTOIsNullException() {
@@ -576,6 +1220,8 @@ public class NoteServiceImplTest {
         verify(userRepository).existsById(userId);
         verify(noteRepository).existsByIdAndUserId(noteId, userId);
         verify(noteRepository).deleteByIdAndUserId(noteId, userId);
+        verify(noteSearchIndex).remove(noteId, userId);
+        verify(notesVersionRepository).increment(userId);
     }
 
     @Tag("deleteByIdAndUserId")
@@ -710,6 +1356,56 @@ public class NoteServiceImplTest {
         verify(noteRepository, never()).findByUserId(any(), any());
     }
 
+    @Test
+    @Tag("governPage")
+    void governPage_SizeTooBig_ThenCapped() {
+        PageRequest served = noteService.governPage(PageRequest.of(2, 5000, Sort.by("updatedAt")));
+
+        assertThat(served).isEqualTo(PageRequest.of(2, Cons.Pages.DEFAULT_MAX_SIZE, Sort.by("updatedAt")));
+        verify(pageRequestGovernor).govern(any(), eq(Cons.Pages.NOTES), eq(Cons.Note.Page.SORTABLE));
+    }
+
+    @Test
+    @Tag("governPage")
+    void governPage_SortByContent_ThenPageSortInvalidException() {
+        // Arrange
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("content"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.governPage(pageable))
+                .isInstanceOf(PageSortInvalidException.class)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(userRepository, noteRepository);
+    }
+
+    @Test
+    @Tag("governPage")
+    void governPage_PageTooDeep_ThenPageTooDeepException() {
+        // Arrange
+        PageRequest pageable = PageRequest.of(50_000, 10);
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.governPage(pageable))
+                .isInstanceOf(PageTooDeepException.class)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(userRepository, noteRepository);
+    }
+
+    @Test
+    @Tag("getPage")
+    void getPage_ServedPage_ThenNotGovernedAgain() {
+        // Arrange
+        PageRequest served = PageRequest.of(0, 10, Sort.by("id"));
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(noteRepository.findByUserId(1L, served)).thenReturn(Page.empty());
+
+        // Act
+        noteService.getPage(served, 1L);
+
+        // Assert
+        verify(pageRequestGovernor, never()).govern(any(), any(), any());
+    }
+
     @Tag("getPage")
     @ParameterizedTest
     @ValueSource(longs = {0, -1, -999})/* -999 == null */
@@ -733,7 +1429,7 @@ public class NoteServiceImplTest {
     void getPage_UserNotFound_ThenUserNotFoundException() {
         // Arrange
         Long userId = 1L;
-        PageRequest pageable = mock(PageRequest.class);
+        PageRequest pageable = PageRequest.of(0, 10); // valid for the governor
 
         when(userRepository.existsById(userId)).thenReturn(false);
 
@@ -765,12 +1461,235 @@ public class NoteServiceImplTest {
                 .isEmpty();
     }
 
+    @Test
+    @Tag("getExcerptPage")
+    void getExcerptPage_Successful() {
+        // Arrange
+        Long userId = 1L;
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by("id"));
+        List<PublicNoteExcerptDTO> excerpts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            excerpts.add(new PublicNoteExcerptDTO((long) i, "title" + i, "excerpt" + i, new Date()));
+        }
+        Page<PublicNoteExcerptDTO> page = new PageImpl<>(excerpts, pageable, 100L);
+
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(noteRepository.findExcerptsByUserId(userId, pageable)).thenReturn(page);
+
+        // Act
+        Page<PublicNoteExcerptDTO> pageRes = noteService.getExcerptPage(pageable, userId);
+
+        // Assert
+        verify(userRepository).existsById(userId);
+        verify(noteRepository).findExcerptsByUserId(userId, pageable);
+        verify(noteRepository, never()).findByUserId(any(), any());
+
+        assertThat(pageRes.getTotalElements()).isEqualTo(100L);
+        assertThat(pageRes.getContent()).isEqualTo(excerpts);
+    }
+
+    @Test
+    @Tag("getExcerptPage")
+    void getExcerptPage_DeeperPage_ThenIdsSkippedAndExcerptsInTheirOrder() {
+        // Arrange
+        Long userId = 1L;
+        PageRequest pageable = PageRequest.of(2, 3, Sort.by("updatedAt"));
+        PublicNoteExcerptDTO n1 = new PublicNoteExcerptDTO(1L, "title1", "excerpt1", new Date());
+        PublicNoteExcerptDTO n2 = new PublicNoteExcerptDTO(2L, "title2", "excerpt2", new Date());
+
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(noteRepository.findIdsByUserId(userId, pageable)).thenReturn(new PageImpl<>(List.of(2L, 3L, 1L), pageable, 9));
+        when(noteRepository.findExcerptsByUserIdAndIdIn(userId, List.of(2L, 3L, 1L))).thenReturn(List.of(n1, n2)); // 3 deleted meanwhile
+
+        // Act
+        Page<PublicNoteExcerptDTO> pageRes = noteService.getExcerptPage(pageable, userId);
+
+        // Assert
+        verify(noteRepository, never()).findExcerptsByUserId(any(), any());
+        assertThat(pageRes.getContent()).containsExactly(n2, n1);
+        assertThat(pageRes.getTotalElements()).isEqualTo(9);
+        assertThat(pageRes.getNumber()).isEqualTo(2);
+    }
+
+    @Test
+    @Tag("getExcerptPage")
+    void getExcerptPage_PageableNull_ThenIllegalArgumentException() {
+        assertThatThrownBy(() -> noteService.getExcerptPage(null, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(userRepository, never()).existsById(any());
+        verify(noteRepository, never()).findExcerptsByUserId(any(), any());
+    }
+
+    @Tag("getExcerptPage")
+    @ParameterizedTest
+    @ValueSource(longs = {0, -1, -999})/* -999 == null */
+    void getExcerptPage_userIdNullOrLessThanOne_ThenInvalidIdException(Long userId) {
+        // Arrange
+        final Long finalUserId = (userId == -999) ? null : userId;
+        PageRequest pageable = mock(PageRequest.class);
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.getExcerptPage(pageable, finalUserId))
+                .isInstanceOf(InvalidIdException.class)
+                .hasFieldOrPropertyWithValue("reason", Cons.CommonInEntity.ID_INVALID)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.BAD_REQUEST);
+        verify(noteRepository, never()).findExcerptsByUserId(any(), any());
+    }
+
+    @Test
+    @Tag("getExcerptPage")
+    void getExcerptPage_UserNotFound_ThenUserNotFoundException() {
+        // Arrange
+        Long userId = 1L;
+        PageRequest pageable = PageRequest.of(0, 10); // valid for the governor
+        when(userRepository.existsById(userId)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.getExcerptPage(pageable, userId))
+                .isInstanceOf(UserNotFoundException.class)
+                .hasFieldOrPropertyWithValue("reason", Cons.User.Fails.NOT_FOUND)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.NOT_FOUND);
+        verify(noteRepository, never()).findExcerptsByUserId(any(), any());
+    }
+
+    @Test
+    @Tag("getByIdsAndUserId")
+    void getByIdsAndUserId_Successful_ThenFoundAndMissingInRequestedOrder() {
+        // Arrange
+        Long userId = 1L;
+        PublicNoteDTO n3 = PublicNoteDTO.builder().id(3L).title("title3").content("content3").build();
+        PublicNoteDTO n1 = PublicNoteDTO.builder().id(1L).title("title1").content("content1").build();
+        when(noteRepository.findNotesByUserIdAndIdIn(eq(userId), anyCollection())).thenReturn(List.of(n1, n3));
+
+        // Act
+        PublicNoteMultiGetDTO result = noteService.getByIdsAndUserId(List.of(3L, 9L, 1L, 3L), userId);
+
+        // Assert
+        assertThat(result.getNotes()).containsExactly(n3, n1);
+        assertThat(result.getMissing()).containsExactly(9L);
+        verify(noteRepository).findNotesByUserIdAndIdIn(userId, new LinkedHashSet<>(List.of(3L, 9L, 1L))); // once each id
+    }
+
+    @Tag("getByIdsAndUserId")
+    @ParameterizedTest
+    @ValueSource(strings = {"null", "empty", "tooLong"})
+    void getByIdsAndUserId_IdsNullEmptyOrTooLong_ThenNoteIdsInvalidException(String ids) {
+        // Arrange
+        final List<Long> finalIds = switch (ids) {
+            case "null" -> null;
+            case "empty" -> List.of();
+            default -> Collections.nCopies(Cons.Note.MultiGet.MAX_IDS + 1, 1L);
+        };
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.getByIdsAndUserId(finalIds, 1L))
+                .isInstanceOf(NoteIdsInvalidException.class)
+                .hasFieldOrPropertyWithValue("reason", Cons.Note.MultiGet.IDS_INVALID_MSG)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.BAD_REQUEST);
+        verify(noteRepository, never()).findNotesByUserIdAndIdIn(any(), any());
+    }
+
+    @Test
+    @Tag("getByIdsAndUserId")
+    void getByIdsAndUserId_IdNotPositive_ThenInvalidIdException() {
+        assertThatThrownBy(() -> noteService.getByIdsAndUserId(List.of(1L, 0L), 1L))
+                .isInstanceOf(InvalidIdException.class);
+        verify(noteRepository, never()).findNotesByUserIdAndIdIn(any(), any());
+    }
+
     @Test
     @Tag("deleteAll")
     void deleteAll_Successful() {
         doNothing().when(noteRepository).deleteAll();
         noteService.deleteAll();
         verify(noteRepository).deleteAll();
+        verify(noteSearchIndex).clear();
+        verify(notesVersionRepository).incrementAll();
+    }
+
+    @Test
+    @Tag("search")
+    void search_Successful_ThenSortedByRank() {
+        // Arrange
+        Long userId = 1L;
+        PageRequest pageable = PageRequest.of(1, 3);
+        PageRequest expectedPageable = PageRequest.of(1, 3);
+        PublicNoteExcerptDTO n1 = new PublicNoteExcerptDTO(1L, "title1", "excerpt1", new Date());
+        PublicNoteExcerptDTO n2 = new PublicNoteExcerptDTO(2L, "title2", "excerpt2", new Date());
+        PublicNoteExcerptDTO n3 = new PublicNoteExcerptDTO(3L, "title3", "excerpt3", new Date());
+
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(noteSearchIndex.search(userId, "cris6h16 note", expectedPageable))
+                .thenReturn(new PageImpl<>(List.of(3L, 1L, 2L), expectedPageable, 10));
+        when(noteRepository.findExcerptsByUserIdAndIdIn(userId, List.of(3L, 1L, 2L)))
+                .thenReturn(List.of(n1, n2, n3));
+
+        // Act
+        Page<PublicNoteExcerptDTO> page = noteService.search("  cris6h16 note ", pageable, userId);
+
+        // Assert
+        assertThat(page.getContent()).containsExactly(n3, n1, n2);
+        assertThat(page.getTotalElements()).isEqualTo(10);
+        assertThat(page.getNumber()).isEqualTo(1);
+        assertThat(page.getSize()).isEqualTo(3);
+    }
+
+    @Test
+    @Tag("search")
+    void search_NothingFound_ThenEmptyPageWithoutLoadingNotes() {
+        // Arrange
+        Long userId = 1L;
+        when(userRepository.existsById(userId)).thenReturn(true);
+        when(noteSearchIndex.search(any(), any(), any())).thenReturn(Page.empty());
+
+        // Act
+        Page<PublicNoteExcerptDTO> page = noteService.search("cris6h16", PageRequest.of(0, 10), userId);
+
+        // Assert
+        assertThat(page).isEmpty();
+        verify(noteRepository, never()).findExcerptsByUserIdAndIdIn(any(), any());
+    }
+
+    @Tag("search")
+    @ParameterizedTest
+    @ValueSource(strings = {"", "   ", "null", "tooLong"})
+    void search_QueryBlankNullOrTooLong_ThenSearchQueryInvalidException(String query) {
+        // Arrange
+        final String finalQuery = switch (query) {
+            case "null" -> null;
+            case "tooLong" -> "a".repeat(Cons.Note.Search.MAX_QUERY_LENGTH + 1);
+            default -> query;
+        };
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.search(finalQuery, PageRequest.of(0, 10), 1L))
+                .isInstanceOf(SearchQueryInvalidException.class)
+                .hasFieldOrPropertyWithValue("reason", Cons.Note.Search.QUERY_INVALID_MSG)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.BAD_REQUEST);
+        verify(noteSearchIndex, never()).search(any(), any(), any());
+    }
+
+    @Test
+    @Tag("search")
+    void search_Sorted_ThenPageSortInvalidException() {
+        assertThatThrownBy(() -> noteService.search("cris6h16", PageRequest.of(0, 10, Sort.by("title")), 1L))
+                .isInstanceOf(PageSortInvalidException.class)
+                .hasFieldOrPropertyWithValue("reason", Cons.Pages.SORT_NOT_ALLOWED_MSG)
+                .hasFieldOrPropertyWithValue("status", HttpStatus.BAD_REQUEST);
+        verify(userRepository, never()).existsById(any());
+        verify(noteSearchIndex, never()).search(any(), any(), any());
+    }
+
+    @Test
+    @Tag("search")
+    void search_UserNotFound_ThenUserNotFoundException() {
+        // Arrange
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> noteService.search("cris6h16", PageRequest.of(0, 10), 1L))
+                .isInstanceOf(UserNotFoundException.class);
+        verify(noteSearchIndex, never()).search(any(), any(), any());
     }
 
 }
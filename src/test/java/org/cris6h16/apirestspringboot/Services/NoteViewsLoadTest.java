@@ -0,0 +1,119 @@
+package org.cris6h16.apirestspringboot.Services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteDTO;
+import org.cris6h16.apirestspringboot.DTOs.Public.PublicNoteExcerptDTO;
+import org.cris6h16.apirestspringboot.Repositories.UserRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reads the pages of notes from the database in both views: the full notes against {@code ?view=excerpt}, with long
+ * contents and at several offsets. The serialization of both views is measured apart ( {@code NoteViewsBenchmark}
+ * of the module {@code benchmarks} ), here it's the I/O of the database: the width of the rows read and the rows
+ * skipped by {@code OFFSET}.<br>
+ * Executed just by the profile {@code load-tests} ( {@code mvn test -P load-tests} ), the p50 of each page and the
+ * characters of content received are logged at the end.
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Tag("LoadTest")
+@Slf4j
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(properties = {"logging.level.root=info", "spring.jpa.show-sql=false"}) // the test profile logs in debug each query
+@ActiveProfiles(profiles = "test")
+class NoteViewsLoadTest {
+    private static final int NOTES = 2000;
+    private static final int CONTENT_LENGTH = 20_000; // stored out of the row ( TOAST )
+    private static final int PAGE_SIZE = 10;
+    private static final int[] PAGES = {0, 10, 100}; // offsets 0, 100 & 1000
+    private static final int WARMUP = 50;
+    private static final int REPETITIONS = 200;
+
+    @Autowired
+    private UserServiceImpl userService;
+    @Autowired
+    private NoteServiceImpl noteService;
+    @Autowired
+    private BulkLoadServiceImpl bulkLoadService;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    @BeforeAll
+    void setUp() {
+        noteService.deleteAll();
+        userService.deleteAll();
+
+        String user = "{\"username\":\"cris6h16\",\"email\":\"cristianmherrera21@gmail.com\",\"password\":\"{bcrypt}$2a$04$cqQJy75fGBEAWkMIC.jfguaF7yUCRwtsS7lG5Sz4OSSoLaG8EBXvK\",\"notes\":[]}";
+        bulkLoadService.load(new ByteArrayInputStream(user.getBytes(StandardCharsets.UTF_8)));
+        userId = userRepository.findByUsername("cris6h16").orElseThrow().getId();
+
+        String content = "a".repeat(CONTENT_LENGTH);
+        List<InputStream> lines = IntStream.range(0, NOTES)
+                .mapToObj(i -> "{\"title\":\"note " + i + "\",\"content\":\"" + content + "\"}\n")
+                .map(line -> (InputStream) new ByteArrayInputStream(line.getBytes(StandardCharsets.UTF_8)))
+                .toList();
+        assertThat(noteService.importByUserId(userId, new SequenceInputStream(Collections.enumeration(lines))).getImported())
+                .isEqualTo(NOTES);
+    }
+
+    @Test
+    void getPage_fullAndExcerpt_byOffset() {
+        List<String> results = new ArrayList<>();
+        for (int page : PAGES) {
+            Pageable pageable = noteService.governPage(PageRequest.of(page, PAGE_SIZE, Sort.by("id")));
+
+            Page<PublicNoteDTO> full = noteService.getPage(pageable, userId);
+            Page<PublicNoteExcerptDTO> excerpt = noteService.getExcerptPage(pageable, userId);
+            assertThat(excerpt.map(PublicNoteExcerptDTO::getId).getContent())
+                    .isEqualTo(full.map(PublicNoteDTO::getId).getContent()); // the same rows
+
+            results.add("offset %d: full p50 %.2f ms ( %d chars ), excerpt p50 %.2f ms ( %d chars )".formatted(
+                    pageable.getOffset(),
+                    p50Millis(() -> noteService.getPage(pageable, userId)),
+                    full.stream().mapToLong(n -> n.getContent().length()).sum(),
+                    p50Millis(() -> noteService.getExcerptPage(pageable, userId)),
+                    excerpt.stream().mapToLong(n -> n.getExcerpt().length()).sum()));
+        }
+
+        log.info("Pages of {} notes of {} notes of {} characters:\n{}", PAGE_SIZE, NOTES, CONTENT_LENGTH, String.join("\n", results));
+    }
+
+    private static double p50Millis(Supplier<?> read) {
+        for (int i = 0; i < WARMUP; i++) read.get();
+
+        long[] latencies = new long[REPETITIONS];
+        for (int i = 0; i < REPETITIONS; i++) {
+            long start = System.nanoTime();
+            read.get();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies[REPETITIONS / 2] / 1e6;
+    }
+}
@@ -0,0 +1,172 @@
+package org.cris6h16.apirestspringboot.Services.Search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for {@link InMemoryNoteSearchIndex}, the fallback used with {@code H2}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Slf4j
+public class InMemoryNoteSearchIndexTest {
+    private InMemoryNoteSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InMemoryNoteSearchIndex();
+    }
+
+    @Test
+    void terms_lowercaseWordsWithoutPunctuation() {
+        assertThat(InMemoryNoteSearchIndex.terms("  Hola, MUNDO!! cris6h16's   note-taking  "))
+                .containsExactly("hola", "mundo", "cris6h16", "s", "note", "taking");
+        assertThat(InMemoryNoteSearchIndex.terms(null)).isEmpty();
+        assertThat(InMemoryNoteSearchIndex.terms(" \t ")).isEmpty();
+    }
+
+    @Test
+    void search_allTermsAreRequired() {
+        index.index(1L, 1L, "postgres", "meetup");
+        index.index(2L, 1L, "postgres", "alone");
+
+        assertThat(index.search(1L, "meetup POSTGRES", PageRequest.of(0, 10)).getContent())
+                .containsExactly(1L);
+        assertThat(index.search(1L, "meetup unknown", PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void search_titleRanksHigherThanContent() {
+        index.index(1L, 1L, "groceries", "buy milk for the meetup");
+        index.index(2L, 1L, "meetup", "talk");
+        index.index(3L, 1L, "other", "meetup meetup meetup"); // 3 * 0.4 > 1.0
+
+        assertThat(index.search(1L, "meetup", PageRequest.of(0, 10)).getContent())
+                .containsExactly(3L, 2L, 1L);
+    }
+
+    @Test
+    void search_scopedByUser() {
+        index.index(1L, 1L, "shared word", "");
+        index.index(2L, 2L, "shared word", "");
+
+        assertThat(index.search(1L, "shared", PageRequest.of(0, 10)).getContent()).containsExactly(1L);
+        assertThat(index.search(2L, "shared", PageRequest.of(0, 10)).getContent()).containsExactly(2L);
+        assertThat(index.search(3L, "shared", PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void index_contentLongerThanTheIndexed_ThenJustItsFirstCharacters() {
+        String content = "a".repeat(Cons.Note.Search.INDEXED_CONTENT_LENGTH - 6) + " first after";
+        index.index(1L, 1L, "long", content);
+
+        assertThat(index.search(1L, "first", PageRequest.of(0, 10)).getContent()).containsExactly(1L);
+        assertThat(index.search(1L, "after", PageRequest.of(0, 10))).isEmpty(); // as PostgreSQL: left(content, N)
+    }
+
+    @Test
+    void index_streamedContent_ThenJustItsIndexedCharactersAreRead() throws IOException {
+        String content = "a".repeat(Cons.Note.Search.INDEXED_CONTENT_LENGTH - 6) + " first after";
+        StringReader reader = new StringReader(content);
+        index.index(1L, 1L, () -> "streamed", reader);
+
+        assertThat(index.search(1L, "streamed first", PageRequest.of(0, 10)).getContent()).containsExactly(1L);
+        assertThat(index.search(1L, "after", PageRequest.of(0, 10))).isEmpty();
+        assertThat(reader.read()).isNotEqualTo(-1); // the rest isn't read
+    }
+
+    @Test
+    void index_reindexReplacesTheTerms() {
+        index.index(1L, 1L, "title", "original");
+        index.index(1L, 1L, "title", "updated");
+
+        assertThat(index.search(1L, "original", PageRequest.of(0, 10))).isEmpty();
+        assertThat(index.search(1L, "updated", PageRequest.of(0, 10)).getContent()).containsExactly(1L);
+    }
+
+    @Test
+    void remove_andClear() {
+        index.index(1L, 1L, "title", "");
+        index.index(2L, 1L, "title", "");
+        index.index(3L, 2L, "title", "");
+
+        index.remove(1L, 1L);
+        index.remove(99L, 99L); // nothing to remove
+        assertThat(index.search(1L, "title", PageRequest.of(0, 10)).getContent()).containsExactly(2L);
+
+        index.clear();
+        assertThat(index.search(1L, "title", PageRequest.of(0, 10))).isEmpty();
+        assertThat(index.search(2L, "title", PageRequest.of(0, 10))).isEmpty();
+    }
+
+    @Test
+    void search_paginated() {
+        for (long id = 1; id <= 25; id++) index.index(id, 1L, "same", "");
+
+        Page<Long> page = index.search(1L, "same", PageRequest.of(2, 10));
+
+        assertThat(page.getTotalElements()).isEqualTo(25);
+        assertThat(page.getTotalPages()).isEqualTo(3);
+        assertThat(page.getContent()).containsExactly(21L, 22L, 23L, 24L, 25L); // same rank, sorted by id
+    }
+
+    /**
+     * Generates 100 users with 200 notes each one ( words taken from a vocabulary of 5000 words ),
+     * then measures the latency of 2000 searches of 1 or 2 terms. The numbers are logged, the
+     * assertion is just a generous upper bound to catch a full scan by mistake.
+     */
+    @Test
+    void search_generatedDataset_latency() {
+        // Arrange
+        Random random = new Random(16);
+        List<String> vocabulary = IntStream.range(0, 5000).mapToObj(i -> "w" + Integer.toString(i, 36)).toList();
+        int users = 100, notesPerUser = 200;
+
+        long noteId = 1;
+        for (long user = 1; user <= users; user++) {
+            for (int n = 0; n < notesPerUser; n++) {
+                index.index(noteId++, user, words(vocabulary, random, 5), words(vocabulary, random, 300));
+            }
+        }
+
+        // Act
+        int searches = 2000;
+        long[] nanos = new long[searches];
+        for (int i = 0; i < searches; i++) {
+            long user = 1 + random.nextInt(users);
+            String query = words(vocabulary, random, 1 + random.nextInt(2));
+
+            long start = System.nanoTime();
+            index.search(user, query, PageRequest.of(0, 10));
+            nanos[i] = System.nanoTime() - start;
+        }
+
+        // Assert
+        Arrays.sort(nanos);
+        long p50 = nanos[searches / 2] / 1000, p99 = nanos[searches * 99 / 100] / 1000;
+        log.info("In-memory search over {} notes: p50={}us p99={}us", users * notesPerUser, p50, p99);
+        assertThat(p50).isLessThan(50_000);
+    }
+
+    private static String words(List<String> vocabulary, Random random, int count) {
+        List<String> words = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) words.add(vocabulary.get(random.nextInt(vocabulary.size())));
+        return words.stream().collect(Collectors.joining(" "));
+    }
+}
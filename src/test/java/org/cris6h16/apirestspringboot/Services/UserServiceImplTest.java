@@ -1,5 +1,6 @@
 package org.cris6h16.apirestspringboot.Services;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.cris6h16.apirestspringboot.Constants.Cons;
 import org.cris6h16.apirestspringboot.DTOs.Creation.CreateUserDTO;
 import org.cris6h16.apirestspringboot.DTOs.Patch.PatchEmailUserDTO;
@@ -14,6 +15,7 @@ import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.Inval
 import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.UserService.*;
 import org.cris6h16.apirestspringboot.Repositories.RoleRepository;
 import org.cris6h16.apirestspringboot.Repositories.UserRepository;
+import org.cris6h16.apirestspringboot.Services.Validation.PageRequestGovernor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -22,12 +24,14 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -59,6 +63,9 @@ public class UserServiceImplTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Spy
+    private PageRequestGovernor pageRequestGovernor = new PageRequestGovernor(Cons.Pages.DEFAULT_MAX_SIZE, Cons.Pages.DEFAULT_MAX_OFFSET, new SimpleMeterRegistry());
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -354,7 +361,7 @@ public class UserServiceImplTest {
                 .email("cristianmherrera21@gmail.com")
                 .password("{bcrypt}$2a81...")
                 .roles(new HashSet<>(Collections.singleton(RoleEntity.builder().id(1L).name(ERole.ROLE_USER).build())))
-                .createdAt(new Date())
+                .createdAt(LocalDate.now())
                 .build();
     }
 
@@ -514,9 +521,11 @@ public class UserServiceImplTest {
         int amount = 10;
         List<UserEntity> entities = getUserEntities(amount);
         Pageable pag = PageRequest.of(1, 5, Sort.by(Sort.Order.asc("id")));
-        PageImpl<UserEntity> mockPage = new PageImpl<>(entities, pag, entities.size()); // 10
-                when(userRepository.findAll(any(Pageable.class)))
-                .thenReturn(mockPage);
+        List<Long> ids = entities.stream().map(UserEntity::getId).toList();
+        when(userRepository.findIds(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(ids, pag, entities.size())); // 10
+        when(userRepository.findAllWithRolesByIdIn(ids))
+                .thenReturn(entities.reversed()); // in any order
 
         // Act
         Page<PublicUserDTO> pageRes = userService.getPage(pag);
@@ -540,7 +549,8 @@ public class UserServiceImplTest {
                     .hasFieldOrPropertyWithValue("updatedAt", entities.get(i).getUpdatedAt())
                     .hasFieldOrPropertyWithValue("roles", new HashSet<>(Collections.singleton(new PublicRoleDTO(ERole.ROLE_USER))));
         }
-        verify(userRepository).findAll(pag);
+        verify(userRepository).findIds(pag);
+        verify(userRepository, never()).findAll(any(Pageable.class)); // N+1: the roles of each user
     }
 
     @Test
@@ -982,7 +992,7 @@ public class UserServiceImplTest {
                     .email(i + "cristianmherrera21@gmail.com")
                     .password("{bcrypt}$2a81..." + i)
                     .roles(new HashSet<>(Collections.singleton(RoleEntity.builder().id(i).name(ERole.ROLE_USER).build())))
-                    .createdAt(new Date())
+                    .createdAt(LocalDate.now())
                     .build());
         }
         return entities;
@@ -0,0 +1,33 @@
+package org.cris6h16.apirestspringboot.Services.Validation;
+
+import com.fasterxml.jackson.core.exc.StreamConstraintsException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cris6h16.apirestspringboot.DTOs.Creation.CreateNoteDTO;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link NoteContentLimit}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Tag("UnitTest")
+public class NoteContentLimitTest {
+
+    @Test
+    void limit_stringLongerThanTheContent_ThenRejectedJustByTheCopy() throws Exception {
+        // Arrange
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectMapper limited = new NoteContentLimit(10).limit(objectMapper);
+        String json = "{\"title\":\"cris6h16\",\"content\":\"" + "a".repeat(11) + "\"}";
+
+        // Act & Assert
+        assertThatThrownBy(() -> limited.readValue(json, CreateNoteDTO.class))
+                .isInstanceOf(StreamConstraintsException.class);
+        assertThat(objectMapper.readValue(json, CreateNoteDTO.class).getContent()).hasSize(11); // the rest of the bodies
+    }
+}
@@ -0,0 +1,90 @@
+package org.cris6h16.apirestspringboot.Services.Validation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.cris6h16.apirestspringboot.Constants.Cons;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.PageSortInvalidException;
+import org.cris6h16.apirestspringboot.Exceptions.WithStatus.service.Common.PageTooDeepException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link PageRequestGovernor}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+@Tag("UnitTest")
+public class PageRequestGovernorTest {
+    private static final Set<String> SORTABLE = Set.of("id", "updatedAt");
+
+    private SimpleMeterRegistry registry;
+    private PageRequestGovernor governor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        governor = new PageRequestGovernor(50, 1000, registry);
+    }
+
+    @Test
+    void govern_withinLimits_ThenSamePage() {
+        PageRequest requested = PageRequest.of(3, 20, Sort.by(Sort.Order.desc("updatedAt"), Sort.Order.asc("id")));
+
+        assertThat(governor.govern(requested, "notes", SORTABLE)).isEqualTo(requested);
+        assertThat(registry.find(Cons.Metrics.PAGES_CAPPED_COUNTER).counters()).allMatch(c -> c.count() == 0);
+        assertThat(registry.find(Cons.Metrics.PAGES_REJECTED_COUNTER).counters()).allMatch(c -> c.count() == 0);
+    }
+
+    @Test
+    void new_ThenCountersOfEachResourceRegisteredOnce() {
+        assertThat(registry.find(Cons.Metrics.PAGES_CAPPED_COUNTER).counters()).hasSize(Cons.Pages.RESOURCES.size());
+        assertThat(registry.find(Cons.Metrics.PAGES_REJECTED_COUNTER).counters()).hasSize(Cons.Pages.RESOURCES.size() * 2); // sort & offset
+    }
+
+    @Test
+    void govern_unknownResource_ThenIllegalArgumentException() {
+        assertThatThrownBy(() -> governor.govern(PageRequest.of(0, 10), "unknown", SORTABLE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void govern_sizeTooBig_ThenCappedAndCounted() {
+        PageRequest governed = governor.govern(PageRequest.of(2, 5000, Sort.by("id")), "notes", SORTABLE);
+
+        assertThat(governed).isEqualTo(PageRequest.of(2, 50, Sort.by("id")));
+        assertThat(registry.get(Cons.Metrics.PAGES_CAPPED_COUNTER).tag("resource", "notes").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void govern_sortByFieldWithoutIndex_ThenPageSortInvalidExceptionAndCounted() {
+        assertThatThrownBy(() -> governor.govern(PageRequest.of(0, 10, Sort.by("id", "content")), "notes", SORTABLE))
+                .isInstanceOf(PageSortInvalidException.class)
+                .hasFieldOrPropertyWithValue("reason", Cons.Pages.SORT_INVALID_MSG + "id, updatedAt")
+                .hasFieldOrPropertyWithValue("status", HttpStatus.BAD_REQUEST);
+        assertThat(registry.get(Cons.Metrics.PAGES_REJECTED_COUNTER)
+                .tags("resource", "notes", "reason", "sort").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void govern_offsetTooDeep_ThenPageTooDeepExceptionAndCounted() {
+        assertThat(governor.govern(PageRequest.of(20, 50), "users", SORTABLE).getOffset()).isEqualTo(1000); // the limit
+
+        assertThatThrownBy(() -> governor.govern(PageRequest.of(50000, 10), "users", SORTABLE))
+                .isInstanceOf(PageTooDeepException.class)
+                .hasFieldOrPropertyWithValue("reason", Cons.Pages.TOO_DEEP_MSG.formatted(1000))
+                .hasFieldOrPropertyWithValue("status", HttpStatus.BAD_REQUEST);
+        assertThatThrownBy(() -> governor.govern(PageRequest.of(21, 5000), "users", SORTABLE)) // 21 * 50 after the cap
+                .isInstanceOf(PageTooDeepException.class);
+        assertThat(registry.get(Cons.Metrics.PAGES_REJECTED_COUNTER)
+                .tags("resource", "users", "reason", "offset").counter().count()).isEqualTo(2);
+    }
+}
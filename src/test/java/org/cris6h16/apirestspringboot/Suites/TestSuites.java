@@ -10,10 +10,15 @@ public class TestSuites {
     @SelectPackages({
             "org.cris6h16.apirestspringboot",
 
+            "org.cris6h16.apirestspringboot.Config.Cache",
+            "org.cris6h16.apirestspringboot.Config.RequestBody",
             "org.cris6h16.apirestspringboot.Config.Security",
             "org.cris6h16.apirestspringboot.Config.Security.CustomUser",
             "org.cris6h16.apirestspringboot.Config.Security.EventListener",
             "org.cris6h16.apirestspringboot.Config.Security.UserDetailsService",
+            "org.cris6h16.apirestspringboot.Config.Sql",
+            "org.cris6h16.apirestspringboot.Config.Threads",
+            "org.cris6h16.apirestspringboot.Config.Timing",
 
             "org.cris6h16.apirestspringboot.Controllers",
             "org.cris6h16.apirestspringboot.Controllers.ExceptionHandler",
@@ -22,9 +27,13 @@ public class TestSuites {
             "org.cris6h16.apirestspringboot.Entities",
             "org.cris6h16.apirestspringboot.Repositories",
             "org.cris6h16.apirestspringboot.Services",
+            "org.cris6h16.apirestspringboot.Services.BulkLoad",
+            "org.cris6h16.apirestspringboot.Services.Search",
+            "org.cris6h16.apirestspringboot.Services.Validation",
 
             "org.cris6h16.apirestspringboot.Utils"
     })
+    @ExcludeTags("LoadTest") // mvn test -P load-tests
     public static class AllTests {
     }
 
@@ -33,10 +42,15 @@ public class TestSuites {
     @SelectPackages({
             "org.cris6h16.apirestspringboot",
 
+            "org.cris6h16.apirestspringboot.Config.Cache",
+            "org.cris6h16.apirestspringboot.Config.RequestBody",
             "org.cris6h16.apirestspringboot.Config.Security",
             "org.cris6h16.apirestspringboot.Config.Security.CustomUser",
             "org.cris6h16.apirestspringboot.Config.Security.EventListener",
             "org.cris6h16.apirestspringboot.Config.Security.UserDetailsService",
+            "org.cris6h16.apirestspringboot.Config.Sql",
+            "org.cris6h16.apirestspringboot.Config.Threads",
+            "org.cris6h16.apirestspringboot.Config.Timing",
 
             "org.cris6h16.apirestspringboot.Controllers",
             "org.cris6h16.apirestspringboot.Controllers.ExceptionHandler",
@@ -45,10 +59,13 @@ public class TestSuites {
             "org.cris6h16.apirestspringboot.Entities",
             "org.cris6h16.apirestspringboot.Repositories",
             "org.cris6h16.apirestspringboot.Services",
+            "org.cris6h16.apirestspringboot.Services.BulkLoad",
+            "org.cris6h16.apirestspringboot.Services.Search",
+            "org.cris6h16.apirestspringboot.Services.Validation",
 
             "org.cris6h16.apirestspringboot.Utils"
     })
-    @ExcludeTags("IntegrationTest")
+    @ExcludeTags({"IntegrationTest", "LoadTest"})
     public static class AllTestsExceptIntegrationTests {
     }
 
@@ -0,0 +1,84 @@
+package org.cris6h16.apirestspringboot.Utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for {@link BoundedLineReader}
+ *
+ * @author <a href="https://www.github.com/cris6h16" target="_blank">Cristian Herrera</a>
+ * @since 1.0
+ */
+public class BoundedLineReaderTest {
+
+    @Test
+    void readLine_linesEndedByLfAndCrLf_ThenTheLinesWithoutTheirEnd() throws IOException {
+        // Arrange
+        BoundedLineReader reader = new BoundedLineReader(new StringReader("first\r\n\nsecond\nlast"), 6);
+
+        // Act & Assert
+        assertThat(reader.readLine()).isEqualTo("first");
+        assertThat(reader.readLine()).isEmpty();
+        assertThat(reader.readLine()).isEqualTo("second");
+        assertThat(reader.readLine()).isEqualTo("last");
+        assertThat(reader.readLine()).isNull();
+        assertThat(reader.readLine()).isNull();
+    }
+
+    @Test
+    void readLine_lineLongerThanTheMax_ThenLineTooLongExceptionAndTheNextLineIsRead() throws IOException {
+        // Arrange
+        String longLine = "x".repeat(20_000); // more than the buffer
+        BoundedLineReader reader = new BoundedLineReader(new StringReader("ok\n" + longLine + "\r\nnext\n" + longLine), 10);
+
+        // Act & Assert
+        assertThat(reader.readLine()).isEqualTo("ok");
+        assertThatThrownBy(reader::readLine).isInstanceOf(BoundedLineReader.LineTooLongException.class);
+        assertThat(reader.readLine()).isEqualTo("next");
+        assertThatThrownBy(reader::readLine).isInstanceOf(BoundedLineReader.LineTooLongException.class);
+        assertThat(reader.readLine()).isNull();
+    }
+
+    @Test
+    void readLine_lineOfTheMaxWithCrLf_ThenTheLine() throws IOException {
+        // Arrange
+        BoundedLineReader reader = new BoundedLineReader(new StringReader("1234567890\r\n12345678901\r\n"), 10);
+
+        // Act & Assert
+        assertThat(reader.readLine()).isEqualTo("1234567890");
+        assertThatThrownBy(reader::readLine).isInstanceOf(BoundedLineReader.LineTooLongException.class);
+        assertThat(reader.readLine()).isNull();
+    }
+
+    @Test
+    void readLine_longLine_ThenReadWithoutKeepingIt() throws IOException {
+        // Arrange
+        long[] served = {0};
+        Reader endless = new Reader() { // 1 GB without a line end
+            @Override
+            public int read(char[] buffer, int offset, int length) {
+                if (served[0] >= 1L << 30) return -1;
+                Arrays.fill(buffer, offset, offset + length, 'x');
+                served[0] += length;
+                return length;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        BoundedLineReader reader = new BoundedLineReader(endless, 1024);
+
+        // Act & Assert
+        assertThatThrownBy(reader::readLine).isInstanceOf(BoundedLineReader.LineTooLongException.class);
+        assertThat(served[0]).isGreaterThanOrEqualTo(1L << 30);
+        assertThat(reader.readLine()).isNull();
+    }
+}